@@ -0,0 +1,34 @@
+package com.tslnkk.skcapi.aspect;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Стоимость маскирования чувствительных данных в {@link LoggingAspect} для типичных аргументов.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LogSanitizerBenchmark {
+
+    @Param({"plain", "sensitive"})
+    public String kind;
+
+    private String value;
+
+    @Setup
+    public void setUp() {
+        value = "plain".equals(kind)
+                ? "PatchItemRequest[quantity=200, desiredDeliveryDate=2026-05-01, comment=Увеличили количество, version=0]"
+                : "{\"username\":\"admin\",\"password\":\"admin\"} token=abc123 Authorization: Basic YWRtaW46YWRtaW4=";
+    }
+
+    @Benchmark
+    public String sanitize() {
+        return LoggingAspect.sanitizeSensitiveData(value);
+    }
+}
@@ -0,0 +1,65 @@
+package com.tslnkk.skcapi.bench;
+
+import com.tslnkk.skcapi.domain.PurchaseRequisition;
+import com.tslnkk.skcapi.domain.RequisitionItem;
+import com.tslnkk.skcapi.domain.RequisitionStatus;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.SplittableRandom;
+
+/**
+ * Детерминированные данные и заглушки для бенчмарков.
+ */
+public final class BenchData {
+
+    private BenchData() {
+    }
+
+    public static PurchaseRequisition requisition(long id, RequisitionStatus status, int itemCount) {
+        PurchaseRequisition requisition = PurchaseRequisition.builder()
+                .id(id)
+                .number("ЗК-2025-" + id)
+                .status(status)
+                .organizerId("user-" + id)
+                .items(new ArrayList<>(itemCount))
+                .build();
+        SplittableRandom random = new SplittableRandom(id);
+        LocalDate base = LocalDate.of(2026, 1, 1);
+        for (int i = 1; i <= itemCount; i++) {
+            requisition.getItems().add(RequisitionItem.builder()
+                    .id((long) i)
+                    .rowNumber(i)
+                    .truCode("TRU-" + i)
+                    .truName("Позиция " + i)
+                    .count(BigDecimal.valueOf(random.nextInt(1, 1_000)))
+                    .mkei("PIECE")
+                    .price(BigDecimal.valueOf(random.nextInt(100, 1_000_000), 2))
+                    .durationMonth(base.plusDays(random.nextInt(365)))
+                    .version(0L)
+                    .requisition(requisition)
+                    .build());
+        }
+        return requisition;
+    }
+
+    /**
+     * Заглушка репозитория Spring Data: {@code findById} возвращает заданную сущность, остальные методы не поддерживаются.
+     */
+    @SuppressWarnings("unchecked")
+    public static <R> R repositoryReturning(Class<R> repositoryType, Object entity) {
+        return (R) Proxy.newProxyInstance(
+                repositoryType.getClassLoader(),
+                new Class<?>[]{repositoryType},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findById" -> Optional.of(entity);
+                    case "toString" -> "BenchRepository(" + repositoryType.getSimpleName() + ")";
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,62 @@
+package com.tslnkk.skcapi.config;
+
+import com.tslnkk.skcapi.trace.TraceIds;
+import com.tslnkk.skcapi.trace.TraceStore;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Накладные расходы {@link RequestCorrelationFilter} на запрос при 64 конкурентных потоках.
+ * {@code uuid} — прежний способ генерации traceId, для сравнения.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(64)
+@State(Scope.Benchmark)
+public class RequestCorrelationFilterBenchmark {
+
+    private static final FilterChain NOOP_CHAIN = (request, response) -> { };
+
+    private RequestCorrelationFilter filter;
+
+    @Setup
+    public void setUp() {
+        filter = new RequestCorrelationFilter(new TraceStore(true, 256, 128, 500));
+    }
+
+    @Benchmark
+    public MockHttpServletResponse generatedId() throws Exception {
+        return run(new MockHttpServletRequest("GET", "/api/v1/requisitions/1"));
+    }
+
+    @Benchmark
+    public MockHttpServletResponse incomingTraceparent() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/requisitions/1");
+        request.addHeader("traceparent", "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01");
+        return run(request);
+    }
+
+    @Benchmark
+    public String traceIdFast() {
+        return TraceIds.newTraceId();
+    }
+
+    @Benchmark
+    public String traceIdUuid() {
+        return UUID.randomUUID().toString();
+    }
+
+    private MockHttpServletResponse run(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, NOOP_CHAIN);
+        return response;
+    }
+}
@@ -0,0 +1,32 @@
+package com.tslnkk.skcapi.domain;
+
+import com.tslnkk.skcapi.bench.BenchData;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PurchaseRequisitionBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int items;
+
+    private PurchaseRequisition requisition;
+
+    @Setup
+    public void setUp() {
+        requisition = BenchData.requisition(1L, RequisitionStatus.DRAFT, items);
+    }
+
+    @Benchmark
+    public BigDecimal recalculateTotal() {
+        requisition.recalculateTotal();
+        return requisition.getTotalLotSumNoNds();
+    }
+}
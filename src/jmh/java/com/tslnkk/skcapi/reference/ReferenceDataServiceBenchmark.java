@@ -0,0 +1,38 @@
+package com.tslnkk.skcapi.reference;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReferenceDataServiceBenchmark {
+
+    private ReferenceDataService service;
+
+    @Setup
+    public void setUp() {
+        service = new ReferenceDataService();
+        service.init();
+    }
+
+    @Benchmark
+    public Optional<ReferenceDataService.NomenclatureRef> findNomenclatureHit() {
+        return service.findNomenclature("TRU-007");
+    }
+
+    @Benchmark
+    public Optional<ReferenceDataService.NomenclatureRef> findNomenclatureMiss() {
+        return service.findNomenclature("TRU-999");
+    }
+
+    @Benchmark
+    public boolean isUnitAllowed() {
+        return service.isUnitAllowedForNomenclature("TRU-008", "SET");
+    }
+}
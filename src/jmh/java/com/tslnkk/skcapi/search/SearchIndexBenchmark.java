@@ -0,0 +1,93 @@
+package com.tslnkk.skcapi.search;
+
+import com.tslnkk.skcapi.domain.PurchaseRequisition;
+import com.tslnkk.skcapi.domain.RequisitionItem;
+import com.tslnkk.skcapi.domain.RequisitionStatus;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Поиск по индексу на 100 000 заявок по 10 позиций (1 млн позиций): частое слово (~75% заявок),
+ * редкий организатор и пара слов, где перебирается более короткий список.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class SearchIndexBenchmark {
+
+    private static final int REQUISITIONS = 100_000;
+    private static final int ITEMS_PER_REQUISITION = 10;
+    private static final int ORGANIZERS = 1_000;
+
+    private static final String[] NOUNS = {
+            "Бумага", "Картридж", "Ручка", "Папка", "Скрепки", "Степлер", "Маркер", "Тонер"
+    };
+    private static final String[] ADJECTIVES = {
+            "офисная", "лазерный", "шариковая", "канцелярские", "цветной", "текстовый"
+    };
+    private static final String[] COMMENTS = {
+            "срочно", "для бухгалтерии", "на склад", "замена вышедшего из строя", null, null
+    };
+
+    private SearchIndex index;
+    private List<String> common;
+    private List<String> rare;
+    private List<String> pair;
+
+    @Setup
+    public void setUp() {
+        index = new SearchIndex();
+        List<SearchIndex.Document> documents = new ArrayList<>(REQUISITIONS);
+        SplittableRandom random = new SplittableRandom(42);
+        for (long id = 1; id <= REQUISITIONS; id++) {
+            PurchaseRequisition requisition = PurchaseRequisition.builder()
+                    .id(id)
+                    .number("ЗК-2026-" + id)
+                    .status(RequisitionStatus.DRAFT)
+                    .organizerId("user-" + random.nextInt(ORGANIZERS))
+                    .items(new ArrayList<>(ITEMS_PER_REQUISITION))
+                    .build();
+            for (int row = 1; row <= ITEMS_PER_REQUISITION; row++) {
+                requisition.getItems().add(RequisitionItem.builder()
+                        .rowNumber(row)
+                        .truCode("TRU-" + random.nextInt(1_000))
+                        .truName(NOUNS[random.nextInt(NOUNS.length)] + " "
+                                + ADJECTIVES[random.nextInt(ADJECTIVES.length)])
+                        .comment(COMMENTS[random.nextInt(COMMENTS.length)])
+                        .build());
+            }
+            documents.add(SearchIndex.Document.of(requisition));
+        }
+        index.update(documents, List.of());
+        common = TextAnalyzer.terms("бумаги");
+        rare = TextAnalyzer.terms("user-777");
+        pair = TextAnalyzer.terms("картриджи лазерные");
+    }
+
+    @Benchmark
+    public SearchIndex.Result commonTermFirstPage() {
+        return index.search(common, 0, 20);
+    }
+
+    @Benchmark
+    public SearchIndex.Result commonTermTenthPage() {
+        return index.search(common, 180, 20);
+    }
+
+    @Benchmark
+    public SearchIndex.Result rareTerm() {
+        return index.search(rare, 0, 20);
+    }
+
+    @Benchmark
+    public SearchIndex.Result twoTerms() {
+        return index.search(pair, 0, 20);
+    }
+}
@@ -0,0 +1,45 @@
+package com.tslnkk.skcapi.security;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Проверка пароля HTTP Basic на одном ядре: BCrypt на каждый запрос против {@link CachingPasswordEncoder}.
+ * Результат в ops/s при {@code @Threads(1)} — верхняя граница RPS на ядро по стоимости аутентификации.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+public class PasswordEncoderBenchmark {
+
+    private static final String RAW = "admin";
+
+    private PasswordEncoder bcrypt;
+    private PasswordEncoder cached;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        bcrypt = new BCryptPasswordEncoder();
+        cached = new CachingPasswordEncoder(bcrypt, Duration.ofMinutes(5), 10_000);
+        hash = bcrypt.encode(RAW);
+    }
+
+    @Benchmark
+    public boolean bcryptEveryRequest() {
+        return bcrypt.matches(RAW, hash);
+    }
+
+    @Benchmark
+    public boolean cachedVerification() {
+        return cached.matches(RAW, hash);
+    }
+}
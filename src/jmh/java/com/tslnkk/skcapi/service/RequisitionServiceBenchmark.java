@@ -0,0 +1,76 @@
+package com.tslnkk.skcapi.service;
+
+import com.tslnkk.skcapi.audit.AuditMode;
+import com.tslnkk.skcapi.audit.AuditTrail;
+import com.tslnkk.skcapi.bench.BenchData;
+import com.tslnkk.skcapi.domain.PurchaseRequisition;
+import com.tslnkk.skcapi.domain.RequisitionStatus;
+import com.tslnkk.skcapi.dto.RequisitionDetailResponse;
+import com.tslnkk.skcapi.dto.RequisitionSummaryResponse;
+import com.tslnkk.skcapi.limit.RateLimiter;
+import com.tslnkk.skcapi.logging.OverflowPolicy;
+import com.tslnkk.skcapi.metrics.LockConflictMetrics;
+import com.tslnkk.skcapi.reference.ReferenceDataService;
+import com.tslnkk.skcapi.repository.PurchaseRequisitionRepository;
+import com.tslnkk.skcapi.repository.RequisitionItemRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Горячие пути сервисного слоя без БД и AOP: репозиторий — заглушка, возвращающая готовую заявку.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequisitionServiceBenchmark {
+
+    @Param({"10", "1000"})
+    public int items;
+
+    private PurchaseRequisition requisition;
+    private RequisitionItemService itemService;
+
+    @Setup
+    public void setUp() {
+        requisition = BenchData.requisition(1L, RequisitionStatus.DRAFT, items);
+        itemService = new RequisitionItemService(
+                BenchData.repositoryReturning(PurchaseRequisitionRepository.class, requisition),
+                BenchData.repositoryReturning(RequisitionItemRepository.class, null),
+                new ReferenceDataService(),
+                new LockConflictMetrics(0),
+                new RateLimiter(new StandardEnvironment(), false, 0),
+                event -> { },
+                new AuditTrail(null, null, false, AuditMode.ASYNC, 1, OverflowPolicy.DROP_NEWEST, 0, 1));
+    }
+
+    @Benchmark
+    public RequisitionSummaryResponse getSummary() {
+        return itemService.getSummary(1L);
+    }
+
+    @Benchmark
+    public RequisitionDetailResponse toDetailResponse() {
+        return RequisitionService.toDetailResponse(requisition);
+    }
+
+    @State(Scope.Benchmark)
+    public static class Transitions {
+        final RequisitionStatus[] statuses = RequisitionStatus.values();
+        int cursor;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean allowedTransitionCheck(Transitions state) {
+        RequisitionStatus[] statuses = state.statuses;
+        int i = state.cursor++;
+        RequisitionStatus from = statuses[i % statuses.length];
+        RequisitionStatus to = statuses[(i / statuses.length) % statuses.length];
+        return RequisitionService.getAllowedTransitions(from).contains(to);
+    }
+}
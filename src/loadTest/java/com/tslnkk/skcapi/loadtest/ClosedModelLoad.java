@@ -0,0 +1,66 @@
+package com.tslnkk.skcapi.loadtest;
+
+import org.HdrHistogram.Recorder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Закрытая модель нагрузки: {@code clients} клиентов на виртуальных потоках,
+ * каждый отправляет следующий запрос сразу после ответа на предыдущий.
+ */
+final class ClosedModelLoad {
+
+    @FunctionalInterface
+    interface Call {
+        /**
+         * @return HTTP-статус ответа
+         */
+        int execute(ApiClient client, long iteration) throws Exception;
+    }
+
+    private ClosedModelLoad() {
+    }
+
+    static LoadResult run(String name, ApiClient client, int clients, Duration warmup, Duration duration, Call call)
+            throws InterruptedException {
+        Recorder recorder = new Recorder(TimeUnit.MINUTES.toMicros(1), 3);
+        LongAdder requests = new LongAdder();
+        LongAdder errors = new LongAdder();
+        long measureFromNs = System.nanoTime() + warmup.toNanos();
+        long deadlineNs = measureFromNs + duration.toNanos();
+
+        List<Thread> threads = new ArrayList<>(clients);
+        for (int i = 0; i < clients; i++) {
+            long clientId = i;
+            threads.add(Thread.ofVirtual().start(() -> {
+                long iteration = clientId;
+                while (System.nanoTime() < deadlineNs) {
+                    long startNs = System.nanoTime();
+                    int status;
+                    try {
+                        status = call.execute(client, iteration++);
+                    } catch (Exception e) {
+                        status = -1;
+                    }
+                    long endNs = System.nanoTime();
+                    if (endNs >= measureFromNs && endNs <= deadlineNs) {
+                        recorder.recordValue(Math.max(1, (endNs - startNs) / 1_000));
+                        requests.increment();
+                        if (status < 200 || status >= 400) {
+                            errors.increment();
+                        }
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return new LoadResult(name, requests.sum(), errors.sum(), duration.toNanos() / 1e9,
+                recorder.getIntervalHistogram());
+    }
+}
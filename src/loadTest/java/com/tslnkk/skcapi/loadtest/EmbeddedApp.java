@@ -0,0 +1,50 @@
+package com.tslnkk.skcapi.loadtest;
+
+import com.tslnkk.skcapi.SkcApiApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Приложение, поднятое в том же процессе на случайном порту с in-memory H2.
+ */
+final class EmbeddedApp implements AutoCloseable {
+
+    private final ConfigurableApplicationContext context;
+
+    private EmbeddedApp(ConfigurableApplicationContext context) {
+        this.context = context;
+    }
+
+    static EmbeddedApp start(Map<String, String> properties) {
+        List<String> args = new ArrayList<>();
+        args.add("--server.port=0");
+        args.add("--spring.datasource.url=jdbc:h2:mem:loadtest-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        args.add("--logging.level.com.tslnkk.skcapi=WARN");
+        args.add("--logging.level.com.tslnkk.skcapi.aspect=WARN");
+        // Нагрузочные сценарии гоняют одного организатора тысячами запросов — rate limit им только мешает.
+        Map<String, String> effective = new LinkedHashMap<>();
+        effective.put("app.rate-limit.enabled", "false");
+        effective.putAll(properties);
+        effective.forEach((key, value) -> args.add("--" + key + "=" + value));
+        return new EmbeddedApp(SpringApplication.run(SkcApiApplication.class, args.toArray(String[]::new)));
+    }
+
+    int port() {
+        return ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + port();
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
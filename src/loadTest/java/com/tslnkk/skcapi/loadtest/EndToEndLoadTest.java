@@ -0,0 +1,93 @@
+package com.tslnkk.skcapi.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Сквозной нагрузочный тест: приложение поднимается в процессе на случайном порту с in-memory H2
+ * и получает открытый поток запросов реалистичной смеси ({@link RequisitionWorkload}).
+ * <p>
+ * Запуск: {@code ./gradlew loadTest}. Параметры:
+ * <ul>
+ *   <li>{@code loadtest.rate} — интенсивность, запросов в секунду (200)</li>
+ *   <li>{@code loadtest.concurrency} — максимум одновременных запросов клиента (64)</li>
+ *   <li>{@code loadtest.warmup-seconds} / {@code loadtest.duration-seconds} — прогрев и замер (10 / 30)</li>
+ *   <li>{@code loadtest.mix} — веса операций</li>
+ *   <li>{@code loadtest.requisitions} — размер пула заявок для чтения и PATCH (100)</li>
+ *   <li>{@code loadtest.app.*} — свойства приложения, например {@code loadtest.app.spring.threads.virtual.enabled=true}</li>
+ *   <li>SLO — см. {@link Slo}</li>
+ * </ul>
+ * Распределения задержек сохраняются в {@code build/reports/loadtest/*.hgrm} (HdrHistogram, миллисекунды).
+ * При нарушении SLO процесс завершается с кодом 1, и задача Gradle падает.
+ */
+public final class EndToEndLoadTest {
+
+    private static final String DEFAULT_MIX = "list:5,detail:30,summary:25,create-item:10,patch-item:20,transition:10";
+
+    private EndToEndLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        double rate = Double.parseDouble(System.getProperty("loadtest.rate", "200"));
+        int concurrency = Integer.getInteger("loadtest.concurrency", 64);
+        Duration warmup = Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 10));
+        Duration duration = Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 30));
+        String mixSpec = System.getProperty("loadtest.mix", DEFAULT_MIX);
+        int requisitions = Integer.getInteger("loadtest.requisitions", 100);
+        Path reportDir = Path.of(System.getProperty("loadtest.report-dir", "build/reports/loadtest"));
+
+        Map<String, String> appProperties = new HashMap<>();
+        System.getProperties().forEach((key, value) -> {
+            if (key.toString().startsWith("loadtest.app.")) {
+                appProperties.put(key.toString().substring("loadtest.app.".length()), value.toString());
+            }
+        });
+
+        List<LoadResult> results;
+        try (EmbeddedApp app = EmbeddedApp.start(appProperties)) {
+            ApiClient client = new ApiClient(app.baseUrl(), "admin", "admin");
+            client.get("/api/v1/auth/me");
+            RequisitionWorkload workload = RequisitionWorkload.prepare(client, requisitions, Math.max(32, concurrency));
+            System.out.printf("Open model: %.0f rps, concurrency %d, warmup %ds, duration %ds, mix %s%n",
+                    rate, concurrency, warmup.toSeconds(), duration.toSeconds(), mixSpec);
+            results = OpenModelLoad.run(client, workload.mix(mixSpec), rate, concurrency, warmup, duration);
+        }
+
+        System.out.println();
+        System.out.println("=== Latency per endpoint (corrected for coordinated omission) ===");
+        results.forEach(r -> System.out.println(r.format()));
+        writeHistograms(reportDir, results);
+
+        List<String> violations = Slo.fromSystemProperties().violations(results);
+        if (!violations.isEmpty()) {
+            System.out.println();
+            System.out.println("=== SLO violated ===");
+            violations.forEach(System.out::println);
+            System.exit(1);
+        }
+        System.out.println("SLO met");
+    }
+
+    private static void writeHistograms(Path reportDir, List<LoadResult> results) throws IOException {
+        Files.createDirectories(reportDir);
+        for (LoadResult result : results) {
+            write(reportDir.resolve(result.name() + ".hgrm"), result.latencyUs());
+            write(reportDir.resolve(result.name() + "-uncorrected.hgrm"), result.uncorrectedUs());
+        }
+        System.out.println("Histograms: " + reportDir.toAbsolutePath());
+    }
+
+    private static void write(Path file, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            histogram.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+}
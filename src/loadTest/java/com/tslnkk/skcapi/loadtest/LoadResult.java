@@ -0,0 +1,43 @@
+package com.tslnkk.skcapi.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Итог прогона: пропускная способность и перцентили задержки в миллисекундах.
+ * <p>
+ * Для открытой модели {@code latencyUs} считается от запланированного момента отправки
+ * (с поправкой на coordinated omission), а {@code uncorrectedUs} — от фактического;
+ * для закрытой модели {@code uncorrectedUs} равен {@code null}.
+ */
+record LoadResult(String name, long requests, long errors, long conflicts, double seconds,
+                  Histogram latencyUs, Histogram uncorrectedUs) {
+
+    LoadResult(String name, long requests, long errors, double seconds, Histogram latencyUs) {
+        this(name, requests, errors, 0, seconds, latencyUs, null);
+    }
+
+    double throughput() {
+        return requests / seconds;
+    }
+
+    double errorRate() {
+        return requests == 0 ? 0 : (double) errors / requests;
+    }
+
+    double percentileMs(double percentile) {
+        return latencyUs.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    String format() {
+        StringBuilder line = new StringBuilder(String.format(
+                "%-28s %10.1f rps  p50=%8.2fms  p99=%8.2fms  p999=%8.2fms  errors=%d",
+                name, throughput(), percentileMs(50), percentileMs(99), percentileMs(99.9), errors));
+        if (conflicts > 0) {
+            line.append("  conflicts=").append(conflicts);
+        }
+        if (uncorrectedUs != null) {
+            line.append(String.format("  (uncorrected p99=%.2fms)", uncorrectedUs.getValueAtPercentile(99) / 1000.0));
+        }
+        return line.toString();
+    }
+}
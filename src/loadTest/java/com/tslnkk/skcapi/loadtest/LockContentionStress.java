@@ -0,0 +1,201 @@
+package com.tslnkk.skcapi.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Стресс оптимистичной блокировки: N потоков в цикле обновляют позиции одной заявки —
+ * либо одну и ту же позицию ({@code same-item}), либо каждый свою ({@code different-items}).
+ * <p>
+ * Логическое обновление — PATCH с последней известной версией; при {@code 409} клиент перечитывает
+ * заявку и повторяет попытку (не больше {@code loadtest.max-retries} раз). Для каждого прогона выводятся:
+ * успешные обновления в секунду, доля конфликтов среди попыток, среднее число попыток на успешное
+ * обновление (цена повторов), p50/p99 логического обновления вместе с повторами и число отказов
+ * после исчерпания повторов. После прогона сверяется итог заявки с суммой позиций.
+ * <p>
+ * Запуск: {@code ./gradlew loadTest -Dloadtest.main=LockContentionStress}.
+ * Параметры: {@code loadtest.threads} (через запятую), {@code loadtest.duration-seconds}, {@code loadtest.max-retries}.
+ */
+public final class LockContentionStress {
+
+    private static final String REQUISITIONS = "/api/v1/requisitions";
+    private static final JsonMapper JSON = JsonMapper.builder().build();
+
+    private record Result(String name, int threads, long updates, long attempts, long conflicts, long gaveUp,
+                          double seconds, Histogram updateUs) {
+
+        String format() {
+            return String.format(
+                    "%-16s x%-3d %8.1f upd/s  conflict rate=%5.1f%%  attempts/update=%5.2f  "
+                            + "p50=%7.2fms  p99=%7.2fms  gave up=%d",
+                    name, threads, updates / seconds, attempts == 0 ? 0 : 100.0 * conflicts / attempts,
+                    updates == 0 ? 0 : (double) attempts / updates,
+                    updateUs.getValueAtPercentile(50) / 1000.0, updateUs.getValueAtPercentile(99) / 1000.0, gaveUp);
+        }
+    }
+
+    private LockContentionStress() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int[] threadCounts = Arrays.stream(System.getProperty("loadtest.threads", "1,4,16").split(","))
+                .map(String::trim)
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        Duration duration = Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 10));
+        int maxRetries = Integer.getInteger("loadtest.max-retries", 10);
+
+        List<Result> results = new ArrayList<>();
+        try (EmbeddedApp app = EmbeddedApp.start(Map.of())) {
+            ApiClient client = new ApiClient(app.baseUrl(), "admin", "admin");
+            client.get("/api/v1/auth/me");
+            List<JsonNode> catalog = new ArrayList<>();
+            JSON.readTree(client.get("/api/v1/reference/nomenclatures").body()).forEach(catalog::add);
+
+            for (int threads : threadCounts) {
+                for (boolean sameItem : new boolean[]{true, false}) {
+                    int itemCount = sameItem ? 1 : Math.min(threads, catalog.size());
+                    long requisitionId = createRequisition(client, catalog, itemCount);
+                    long[] itemIds = itemIds(client, requisitionId);
+                    Result result = run(sameItem ? "same-item" : "different-items", client, requisitionId, itemIds,
+                            threads, duration, maxRetries);
+                    System.out.println(result.format());
+                    results.add(result);
+                    checkTotal(client, requisitionId);
+                }
+            }
+
+            System.out.println();
+            System.out.println("=== Optimistic lock contention ===");
+            results.forEach(r -> System.out.println(r.format()));
+            System.out.println("Hottest requisitions (GET /debug/lock-conflicts): "
+                    + client.get("/debug/lock-conflicts?limit=5").body());
+        }
+    }
+
+    private static Result run(String name, ApiClient client, long requisitionId, long[] itemIds, int threads,
+                              Duration duration, int maxRetries) throws InterruptedException {
+        Recorder updateLatency = new Recorder(TimeUnit.MINUTES.toMicros(1), 3);
+        LongAdder updates = new LongAdder();
+        LongAdder attempts = new LongAdder();
+        LongAdder conflicts = new LongAdder();
+        LongAdder gaveUp = new LongAdder();
+        long deadlineNs = System.nanoTime() + duration.toNanos();
+
+        List<Thread> workers = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            long itemId = itemIds[t % itemIds.length];
+            String path = REQUISITIONS + "/" + requisitionId + "/items/" + itemId;
+            workers.add(Thread.ofPlatform().start(() -> {
+                long version = -1;
+                long quantity = 1;
+                while (System.nanoTime() < deadlineNs) {
+                    long startNs = System.nanoTime();
+                    boolean done = false;
+                    try {
+                        if (version < 0) {
+                            version = readVersion(client, requisitionId, itemId);
+                        }
+                        for (int attempt = 0; attempt <= maxRetries && !done; attempt++) {
+                            attempts.increment();
+                            HttpResponse<String> response = client.patch(path,
+                                    "{\"quantity\":" + (1 + quantity++ % 500) + ",\"version\":" + version + "}");
+                            if (response.statusCode() == 200) {
+                                version = JSON.readTree(response.body()).get("version").asLong();
+                                done = true;
+                            } else if (response.statusCode() == 409) {
+                                conflicts.increment();
+                                version = readVersion(client, requisitionId, itemId);
+                            } else {
+                                throw new IllegalStateException("PATCH " + path + " -> " + response.statusCode());
+                            }
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    } catch (Exception e) {
+                        version = -1;
+                    }
+                    if (done) {
+                        updates.increment();
+                        updateLatency.recordValue(Math.max(1, (System.nanoTime() - startNs) / 1_000));
+                    } else {
+                        gaveUp.increment();
+                    }
+                }
+            }));
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return new Result(name, threads, updates.sum(), attempts.sum(), conflicts.sum(), gaveUp.sum(),
+                duration.toNanos() / 1e9, updateLatency.getIntervalHistogram());
+    }
+
+    private static long readVersion(ApiClient client, long requisitionId, long itemId) throws Exception {
+        for (JsonNode item : detail(client, requisitionId).get("items")) {
+            if (item.get("id").asLong() == itemId) {
+                return item.get("version").asLong();
+            }
+        }
+        throw new IllegalStateException("Позиция " + itemId + " не найдена в заявке " + requisitionId);
+    }
+
+    /**
+     * Итог заявки не защищён версией: параллельные PATCH разных позиций могут перезаписать его
+     * значением, посчитанным по устаревшему снимку позиций. Расхождение выводится как предупреждение.
+     */
+    private static void checkTotal(ApiClient client, long requisitionId) throws Exception {
+        JsonNode detail = detail(client, requisitionId);
+        BigDecimal expected = BigDecimal.ZERO;
+        for (JsonNode item : detail.get("items")) {
+            expected = expected.add(item.get("priceWithoutVat").decimalValue()
+                    .multiply(item.get("quantity").decimalValue()));
+        }
+        BigDecimal actual = detail.get("totalLotSumNoNds").decimalValue();
+        if (actual.compareTo(expected) != 0) {
+            System.out.printf("  WARNING: requisition %d total %s != sum of items %s (lost update on the total)%n",
+                    requisitionId, actual.toPlainString(), expected.toPlainString());
+        }
+    }
+
+    private static JsonNode detail(ApiClient client, long requisitionId) throws Exception {
+        return JSON.readTree(client.get(REQUISITIONS + "/" + requisitionId).body());
+    }
+
+    private static long createRequisition(ApiClient client, List<JsonNode> catalog, int itemCount) throws Exception {
+        long id = JSON.readTree(client.post(REQUISITIONS, "{\"organizerId\":\"stress\"}").body()).get("id").asLong();
+        String deliveryDate = LocalDate.now().plusDays(30).toString();
+        for (int i = 0; i < itemCount; i++) {
+            JsonNode nomenclature = catalog.get(i);
+            HttpResponse<String> response = client.post(REQUISITIONS + "/" + id + "/items",
+                    "{\"nomenclatureCode\":\"" + nomenclature.get("code").asString()
+                            + "\",\"nomenclatureName\":\"" + nomenclature.get("name").asString()
+                            + "\",\"quantity\":1,\"unitCode\":\"" + nomenclature.get("allowedUnits").get(0).asString()
+                            + "\",\"priceWithoutVat\":10.00,\"desiredDeliveryDate\":\"" + deliveryDate + "\"}");
+            if (response.statusCode() != 201) {
+                throw new IllegalStateException("Не удалось создать позицию: " + response.body());
+            }
+        }
+        return id;
+    }
+
+    private static long[] itemIds(ApiClient client, long requisitionId) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        detail(client, requisitionId).get("items").forEach(item -> ids.add(item.get("id").asLong()));
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+}
@@ -0,0 +1,181 @@
+package com.tslnkk.skcapi.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Открытая модель нагрузки: запросы поступают с постоянной интенсивностью {@code rate} в секунду
+ * независимо от того, успевает ли сервер отвечать.
+ * <p>
+ * Задержка измеряется от <em>запланированного</em> момента отправки, а не от фактического:
+ * если сервер или лимит {@code concurrency} на клиенте задержали отправку, это время попадает
+ * в перцентили (поправка на coordinated omission). Для сравнения параллельно пишется гистограмма
+ * без поправки.
+ */
+final class OpenModelLoad {
+
+    enum Outcome {
+        OK,
+        /**
+         * Ожидаемый бизнес-отказ (например, 409 при конкурентном PATCH) — не считается ошибкой.
+         */
+        CONFLICT,
+        ERROR
+    }
+
+    @FunctionalInterface
+    interface Operation {
+        Outcome execute(ApiClient client, long iteration) throws Exception;
+    }
+
+    private static final long MAX_LATENCY_US = TimeUnit.MINUTES.toMicros(2);
+
+    private OpenModelLoad() {
+    }
+
+    /**
+     * @param mix         операции с весами; порядок определяет порядок строк в отчёте
+     * @param rate        целевая интенсивность, запросов в секунду
+     * @param concurrency максимум одновременно выполняемых запросов на стороне клиента
+     * @return результаты по каждой операции и итоговая строка {@code total} последней
+     */
+    static List<LoadResult> run(ApiClient client, Map<String, Weighted> mix, double rate, int concurrency,
+                                Duration warmup, Duration duration) throws InterruptedException {
+        Map<String, Stats> stats = new LinkedHashMap<>();
+        mix.keySet().forEach(name -> stats.put(name, new Stats()));
+        Stats[] byIndex = stats.values().toArray(Stats[]::new);
+        Operation[] operations = mix.values().stream().map(Weighted::operation).toArray(Operation[]::new);
+        int[] cumulativeWeights = cumulativeWeights(mix);
+        int totalWeight = cumulativeWeights[cumulativeWeights.length - 1];
+
+        Semaphore inFlight = new Semaphore(concurrency);
+        long intervalNs = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        long startNs = System.nanoTime();
+        long measureFromNs = startNs + warmup.toNanos();
+        long deadlineNs = measureFromNs + duration.toNanos();
+
+        List<Thread> threads = new ArrayList<>();
+        for (long k = 0; ; k++) {
+            long intendedNs = startNs + k * intervalNs;
+            if (intendedNs >= deadlineNs) {
+                break;
+            }
+            long waitNs = intendedNs - System.nanoTime();
+            if (waitNs > 0) {
+                LockSupport.parkNanos(waitNs);
+            }
+            // Детерминированный выбор операции по весам без общего генератора случайных чисел
+            int slot = (int) ((k * 0x9E3779B97F4A7C15L >>> 33) % totalWeight);
+            int op = indexOf(cumulativeWeights, slot);
+            long iteration = k;
+            boolean measured = intendedNs >= measureFromNs;
+            threads.add(Thread.ofVirtual().start(() -> {
+                Outcome outcome;
+                long sentNs = intendedNs;
+                try {
+                    inFlight.acquire();
+                    try {
+                        sentNs = System.nanoTime();
+                        outcome = operations[op].execute(client, iteration);
+                    } finally {
+                        inFlight.release();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (Exception e) {
+                    outcome = Outcome.ERROR;
+                }
+                if (measured) {
+                    byIndex[op].record(outcome, System.nanoTime(), intendedNs, sentNs);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        double seconds = duration.toNanos() / 1e9;
+        List<LoadResult> results = new ArrayList<>();
+        stats.forEach((name, s) -> results.add(s.toResult(name, seconds)));
+        results.add(total(results, seconds));
+        return results;
+    }
+
+    record Weighted(int weight, Operation operation) {
+    }
+
+    private static LoadResult total(List<LoadResult> parts, double seconds) {
+        Histogram corrected = new Histogram(MAX_LATENCY_US, 3);
+        Histogram uncorrected = new Histogram(MAX_LATENCY_US, 3);
+        long requests = 0;
+        long errors = 0;
+        long conflicts = 0;
+        for (LoadResult part : parts) {
+            corrected.add(part.latencyUs());
+            uncorrected.add(part.uncorrectedUs());
+            requests += part.requests();
+            errors += part.errors();
+            conflicts += part.conflicts();
+        }
+        return new LoadResult("total", requests, errors, conflicts, seconds, corrected, uncorrected);
+    }
+
+    private static int[] cumulativeWeights(Map<String, Weighted> mix) {
+        int[] cumulative = new int[mix.size()];
+        int sum = 0;
+        int i = 0;
+        for (Weighted weighted : mix.values()) {
+            sum += weighted.weight();
+            cumulative[i++] = sum;
+        }
+        if (sum <= 0) {
+            throw new IllegalArgumentException("Сумма весов смеси должна быть больше 0");
+        }
+        return cumulative;
+    }
+
+    private static int indexOf(int[] cumulativeWeights, int slot) {
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (slot < cumulativeWeights[i]) {
+                return i;
+            }
+        }
+        return cumulativeWeights.length - 1;
+    }
+
+    private static final class Stats {
+        private final Recorder corrected = new Recorder(MAX_LATENCY_US, 3);
+        private final Recorder uncorrected = new Recorder(MAX_LATENCY_US, 3);
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder conflicts = new LongAdder();
+
+        void record(Outcome outcome, long endNs, long intendedNs, long sentNs) {
+            corrected.recordValue(Math.min(MAX_LATENCY_US, Math.max(1, (endNs - intendedNs) / 1_000)));
+            uncorrected.recordValue(Math.min(MAX_LATENCY_US, Math.max(1, (endNs - sentNs) / 1_000)));
+            requests.increment();
+            switch (outcome) {
+                case ERROR -> errors.increment();
+                case CONFLICT -> conflicts.increment();
+                case OK -> {
+                }
+            }
+        }
+
+        LoadResult toResult(String name, double seconds) {
+            return new LoadResult(name, requests.sum(), errors.sum(), conflicts.sum(), seconds,
+                    corrected.getIntervalHistogram(), uncorrected.getIntervalHistogram());
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.tslnkk.skcapi.loadtest;
+
+import com.tslnkk.skcapi.loadtest.OpenModelLoad.Operation;
+import com.tslnkk.skcapi.loadtest.OpenModelLoad.Outcome;
+import com.tslnkk.skcapi.loadtest.OpenModelLoad.Weighted;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Реалистичная смесь операций над заявками: чтение списка, карточки и сводки,
+ * создание позиций, PATCH позиций с версией и переходы статусов.
+ * <p>
+ * Данные готовятся через API до начала нагрузки, чтобы операции не мешали друг другу:
+ * чтение и PATCH идут по пулу заявок с одной позицией, создание позиций — по отдельным заявкам
+ * (не больше одной позиции на номенклатуру), переходы — по пулу, который каждая заявка
+ * проходит по кругу DRAFT → SUBMITTED → REJECTED → DRAFT.
+ */
+final class RequisitionWorkload {
+
+    static final String LIST = "list";
+    static final String DETAIL = "detail";
+    static final String SUMMARY = "summary";
+    static final String CREATE_ITEM = "create-item";
+    static final String PATCH_ITEM = "patch-item";
+    static final String TRANSITION = "transition";
+
+    private static final String REQUISITIONS = "/api/v1/requisitions";
+
+    private record Nomenclature(String code, String name, String unit) {
+    }
+
+    private record Transitionable(long id, String status) {
+    }
+
+    private final ApiClient client;
+    private final JsonMapper json = JsonMapper.builder().build();
+    private final List<Nomenclature> catalog = new ArrayList<>();
+    private final String deliveryDate = LocalDate.now().plusDays(30).toString();
+
+    private long[] requisitionIds;
+    private long[] itemIds;
+    private AtomicLongArray itemVersions;
+    private final ConcurrentLinkedQueue<Transitionable> transitionPool = new ConcurrentLinkedQueue<>();
+    private final AtomicLong createdItems = new AtomicLong();
+    private final Map<Long, CompletableFuture<Long>> createTargets = new ConcurrentHashMap<>();
+
+    private RequisitionWorkload(ApiClient client) {
+        this.client = client;
+    }
+
+    /**
+     * @param requisitions  размер пула заявок для чтения и PATCH
+     * @param transitioning размер пула заявок для переходов статуса; должен быть не меньше
+     *                      лимита одновременных запросов, иначе операции перехода будут ждать друг друга
+     */
+    static RequisitionWorkload prepare(ApiClient client, int requisitions, int transitioning) throws Exception {
+        RequisitionWorkload workload = new RequisitionWorkload(client);
+        workload.loadCatalog();
+        workload.requisitionIds = new long[requisitions];
+        workload.itemIds = new long[requisitions];
+        workload.itemVersions = new AtomicLongArray(requisitions);
+        for (int i = 0; i < requisitions; i++) {
+            workload.requisitionIds[i] = workload.createRequisition();
+            JsonNode item = workload.createItem(workload.requisitionIds[i], workload.catalog.get(i % workload.catalog.size()));
+            workload.itemIds[i] = item.get("id").asLong();
+            workload.itemVersions.set(i, item.get("version").asLong());
+        }
+        for (int i = 0; i < transitioning; i++) {
+            long id = workload.createRequisition();
+            workload.createItem(id, workload.catalog.get(i % workload.catalog.size()));
+            workload.transitionPool.add(new Transitionable(id, "DRAFT"));
+        }
+        return workload;
+    }
+
+    /**
+     * Смесь операций с весами из строки вида {@code list:10,detail:30,patch-item:20}.
+     */
+    Map<String, Weighted> mix(String spec) {
+        Map<String, Operation> operations = Map.of(
+                LIST, (api, i) -> outcome(api.get(REQUISITIONS)),
+                DETAIL, (api, i) -> outcome(api.get(REQUISITIONS + "/" + requisition(i))),
+                SUMMARY, (api, i) -> outcome(api.get(REQUISITIONS + "/" + requisition(i) + "/summary")),
+                CREATE_ITEM, (api, i) -> createNextItem(),
+                PATCH_ITEM, (api, i) -> patchItem(i),
+                TRANSITION, (api, i) -> transition());
+        Map<String, Weighted> mix = new LinkedHashMap<>();
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.trim().split(":");
+            Operation operation = operations.get(parts[0]);
+            if (operation == null || parts.length != 2) {
+                throw new IllegalArgumentException("Неизвестная операция в смеси: " + entry
+                        + "; доступны " + operations.keySet());
+            }
+            mix.put(parts[0], new Weighted(Integer.parseInt(parts[1]), operation));
+        }
+        return mix;
+    }
+
+    private long requisition(long iteration) {
+        return requisitionIds[(int) (iteration % requisitionIds.length)];
+    }
+
+    private Outcome createNextItem() throws Exception {
+        long n = createdItems.getAndIncrement();
+        // Блокирующий HTTP-вызов нельзя делать внутри computeIfAbsent: блокировка корзины ConcurrentHashMap
+        // закрепляет виртуальный поток за носителем, и при одном носителе HTTP-клиент не получит ответ
+        CompletableFuture<Long> created = new CompletableFuture<>();
+        CompletableFuture<Long> existing = createTargets.putIfAbsent(n / catalog.size(), created);
+        if (existing == null) {
+            try {
+                created.complete(createRequisition());
+            } catch (Exception e) {
+                created.completeExceptionally(e);
+                throw e;
+            }
+        }
+        long target = (existing == null ? created : existing).join();
+        return outcome(client.post(REQUISITIONS + "/" + target + "/items",
+                itemJson(catalog.get((int) (n % catalog.size())))));
+    }
+
+    private Outcome patchItem(long iteration) throws Exception {
+        int slot = (int) (iteration % itemIds.length);
+        long requisitionId = requisitionIds[slot];
+        HttpResponse<String> response = client.patch(
+                REQUISITIONS + "/" + requisitionId + "/items/" + itemIds[slot],
+                "{\"quantity\":" + (1 + iteration % 500) + ",\"version\":" + itemVersions.get(slot) + "}");
+        if (response.statusCode() == 200) {
+            long version = json.readTree(response.body()).get("version").asLong();
+            itemVersions.accumulateAndGet(slot, version, Math::max);
+            return Outcome.OK;
+        }
+        if (response.statusCode() == 409) {
+            refreshVersion(slot);
+            return Outcome.CONFLICT;
+        }
+        return Outcome.ERROR;
+    }
+
+    private void refreshVersion(int slot) throws Exception {
+        HttpResponse<String> detail = client.get(REQUISITIONS + "/" + requisitionIds[slot]);
+        for (JsonNode item : json.readTree(detail.body()).get("items")) {
+            if (item.get("id").asLong() == itemIds[slot]) {
+                itemVersions.accumulateAndGet(slot, item.get("version").asLong(), Math::max);
+            }
+        }
+    }
+
+    private Outcome transition() throws Exception {
+        Transitionable current = transitionPool.poll();
+        if (current == null) {
+            return Outcome.ERROR;
+        }
+        String target = switch (current.status()) {
+            case "DRAFT" -> "SUBMITTED";
+            case "SUBMITTED" -> "REJECTED";
+            default -> "DRAFT";
+        };
+        HttpResponse<String> response = client.post(REQUISITIONS + "/" + current.id() + "/transition",
+                "{\"targetStatus\":\"" + target + "\"}");
+        Outcome outcome = outcome(response);
+        transitionPool.add(outcome == Outcome.OK ? new Transitionable(current.id(), target) : current);
+        return outcome;
+    }
+
+    private void loadCatalog() throws Exception {
+        HttpResponse<String> response = client.get("/api/v1/reference/nomenclatures");
+        for (JsonNode node : json.readTree(response.body())) {
+            catalog.add(new Nomenclature(node.get("code").asString(), node.get("name").asString(),
+                    node.get("allowedUnits").get(0).asString()));
+        }
+        if (catalog.isEmpty()) {
+            throw new IllegalStateException("Справочник номенклатур пуст: " + response.statusCode());
+        }
+    }
+
+    private long createRequisition() throws IOException, InterruptedException {
+        HttpResponse<String> response = client.post(REQUISITIONS, "{\"organizerId\":\"loadtest\"}");
+        if (response.statusCode() != 201) {
+            throw new IllegalStateException("Не удалось создать заявку: " + response.statusCode() + " " + response.body());
+        }
+        return json.readTree(response.body()).get("id").asLong();
+    }
+
+    private JsonNode createItem(long requisitionId, Nomenclature nomenclature) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.post(REQUISITIONS + "/" + requisitionId + "/items", itemJson(nomenclature));
+        if (response.statusCode() != 201) {
+            throw new IllegalStateException("Не удалось создать позицию: " + response.statusCode() + " " + response.body());
+        }
+        return json.readTree(response.body());
+    }
+
+    private String itemJson(Nomenclature nomenclature) {
+        return "{\"nomenclatureCode\":\"" + nomenclature.code() + "\",\"nomenclatureName\":\"" + nomenclature.name()
+                + "\",\"quantity\":10,\"unitCode\":\"" + nomenclature.unit()
+                + "\",\"priceWithoutVat\":100.00,\"desiredDeliveryDate\":\"" + deliveryDate + "\"}";
+    }
+
+    private static Outcome outcome(HttpResponse<String> response) {
+        int status = response.statusCode();
+        return status >= 200 && status < 300 ? Outcome.OK : Outcome.ERROR;
+    }
+}
@@ -0,0 +1,52 @@
+package com.tslnkk.skcapi.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Целевые показатели прогона. Пороги задаются системными свойствами:
+ * {@code loadtest.slo.p99-ms}, {@code loadtest.slo.p999-ms}, {@code loadtest.slo.error-rate}
+ * и переопределения для отдельной операции, например {@code loadtest.slo.create-item.p99-ms}.
+ * Перцентили сравниваются с гистограммой с поправкой на coordinated omission.
+ */
+record Slo(double p99Ms, double p999Ms, double errorRate) {
+
+    static Slo fromSystemProperties() {
+        return new Slo(
+                doubleProperty("loadtest.slo.p99-ms", 250),
+                doubleProperty("loadtest.slo.p999-ms", 1000),
+                doubleProperty("loadtest.slo.error-rate", 0.01));
+    }
+
+    /**
+     * @return описания нарушений; пустой список — SLO выполнены
+     */
+    List<String> violations(List<LoadResult> results) {
+        List<String> violations = new ArrayList<>();
+        for (LoadResult result : results) {
+            if (result.requests() == 0) {
+                continue;
+            }
+            String prefix = "loadtest.slo." + result.name() + ".";
+            check(violations, result.name(), "p99", result.percentileMs(99),
+                    doubleProperty(prefix + "p99-ms", p99Ms), "ms");
+            check(violations, result.name(), "p999", result.percentileMs(99.9),
+                    doubleProperty(prefix + "p999-ms", p999Ms), "ms");
+            check(violations, result.name(), "error rate", result.errorRate(),
+                    doubleProperty(prefix + "error-rate", errorRate), "");
+        }
+        return violations;
+    }
+
+    private static void check(List<String> violations, String name, String metric, double actual, double limit,
+                              String unit) {
+        if (actual > limit) {
+            violations.add(String.format("%s: %s %.3f%s > %.3f%s", name, metric, actual, unit, limit, unit));
+        }
+    }
+
+    private static double doubleProperty(String name, double defaultValue) {
+        String value = System.getProperty(name);
+        return value == null ? defaultValue : Double.parseDouble(value);
+    }
+}
@@ -0,0 +1,136 @@
+package com.tslnkk.skcapi.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Время до первого успешного запроса для разных режимов старта: процесс JVM запускается заново,
+ * отсчёт идёт от запуска процесса до первого {@code 200} на защищённом эндпоинте
+ * (проходит security, MVC, сервис и сериализацию).
+ * <p>
+ * Режимы: {@code default} — профиль по умолчанию, {@code prod} — профиль prod,
+ * {@code prod-aot} — prod с AOT-конфигурацией, {@code prod-aot-cds} — то же плюс архив AppCDS.
+ * <p>
+ * Запуск: {@code ./gradlew startupBenchmark}. Параметры: {@code startup.iterations} (5),
+ * {@code startup.modes} (через запятую), {@code startup.timeout-seconds} (120).
+ */
+public final class StartupBenchmark {
+
+    private record Mode(String name, List<String> command) {
+    }
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String java = System.getProperty("startup.java", "java");
+        String jar = required("startup.jar");
+        String cdsDir = required("startup.cds-dir");
+        String cdsJar = new File(cdsDir, new File(jar).getName()).getAbsolutePath();
+        int iterations = Integer.getInteger("startup.iterations", 5);
+        Duration timeout = Duration.ofSeconds(Long.getLong("startup.timeout-seconds", 120));
+        List<String> selected = Arrays.asList(
+                System.getProperty("startup.modes", "default,prod,prod-aot,prod-aot-cds").split(","));
+
+        List<Mode> modes = new ArrayList<>();
+        modes.add(new Mode("default", List.of(java, "-jar", jar)));
+        modes.add(new Mode("prod", List.of(java, "-jar", jar, "--spring.profiles.active=prod")));
+        modes.add(new Mode("prod-aot", List.of(java, "-Dspring.aot.enabled=true", "-jar", jar,
+                "--spring.profiles.active=prod")));
+        modes.add(new Mode("prod-aot-cds", List.of(java, "-XX:SharedArchiveFile=" + cdsDir + "/application.jsa",
+                "-Xlog:cds=off", "-Dspring.aot.enabled=true", "-jar", cdsJar, "--spring.profiles.active=prod")));
+
+        List<String> report = new ArrayList<>();
+        double baseline = 0;
+        for (Mode mode : modes) {
+            if (!selected.contains(mode.name())) {
+                continue;
+            }
+            long[] samples = new long[iterations];
+            for (int i = 0; i < iterations; i++) {
+                samples[i] = timeToFirstRequestMs(mode, timeout);
+                System.out.printf("%-14s run %d: %d ms%n", mode.name(), i + 1, samples[i]);
+            }
+            Arrays.sort(samples);
+            double median = samples[iterations / 2];
+            if (baseline == 0) {
+                baseline = median;
+            }
+            report.add(String.format("%-14s median=%6.0f ms  min=%6d ms  max=%6d ms  vs %s: %+5.1f%%",
+                    mode.name(), median, samples[0], samples[iterations - 1], selected.getFirst(),
+                    100 * (median - baseline) / baseline));
+        }
+
+        System.out.println();
+        System.out.println("=== Time to first successful request ===");
+        report.forEach(System.out::println);
+    }
+
+    private static long timeToFirstRequestMs(Mode mode, Duration timeout) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>(mode.command());
+        command.add("--server.port=" + port);
+        command.add("--logging.level.root=WARN");
+
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/reference/units"))
+                .timeout(Duration.ofSeconds(5))
+                .header("Authorization", "Basic " + Base64.getEncoder()
+                        .encodeToString("admin:admin".getBytes(StandardCharsets.UTF_8)))
+                .build();
+
+        long startNs = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            long deadlineNs = startNs + timeout.toNanos();
+            while (System.nanoTime() < deadlineNs) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(mode.name() + ": процесс завершился с кодом " + process.exitValue());
+                }
+                try {
+                    if (http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return (System.nanoTime() - startNs) / 1_000_000;
+                    }
+                } catch (IOException notYetListening) {
+                    // порт ещё не открыт
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException(mode.name() + ": нет успешного ответа за " + timeout);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static String required(String name) {
+        String value = System.getProperty(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Не задано свойство " + name + "; запускайте через ./gradlew startupBenchmark");
+        }
+        return value;
+    }
+}
@@ -0,0 +1,51 @@
+package com.tslnkk.skcapi.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Сравнение режимов выполнения запросов: пул платформенных потоков Tomcat
+ * против виртуальных потоков с DB-bulkhead при 200, 1000 и 5000 конкурентных клиентах.
+ * <p>
+ * Запуск: {@code ./gradlew loadTest -Dloadtest.main=VirtualThreadComparison}.
+ * Параметры: {@code loadtest.clients} (через запятую), {@code loadtest.warmup-seconds}, {@code loadtest.duration-seconds}.
+ */
+public final class VirtualThreadComparison {
+
+    private VirtualThreadComparison() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int[] clientCounts = Arrays.stream(System.getProperty("loadtest.clients", "200,1000,5000").split(","))
+                .map(String::trim)
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        Duration warmup = Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 5));
+        Duration duration = Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 20));
+
+        List<LoadResult> results = new ArrayList<>();
+        for (boolean virtual : new boolean[]{false, true}) {
+            String mode = virtual ? "virtual" : "platform";
+            try (EmbeddedApp app = EmbeddedApp.start(Map.of("spring.threads.virtual.enabled", String.valueOf(virtual)))) {
+                ApiClient client = new ApiClient(app.baseUrl(), "admin", "admin");
+                // Один запрос до нагрузки, чтобы проверка BCrypt попала в кэш, а не выполнялась каждым клиентом
+                client.get("/api/v1/auth/me");
+                for (int clients : clientCounts) {
+                    LoadResult result = ClosedModelLoad.run(mode + " x" + clients, client, clients, warmup, duration,
+                            (api, i) -> api.get(i % 2 == 0
+                                    ? "/api/v1/requisitions/1"
+                                    : "/api/v1/requisitions/1/summary").statusCode());
+                    System.out.println(result.format());
+                    results.add(result);
+                }
+            }
+        }
+
+        System.out.println();
+        System.out.println("=== Platform threads vs virtual threads ===");
+        results.forEach(r -> System.out.println(r.format()));
+    }
+}
@@ -1,5 +1,7 @@
 package com.tslnkk.skcapi.aspect;
 
+import com.tslnkk.skcapi.jfr.ServiceCallEvent;
+import com.tslnkk.skcapi.trace.TraceContext;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.ProceedingJoinPoint;
@@ -20,7 +22,9 @@ import java.util.regex.Pattern;
 /**
  * Cross-cutting logging concern via AOP.
  * Automatically logs method entry, exit, and exceptions
- * for service and controller layers.
+ * for service and controller layers, and records both layers
+ * as spans of the current request trace ({@link TraceContext}).
+ * Service calls are also emitted as JFR {@link ServiceCallEvent}s.
  */
 @Aspect
 @Component
@@ -66,6 +70,9 @@ public class LoggingAspect {
         String className = joinPoint.getTarget().getClass().getSimpleName();
         String methodName = joinPoint.getSignature().getName();
         Object[] args = joinPoint.getArgs();
+        ServiceCallEvent event = new ServiceCallEvent();
+        event.begin();
+        boolean failed = false;
         long startNs = System.nanoTime();
         try {
             Object result = joinPoint.proceed();
@@ -81,10 +88,14 @@ public class LoggingAspect {
             }
             return result;
         } catch (Throwable ex) {
+            failed = true;
             long elapsedMs = (System.nanoTime() - startNs) / 1_000_000;
             log.error("Service call failed: {}.{} after {}ms ({})",
                     className, methodName, elapsedMs, ex.getClass().getSimpleName(), ex);
             throw ex;
+        } finally {
+            TraceContext.record("service:" + className + "." + methodName, startNs, System.nanoTime());
+            event.complete(className, methodName, extractRequisitionId(args), failed);
         }
     }
 
@@ -103,14 +114,28 @@ public class LoggingAspect {
             Object result = joinPoint.proceed();
             long elapsedMs = (System.nanoTime() - startNs) / 1_000_000;
             int status = response != null ? response.getStatus() : -1;
-            log.info("HTTP {} {}{} -> {}.{} status={} user={} in {}ms",
-                    method, uri, query, className, methodName, status, user, elapsedMs);
+            log.atInfo()
+                    .addKeyValue("method", method)
+                    .addKeyValue("uri", uri)
+                    .addKeyValue("status", status)
+                    .addKeyValue("user", user)
+                    .addKeyValue("latencyMs", elapsedMs)
+                    .log("HTTP {} {}{} -> {}.{} status={} user={} in {}ms",
+                            method, uri, query, className, methodName, status, user, elapsedMs);
             return result;
         } catch (Throwable ex) {
             long elapsedMs = (System.nanoTime() - startNs) / 1_000_000;
-            log.error("HTTP handling failed: {}.{} after {}ms ({})",
-                    className, methodName, elapsedMs, ex.getClass().getSimpleName(), ex);
+            log.atError()
+                    .addKeyValue("method", method)
+                    .addKeyValue("uri", uri)
+                    .addKeyValue("user", user)
+                    .addKeyValue("latencyMs", elapsedMs)
+                    .setCause(ex)
+                    .log("HTTP handling failed: {}.{} after {}ms ({})",
+                            className, methodName, elapsedMs, ex.getClass().getSimpleName());
             throw ex;
+        } finally {
+            TraceContext.record("controller:" + className + "." + methodName, startNs, System.nanoTime());
         }
     }
 
@@ -122,6 +147,13 @@ public class LoggingAspect {
         }
     }
 
+    /**
+     * Service methods take the requisition id as their first argument by convention.
+     */
+    private long extractRequisitionId(Object[] args) {
+        return args != null && args.length > 0 && args[0] instanceof Long id ? id : 0L;
+    }
+
     private String formatArgs(Object[] args) {
         if (args == null || args.length == 0) {
             return "[]";
@@ -169,7 +201,7 @@ public class LoggingAspect {
         return attrs != null ? attrs.getResponse() : null;
     }
 
-    private String sanitizeSensitiveData(String value) {
+    static String sanitizeSensitiveData(String value) {
         if (value == null || value.isBlank()) {
             return value;
         }
@@ -0,0 +1,49 @@
+package com.tslnkk.skcapi.audit;
+
+import com.tslnkk.skcapi.dto.AuditChange;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Построение пополевого diff по снимкам «поле → значение» до и после изменения.
+ * Значения сравниваются в строковом виде: {@code 10} и {@code 10.00} — одно и то же количество.
+ */
+public final class AuditDiff {
+
+    private AuditDiff() {
+    }
+
+    /**
+     * @param before снимок до изменения; пустой — объект создан
+     * @param after  снимок после изменения; пустой — объект удалён
+     * @return изменённые поля в порядке ключей снимков
+     */
+    public static List<AuditChange> between(Map<String, ?> before, Map<String, ?> after) {
+        Set<String> fields = new LinkedHashSet<>(before.keySet());
+        fields.addAll(after.keySet());
+        List<AuditChange> changes = new ArrayList<>();
+        for (String field : fields) {
+            String from = format(before.get(field));
+            String to = format(after.get(field));
+            if (!Objects.equals(from, to)) {
+                changes.add(new AuditChange(field, from, to));
+            }
+        }
+        return changes;
+    }
+
+    private static String format(Object value) {
+        return switch (value) {
+            case null -> null;
+            case BigDecimal decimal -> decimal.stripTrailingZeros().toPlainString();
+            case Enum<?> constant -> constant.name();
+            default -> value.toString();
+        };
+    }
+}
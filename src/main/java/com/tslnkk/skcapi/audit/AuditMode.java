@@ -0,0 +1,13 @@
+package com.tslnkk.skcapi.audit;
+
+/**
+ * Когда записи аудита попадают в БД.
+ */
+public enum AuditMode {
+
+    /** После коммита изменения через буфер и фоновую пакетную запись; запрос не ждёт БД аудита. */
+    ASYNC,
+
+    /** В транзакции изменения: запись аудита фиксируется или откатывается вместе с ним. */
+    SYNC
+}
@@ -0,0 +1,65 @@
+package com.tslnkk.skcapi.audit;
+
+import com.tslnkk.skcapi.domain.AuditRecord;
+import com.tslnkk.skcapi.dto.AuditChange;
+import com.tslnkk.skcapi.dto.AuditEntryResponse;
+import com.tslnkk.skcapi.dto.AuditPageResponse;
+import com.tslnkk.skcapi.repository.AuditRecordRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+
+/**
+ * Чтение журнала аудита заявки. Журнал заявки доступен и после её удаления.
+ * В режиме {@link AuditMode#ASYNC} последние изменения видны после фоновой записи (обычно доли секунды).
+ */
+@Service
+public class AuditService {
+
+    private final AuditRecordRepository repository;
+    private final JsonMapper jsonMapper;
+    private final int maxPageSize;
+
+    public AuditService(AuditRecordRepository repository,
+                        JsonMapper jsonMapper,
+                        @Value("${app.audit.max-page-size:200}") int maxPageSize) {
+        this.repository = repository;
+        this.jsonMapper = jsonMapper;
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * @param page номер страницы с 0 (отрицательный приводится к 0)
+     * @param size размер страницы, приводится к 1..{@code app.audit.max-page-size}
+     */
+    @Transactional(readOnly = true)
+    public AuditPageResponse page(Long requisitionId, int page, int size) {
+        PageRequest request = PageRequest.of(Math.max(page, 0), Math.clamp(size, 1, maxPageSize),
+                Sort.by(Sort.Direction.DESC, "id"));
+        Page<AuditRecord> records = repository.findByRequisitionId(requisitionId, request);
+        return new AuditPageResponse(
+                records.map(this::toResponse).getContent(),
+                records.getNumber(),
+                records.getSize(),
+                records.getTotalElements(),
+                records.getTotalPages());
+    }
+
+    private AuditEntryResponse toResponse(AuditRecord record) {
+        return new AuditEntryResponse(
+                record.getId(),
+                record.getRequisitionId(),
+                record.getItemId(),
+                record.getAction(),
+                List.of(jsonMapper.readValue(record.getChanges(), AuditChange[].class)),
+                record.getPrincipal(),
+                record.getTraceId(),
+                record.getOccurredAt());
+    }
+}
@@ -0,0 +1,315 @@
+package com.tslnkk.skcapi.audit;
+
+import com.tslnkk.skcapi.config.RequestCorrelationFilter;
+import com.tslnkk.skcapi.dto.AuditChange;
+import com.tslnkk.skcapi.event.RequisitionChangedEvent.ChangeType;
+import com.tslnkk.skcapi.init.WarmupRunner;
+import com.tslnkk.skcapi.logging.OverflowPolicy;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Журнал аудита изменений заявок и позиций (write-behind).
+ * <p>
+ * Сервисы передают пополевой diff ({@link AuditDiff}); пользователь и traceId берутся из контекста запроса.
+ * В режиме {@link AuditMode#ASYNC} запись кладётся в ограниченный буфер после коммита изменения
+ * (откатанное изменение в аудит не попадает), а фоновый поток пишет накопившиеся записи в {@code audit_log}
+ * одним JDBC-пакетом — под нагрузкой пакеты растут, и вставок меньше, чем изменений. При заполненном буфере
+ * действует {@link OverflowPolicy}; {@code BLOCK} ждёт место не дольше {@code block-timeout-ms}. Поток
+ * останавливается после того, как веб-сервер дождался текущих запросов; запись, пришедшая позже, пишется
+ * сразу в вызывающем потоке. В режиме {@link AuditMode#SYNC} запись делается в транзакции изменения.
+ * Если пакет не записался, записи пишутся по одной: теряется только та, что не записывается сама.
+ * Изменения прогрева ({@link WarmupRunner#isWarmupRequest()}) не аудируются.
+ */
+@Component
+@Slf4j
+public class AuditTrail implements SmartLifecycle, MeterBinder {
+
+    static final String INSERT = """
+            INSERT INTO audit_log (requisition_id, item_id, action, changes, principal, trace_id, occurred_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?)""";
+
+    private static final String SYSTEM_PRINCIPAL = "system";
+    private static final int MAX_TRACE_ID_LENGTH = 64;
+
+    /** Запись, ожидающая сохранения. */
+    record PendingEntry(Long requisitionId, Long itemId, ChangeType action, List<AuditChange> changes,
+                        String principal, String traceId, Instant occurredAt) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JsonMapper jsonMapper;
+    private final Clock clock;
+    private final boolean enabled;
+    private final AuditMode mode;
+    private final OverflowPolicy overflowPolicy;
+    private final long blockTimeoutMillis;
+    private final int batchSize;
+    private final BlockingQueue<PendingEntry> queue;
+
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder droppedOverflow = new LongAdder();
+    private final LongAdder droppedError = new LongAdder();
+
+    private volatile boolean running;
+    private volatile boolean stopped;
+    private volatile Thread worker;
+
+    public AuditTrail(JdbcTemplate jdbcTemplate,
+                      JsonMapper jsonMapper,
+                      @Value("${app.audit.enabled:true}") boolean enabled,
+                      @Value("${app.audit.mode:ASYNC}") AuditMode mode,
+                      @Value("${app.audit.queue-size:10000}") int queueSize,
+                      @Value("${app.audit.overflow-policy:BLOCK}") OverflowPolicy overflowPolicy,
+                      @Value("${app.audit.block-timeout-ms:1000}") long blockTimeoutMillis,
+                      @Value("${app.audit.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.jsonMapper = jsonMapper;
+        this.clock = Clock.systemUTC();
+        this.enabled = enabled;
+        this.mode = mode;
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutMillis = blockTimeoutMillis;
+        this.batchSize = batchSize;
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+    }
+
+    /**
+     * Записать изменение. Пустой diff (PATCH без фактических изменений) не записывается.
+     *
+     * @param itemId  ID позиции или {@code null} для изменений самой заявки
+     * @param changes изменённые поля
+     */
+    public void record(ChangeType action, Long requisitionId, Long itemId, List<AuditChange> changes) {
+        if (!enabled || changes.isEmpty() || WarmupRunner.isWarmupRequest()) {
+            return;
+        }
+        PendingEntry entry = new PendingEntry(requisitionId, itemId, action, List.copyOf(changes),
+                currentPrincipal(), currentTraceId(), clock.instant());
+        if (mode == AuditMode.SYNC) {
+            write(List.of(entry));
+            recorded.increment();
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(entry);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enqueue(entry);
+            }
+        });
+    }
+
+    private void enqueue(PendingEntry entry) {
+        recorded.increment();
+        if (stopped) {
+            writeOneQuietly(entry);
+            return;
+        }
+        switch (overflowPolicy) {
+            case DROP_NEWEST -> {
+                if (!queue.offer(entry)) {
+                    droppedOverflow.increment();
+                }
+            }
+            case DROP_OLDEST -> {
+                while (!queue.offer(entry)) {
+                    if (queue.poll() != null) {
+                        droppedOverflow.increment();
+                    }
+                }
+            }
+            case BLOCK -> {
+                try {
+                    if (!queue.offer(entry, blockTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                        droppedOverflow.increment();
+                    }
+                } catch (InterruptedException e) {
+                    droppedOverflow.increment();
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+        if (stopped) {
+            // stop() мог дописать буфер раньше, чем запись в него легла
+            flush();
+        }
+    }
+
+    /**
+     * Записать всё, что сейчас в буфере, пакетами до {@code batch-size}.
+     *
+     * @return сколько записей забрано из буфера
+     */
+    int flush() {
+        List<PendingEntry> batch = new ArrayList<>(batchSize);
+        int total = 0;
+        while (queue.drainTo(batch, batchSize) > 0) {
+            total += batch.size();
+            writeQuietly(batch);
+        }
+        return total;
+    }
+
+    private void run() {
+        List<PendingEntry> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                PendingEntry first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                writeQuietly(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+    }
+
+    private void writeQuietly(List<PendingEntry> batch) {
+        try {
+            write(batch);
+        } catch (RuntimeException e) {
+            log.warn("Audit batch of {} entries failed, writing one by one: {}", batch.size(), e.toString());
+            batch.forEach(this::writeOneQuietly);
+        } finally {
+            batch.clear();
+        }
+    }
+
+    private void writeOneQuietly(PendingEntry entry) {
+        try {
+            write(List.of(entry));
+        } catch (RuntimeException e) {
+            droppedError.increment();
+            log.warn("Audit entry for requisition {} lost: {}", entry.requisitionId(), e.toString());
+        }
+    }
+
+    private void write(List<PendingEntry> entries) {
+        List<Object[]> rows = new ArrayList<>(entries.size());
+        for (PendingEntry entry : entries) {
+            rows.add(new Object[]{
+                    entry.requisitionId(),
+                    entry.itemId(),
+                    entry.action().name(),
+                    jsonMapper.writeValueAsString(entry.changes()),
+                    entry.principal(),
+                    entry.traceId(),
+                    entry.occurredAt().atOffset(ZoneOffset.UTC)
+            });
+        }
+        jdbcTemplate.batchUpdate(INSERT, rows);
+        written.add(entries.size());
+    }
+
+    private static String currentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : SYSTEM_PRINCIPAL;
+    }
+
+    /** traceId из MDC; {@code X-Request-Id} клиента длиннее колонки обрезается. */
+    private static String currentTraceId() {
+        String traceId = MDC.get(RequestCorrelationFilter.TRACE_ID_KEY);
+        return traceId == null || traceId.length() <= MAX_TRACE_ID_LENGTH
+                ? traceId
+                : traceId.substring(0, MAX_TRACE_ID_LENGTH);
+    }
+
+    @Override
+    public void start() {
+        if (!enabled || mode != AuditMode.ASYNC || running) {
+            return;
+        }
+        stopped = false;
+        running = true;
+        Thread thread = new Thread(this::run, "audit-writer");
+        thread.setDaemon(true);
+        worker = thread;
+        thread.start();
+        log.info("Audit trail started: mode {}, overflow policy {}", mode, overflowPolicy);
+    }
+
+    /**
+     * Останавливает поток и дописывает остаток буфера до закрытия пула соединений. Вызывается после того, как
+     * веб-сервер дождался текущих запросов ({@link WebServerApplicationContext#GRACEFUL_SHUTDOWN_PHASE}).
+     */
+    @Override
+    public void stop() {
+        stopped = true;
+        running = false;
+        Thread thread = worker;
+        worker = null;
+        if (thread != null) {
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            flush();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return WebServerApplicationContext.GRACEFUL_SHUTDOWN_PHASE - 1;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("audit.recorded", recorded, LongAdder::sum)
+                .description("Audit entries accepted after the change committed")
+                .tag("mode", mode.name())
+                .register(registry);
+        FunctionCounter.builder("audit.written", written, LongAdder::sum)
+                .description("Audit entries written to audit_log")
+                .register(registry);
+        FunctionCounter.builder("audit.dropped", droppedOverflow, LongAdder::sum)
+                .description("Audit entries lost")
+                .tag("reason", "overflow")
+                .register(registry);
+        FunctionCounter.builder("audit.dropped", droppedError, LongAdder::sum)
+                .description("Audit entries lost")
+                .tag("reason", "error")
+                .register(registry);
+        Gauge.builder("audit.queued", queue, BlockingQueue::size)
+                .description("Audit entries waiting to be written")
+                .register(registry);
+    }
+}
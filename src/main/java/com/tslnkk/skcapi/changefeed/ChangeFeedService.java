@@ -0,0 +1,97 @@
+package com.tslnkk.skcapi.changefeed;
+
+import com.tslnkk.skcapi.domain.ChangeLogEntry;
+import com.tslnkk.skcapi.dto.ChangeFeedResponse;
+import com.tslnkk.skcapi.dto.ChangeResponse;
+import com.tslnkk.skcapi.repository.ChangeLogEntryRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Чтение ленты изменений по курсору ({@code GET /api/v1/changes}) и её сжатие.
+ * <p>
+ * Клиент передаёт последний полученный курсор и получает изменения после него по возрастанию —
+ * синхронизация стоит O(изменений), а не O(заявок). Отдаются только записи ниже границы
+ * {@link CommitWatermark}, поэтому курсор не перепрыгивает запись, чья транзакция ещё не зафиксирована.
+ * <p>
+ * Раз в {@code compaction-interval-seconds} записи старше {@code retention-hours} сжимаются: по каждой
+ * заявке остаётся последняя. Отставший клиент пропускает промежуточные состояния, но последнее
+ * изменение каждой заявки (включая удаление) получает всегда.
+ */
+@Service
+@Slf4j
+public class ChangeFeedService implements MeterBinder {
+
+    private final ChangeLogEntryRepository repository;
+    private final CommitWatermark watermark;
+    private final Clock clock;
+    private final int maxLimit;
+    private final Duration retention;
+    private final LongAdder compacted = new LongAdder();
+
+    public ChangeFeedService(ChangeLogEntryRepository repository,
+                             ChangeLogWriter writer,
+                             @Value("${app.changes.max-limit:1000}") int maxLimit,
+                             @Value("${app.changes.retention-hours:24}") long retentionHours) {
+        this.repository = repository;
+        this.watermark = writer.watermark();
+        this.clock = Clock.systemUTC();
+        this.maxLimit = maxLimit;
+        this.retention = Duration.ofHours(retentionHours);
+    }
+
+    /**
+     * Изменения после курсора.
+     *
+     * @param after курсор последнего полученного изменения; 0 — с начала ленты
+     * @param limit сколько изменений вернуть, приводится к 1..{@code max-limit}
+     */
+    @Transactional(readOnly = true)
+    public ChangeFeedResponse changesAfter(long after, int limit) {
+        long cursor = Math.max(after, 0);
+        int size = Math.clamp(limit, 1, maxLimit);
+        List<ChangeLogEntry> entries = repository.findByIdGreaterThanAndIdLessThanOrderByIdAsc(
+                cursor, watermark.visibleBefore(), Limit.of(size + 1));
+        boolean hasMore = entries.size() > size;
+        List<ChangeResponse> changes = entries.stream()
+                .limit(size)
+                .map(ChangeResponse::from)
+                .toList();
+        long nextCursor = changes.isEmpty() ? cursor : changes.getLast().cursor();
+        return new ChangeFeedResponse(changes, nextCursor, hasMore);
+    }
+
+    @Scheduled(initialDelayString = "${app.changes.compaction-interval-seconds:300}",
+            fixedDelayString = "${app.changes.compaction-interval-seconds:300}", timeUnit = TimeUnit.SECONDS)
+    public void compact() {
+        int removed = repository.compact(clock.instant().minus(retention), watermark.visibleBefore());
+        compacted.add(removed);
+        if (removed > 0) {
+            log.info("Change feed compacted: {} superseded entries removed", removed);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("changefeed.compacted", compacted, LongAdder::sum)
+                .description("Superseded change feed entries removed by compaction")
+                .register(registry);
+        Gauge.builder("changefeed.pending", watermark, CommitWatermark::pendingCount)
+                .description("Change feed entries written by transactions not yet completed")
+                .register(registry);
+    }
+}
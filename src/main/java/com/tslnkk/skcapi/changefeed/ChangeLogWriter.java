@@ -0,0 +1,60 @@
+package com.tslnkk.skcapi.changefeed;
+
+import com.tslnkk.skcapi.domain.ChangeLogEntry;
+import com.tslnkk.skcapi.event.RequisitionChangedEvent;
+import com.tslnkk.skcapi.init.WarmupRunner;
+import com.tslnkk.skcapi.repository.ChangeLogEntryRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+
+/**
+ * Пишет {@link RequisitionChangedEvent} в ленту изменений ({@code requisition_changes}).
+ * <p>
+ * Обычный {@code @EventListener}: вызывается синхронно из сервиса, поэтому запись входит в транзакцию
+ * изменения — откат заявки откатывает и запись, а ошибка записи откатывает изменение.
+ * ID записи отмечается в {@link CommitWatermark} до завершения транзакции.
+ * Изменения прогрева (запросы {@link WarmupRunner} с токеном процесса) в ленту не пишутся — как в outbox и аудит.
+ */
+@Component
+public class ChangeLogWriter {
+
+    private final ChangeLogEntryRepository repository;
+    private final Clock clock;
+    private final boolean enabled;
+    private final CommitWatermark watermark;
+
+    public ChangeLogWriter(ChangeLogEntryRepository repository,
+                           @Value("${app.changes.enabled:true}") boolean enabled) {
+        this.repository = repository;
+        this.clock = Clock.systemUTC();
+        this.enabled = enabled;
+        this.watermark = new CommitWatermark(repository.maxId());
+    }
+
+    @EventListener
+    void onRequisitionChanged(RequisitionChangedEvent event) {
+        if (!enabled || WarmupRunner.isWarmupRequest()) {
+            return;
+        }
+        long id = watermark.register(() -> repository.save(ChangeLogEntry.from(event, clock.instant())).getId());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            watermark.complete(id);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                watermark.complete(id);
+            }
+        });
+    }
+
+    CommitWatermark watermark() {
+        return watermark;
+    }
+}
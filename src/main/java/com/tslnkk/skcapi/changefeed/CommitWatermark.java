@@ -0,0 +1,71 @@
+package com.tslnkk.skcapi.changefeed;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Граница видимости ленты изменений.
+ * <p>
+ * IDENTITY выдаёт ID при вставке, а транзакции фиксируются в другом порядке: запись 11 может стать видна
+ * раньше записи 10. Если отдать клиенту 11 и сдвинуть его курсор, зафиксированную позже 10 он уже не увидит.
+ * Поэтому чтение ограничено {@link #visibleBefore()}: ниже неё все записи либо зафиксированы, либо откатаны.
+ * <p>
+ * Без блокировок: перед вставкой в набор незафиксированных кладётся заявка с нижней оценкой будущего ID
+ * (последний известный ID + 1 — IDENTITY выдаёт только большие), после вставки она заменяется настоящим ID.
+ * Граница — минимум набора, поэтому ID, выданный БД, но ещё не зарегистрированный, её не обгонит, а чтение
+ * ленты не ждёт писателей. Граница учитывает только записи этого экземпляра — лента рассчитана на один
+ * экземпляр приложения на БД.
+ */
+final class CommitWatermark {
+
+    private final ConcurrentSkipListSet<InFlight> pending = new ConcurrentSkipListSet<>(
+            Comparator.comparingLong(InFlight::id).thenComparingLong(InFlight::reservation));
+    private final AtomicLong reservations = new AtomicLong();
+    private final AtomicLong highest;
+
+    CommitWatermark(long highestExisting) {
+        this.highest = new AtomicLong(highestExisting);
+    }
+
+    /**
+     * Выполнить вставку и отметить её ID как незафиксированный.
+     *
+     * @param insert вставка записи, возвращает выданный ID
+     */
+    long register(LongSupplier insert) {
+        InFlight reserved = new InFlight(highest.get() + 1, reservations.incrementAndGet());
+        pending.add(reserved);
+        try {
+            long id = insert.getAsLong();
+            pending.add(new InFlight(id, 0));
+            highest.accumulateAndGet(id, Math::max);
+            return id;
+        } finally {
+            pending.remove(reserved);
+        }
+    }
+
+    /** Транзакция с записью {@code id} зафиксирована или откатана. */
+    void complete(long id) {
+        pending.remove(new InFlight(id, 0));
+    }
+
+    /** Записи с ID меньше результата можно отдавать клиентам. */
+    long visibleBefore() {
+        // highest читается до набора: ID, зарегистрированный позже, больше прочитанного highest
+        long next = highest.get() + 1;
+        Iterator<InFlight> lowest = pending.iterator();
+        return lowest.hasNext() ? Math.min(lowest.next().id(), next) : next;
+    }
+
+    int pendingCount() {
+        return pending.size();
+    }
+
+    /** Незафиксированная запись ({@code reservation == 0}) или заявка на вставку с нижней оценкой ID. */
+    private record InFlight(long id, long reservation) {
+    }
+}
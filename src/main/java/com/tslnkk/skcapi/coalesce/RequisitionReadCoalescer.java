@@ -0,0 +1,101 @@
+package com.tslnkk.skcapi.coalesce;
+
+import com.tslnkk.skcapi.dto.RequisitionDetailResponse;
+import com.tslnkk.skcapi.dto.RequisitionSummaryResponse;
+import com.tslnkk.skcapi.event.RequisitionChangedEvent;
+import com.tslnkk.skcapi.service.RequisitionItemService;
+import com.tslnkk.skcapi.service.RequisitionService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Объединяет одновременные одинаковые чтения заявки ({@code GET /requisitions/{id}}) и сводки
+ * ({@code GET /requisitions/{id}/summary}): десятки вкладок дашборда, открытых разом, дают один запрос к БД.
+ * <p>
+ * Ключ — ID заявки и «поколение» записей в неё. Поколение увеличивается после коммита любой записи
+ * ({@link RequisitionChangedEvent}, фаза {@code AFTER_COMMIT}), поэтому чтение, начатое после того, как
+ * запись зафиксирована, не присоединится к вычислению, начатому до неё, и увидит изменения.
+ * Поколения хранятся в фиксированном массиве по хэшу ID: запись в одну заявку иногда сбрасывает
+ * объединение для другой — это лишь лишний запрос к БД, зато память не растёт с числом заявок.
+ * <p>
+ * Вызов идёт снаружи транзакции сервиса: ожидающие запросы не занимают соединение с БД.
+ * Метрика {@code read.coalescing.calls} с тегом {@code result}: {@code executed} — вычислено,
+ * {@code shared} — получено из чужого вычисления.
+ */
+@Component
+public class RequisitionReadCoalescer implements MeterBinder {
+
+    private static final int GENERATION_STRIPES = 1024;
+
+    private record Key(long requisitionId, long generation) {
+    }
+
+    private final RequisitionService requisitionService;
+    private final RequisitionItemService itemService;
+    private final boolean enabled;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    private final SingleFlight<Key, RequisitionDetailResponse> details = new SingleFlight<>();
+    private final SingleFlight<Key, RequisitionSummaryResponse> summaries = new SingleFlight<>();
+
+    public RequisitionReadCoalescer(RequisitionService requisitionService,
+                                    RequisitionItemService itemService,
+                                    @Value("${app.read-coalescing.enabled:true}") boolean enabled) {
+        this.requisitionService = requisitionService;
+        this.itemService = itemService;
+        this.enabled = enabled;
+    }
+
+    public RequisitionDetailResponse getById(Long id) {
+        if (!enabled) {
+            return requisitionService.getById(id);
+        }
+        return details.execute(key(id), () -> requisitionService.getById(id));
+    }
+
+    public RequisitionSummaryResponse getSummary(Long requisitionId) {
+        if (!enabled) {
+            return itemService.getSummary(requisitionId);
+        }
+        return summaries.execute(key(requisitionId), () -> itemService.getSummary(requisitionId));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    void onRequisitionChanged(RequisitionChangedEvent event) {
+        generations.incrementAndGet(stripe(event.requisitionId()));
+    }
+
+    private Key key(Long id) {
+        return new Key(id, generations.get(stripe(id)));
+    }
+
+    private static int stripe(Long id) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 54) & (GENERATION_STRIPES - 1);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bind(registry, "detail", details);
+        bind(registry, "summary", summaries);
+    }
+
+    private static void bind(MeterRegistry registry, String endpoint, SingleFlight<?, ?> flight) {
+        FunctionCounter.builder("read.coalescing.calls", flight, SingleFlight::executed)
+                .tag("endpoint", endpoint)
+                .tag("result", "executed")
+                .description("Reads that queried the database")
+                .register(registry);
+        FunctionCounter.builder("read.coalescing.calls", flight, SingleFlight::shared)
+                .tag("endpoint", endpoint)
+                .tag("result", "shared")
+                .description("Reads answered from an identical read already in flight")
+                .register(registry);
+    }
+}
@@ -0,0 +1,61 @@
+package com.tslnkk.skcapi.config;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Виртуальный поток на задачу, но не больше {@code maxConcurrent} одновременно; остальные задачи ждут в FIFO.
+ * <p>
+ * Стандартный {@code VirtualThreadExecutor} Tomcat запускает поток на каждое событие сокета без ограничения.
+ * При тысячах клиентов и немногих ядрах все запросы делят процессор поровну: каждая точка блокировки
+ * внутри запроса (чтение сокета, ожидание соединения, запись ответа) ставит его в конец очереди планировщика
+ * длиной в тысячи потоков, и запрос завершается через «число запросов × время обработки» — в окне замера
+ * не завершается ни один. Ожидающая здесь задача — это {@code Runnable}, а не поток: в очереди планировщика
+ * не больше {@code maxConcurrent} потоков, и принятые запросы завершаются за время, не зависящее от числа клиентов.
+ */
+public class BoundedVirtualThreadExecutor implements Executor {
+
+    private final Semaphore slots;
+    private final Queue<Runnable> pending = new ConcurrentLinkedQueue<>();
+    private final ThreadFactory threads;
+
+    public BoundedVirtualThreadExecutor(String namePrefix, int maxConcurrent) {
+        this.slots = new Semaphore(maxConcurrent);
+        this.threads = Thread.ofVirtual().name(namePrefix, 0).factory();
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        pending.add(task);
+        dispatch();
+    }
+
+    /**
+     * Запустить ожидающие задачи, пока есть свободные места. Вызывается и после добавления задачи,
+     * и после завершения потока: задача, добавленная, пока все места заняты, подхватится освободившимся.
+     */
+    private void dispatch() {
+        while (!pending.isEmpty() && slots.tryAcquire()) {
+            Runnable task = pending.poll();
+            if (task == null) {
+                slots.release();
+                continue;
+            }
+            threads.newThread(() -> {
+                try {
+                    task.run();
+                } finally {
+                    slots.release();
+                    dispatch();
+                }
+            }).start();
+        }
+    }
+
+    public int queued() {
+        return pending.size();
+    }
+}
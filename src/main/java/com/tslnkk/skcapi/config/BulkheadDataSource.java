@@ -0,0 +1,142 @@
+package com.tslnkk.skcapi.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Семафор перед пулом соединений.
+ * <p>
+ * На виртуальных потоках тысячи запросов одновременно доходят до JDBC; без bulkhead-а
+ * они ждут внутри Hikari и падают по {@code connectionTimeout}. Здесь ожидание происходит
+ * на честном (FIFO) семафоре с числом разрешений, равным размеру пула: ожидающий виртуальный поток
+ * стоит дёшево, а в Hikari одновременно обращается не больше потоков, чем есть соединений.
+ * Разрешение возвращается при закрытии соединения.
+ * <p>
+ * Таймаут ожидания разрешения — {@link PermitTimeoutException}: по нему (и только по нему) API отвечает
+ * {@code 503 DATABASE_BUSY}; недоступная БД или ошибка конфигурации пула остаются ошибкой сервера.
+ */
+public class BulkheadDataSource extends DelegatingDataSource {
+
+    /** Собственный SQLState таймаута bulkhead-а: класс 08 (ошибка соединения), подкласс вне стандарта. */
+    public static final String PERMIT_TIMEOUT_SQL_STATE = "08B01";
+
+    /** Не дождались разрешения за {@code acquire-timeout-ms}. */
+    public static class PermitTimeoutException extends SQLTransientConnectionException {
+
+        public PermitTimeoutException(long acquireTimeoutMs) {
+            super("DB bulkhead: no connection permit within " + acquireTimeoutMs + "ms", PERMIT_TIMEOUT_SQL_STATE);
+        }
+    }
+
+    /** Вызвано ли исключение таймаутом bulkhead-а — где угодно в цепочке причин. */
+    public static boolean isPermitTimeout(Throwable exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof PermitTimeoutException) {
+                return true;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    private final Semaphore permits;
+    private final long acquireTimeoutMs;
+
+    public BulkheadDataSource(DataSource target, int maxConcurrent, long acquireTimeoutMs) {
+        super(target);
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        return guard(() -> super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        return guard(() -> super.getConnection(username, password));
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    public int queueLength() {
+        return permits.getQueueLength();
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new PermitTimeoutException(acquireTimeoutMs);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for DB bulkhead permit", e);
+        }
+    }
+
+    private Connection guard(ConnectionSupplier supplier) throws SQLException {
+        Connection connection;
+        try {
+            connection = supplier.get();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new ReleasingHandler(connection));
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSupplier {
+        Connection get() throws SQLException;
+    }
+
+    private final class ReleasingHandler implements InvocationHandler {
+
+        private final Connection target;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private ReleasingHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+                try {
+                    target.close();
+                } finally {
+                    if (released.compareAndSet(false, true)) {
+                        permits.release();
+                    }
+                }
+                return null;
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.tslnkk.skcapi.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Оборачивает основной {@link DataSource} в {@link BulkheadDataSource}.
+ * По умолчанию включается вместе с режимом виртуальных потоков ({@code spring.threads.virtual.enabled}).
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.db.bulkhead.enabled", havingValue = "true")
+public class DataSourceBulkheadConfig {
+
+    @Bean
+    public static BeanPostProcessor dataSourceBulkheadPostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof BulkheadDataSource) {
+                    return bean;
+                }
+                int defaultPermits = bean instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize() : 10;
+                int permits = environment.getProperty("app.db.bulkhead.max-concurrent", Integer.class, defaultPermits);
+                long timeoutMs = environment.getProperty("app.db.bulkhead.acquire-timeout-ms", Long.class, 10_000L);
+                return new BulkheadDataSource(dataSource, permits, timeoutMs);
+            }
+        };
+    }
+}
@@ -6,6 +6,7 @@ import io.swagger.v3.oas.models.info.Contact;
 import io.swagger.v3.oas.models.info.Info;
 import io.swagger.v3.oas.models.security.SecurityRequirement;
 import io.swagger.v3.oas.models.security.SecurityScheme;
+import io.swagger.v3.oas.models.servers.Server;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -33,6 +34,8 @@ public class OpenApiConfig {
                         .contact(new Contact()
                                 .name("Сериков Нурсултан")
                                 .email("sultanhuman02@gmail.com")))
+                // Относительный адрес: спецификация выгружается при сборке и не должна зависеть от хоста
+                .addServersItem(new Server().url("/"))
                 .addSecurityItem(new SecurityRequirement().addList("basicAuth"))
                 .components(new Components()
                         .addSecuritySchemes("basicAuth",
@@ -1,9 +1,14 @@
 package com.tslnkk.skcapi.config;
 
+import com.tslnkk.skcapi.trace.RequestTrace;
+import com.tslnkk.skcapi.trace.TraceContext;
+import com.tslnkk.skcapi.trace.TraceIds;
+import com.tslnkk.skcapi.trace.TraceStore;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
 import org.slf4j.MDC;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
@@ -11,14 +16,27 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.UUID;
 
+/**
+ * Назначает запросу traceId и кладёт его в MDC и трассу.
+ * <p>
+ * Источник traceId по приоритету: trace-id из корректного W3C {@code traceparent} (запрос продолжает
+ * трассу вызывающей стороны), заголовок {@code X-Request-Id}, новый случайный идентификатор ({@link TraceIds}).
+ * {@code X-Request-Id} — идентификатор запроса для корреляции: если он есть, возвращается в ответе как есть
+ * и попадает в MDC как {@code requestId}, но трассу не подменяет. Без него ответ содержит traceId в
+ * {@code X-Request-Id}; если traceId совместим с W3C — также {@code traceparent} с новым span-id.
+ */
 @Component
 @Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
 public class RequestCorrelationFilter extends OncePerRequestFilter {
 
     private static final String REQUEST_ID_HEADER = "X-Request-Id";
-    private static final String TRACE_ID_KEY = "traceId";
+    private static final String TRACEPARENT_HEADER = "traceparent";
+    public static final String TRACE_ID_KEY = "traceId";
+    public static final String REQUEST_ID_KEY = "requestId";
+
+    private final TraceStore traceStore;
 
     @Override
     protected void doFilterInternal(
@@ -26,17 +44,37 @@ public class RequestCorrelationFilter extends OncePerRequestFilter {
             HttpServletResponse response,
             FilterChain filterChain
     ) throws ServletException, IOException {
-        String traceId = request.getHeader(REQUEST_ID_HEADER);
-        if (traceId == null || traceId.isBlank()) {
-            traceId = UUID.randomUUID().toString();
+        String traceparent = request.getHeader(TRACEPARENT_HEADER);
+        String requestId = request.getHeader(REQUEST_ID_HEADER);
+        if (requestId != null && requestId.isBlank()) {
+            requestId = null;
         }
+        String parentTraceId = TraceIds.traceIdFromTraceparent(traceparent);
+        String traceId = parentTraceId != null ? parentTraceId
+                : requestId != null ? requestId
+                : TraceIds.newTraceId();
 
         MDC.put(TRACE_ID_KEY, traceId);
-        response.setHeader(REQUEST_ID_HEADER, traceId);
+        if (requestId != null) {
+            MDC.put(REQUEST_ID_KEY, requestId);
+        }
+        response.setHeader(REQUEST_ID_HEADER, requestId != null ? requestId : traceId);
+        if (TraceIds.isValidTraceId(traceId)) {
+            boolean sampled = parentTraceId == null || TraceIds.isSampled(traceparent);
+            response.setHeader(TRACEPARENT_HEADER, TraceIds.traceparent(traceId, TraceIds.newSpanId(), sampled));
+        }
+        if (traceStore.isEnabled()) {
+            TraceContext.start(traceId, request.getMethod(), request.getRequestURI());
+        }
         try {
             filterChain.doFilter(request, response);
         } finally {
+            RequestTrace trace = TraceContext.finish(response.getStatus());
+            if (trace != null) {
+                traceStore.publish(trace);
+            }
             MDC.remove(TRACE_ID_KEY);
+            MDC.remove(REQUEST_ID_KEY);
         }
     }
 }
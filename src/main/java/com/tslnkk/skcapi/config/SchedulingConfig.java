@@ -0,0 +1,13 @@
+package com.tslnkk.skcapi.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Фоновые задачи ({@code @Scheduled}): сжатие ленты изменений.
+ * Размер пула — {@code spring.task.scheduling.pool.size}.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
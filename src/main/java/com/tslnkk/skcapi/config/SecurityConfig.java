@@ -1,5 +1,7 @@
 package com.tslnkk.skcapi.config;
 
+import com.tslnkk.skcapi.security.CachingPasswordEncoder;
+import com.tslnkk.skcapi.trace.TracingPasswordEncoder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.beans.factory.annotation.Value;
@@ -13,6 +15,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 
+import java.time.Duration;
+
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
@@ -29,6 +33,15 @@ public class SecurityConfig {
     @Value("${app.security.user.password:user}")
     private String userPassword;
 
+    @Value("${app.security.credential-cache.enabled:true}")
+    private boolean credentialCacheEnabled;
+
+    @Value("${app.security.credential-cache.ttl-seconds:300}")
+    private long credentialCacheTtlSeconds;
+
+    @Value("${app.security.credential-cache.max-entries:10000}")
+    private int credentialCacheMaxEntries;
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
@@ -40,8 +53,12 @@ public class SecurityConfig {
                                 "/h2-console/**",
                                 "/swagger-ui/**",
                                 "/swagger-ui.html",
-                                "/v3/api-docs/**"
+                                "/v3/api-docs/**",
+                                "/openapi.json",
+                                "/webjars/**",
+                                "/actuator/health/**"
                         ).permitAll()
+                        .requestMatchers("/debug/**", "/actuator/**").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
                 .httpBasic(Customizer.withDefaults());
@@ -63,8 +80,16 @@ public class SecurityConfig {
         return new InMemoryUserDetailsManager(admin, user);
     }
 
+    /**
+     * BCrypt с кэшем успешных проверок: HTTP Basic без кэша платит полный BCrypt на каждый запрос.
+     */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        PasswordEncoder encoder = new BCryptPasswordEncoder();
+        if (credentialCacheEnabled) {
+            encoder = new CachingPasswordEncoder(
+                    encoder, Duration.ofSeconds(credentialCacheTtlSeconds), credentialCacheMaxEntries);
+        }
+        return new TracingPasswordEncoder(encoder);
     }
 }
@@ -0,0 +1,54 @@
+package com.tslnkk.skcapi.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.tomcat.ConfigurableTomcatWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Режим виртуальных потоков: обработчики Tomcat на {@link BoundedVirtualThreadExecutor} вместо неограниченного
+ * {@code VirtualThreadExecutor}, который ставит Spring Boot.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadsConfig {
+
+    @Bean
+    public BoundedVirtualThreadExecutor tomcatHandlerExecutor(
+            @Value("${app.virtual-threads.max-concurrent-requests:200}") int maxConcurrent) {
+        return new BoundedVirtualThreadExecutor("tomcat-handler-", maxConcurrent);
+    }
+
+    @Bean
+    public WebServerFactoryCustomizer<ConfigurableTomcatWebServerFactory> boundedVirtualThreadsCustomizer(
+            BoundedVirtualThreadExecutor executor) {
+        return new BoundedExecutorCustomizer(executor);
+    }
+
+    @Bean
+    public MeterBinder tomcatHandlerQueueMetrics(BoundedVirtualThreadExecutor executor) {
+        return registry -> Gauge.builder("http.server.handlers.queued", executor, BoundedVirtualThreadExecutor::queued)
+                .description("Tomcat socket events waiting for a free virtual-thread slot")
+                .register(registry);
+    }
+
+    /** Идёт после {@code TomcatVirtualThreadsWebServerFactoryCustomizer} (порядок 1) и заменяет его executor. */
+    private record BoundedExecutorCustomizer(BoundedVirtualThreadExecutor executor)
+            implements WebServerFactoryCustomizer<ConfigurableTomcatWebServerFactory>, Ordered {
+
+        @Override
+        public void customize(ConfigurableTomcatWebServerFactory factory) {
+            factory.addProtocolHandlerCustomizers(handler -> handler.setExecutor(executor));
+        }
+
+        @Override
+        public int getOrder() {
+            return 2;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.tslnkk.skcapi.controller;
+
+import com.tslnkk.skcapi.audit.AuditService;
+import com.tslnkk.skcapi.dto.AuditPageResponse;
+import com.tslnkk.skcapi.dto.ErrorResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/requisitions/{requisitionId}/audit")
+@RequiredArgsConstructor
+@Tag(name = "Аудит", description = "Журнал изменений заявки: кто, когда и какие поля изменил")
+public class AuditController {
+
+    private final AuditService auditService;
+
+    @Operation(summary = "Журнал аудита заявки",
+            description = "Пополевые изменения заявки и её позиций, новые первыми. Журнал удалённой заявки "
+                    + "тоже доступен. В асинхронном режиме последние изменения появляются после фоновой записи.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Страница журнала"),
+            @ApiResponse(responseCode = "400", description = "ID, номер или размер страницы не число",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping
+    public ResponseEntity<AuditPageResponse> audit(
+            @Parameter(description = "ID заявки", example = "1") @PathVariable Long requisitionId,
+            @Parameter(description = "Номер страницы с 0", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Размер страницы (1..app.audit.max-page-size)", example = "50")
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(auditService.page(requisitionId, page, size));
+    }
+}
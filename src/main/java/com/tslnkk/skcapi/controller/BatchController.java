@@ -0,0 +1,69 @@
+package com.tslnkk.skcapi.controller;
+
+import com.tslnkk.skcapi.dto.BatchOperationResult;
+import com.tslnkk.skcapi.dto.BatchRequest;
+import com.tslnkk.skcapi.dto.BatchSummary;
+import com.tslnkk.skcapi.dto.ErrorResponse;
+import com.tslnkk.skcapi.service.BatchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.Principal;
+
+@RestController
+@RequestMapping("/api/v1/batch")
+@RequiredArgsConstructor
+@Tag(name = "Пакетные операции", description = "Несколько операций над заявками за один HTTP-запрос")
+public class BatchController {
+
+    private final BatchService batchService;
+    private final JsonMapper jsonMapper;
+
+    @Operation(summary = "Выполнить пакет операций",
+            description = "Операции выполняются по порядку; ответ — NDJSON: по строке BatchOperationResult "
+                    + "на операцию и последняя строка BatchSummary. Статус ответа 200, статусы операций — в строках.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Пакет выполнен (результаты операций в потоке)",
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                            schema = @Schema(oneOf = {BatchOperationResult.class, BatchSummary.class}))),
+            @ApiResponse(responseCode = "400", description = "Пакет пуст, слишком велик или невалиден",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void execute(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Операции пакета",
+                    required = true)
+            @Valid @RequestBody BatchRequest request,
+            Principal principal,
+            HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        ServletOutputStream out = response.getOutputStream();
+        batchService.execute(request, principal != null ? principal.getName() : null, line -> {
+            try {
+                out.write(jsonMapper.writeValueAsBytes(line));
+                out.write('\n');
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+}
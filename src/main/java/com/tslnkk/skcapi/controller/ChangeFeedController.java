@@ -0,0 +1,45 @@
+package com.tslnkk.skcapi.controller;
+
+import com.tslnkk.skcapi.changefeed.ChangeFeedService;
+import com.tslnkk.skcapi.dto.ChangeFeedResponse;
+import com.tslnkk.skcapi.dto.ErrorResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/changes")
+@RequiredArgsConstructor
+@Tag(name = "Лента изменений", description = "Инкрементальная синхронизация заявок по курсору")
+public class ChangeFeedController {
+
+    private final ChangeFeedService changeFeedService;
+
+    @Operation(summary = "Изменения после курсора",
+            description = "Изменения заявок и позиций по возрастанию курсора. Передайте nextCursor из ответа "
+                    + "в after следующего запроса; пока hasMore = true, есть ещё изменения. Старые записи "
+                    + "сжимаются до последней по каждой заявке.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Страница изменений"),
+            @ApiResponse(responseCode = "400", description = "Курсор или лимит не число",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping
+    public ResponseEntity<ChangeFeedResponse> changes(
+            @Parameter(description = "Курсор последнего полученного изменения; 0 — с начала", example = "0")
+            @RequestParam(defaultValue = "0") long after,
+            @Parameter(description = "Сколько изменений вернуть (1..app.changes.max-limit)", example = "100")
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(changeFeedService.changesAfter(after, limit));
+    }
+}
@@ -0,0 +1,56 @@
+package com.tslnkk.skcapi.controller;
+
+import com.tslnkk.skcapi.metrics.LockConflictMetrics;
+import com.tslnkk.skcapi.metrics.LockConflictMetrics.RequisitionConflicts;
+import com.tslnkk.skcapi.trace.RequestTrace;
+import com.tslnkk.skcapi.trace.TraceStore;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/debug")
+@RequiredArgsConstructor
+@Tag(name = "Диагностика", description = "Отладочные данные экземпляра (только ADMIN)")
+public class DebugController {
+
+    private final TraceStore traceStore;
+    private final LockConflictMetrics lockConflictMetrics;
+
+    @Operation(summary = "Последние трассы запросов",
+            description = "Разбивка времени запроса по участкам: security, controller, service, JDBC, сериализация. "
+                    + "При slow=true возвращаются только медленные запросы.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Список трасс, от новых к старым"),
+            @ApiResponse(responseCode = "403", description = "Доступно только для роли ADMIN")
+    })
+    @GetMapping("/traces")
+    public ResponseEntity<List<RequestTrace>> traces(
+            @Parameter(description = "Только медленные запросы") @RequestParam(defaultValue = "false") boolean slow,
+            @Parameter(description = "Максимальное число трасс") @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(slow ? traceStore.slow(limit) : traceStore.recent(limit));
+    }
+
+    @Operation(summary = "Заявки с конфликтами версий",
+            description = "Число конфликтов оптимистичной блокировки по заявкам с момента старта экземпляра, "
+                    + "по убыванию. Помогает найти заявки, которые одновременно редактируют несколько пользователей.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Самые конфликтные заявки"),
+            @ApiResponse(responseCode = "403", description = "Доступно только для роли ADMIN")
+    })
+    @GetMapping("/lock-conflicts")
+    public ResponseEntity<List<RequisitionConflicts>> lockConflicts(
+            @Parameter(description = "Максимальное число заявок") @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(lockConflictMetrics.hottest(limit));
+    }
+}
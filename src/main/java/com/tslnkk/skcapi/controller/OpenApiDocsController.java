@@ -0,0 +1,89 @@
+package com.tslnkk.skcapi.controller;
+
+import io.swagger.v3.oas.annotations.Hidden;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * OpenAPI-спецификация, выгруженная при сборке ({@code ./gradlew generateOpenApiDocs}).
+ * <p>
+ * Файлы читаются из classpath один раз при старте; по запросу отдаётся готовая gzip-копия,
+ * если клиент её принимает. ETag — хэш содержимого, поэтому повторный запрос с
+ * {@code If-None-Match} после того же деплоя получает 304 без тела.
+ * При запуске без выгруженной спецификации (bootRun, IDE) эндпоинт отвечает 404,
+ * а Swagger UI работает через runtime-сканирование springdoc.
+ */
+@Slf4j
+@Hidden
+@RestController
+public class OpenApiDocsController {
+
+    static final String SPEC_LOCATION = "openapi/openapi.json";
+
+    private final byte[] json;
+    private final byte[] gzip;
+    private final String hash;
+
+    public OpenApiDocsController() {
+        this.json = read(SPEC_LOCATION);
+        this.gzip = json != null ? read(SPEC_LOCATION + ".gz") : null;
+        this.hash = json != null ? sha256(json) : null;
+        if (json == null) {
+            log.info("Static OpenAPI spec not found on classpath ({}), /openapi.json is disabled", SPEC_LOCATION);
+        }
+    }
+
+    @GetMapping(value = "/openapi.json", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> spec(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        if (json == null) {
+            return ResponseEntity.notFound().build();
+        }
+        boolean gzipped = gzip != null && acceptEncoding != null && acceptEncoding.contains("gzip");
+        // Разные кодировки — разные представления, поэтому и ETag у них разный.
+        // If-None-Match сверяет HttpEntityMethodProcessor и сам отвечает 304
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(gzipped ? hash + "-gzip" : hash)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (gzipped) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(gzip);
+        }
+        return response.body(json);
+    }
+
+    private static byte[] read(String location) {
+        ClassPathResource resource = new ClassPathResource(location);
+        if (!resource.exists()) {
+            return null;
+        }
+        try (InputStream in = resource.getInputStream()) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read " + location, e);
+        }
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content), 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,9 +1,17 @@
 package com.tslnkk.skcapi.controller;
 
+import com.tslnkk.skcapi.coalesce.RequisitionReadCoalescer;
 import com.tslnkk.skcapi.dto.*;
+import com.tslnkk.skcapi.event.RequisitionEventBroadcaster;
+import com.tslnkk.skcapi.idempotency.IdempotencyFilter;
+import com.tslnkk.skcapi.limit.RateLimitGroup;
+import com.tslnkk.skcapi.limit.RateLimited;
+import com.tslnkk.skcapi.search.RequisitionSearchService;
 import com.tslnkk.skcapi.service.RequisitionService;
+import com.tslnkk.skcapi.stats.RequisitionStatsStore;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -11,8 +19,10 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.net.URI;
 import java.util.List;
@@ -24,6 +34,10 @@ import java.util.List;
 public class RequisitionController {
 
     private final RequisitionService requisitionService;
+    private final RequisitionReadCoalescer readCoalescer;
+    private final RequisitionEventBroadcaster eventBroadcaster;
+    private final RequisitionStatsStore statsStore;
+    private final RequisitionSearchService searchService;
 
     @Operation(summary = "Список всех заявок")
     @ApiResponse(responseCode = "200", description = "Список заявок")
@@ -32,6 +46,53 @@ public class RequisitionController {
         return ResponseEntity.ok(requisitionService.listAll());
     }
 
+    @Operation(summary = "Поток изменений заявок (SSE)",
+            description = "Server-Sent Events после коммита: создание, изменение и удаление заявок, переходы статусов, "
+                    + "создание/изменение/удаление позиций с новой итоговой суммой. Имя события — тип изменения, "
+                    + "data — RequisitionEventResponse. Клиент, не успевающий читать, отключается; "
+                    + "после переподключения состояние нужно перечитать.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Поток событий",
+                    content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                            schema = @Schema(implementation = RequisitionEventResponse.class))),
+            @ApiResponse(responseCode = "503", description = "Достигнут лимит подписчиков",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(
+            @Parameter(description = "Только заявки организатора", example = "user-123")
+            @RequestParam(required = false) String organizerId,
+            @Parameter(description = "Только одна заявка", example = "1")
+            @RequestParam(required = false) Long requisitionId) {
+        return eventBroadcaster.subscribe(organizerId, requisitionId);
+    }
+
+    @Operation(summary = "Агрегаты для дашборда",
+            description = "Число заявок и сумма totalLotSumNoNds по статусам и по организаторам. Считаются в памяти "
+                    + "приращениями после каждого коммита и периодически сверяются с БД; время ответа не зависит "
+                    + "от числа заявок.")
+    @ApiResponse(responseCode = "200", description = "Агрегаты")
+    @GetMapping("/stats")
+    public ResponseEntity<RequisitionStatsResponse> stats() {
+        return ResponseEntity.ok(statsStore.stats());
+    }
+
+    @Operation(summary = "Полнотекстовый поиск заявок",
+            description = "Ищет по номеру, организатору, кодам, наименованиям и комментариям позиций. Находятся заявки, "
+                    + "содержащие все слова запроса с учётом русских окончаний (картридж — картриджи — картриджей); "
+                    + "регистр и ё/е не различаются. Индекс в памяти, изменения попадают в него после коммита.")
+    @ApiResponse(responseCode = "200", description = "Страница результатов")
+    @GetMapping("/search")
+    public ResponseEntity<RequisitionSearchResponse> search(
+            @Parameter(description = "Строка запроса", example = "картридж")
+            @RequestParam(defaultValue = "") String q,
+            @Parameter(description = "Номер страницы с 0", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Размер страницы (1..app.search.max-page-size)", example = "20")
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(searchService.search(q, page, size));
+    }
+
     @Operation(summary = "Получить заявку с позициями")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Заявка найдена"),
@@ -41,7 +102,7 @@ public class RequisitionController {
     @GetMapping("/{id}")
     public ResponseEntity<RequisitionDetailResponse> getById(
             @Parameter(description = "ID заявки", example = "1") @PathVariable Long id) {
-        return ResponseEntity.ok(requisitionService.getById(id));
+        return ResponseEntity.ok(readCoalescer.getById(id));
     }
 
     @Operation(summary = "Создать новую заявку",
@@ -50,8 +111,14 @@ public class RequisitionController {
             @ApiResponse(responseCode = "201", description = "Заявка создана",
                     content = @Content(schema = @Schema(implementation = RequisitionResponse.class))),
             @ApiResponse(responseCode = "400", description = "Ошибка валидации",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "422", description = "Idempotency-Key уже использован для другого запроса",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
+    @Parameter(name = IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, in = ParameterIn.HEADER,
+            description = "Ключ идемпотентности: повтор с тем же ключом возвращает первый ответ",
+            schema = @Schema(type = "string", maxLength = 255))
+    @RateLimited(RateLimitGroup.CREATE)
     @PostMapping
     public ResponseEntity<RequisitionResponse> create(
             @io.swagger.v3.oas.annotations.parameters.RequestBody(
@@ -73,6 +140,7 @@ public class RequisitionController {
             @ApiResponse(responseCode = "404", description = "Заявка не найдена",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
+    @RateLimited(RateLimitGroup.UPDATE)
     @PatchMapping("/{id}")
     public ResponseEntity<RequisitionResponse> update(
             @Parameter(description = "ID заявки", example = "1") @PathVariable Long id,
@@ -92,6 +160,7 @@ public class RequisitionController {
             @ApiResponse(responseCode = "404", description = "Заявка не найдена",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
+    @RateLimited(RateLimitGroup.UPDATE)
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(
             @Parameter(description = "ID заявки", example = "1") @PathVariable Long id) {
@@ -120,6 +189,7 @@ public class RequisitionController {
             @ApiResponse(responseCode = "404", description = "Заявка не найдена",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
+    @RateLimited(RateLimitGroup.TRANSITION)
     @PostMapping("/{id}/transition")
     public ResponseEntity<RequisitionResponse> transition(
             @Parameter(description = "ID заявки", example = "1") @PathVariable Long id,
@@ -1,9 +1,14 @@
 package com.tslnkk.skcapi.controller;
 
+import com.tslnkk.skcapi.coalesce.RequisitionReadCoalescer;
 import com.tslnkk.skcapi.dto.*;
+import com.tslnkk.skcapi.idempotency.IdempotencyFilter;
+import com.tslnkk.skcapi.limit.RateLimitGroup;
+import com.tslnkk.skcapi.limit.RateLimited;
 import com.tslnkk.skcapi.service.RequisitionItemService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -23,6 +28,7 @@ import java.net.URI;
 public class RequisitionItemController {
 
     private final RequisitionItemService itemService;
+    private final RequisitionReadCoalescer readCoalescer;
 
     @Operation(summary = "Создать позицию в заявке",
             description = "Доступно только для заявок в статусе DRAFT")
@@ -32,8 +38,14 @@ public class RequisitionItemController {
             @ApiResponse(responseCode = "400", description = "Ошибка валидации/бизнес-правил",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "404", description = "Заявка не найдена",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "422", description = "Idempotency-Key уже использован для другого запроса",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
+    @Parameter(name = IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, in = ParameterIn.HEADER,
+            description = "Ключ идемпотентности: повтор с тем же ключом возвращает первый ответ",
+            schema = @Schema(type = "string", maxLength = 255))
+    @RateLimited(RateLimitGroup.CREATE)
     @PostMapping("/items")
     public ResponseEntity<ItemResponse> createItem(
             @Parameter(description = "ID заявки", example = "1") @PathVariable Long requisitionId,
@@ -60,6 +72,7 @@ public class RequisitionItemController {
             @ApiResponse(responseCode = "409", description = "Конфликт оптимистичной блокировки",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
+    @RateLimited(RateLimitGroup.UPDATE)
     @PatchMapping("/items/{itemId}")
     public ResponseEntity<ItemResponse> patchItem(
             @Parameter(description = "ID заявки", example = "1") @PathVariable Long requisitionId,
@@ -82,6 +95,7 @@ public class RequisitionItemController {
             @ApiResponse(responseCode = "404", description = "Заявка или позиция не найдена",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
+    @RateLimited(RateLimitGroup.UPDATE)
     @DeleteMapping("/items/{itemId}")
     public ResponseEntity<Void> deleteItem(
             @Parameter(description = "ID заявки", example = "1") @PathVariable Long requisitionId,
@@ -101,6 +115,7 @@ public class RequisitionItemController {
             @ApiResponse(responseCode = "404", description = "Заявка не найдена",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
+    @RateLimited(RateLimitGroup.TRANSITION)
     @PostMapping("/reactivate")
     public ResponseEntity<Void> reactivateRequisition(
             @Parameter(description = "ID заявки", example = "1") @PathVariable Long requisitionId) {
@@ -121,7 +136,7 @@ public class RequisitionItemController {
     public ResponseEntity<RequisitionSummaryResponse> getSummary(
             @Parameter(description = "ID заявки", example = "1") @PathVariable Long requisitionId) {
 
-        RequisitionSummaryResponse response = itemService.getSummary(requisitionId);
+        RequisitionSummaryResponse response = readCoalescer.getSummary(requisitionId);
         return ResponseEntity.ok(response);
     }
 }
@@ -0,0 +1,49 @@
+package com.tslnkk.skcapi.domain;
+
+import com.tslnkk.skcapi.event.RequisitionChangedEvent;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Запись журнала аудита: кто, когда и какие поля заявки или позиции изменил.
+ * Таблица только дополняется; пишется пакетами через JDBC ({@link com.tslnkk.skcapi.audit.AuditTrail}),
+ * сущность используется для схемы и чтения.
+ */
+@Entity
+@Table(name = "audit_log",
+        indexes = @Index(name = "ix_audit_log_requisition", columnList = "requisition_id, id"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuditRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "requisition_id", nullable = false)
+    private Long requisitionId;
+
+    private Long itemId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private RequisitionChangedEvent.ChangeType action;
+
+    /** Изменённые поля — JSON-массив {@code [{"field", "from", "to"}]}. */
+    @Column(nullable = false, length = 4000)
+    private String changes;
+
+    @Column(nullable = false)
+    private String principal;
+
+    @Column(length = 64)
+    private String traceId;
+
+    @Column(nullable = false)
+    private Instant occurredAt;
+}
@@ -0,0 +1,68 @@
+package com.tslnkk.skcapi.domain;
+
+import com.tslnkk.skcapi.event.RequisitionChangedEvent;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Запись ленты изменений: пишется в той же транзакции, что и изменение заявки.
+ * ID — курсор ленты; старые записи сжимаются до последней по каждой заявке.
+ */
+@Entity
+@Table(name = "requisition_changes",
+        indexes = @Index(name = "ix_requisition_changes_requisition", columnList = "requisition_id, id"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChangeLogEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "requisition_id", nullable = false)
+    private Long requisitionId;
+
+    private String number;
+
+    private String organizerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private RequisitionChangedEvent.ChangeType changeType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private RequisitionStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private RequisitionStatus previousStatus;
+
+    @Column(precision = 19, scale = 2)
+    private BigDecimal totalLotSumNoNds;
+
+    private Long itemId;
+
+    @Column(nullable = false)
+    private Instant changedAt;
+
+    public static ChangeLogEntry from(RequisitionChangedEvent event, Instant changedAt) {
+        return ChangeLogEntry.builder()
+                .requisitionId(event.requisitionId())
+                .number(event.number())
+                .organizerId(event.organizerId())
+                .changeType(event.type())
+                .status(event.status())
+                .previousStatus(event.previousStatus())
+                .totalLotSumNoNds(event.totalAmount())
+                .itemId(event.itemId())
+                .changedAt(changedAt)
+                .build();
+    }
+}
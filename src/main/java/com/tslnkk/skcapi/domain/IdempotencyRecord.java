@@ -0,0 +1,41 @@
+package com.tslnkk.skcapi.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Сохранённый ответ на запрос с {@code Idempotency-Key}: переживает рестарт и виден другим экземплярам.
+ */
+@Entity
+@Table(name = "idempotency_keys")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IdempotencyRecord {
+
+    /** SHA-256 от (пользователь, путь, ключ) в hex. */
+    @Id
+    @Column(length = 64)
+    private String keyHash;
+
+    /** SHA-256 тела запроса в hex: повтор ключа с другим телом — ошибка клиента. */
+    @Column(nullable = false, length = 64)
+    private String requestHash;
+
+    @Column(nullable = false)
+    private int status;
+
+    private String contentType;
+
+    private String location;
+
+    @Lob
+    private byte[] body;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+}
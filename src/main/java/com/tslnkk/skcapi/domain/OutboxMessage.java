@@ -0,0 +1,61 @@
+package com.tslnkk.skcapi.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Событие для внешних систем, записанное в транзакции изменения (transactional outbox).
+ * Доставляется {@code OutboxDispatcher}; после доставки удаляется, после исчерпания попыток — {@code DEAD}.
+ */
+@Entity
+@Table(name = "outbox_messages",
+        indexes = @Index(name = "ix_outbox_messages_due", columnList = "status, next_attempt_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxMessage {
+
+    public enum Status {
+        PENDING,
+        DEAD
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** Тип события для получателя, например {@code requisition.status-changed}. */
+    @Column(nullable = false, length = 64)
+    private String eventType;
+
+    @Column(nullable = false)
+    private Long aggregateId;
+
+    /** Тело события в JSON. */
+    @Column(nullable = false, length = 4000)
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    @Builder.Default
+    private Status status = Status.PENDING;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    /** Захвачено диспетчером до этого момента; после истечения (сбой экземпляра) захватывается снова. */
+    private Instant claimedUntil;
+
+    @Column(length = 500)
+    private String lastError;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+}
@@ -0,0 +1,17 @@
+package com.tslnkk.skcapi.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Изменение одного поля")
+public record AuditChange(
+
+        @Schema(description = "Поле в терминах API", example = "quantity")
+        String field,
+
+        @Schema(description = "Значение до изменения (null — поле появилось)", example = "10", nullable = true)
+        String from,
+
+        @Schema(description = "Значение после изменения (null — поле удалено)", example = "25", nullable = true)
+        String to
+) {
+}
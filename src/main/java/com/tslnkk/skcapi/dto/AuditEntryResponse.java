@@ -0,0 +1,38 @@
+package com.tslnkk.skcapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.tslnkk.skcapi.event.RequisitionChangedEvent;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.List;
+
+@Schema(description = "Запись журнала аудита")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record AuditEntryResponse(
+
+        @Schema(description = "ID записи", example = "17")
+        Long id,
+
+        @Schema(description = "ID заявки", example = "1")
+        Long requisitionId,
+
+        @Schema(description = "ID позиции (только ITEM_*)", nullable = true)
+        Long itemId,
+
+        @Schema(description = "Операция", example = "ITEM_UPDATED")
+        RequisitionChangedEvent.ChangeType action,
+
+        @Schema(description = "Изменённые поля")
+        List<AuditChange> changes,
+
+        @Schema(description = "Пользователь, выполнивший изменение", example = "admin")
+        String principal,
+
+        @Schema(description = "traceId запроса (X-Request-Id)", example = "4bf92f3577b34da6a3ce929d0e0e4736", nullable = true)
+        String traceId,
+
+        @Schema(description = "Момент изменения")
+        Instant occurredAt
+) {
+}
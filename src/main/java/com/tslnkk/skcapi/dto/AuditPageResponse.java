@@ -0,0 +1,25 @@
+package com.tslnkk.skcapi.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Страница журнала аудита заявки, новые записи первыми")
+public record AuditPageResponse(
+
+        @Schema(description = "Записи страницы")
+        List<AuditEntryResponse> entries,
+
+        @Schema(description = "Номер страницы с 0", example = "0")
+        int page,
+
+        @Schema(description = "Размер страницы", example = "50")
+        int size,
+
+        @Schema(description = "Всего записей", example = "3")
+        long totalElements,
+
+        @Schema(description = "Всего страниц", example = "1")
+        int totalPages
+) {
+}
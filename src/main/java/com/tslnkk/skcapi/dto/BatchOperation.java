@@ -0,0 +1,52 @@
+package com.tslnkk.skcapi.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import tools.jackson.databind.JsonNode;
+
+@Schema(description = "Операция пакета. В requisitionId, itemId и строковых полях body можно сослаться на результат "
+        + "более ранней операции: \"$<ref>.<поле>\", например \"$req.id\"")
+public record BatchOperation(
+
+        @Schema(description = "Имя результата для ссылок из следующих операций", example = "req", nullable = true)
+        @Pattern(regexp = "[A-Za-z][A-Za-z0-9_-]{0,31}", message = "ref: латиница, цифры, '_' и '-', до 32 символов")
+        String ref,
+
+        @Schema(description = "Тип операции", example = "CREATE_ITEM")
+        @NotNull(message = "Тип операции обязателен")
+        Type op,
+
+        @Schema(description = "ID заявки или ссылка на него", example = "$req.id", nullable = true)
+        JsonNode requisitionId,
+
+        @Schema(description = "ID позиции или ссылка на него", example = "$item1.id", nullable = true)
+        JsonNode itemId,
+
+        @Schema(description = "Тело операции — то же, что у соответствующего эндпоинта", nullable = true)
+        JsonNode body
+) {
+
+    public enum Type {
+        /** {@code POST /requisitions}, тело {@link CreateRequisitionRequest}. */
+        CREATE_REQUISITION,
+        /** {@code PATCH /requisitions/{id}}, тело {@link PatchRequisitionRequest}. */
+        UPDATE_REQUISITION,
+        /** {@code DELETE /requisitions/{id}}. */
+        DELETE_REQUISITION,
+        /** {@code POST /requisitions/{id}/transition}, тело {@link TransitionRequest}. */
+        TRANSITION,
+        /** {@code POST /requisitions/{id}/reactivate}. */
+        REACTIVATE,
+        /** {@code GET /requisitions/{id}}. */
+        GET_REQUISITION,
+        /** {@code GET /requisitions/{id}/summary}. */
+        GET_SUMMARY,
+        /** {@code POST /requisitions/{id}/items}, тело {@link CreateItemRequest}. */
+        CREATE_ITEM,
+        /** {@code PATCH /requisitions/{id}/items/{itemId}}, тело {@link PatchItemRequest}. */
+        PATCH_ITEM,
+        /** {@code DELETE /requisitions/{id}/items/{itemId}}. */
+        DELETE_ITEM
+    }
+}
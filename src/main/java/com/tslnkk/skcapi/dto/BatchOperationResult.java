@@ -0,0 +1,29 @@
+package com.tslnkk.skcapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import tools.jackson.databind.JsonNode;
+
+@Schema(description = "Результат одной операции пакета — одна строка NDJSON-ответа")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchOperationResult(
+
+        @Schema(description = "Номер операции в пакете, с 0", example = "1")
+        int index,
+
+        @Schema(description = "ref операции", example = "item1", nullable = true)
+        String ref,
+
+        @Schema(description = "Тип операции", example = "CREATE_ITEM")
+        BatchOperation.Type op,
+
+        @Schema(description = "HTTP-статус, который вернул бы отдельный вызов", example = "201")
+        int status,
+
+        @Schema(description = "Тело успешного ответа", nullable = true)
+        JsonNode body,
+
+        @Schema(description = "Ошибка операции", nullable = true)
+        ErrorResponse error
+) {
+}
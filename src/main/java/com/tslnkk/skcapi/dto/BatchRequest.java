@@ -0,0 +1,23 @@
+package com.tslnkk.skcapi.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Schema(description = "Пакет операций над заявками и позициями, выполняемых по порядку за один HTTP-запрос")
+public record BatchRequest(
+
+        @Schema(description = "Выполнить все операции в одной транзакции: первая ошибка откатывает весь пакет",
+                example = "true", defaultValue = "false", nullable = true)
+        Boolean transactional,
+
+        @Schema(description = "Операции в порядке выполнения")
+        @NotEmpty(message = "Пакет должен содержать хотя бы одну операцию")
+        @Size(max = 50, message = "Пакет не может содержать больше 50 операций")
+        List<@Valid @NotNull BatchOperation> operations
+) {
+}
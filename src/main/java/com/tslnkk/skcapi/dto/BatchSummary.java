@@ -0,0 +1,26 @@
+package com.tslnkk.skcapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Итог пакета — последняя строка NDJSON-ответа")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchSummary(
+
+        @Schema(description = "Изменения пакета зафиксированы (для нетранзакционного пакета — успешных операций)",
+                example = "true")
+        boolean committed,
+
+        @Schema(description = "Успешных операций", example = "7")
+        int succeeded,
+
+        @Schema(description = "Операций с ошибкой", example = "0")
+        int failed,
+
+        @Schema(description = "Невыполненных или откатанных операций", example = "0")
+        int skipped,
+
+        @Schema(description = "Ошибка фиксации транзакции пакета", nullable = true)
+        ErrorResponse error
+) {
+}
@@ -0,0 +1,19 @@
+package com.tslnkk.skcapi.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Страница ленты изменений")
+public record ChangeFeedResponse(
+
+        @Schema(description = "Изменения по возрастанию курсора")
+        List<ChangeResponse> changes,
+
+        @Schema(description = "Курсор для следующего запроса (after)", example = "42")
+        long nextCursor,
+
+        @Schema(description = "Есть ли ещё изменения после nextCursor", example = "false")
+        boolean hasMore
+) {
+}
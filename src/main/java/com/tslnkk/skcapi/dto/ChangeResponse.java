@@ -0,0 +1,52 @@
+package com.tslnkk.skcapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.tslnkk.skcapi.domain.ChangeLogEntry;
+import com.tslnkk.skcapi.domain.RequisitionStatus;
+import com.tslnkk.skcapi.event.RequisitionChangedEvent;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+@Schema(description = "Изменение заявки в ленте")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ChangeResponse(
+
+        @Schema(description = "Курсор изменения: передайте в after, чтобы продолжить после него", example = "42")
+        long cursor,
+
+        @Schema(description = "ID заявки", example = "1")
+        Long requisitionId,
+
+        @Schema(description = "Номер заявки", example = "ЗК-2026-00001")
+        String number,
+
+        @Schema(description = "Идентификатор организатора", example = "user-123")
+        String organizerId,
+
+        @Schema(description = "Что изменилось", example = "STATUS_CHANGED")
+        RequisitionChangedEvent.ChangeType type,
+
+        @Schema(description = "Статус после изменения", example = "SUBMITTED")
+        RequisitionStatus status,
+
+        @Schema(description = "Статус до перехода (только STATUS_CHANGED)", example = "DRAFT", nullable = true)
+        RequisitionStatus previousStatus,
+
+        @Schema(description = "Итоговая сумма без НДС после изменения", example = "17500.00")
+        BigDecimal totalLotSumNoNds,
+
+        @Schema(description = "ID затронутой позиции (только ITEM_*)", nullable = true)
+        Long itemId,
+
+        @Schema(description = "Момент изменения")
+        Instant changedAt
+) {
+
+    public static ChangeResponse from(ChangeLogEntry entry) {
+        return new ChangeResponse(entry.getId(), entry.getRequisitionId(), entry.getNumber(), entry.getOrganizerId(),
+                entry.getChangeType(), entry.getStatus(), entry.getPreviousStatus(), entry.getTotalLotSumNoNds(),
+                entry.getItemId(), entry.getChangedAt());
+    }
+}
@@ -0,0 +1,25 @@
+package com.tslnkk.skcapi.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Страница результатов полнотекстового поиска")
+public record RequisitionSearchResponse(
+
+        @Schema(description = "Строка запроса", example = "картридж")
+        String query,
+
+        @Schema(description = "Найденные заявки по убыванию релевантности")
+        List<SearchHitResponse> hits,
+
+        @Schema(description = "Номер страницы с 0", example = "0")
+        int page,
+
+        @Schema(description = "Размер страницы", example = "20")
+        int size,
+
+        @Schema(description = "Всего найдено заявок", example = "57")
+        long total
+) {
+}
@@ -0,0 +1,28 @@
+package com.tslnkk.skcapi.dto;
+
+import com.tslnkk.skcapi.domain.RequisitionStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Map;
+
+@Schema(description = "Агрегаты для дашборда: число заявок и суммы по статусам и организаторам")
+public record RequisitionStatsResponse(
+
+        @Schema(description = "Всего заявок", example = "42")
+        long totalCount,
+
+        @Schema(description = "Сумма totalLotSumNoNds по всем заявкам", example = "1250000.00")
+        BigDecimal totalLotSumNoNds,
+
+        @Schema(description = "По статусам (все статусы, включая пустые)")
+        Map<RequisitionStatus, StatsBucket> byStatus,
+
+        @Schema(description = "По организаторам (только с заявками), по возрастанию organizerId")
+        Map<String, StatsBucket> byOrganizer,
+
+        @Schema(description = "Момент последней сверки с БД", nullable = true)
+        Instant reconciledAt
+) {
+}
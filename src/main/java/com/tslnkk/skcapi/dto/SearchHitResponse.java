@@ -0,0 +1,24 @@
+package com.tslnkk.skcapi.dto;
+
+import com.tslnkk.skcapi.domain.RequisitionStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Заявка, найденная поиском")
+public record SearchHitResponse(
+
+        @Schema(description = "ID заявки", example = "1")
+        Long id,
+
+        @Schema(description = "Номер заявки", example = "ЗК-2026-00001")
+        String number,
+
+        @Schema(description = "Идентификатор организатора", example = "user-123")
+        String organizerId,
+
+        @Schema(description = "Статус заявки", example = "DRAFT")
+        RequisitionStatus status,
+
+        @Schema(description = "Релевантность: чем больше, тем выше в выдаче", example = "3.41")
+        double score
+) {
+}
@@ -0,0 +1,16 @@
+package com.tslnkk.skcapi.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+@Schema(description = "Число заявок и их итоговая сумма без НДС")
+public record StatsBucket(
+
+        @Schema(description = "Число заявок", example = "12")
+        long count,
+
+        @Schema(description = "Сумма totalLotSumNoNds", example = "215000.00")
+        BigDecimal totalLotSumNoNds
+) {
+}
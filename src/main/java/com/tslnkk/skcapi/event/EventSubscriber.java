@@ -0,0 +1,128 @@
+package com.tslnkk.skcapi.event;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Подписчик SSE: фильтр, ограниченная очередь кадров и отправка в сокет в потоке {@code sender}.
+ * <p>
+ * {@link #offer} не блокируется — вызывается из потока, зафиксировавшего запись. Очередь разбирает
+ * не больше одной задачи отправки одновременно ({@code draining}), поэтому кадры уходят по порядку.
+ */
+final class EventSubscriber {
+
+    /** Кадр SSE. Строится заново для каждого подписчика при отправке: {@code SseEventBuilder} одноразовый. */
+    record Frame(String id, String name, String data, String comment, Long reconnectMillis) {
+
+        static Frame event(String id, String name, String data) {
+            return new Frame(id, name, data, null, null);
+        }
+
+        static Frame comment(String text) {
+            return new Frame(null, null, null, text, null);
+        }
+
+        static Frame greeting(long reconnectMillis) {
+            return new Frame(null, null, null, "subscribed", reconnectMillis);
+        }
+
+        SseEmitter.SseEventBuilder toEvent() {
+            SseEmitter.SseEventBuilder event = SseEmitter.event();
+            if (reconnectMillis != null) {
+                event.reconnectTime(reconnectMillis);
+            }
+            if (comment != null) {
+                return event.comment(comment);
+            }
+            return event.id(id).name(name).data(data);
+        }
+    }
+
+    private final SseEmitter emitter;
+    private final String organizerId;
+    private final Long requisitionId;
+    private final BlockingQueue<Frame> queue;
+    private final Executor sender;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile boolean closed;
+
+    EventSubscriber(SseEmitter emitter, String organizerId, Long requisitionId, int bufferSize, Executor sender) {
+        this.emitter = emitter;
+        this.organizerId = organizerId;
+        this.requisitionId = requisitionId;
+        this.queue = new ArrayBlockingQueue<>(bufferSize);
+        this.sender = sender;
+    }
+
+    boolean matches(RequisitionChangedEvent event) {
+        return (organizerId == null || organizerId.equals(event.organizerId()))
+                && (requisitionId == null || requisitionId.equals(event.requisitionId()));
+    }
+
+    /**
+     * Поставить кадр в очередь отправки.
+     *
+     * @return {@code false}, если очередь заполнена — клиент не успевает читать
+     */
+    boolean offer(Frame frame) {
+        if (closed) {
+            return true;
+        }
+        if (!queue.offer(frame)) {
+            return false;
+        }
+        scheduleDrain();
+        return true;
+    }
+
+    boolean isIdle() {
+        return queue.isEmpty();
+    }
+
+    int queued() {
+        return queue.size();
+    }
+
+    /** Завершить поток; {@code complete()} вызывается в потоке отправки, чтобы не ждать идущую запись. */
+    void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        queue.clear();
+        sender.execute(emitter::complete);
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            sender.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            Frame frame;
+            while (!closed && (frame = queue.poll()) != null) {
+                emitter.send(frame.toEvent());
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Клиент отключился или поток уже завершён: контейнер вызовет onError/onCompletion
+            closed = true;
+            queue.clear();
+        } finally {
+            draining.set(false);
+        }
+        if (!closed && !queue.isEmpty()) {
+            scheduleDrain();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.tslnkk.skcapi.event;
+
+import com.tslnkk.skcapi.domain.PurchaseRequisition;
+import com.tslnkk.skcapi.domain.RequisitionStatus;
+
+import java.math.BigDecimal;
+
+/**
+ * Заявка или её позиции изменены. Публикуется сервисами внутри транзакции записи;
+ * слушатели, которым нужны только зафиксированные изменения, подписываются на фазу {@code AFTER_COMMIT}.
+ * <p>
+ * Несёт снимок заявки после изменения (для {@code DELETED} — до удаления) и её состояние до изменения,
+ * чтобы слушателям не приходилось перечитывать заявку из БД или помнить её прежнее состояние.
+ *
+ * @param requisitionId ID изменённой заявки
+ * @param number        номер заявки
+ * @param organizerId   организатор
+ * @param type          что именно изменилось
+ * @param status        статус после изменения
+ * @param previous      статус, организатор и сумма до изменения; {@code null} для {@code CREATED}
+ * @param totalAmount   сумма без НДС после изменения
+ * @param itemId        затронутая позиция; только для {@code ITEM_*}
+ */
+public record RequisitionChangedEvent(
+        Long requisitionId,
+        String number,
+        String organizerId,
+        ChangeType type,
+        RequisitionStatus status,
+        State previous,
+        BigDecimal totalAmount,
+        Long itemId
+) {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED,
+        STATUS_CHANGED,
+        ITEM_ADDED,
+        ITEM_UPDATED,
+        ITEM_DELETED
+    }
+
+    /** То, что меняют изменения заявки и от чего зависят агрегаты: статус, организатор, сумма без НДС. */
+    public record State(RequisitionStatus status, String organizerId, BigDecimal totalAmount) {
+
+        public static State of(PurchaseRequisition requisition) {
+            return new State(requisition.getStatus(), requisition.getOrganizerId(), requisition.getTotalLotSumNoNds());
+        }
+    }
+
+    /** Статус до перехода; только для {@code STATUS_CHANGED}. */
+    public RequisitionStatus previousStatus() {
+        return type == ChangeType.STATUS_CHANGED && previous != null ? previous.status() : null;
+    }
+
+    public static RequisitionChangedEvent created(PurchaseRequisition requisition) {
+        return of(requisition, ChangeType.CREATED, null);
+    }
+
+    public static RequisitionChangedEvent deleted(PurchaseRequisition requisition) {
+        return of(requisition, ChangeType.DELETED, State.of(requisition));
+    }
+
+    public static RequisitionChangedEvent of(PurchaseRequisition requisition, ChangeType type, State previous) {
+        return new RequisitionChangedEvent(requisition.getId(), requisition.getNumber(), requisition.getOrganizerId(),
+                type, requisition.getStatus(), previous, requisition.getTotalLotSumNoNds(), null);
+    }
+
+    public static RequisitionChangedEvent ofItem(PurchaseRequisition requisition, ChangeType type, Long itemId,
+                                                 State previous) {
+        return new RequisitionChangedEvent(requisition.getId(), requisition.getNumber(), requisition.getOrganizerId(),
+                type, requisition.getStatus(), previous, requisition.getTotalLotSumNoNds(), itemId);
+    }
+
+    public static RequisitionChangedEvent ofTransition(PurchaseRequisition requisition, RequisitionStatus previous) {
+        return new RequisitionChangedEvent(requisition.getId(), requisition.getNumber(), requisition.getOrganizerId(),
+                ChangeType.STATUS_CHANGED, requisition.getStatus(),
+                new State(previous, requisition.getOrganizerId(), requisition.getTotalLotSumNoNds()),
+                requisition.getTotalLotSumNoNds(), null);
+    }
+}
@@ -0,0 +1,172 @@
+package com.tslnkk.skcapi.event;
+
+import com.tslnkk.skcapi.dto.RequisitionEventResponse;
+import com.tslnkk.skcapi.exception.BusinessException;
+import com.tslnkk.skcapi.exception.ErrorCode;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Рассылает изменения заявок подписчикам SSE ({@code GET /api/v1/requisitions/events}) вместо опроса списка.
+ * <p>
+ * Слушает {@link RequisitionChangedEvent} после коммита, поэтому откатанные изменения не уходят клиентам.
+ * Событие сериализуется один раз и кладётся в ограниченную очередь каждого подходящего подписчика
+ * без ожидания; в сокет пишет виртуальный поток подписчика. Поток, зафиксировавший запись, не ждёт
+ * ни одного клиента: если очередь подписчика заполнена, он отключается и переподключается сам
+ * ({@code EventSource}), перечитав состояние, вместо того чтобы получать поток с пропусками.
+ * <p>
+ * ID событий ({@code id:}) растут монотонно в пределах экземпляра и служат для упорядочивания, а не для
+ * дочитывания после переподключения. Раз в {@code heartbeat-seconds} простаивающим подписчикам уходит
+ * комментарий: прокси не закрывают соединение, а отключившиеся клиенты обнаруживаются по ошибке записи.
+ */
+@Component
+@Slf4j
+public class RequisitionEventBroadcaster implements MeterBinder, DisposableBean {
+
+    private static final EventSubscriber.Frame HEARTBEAT = EventSubscriber.Frame.comment("ping");
+    private static final EventSubscriber.Frame GREETING = EventSubscriber.Frame.greeting(3_000);
+
+    private final JsonMapper jsonMapper;
+    private final Clock clock;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final long timeoutMillis;
+
+    private final Set<EventSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+    private final LongAdder published = new LongAdder();
+    private final LongAdder overflowed = new LongAdder();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "sse-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    public RequisitionEventBroadcaster(JsonMapper jsonMapper,
+                                       @Value("${app.events.buffer-size:256}") int bufferSize,
+                                       @Value("${app.events.max-subscribers:1000}") int maxSubscribers,
+                                       @Value("${app.events.timeout-minutes:30}") long timeoutMinutes,
+                                       @Value("${app.events.heartbeat-seconds:15}") long heartbeatSeconds) {
+        this(jsonMapper, Clock.systemUTC(), bufferSize, maxSubscribers, Duration.ofMinutes(timeoutMinutes));
+        heartbeats.scheduleAtFixedRate(this::heartbeat, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+    }
+
+    RequisitionEventBroadcaster(JsonMapper jsonMapper, Clock clock, int bufferSize, int maxSubscribers,
+                                Duration timeout) {
+        this.jsonMapper = jsonMapper;
+        this.clock = clock;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    /**
+     * Открыть поток изменений.
+     *
+     * @param organizerId   только заявки этого организатора; {@code null} — все
+     * @param requisitionId только эта заявка; {@code null} — все
+     * @throws BusinessException {@code SERVER_OVERLOADED}, если достигнут {@code app.events.max-subscribers}
+     */
+    public SseEmitter subscribe(String organizerId, Long requisitionId) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new BusinessException(ErrorCode.SERVER_OVERLOADED,
+                    "Достигнут лимит подписчиков на события: " + maxSubscribers);
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        EventSubscriber subscriber = register(emitter, organizerId, requisitionId);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        return emitter;
+    }
+
+    EventSubscriber register(SseEmitter emitter, String organizerId, Long requisitionId) {
+        EventSubscriber subscriber = new EventSubscriber(emitter, organizerId, requisitionId, bufferSize, senders);
+        subscribers.add(subscriber);
+        // Первый кадр сразу отправляет заголовки ответа и подсказывает клиенту паузу перед переподключением
+        subscriber.offer(GREETING);
+        return subscriber;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    void onRequisitionChanged(RequisitionChangedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        EventSubscriber.Frame frame = EventSubscriber.Frame.event(
+                String.valueOf(sequence.incrementAndGet()),
+                event.type().name(),
+                jsonMapper.writeValueAsString(RequisitionEventResponse.from(event, clock.instant())));
+        published.increment();
+        for (EventSubscriber subscriber : subscribers) {
+            if (subscriber.matches(event) && !subscriber.offer(frame)) {
+                overflowed.increment();
+                subscribers.remove(subscriber);
+                subscriber.close();
+                log.debug("SSE subscriber dropped: {} events queued", bufferSize);
+            }
+        }
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    long overflowedCount() {
+        return overflowed.sum();
+    }
+
+    private void heartbeat() {
+        for (EventSubscriber subscriber : subscribers) {
+            if (subscriber.isIdle()) {
+                subscriber.offer(HEARTBEAT);
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("sse.subscribers", subscribers, Set::size)
+                .description("Open requisition event streams")
+                .register(registry);
+        FunctionCounter.builder("sse.events.published", published, LongAdder::sum)
+                .description("Requisition changes fanned out to SSE subscribers")
+                .register(registry);
+        FunctionCounter.builder("sse.subscribers.dropped", overflowed, LongAdder::sum)
+                .description("SSE subscribers disconnected because their buffer was full")
+                .tag("reason", "overflow")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        heartbeats.shutdownNow();
+        subscribers.forEach(EventSubscriber::close);
+        subscribers.clear();
+        senders.shutdown();
+    }
+}
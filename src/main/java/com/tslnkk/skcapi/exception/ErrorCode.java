@@ -20,7 +20,17 @@ public enum ErrorCode {
     OPTIMISTIC_LOCK_CONFLICT("Конфликт версий: позиция была изменена другим пользователем", 409),
     INVALID_STATUS_TRANSITION("Недопустимый переход статуса заявки", 400),
     REQUISITION_DELETE_FORBIDDEN("Удаление заявки запрещено", 400),
-    REQUISITION_EMPTY("Заявка не содержит позиций", 400);
+    REQUISITION_EMPTY("Заявка не содержит позиций", 400),
+    DATABASE_BUSY("Нет свободного соединения с БД, повторите запрос позже", 503),
+    SERVER_OVERLOADED("Сервер перегружен, повторите запрос позже", 503),
+    RATE_LIMIT_EXCEEDED("Превышен лимит частоты запросов", 429),
+    IDEMPOTENCY_KEY_REUSED("Ключ идемпотентности уже использован для другого запроса", 422),
+    IDEMPOTENCY_REQUEST_IN_PROGRESS("Запрос с этим ключом идемпотентности ещё выполняется", 409),
+    PAYLOAD_TOO_LARGE("Тело запроса превышает допустимый размер", 413),
+    BATCH_INVALID_REFERENCE("Ссылка на результат операции пакета не найдена", 400),
+    BATCH_OPERATION_SKIPPED("Операция не выполнена: операция пакета, от которой она зависит, завершилась ошибкой", 424),
+    BATCH_ROLLED_BACK("Операция откатана вместе с транзакцией пакета", 424),
+    BATCH_COMMIT_FAILED("Не удалось зафиксировать транзакцию пакета, изменения откатаны", 500);
 
     private final String defaultMessage;
     private final int httpStatus;
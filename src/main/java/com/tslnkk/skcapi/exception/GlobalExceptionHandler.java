@@ -1,22 +1,37 @@
 package com.tslnkk.skcapi.exception;
 
+import com.tslnkk.skcapi.config.BulkheadDataSource;
 import com.tslnkk.skcapi.dto.ErrorResponse;
+import com.tslnkk.skcapi.jfr.OptimisticLockConflictEvent;
+import com.tslnkk.skcapi.limit.RateLimitExceededException;
+import com.tslnkk.skcapi.metrics.LockConflictMetrics;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
 
 /**
  * Централизованный обработчик исключений для всех REST-эндпоинтов.
  * Логирование на уровне методов обеспечивает {@link com.tslnkk.skcapi.aspect.LoggingAspect}.
  */
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class GlobalExceptionHandler {
 
+    private final LockConflictMetrics lockConflictMetrics;
+
     @ExceptionHandler(BusinessException.class)
     public ResponseEntity<ErrorResponse> handleBusinessException(BusinessException ex) {
         ErrorResponse response = new ErrorResponse(
@@ -25,12 +40,31 @@ public class GlobalExceptionHandler {
                 ex.getField(),
                 ex.getRejectedValue()
         );
-        return ResponseEntity.status(ex.getErrorCode().getHttpStatus()).body(response);
+        // Явный Content-Type: клиент SSE принимает только text/event-stream, и без него ошибка превратилась бы в 500
+        return ResponseEntity.status(ex.getErrorCode().getHttpStatus())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(response);
+    }
+
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleRateLimitExceeded(RateLimitExceededException ex) {
+        ErrorResponse response = new ErrorResponse(
+                ex.getErrorCode().name(),
+                ex.getMessage(),
+                ex.getField(),
+                ex.getRejectedValue()
+        );
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(response);
     }
 
     @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
     public ResponseEntity<ErrorResponse> handleOptimisticLockingFailure(
-            ObjectOptimisticLockingFailureException ex) {
+            ObjectOptimisticLockingFailureException ex, HttpServletRequest request) {
+        long requisitionId = requisitionIdFromPath(request);
+        OptimisticLockConflictEvent.emit(requisitionId, ex.getIdentifier() instanceof Long id ? id : 0, -1, -1);
+        lockConflictMetrics.record(requisitionId);
         ErrorResponse response = new ErrorResponse(
                 ErrorCode.OPTIMISTIC_LOCK_CONFLICT.name(),
                 ErrorCode.OPTIMISTIC_LOCK_CONFLICT.getDefaultMessage(),
@@ -40,6 +74,26 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
     }
 
+    /**
+     * Таймаут ожидания соединения в {@link BulkheadDataSource} — {@code 503} с {@code Retry-After}. Прочие
+     * причины (БД недоступна, неверные учётные данные, ошибка пула) пробрасываются дальше и дают 500.
+     */
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<ErrorResponse> handleCannotCreateTransaction(CannotCreateTransactionException ex) {
+        if (!BulkheadDataSource.isPermitTimeout(ex)) {
+            throw ex;
+        }
+        ErrorResponse response = new ErrorResponse(
+                ErrorCode.DATABASE_BUSY.name(),
+                ErrorCode.DATABASE_BUSY.getDefaultMessage(),
+                null,
+                null
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidationException(MethodArgumentNotValidException ex) {
         var fieldError = ex.getBindingResult().getFieldErrors().stream().findFirst().orElse(null);
@@ -90,4 +144,19 @@ public class GlobalExceptionHandler {
             default -> defaultCode;
         };
     }
+
+    /**
+     * Конфликт при flush не знает заявку — берём её из шаблона пути {@code /requisitions/{requisitionId}/...}.
+     */
+    private static long requisitionIdFromPath(HttpServletRequest request) {
+        if (request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE) instanceof Map<?, ?> variables
+                && variables.get("requisitionId") instanceof String value) {
+            try {
+                return Long.parseLong(value);
+            } catch (NumberFormatException ignored) {
+                // не число — заявка не определена
+            }
+        }
+        return LockConflictMetrics.UNKNOWN_REQUISITION;
+    }
 }
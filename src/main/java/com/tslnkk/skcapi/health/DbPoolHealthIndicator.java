@@ -0,0 +1,62 @@
+package com.tslnkk.skcapi.health;
+
+import com.tslnkk.skcapi.config.BulkheadDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Насыщение пула соединений: активные, свободные и ожидающие соединения Hikari.
+ * <p>
+ * Ожидающие — потоки в очереди Hikari плюс очередь {@link BulkheadDataSource}, если он включён
+ * (на виртуальных потоках ждут именно там). {@link OverloadStatus#DEGRADED}, если ожидающих больше
+ * {@code app.health.db-pool.max-pending}: дальше запросы начнут падать по таймауту получения соединения.
+ */
+@Component
+public class DbPoolHealthIndicator implements HealthIndicator {
+
+    private final HikariDataSource hikari;
+    private final BulkheadDataSource bulkhead;
+    private final int maxPending;
+
+    public DbPoolHealthIndicator(DataSource dataSource,
+                                 @Value("${app.health.db-pool.max-pending:10}") int maxPending) {
+        this.hikari = unwrap(dataSource, HikariDataSource.class);
+        this.bulkhead = unwrap(dataSource, BulkheadDataSource.class);
+        this.maxPending = maxPending;
+    }
+
+    @Override
+    public Health health() {
+        HikariPoolMXBean pool = hikari != null ? hikari.getHikariPoolMXBean() : null;
+        if (pool == null) {
+            return Health.unknown().withDetail("pool", hikari != null ? "not started" : "not Hikari").build();
+        }
+        int pending = pool.getThreadsAwaitingConnection();
+        int bulkheadQueue = bulkhead != null ? bulkhead.queueLength() : 0;
+
+        return (pending + bulkheadQueue > maxPending ? Health.status(OverloadStatus.DEGRADED) : Health.up())
+                .withDetail("active", pool.getActiveConnections())
+                .withDetail("idle", pool.getIdleConnections())
+                .withDetail("total", pool.getTotalConnections())
+                .withDetail("max", hikari.getMaximumPoolSize())
+                .withDetail("pending", pending)
+                .withDetail("bulkheadQueue", bulkheadQueue)
+                .withDetail("maxPending", maxPending)
+                .build();
+    }
+
+    private static <T> T unwrap(DataSource dataSource, Class<T> type) {
+        try {
+            return dataSource.isWrapperFor(type) ? dataSource.unwrap(type) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.tslnkk.skcapi.health;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Последние N длительностей запросов с моментом завершения — для p99 за скользящее окно.
+ * <p>
+ * Запись — один {@code getAndIncrement} и две записи в слот без блокировок. Пара (время, длительность)
+ * пишется не атомарно: читатель может увидеть слот в момент перезаписи. Для сигнала о перегрузке,
+ * который опрашивается раз в несколько секунд, такая погрешность допустима.
+ */
+final class LatencyWindow {
+
+    record Snapshot(int samples, long p99Nanos) {
+    }
+
+    private final AtomicLongArray finishedAt;
+    private final AtomicLongArray latencies;
+    private final AtomicLong cursor = new AtomicLong();
+    private final int mask;
+
+    LatencyWindow(int requestedCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(1, requestedCapacity - 1)) << 1;
+        this.finishedAt = new AtomicLongArray(capacity);
+        this.latencies = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+    }
+
+    void record(long latencyNanos, long finishedAtNanos) {
+        int slot = (int) (cursor.getAndIncrement() & mask);
+        finishedAt.set(slot, finishedAtNanos);
+        latencies.set(slot, latencyNanos);
+    }
+
+    /**
+     * p99 по запросам, завершившимся не раньше {@code sinceNanos} (шкала {@link System#nanoTime()}).
+     */
+    Snapshot snapshot(long sinceNanos) {
+        int filled = (int) Math.min(cursor.get(), latencies.length());
+        long[] recent = new long[filled];
+        int samples = 0;
+        for (int slot = 0; slot < filled; slot++) {
+            if (finishedAt.get(slot) - sinceNanos >= 0) {
+                recent[samples++] = latencies.get(slot);
+            }
+        }
+        if (samples == 0) {
+            return new Snapshot(0, 0);
+        }
+        Arrays.sort(recent, 0, samples);
+        int rank = (int) Math.ceil(samples * 0.99) - 1;
+        return new Snapshot(samples, recent[rank]);
+    }
+
+    int capacity() {
+        return latencies.length();
+    }
+}
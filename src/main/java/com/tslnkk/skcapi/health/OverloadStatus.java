@@ -0,0 +1,18 @@
+package com.tslnkk.skcapi.health;
+
+import org.springframework.boot.health.contributor.Status;
+
+/**
+ * Статус «экземпляр работает, но перегружен».
+ * <p>
+ * По порядку статусов ({@code management.endpoint.health.status.order}) стоит между {@code OUT_OF_SERVICE}
+ * и {@code UP} и отдаётся с кодом 503: балансировщик снимает с экземпляра трафик до того,
+ * как задержки уйдут в таймауты, а liveness при этом остаётся {@code UP} и перезапуска не происходит.
+ */
+public final class OverloadStatus {
+
+    public static final Status DEGRADED = new Status("DEGRADED", "Instance is overloaded");
+
+    private OverloadStatus() {
+    }
+}
@@ -0,0 +1,70 @@
+package com.tslnkk.skcapi.health;
+
+import com.tslnkk.skcapi.init.WarmupRunner;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Считает запросы в обработке и длительности последних запросов для {@link RequestLoadHealthIndicator}.
+ * <p>
+ * Стоит сразу за {@code RequestCorrelationFilter}, до Spring Security: в длительность входит и проверка
+ * пароля, и ожидание соединения с БД. Запросы к {@code /actuator/**} не учитываются — иначе опрос
+ * health-эндпоинта сам влиял бы на свой результат; запросы прогрева ({@link WarmupRunner#isWarmup}) — тоже.
+ * Клиентский заголовок {@code X-Warmup} без токена процесса запрос из учёта не исключает.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class RequestLoadFilter extends OncePerRequestFilter {
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LatencyWindow latencies;
+
+    public RequestLoadFilter(@Value("${app.health.requests.window-size:4096}") int windowSize) {
+        this.latencies = new LatencyWindow(windowSize);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator/")
+                || WarmupRunner.isWarmup(request);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        inFlight.incrementAndGet();
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long end = System.nanoTime();
+            latencies.record(end - start, end);
+            inFlight.decrementAndGet();
+        }
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Число запросов и их p99 за последние {@code window}; не больше {@code app.health.requests.window-size} запросов.
+     */
+    LatencyWindow.Snapshot recent(Duration window) {
+        return latencies.snapshot(System.nanoTime() - window.toNanos());
+    }
+}
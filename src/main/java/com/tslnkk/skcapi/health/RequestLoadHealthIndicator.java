@@ -0,0 +1,55 @@
+package com.tslnkk.skcapi.health;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Нагрузка на экземпляр: запросы в обработке и p99 за последние {@code app.health.requests.window-seconds}.
+ * <p>
+ * {@link OverloadStatus#DEGRADED}, если запросов в обработке больше {@code max-in-flight} или p99 выше
+ * {@code max-p99-ms}. p99 оценивается только при наборе {@code min-samples} запросов в окне:
+ * единичный медленный запрос на простаивающем экземпляре не должен снимать с него трафик.
+ */
+@Component
+public class RequestLoadHealthIndicator implements HealthIndicator {
+
+    private final RequestLoadFilter requestLoad;
+    private final int maxInFlight;
+    private final long maxP99Ms;
+    private final Duration window;
+    private final int minSamples;
+
+    public RequestLoadHealthIndicator(RequestLoadFilter requestLoad,
+                                      @Value("${app.health.requests.max-in-flight:200}") int maxInFlight,
+                                      @Value("${app.health.requests.max-p99-ms:1000}") long maxP99Ms,
+                                      @Value("${app.health.requests.window-seconds:30}") long windowSeconds,
+                                      @Value("${app.health.requests.min-samples:50}") int minSamples) {
+        this.requestLoad = requestLoad;
+        this.maxInFlight = maxInFlight;
+        this.maxP99Ms = maxP99Ms;
+        this.window = Duration.ofSeconds(windowSeconds);
+        this.minSamples = minSamples;
+    }
+
+    @Override
+    public Health health() {
+        int inFlight = requestLoad.inFlight();
+        LatencyWindow.Snapshot recent = requestLoad.recent(window);
+        long p99Ms = Duration.ofNanos(recent.p99Nanos()).toMillis();
+
+        boolean overloaded = inFlight > maxInFlight
+                || (recent.samples() >= minSamples && p99Ms > maxP99Ms);
+        return (overloaded ? Health.status(OverloadStatus.DEGRADED) : Health.up())
+                .withDetail("inFlight", inFlight)
+                .withDetail("maxInFlight", maxInFlight)
+                .withDetail("recentRequests", recent.samples())
+                .withDetail("recentP99Ms", p99Ms)
+                .withDetail("maxP99Ms", maxP99Ms)
+                .withDetail("windowSeconds", window.toSeconds())
+                .build();
+    }
+}
@@ -0,0 +1,319 @@
+package com.tslnkk.skcapi.idempotency;
+
+import com.tslnkk.skcapi.dto.ErrorResponse;
+import com.tslnkk.skcapi.exception.ErrorCode;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Principal;
+import java.util.HexFormat;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * {@code Idempotency-Key} для создания заявок и позиций ({@code POST /api/v1/requisitions},
+ * {@code POST /api/v1/requisitions/{id}/items}).
+ * <p>
+ * Первый запрос с ключом выполняется как обычно, его ответ (статус, тело, {@code Location}) сохраняется в
+ * {@link IdempotencyStore}. Повтор с тем же ключом и телом получает тот же ответ с заголовком
+ * {@code Idempotent-Replayed: true} и не доходит до контроллера. Повтор, пришедший во время выполнения
+ * первого, ждёт его ответ не дольше {@code app.idempotency.wait-timeout-ms}, затем получает
+ * {@code 409 IDEMPOTENCY_REQUEST_IN_PROGRESS} с {@code Retry-After}. Тот же ключ с другим телом — {@code 422 IDEMPOTENCY_KEY_REUSED}.
+ * Тело читается в память для хэша, поэтому больше {@code app.idempotency.max-body-bytes} —
+ * {@code 413 PAYLOAD_TOO_LARGE}.
+ * <p>
+ * Ключ действует в пределах пользователя и пути, поэтому фильтр стоит после Spring Security
+ * (порядок по умолчанию у Spring Security — {@code -100}). Ответы 5xx, 409 и 429 не сохраняются:
+ * их имеет смысл повторить.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 100)
+public class IdempotencyFilter extends OncePerRequestFilter implements MeterBinder {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final Pattern IDEMPOTENT_PATH = Pattern.compile("^/api/v1/requisitions(/\\d+/items)?/?$");
+
+    private final IdempotencyStore store;
+    private final JsonMapper jsonMapper;
+    private final boolean enabled;
+    private final long waitTimeoutMillis;
+    private final int maxBodyBytes;
+    private final LongAdder replayed = new LongAdder();
+    private final LongAdder untracked = new LongAdder();
+
+    public IdempotencyFilter(IdempotencyStore store,
+                             JsonMapper jsonMapper,
+                             @Value("${app.idempotency.enabled:true}") boolean enabled,
+                             @Value("${app.idempotency.wait-timeout-ms:10000}") long waitTimeoutMillis,
+                             @Value("${app.idempotency.max-body-bytes:1048576}") int maxBodyBytes) {
+        this.store = store;
+        this.jsonMapper = jsonMapper;
+        this.enabled = enabled;
+        this.waitTimeoutMillis = waitTimeoutMillis;
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled
+                || !HttpMethod.POST.matches(request.getMethod())
+                || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null
+                || !IDEMPOTENT_PATH.matcher(request.getRequestURI()).matches();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpServletResponse.SC_BAD_REQUEST, "VALIDATION_ERROR",
+                    "Заголовок Idempotency-Key должен содержать от 1 до " + MAX_KEY_LENGTH + " символов",
+                    IDEMPOTENCY_KEY_HEADER, idempotencyKey);
+            return;
+        }
+        byte[] body = request.getContentLengthLong() > maxBodyBytes
+                ? null
+                : request.getInputStream().readNBytes(maxBodyBytes + 1);
+        if (body == null || body.length > maxBodyBytes) {
+            writeError(response, HttpStatus.CONTENT_TOO_LARGE.value(), ErrorCode.PAYLOAD_TOO_LARGE.name(),
+                    ErrorCode.PAYLOAD_TOO_LARGE.getDefaultMessage(), null, null);
+            return;
+        }
+        Principal principal = request.getUserPrincipal();
+        String keyHash = sha256((principal != null ? principal.getName() : "") + '\n'
+                + request.getRequestURI() + '\n' + idempotencyKey);
+        String requestHash = sha256(body);
+        HttpServletRequest replayableRequest = new CachedBodyRequest(request, body);
+
+        while (true) {
+            IdempotencyStore.Claim claim = store.begin(keyHash, requestHash);
+            IdempotencyStore.Entry entry = claim.entry();
+            if (entry == null) {
+                untracked.increment();
+                filterChain.doFilter(replayableRequest, response);
+                return;
+            }
+            if (!entry.requestHash().equals(requestHash)) {
+                writeKeyReused(response, idempotencyKey);
+                return;
+            }
+            if (claim.owner()) {
+                execute(replayableRequest, response, filterChain, keyHash, entry, requestHash);
+                return;
+            }
+            IdempotentResponse stored;
+            try {
+                stored = entry.response().get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                writeError(response, HttpServletResponse.SC_CONFLICT,
+                        ErrorCode.IDEMPOTENCY_REQUEST_IN_PROGRESS.name(),
+                        ErrorCode.IDEMPOTENCY_REQUEST_IN_PROGRESS.getDefaultMessage(),
+                        IDEMPOTENCY_KEY_HEADER, idempotencyKey);
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServletException("Interrupted while waiting for idempotent request", e);
+            } catch (ExecutionException e) {
+                throw new ServletException(e.getCause());
+            }
+            if (stored == null) {
+                // Первый запрос завершился ответом, который не сохраняется — пробуем выполнить сами
+                continue;
+            }
+            if (!stored.requestHash().equals(requestHash)) {
+                writeKeyReused(response, idempotencyKey);
+                return;
+            }
+            replay(response, stored);
+            return;
+        }
+    }
+
+    private void execute(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain,
+                         String keyHash, IdempotencyStore.Entry entry, String requestHash)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        boolean completed = false;
+        try {
+            filterChain.doFilter(request, wrapper);
+            int status = wrapper.getStatus();
+            if (isStorable(status)) {
+                store.complete(keyHash, entry, new IdempotentResponse(status, wrapper.getContentType(),
+                        wrapper.getHeader(HttpHeaders.LOCATION), wrapper.getContentAsByteArray(), requestHash));
+                completed = true;
+            }
+        } finally {
+            if (!completed) {
+                store.abandon(keyHash, entry);
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private void replay(HttpServletResponse response, IdempotentResponse stored) throws IOException {
+        replayed.increment();
+        response.setStatus(stored.status());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        if (stored.location() != null) {
+            response.setHeader(HttpHeaders.LOCATION, stored.location());
+        }
+        byte[] body = stored.body() != null ? stored.body() : new byte[0];
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private void writeKeyReused(HttpServletResponse response, String idempotencyKey) throws IOException {
+        writeError(response, HttpStatus.UNPROCESSABLE_CONTENT.value(), ErrorCode.IDEMPOTENCY_KEY_REUSED.name(),
+                ErrorCode.IDEMPOTENCY_KEY_REUSED.getDefaultMessage(), IDEMPOTENCY_KEY_HEADER, idempotencyKey);
+    }
+
+    private void writeError(HttpServletResponse response, int status, String errorCode, String message,
+                            String field, Object rejectedValue) throws IOException {
+        byte[] body = jsonMapper.writeValueAsBytes(new ErrorResponse(errorCode, message, field, rejectedValue));
+        response.setStatus(status);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * Сохраняются успешные ответы и окончательные ошибки клиента; 409 (конфликт версий, занятый ключ)
+     * и 429 (лимит частоты) зависят от момента и при повторе могут пройти.
+     */
+    private static boolean isStorable(int status) {
+        return status < 500 && status != HttpServletResponse.SC_CONFLICT && status != HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+
+    private static String sha256(String value) {
+        return sha256(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String sha256(byte[] value) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(value));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("http.idempotency.replayed", replayed, LongAdder::sum)
+                .description("Requests answered with a stored response for a repeated Idempotency-Key")
+                .register(registry);
+        FunctionCounter.builder("http.idempotency.untracked", untracked, LongAdder::sum)
+                .description("Requests with Idempotency-Key executed without deduplication because the store was full")
+                .register(registry);
+        Gauge.builder("http.idempotency.keys", store, IdempotencyStore::size)
+                .description("Idempotency keys currently held in memory")
+                .register(registry);
+    }
+
+    /**
+     * Запрос с уже прочитанным телом: тело нужно и для хэша, и контроллеру.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                /** Тело уже в памяти: всё доступно сразу, и чтение тут же завершается. */
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        if (!isFinished()) {
+                            listener.onDataAvailable();
+                        }
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return input.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.tslnkk.skcapi.idempotency;
+
+import com.tslnkk.skcapi.domain.IdempotencyRecord;
+import com.tslnkk.skcapi.repository.IdempotencyRecordRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ответы на запросы с {@code Idempotency-Key}: ограниченная карта в памяти с TTL и, по желанию, таблица
+ * {@code idempotency_keys}, чтобы ответ пережил рестарт и был виден другим экземплярам.
+ * <p>
+ * Запись в карте создаётся до выполнения запроса и держит {@link CompletableFuture} ответа: повтор,
+ * пришедший, пока первый запрос ещё выполняется, ждёт этот future (не дольше таймаута
+ * {@link IdempotencyFilter}), а не выполняет запрос заново.
+ * Если ответ не подлежит сохранению (5xx, 409, 429), запись удаляется, и ожидающие повторы
+ * выполняются сами.
+ * <p>
+ * При заполнении карты удаляются записи с истёкшим TTL; если места так и не нашлось, запрос выполняется
+ * без идемпотентности — как если бы ключа не было.
+ */
+@Component
+@Slf4j
+public class IdempotencyStore {
+
+    /** Запись о ключе: тело исходного запроса и будущий ответ. */
+    static final class Entry {
+
+        private final String requestHash;
+        private final long expiresAt;
+        private final CompletableFuture<IdempotentResponse> response = new CompletableFuture<>();
+
+        private Entry(String requestHash, long expiresAt) {
+            this.requestHash = requestHash;
+            this.expiresAt = expiresAt;
+        }
+
+        String requestHash() {
+            return requestHash;
+        }
+
+        CompletableFuture<IdempotentResponse> response() {
+            return response;
+        }
+
+        private boolean isExpired(long now) {
+            return expiresAt - now <= 0;
+        }
+    }
+
+    /**
+     * Результат {@link #begin}: {@code owner} — вызывающий выполняет запрос сам и обязан вызвать
+     * {@link #complete} или {@link #abandon}; иначе ответ нужно ждать в {@code entry.response()} с таймаутом:
+     * {@code null} в нём значит, что ответ не сохранён и запрос можно выполнить заново.
+     * {@code entry == null} — ключ не отслеживается (карта заполнена).
+     */
+    record Claim(Entry entry, boolean owner) {
+    }
+
+    private static final long PURGE_INTERVAL_NANOS = Duration.ofMinutes(1).toNanos();
+
+    private final IdempotencyRecordRepository repository;
+    private final boolean persistent;
+    private final Duration ttl;
+    private final int maxEntries;
+    private final Clock clock;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong lastPurge = new AtomicLong(System.nanoTime());
+
+    @Autowired
+    public IdempotencyStore(IdempotencyRecordRepository repository,
+                            @Value("${app.idempotency.persistent:false}") boolean persistent,
+                            @Value("${app.idempotency.ttl-seconds:86400}") long ttlSeconds,
+                            @Value("${app.idempotency.max-entries:10000}") int maxEntries) {
+        this(repository, persistent, Duration.ofSeconds(ttlSeconds), maxEntries, Clock.systemUTC());
+    }
+
+    IdempotencyStore(IdempotencyRecordRepository repository, boolean persistent, Duration ttl, int maxEntries,
+                     Clock clock) {
+        this.repository = repository;
+        this.persistent = persistent;
+        this.ttl = ttl;
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    /**
+     * Регистрирует выполнение запроса с ключом {@code keyHash} или возвращает уже существующую запись.
+     */
+    Claim begin(String keyHash, String requestHash) {
+        long now = System.nanoTime();
+        while (true) {
+            Entry existing = entries.get(keyHash);
+            if (existing != null) {
+                if (!existing.isExpired(now) || !existing.response.isDone()) {
+                    return new Claim(existing, false);
+                }
+                entries.remove(keyHash, existing);
+                continue;
+            }
+            if (entries.size() >= maxEntries && !evictExpired(now)) {
+                return new Claim(null, true);
+            }
+            Entry fresh = new Entry(requestHash, now + ttl.toNanos());
+            if (entries.putIfAbsent(keyHash, fresh) != null) {
+                continue;
+            }
+            IdempotentResponse stored = persistent ? load(keyHash) : null;
+            if (stored == null) {
+                return new Claim(fresh, true);
+            }
+            // Ответ есть в таблице (рестарт или другой экземпляр): ведём себя как повтор
+            Entry replay = new Entry(stored.requestHash(), fresh.expiresAt);
+            replay.response.complete(stored);
+            entries.replace(keyHash, fresh, replay);
+            fresh.response.complete(stored);
+            return new Claim(replay, false);
+        }
+    }
+
+    /**
+     * Сохраняет ответ и будит повторы, ожидающие его.
+     */
+    void complete(String keyHash, Entry entry, IdempotentResponse response) {
+        if (persistent) {
+            save(keyHash, response);
+        }
+        entry.response.complete(response);
+    }
+
+    /**
+     * Забывает ключ: ответ не сохраняется, ожидающие повторы выполнят запрос сами.
+     */
+    void abandon(String keyHash, Entry entry) {
+        entries.remove(keyHash, entry);
+        entry.response.complete(null);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private boolean evictExpired(long now) {
+        entries.entrySet().removeIf(e -> e.getValue().isExpired(now) && e.getValue().response.isDone());
+        return entries.size() < maxEntries;
+    }
+
+    private IdempotentResponse load(String keyHash) {
+        try {
+            return repository.findById(keyHash)
+                    .filter(record -> record.getExpiresAt().isAfter(clock.instant()))
+                    .map(record -> new IdempotentResponse(record.getStatus(), record.getContentType(),
+                            record.getLocation(), record.getBody(), record.getRequestHash()))
+                    .orElse(null);
+        } catch (DataAccessException e) {
+            log.warn("Idempotency lookup failed, executing request: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void save(String keyHash, IdempotentResponse response) {
+        Instant now = clock.instant();
+        try {
+            repository.save(IdempotencyRecord.builder()
+                    .keyHash(keyHash)
+                    .requestHash(response.requestHash())
+                    .status(response.status())
+                    .contentType(response.contentType())
+                    .location(response.location())
+                    .body(response.body())
+                    .expiresAt(now.plus(ttl))
+                    .build());
+            long last = lastPurge.get();
+            long nanos = System.nanoTime();
+            if (nanos - last >= PURGE_INTERVAL_NANOS && lastPurge.compareAndSet(last, nanos)) {
+                repository.deleteExpired(now);
+            }
+        } catch (DataAccessException e) {
+            // Ответ уже в памяти; потеря строки в таблице лишь ослабляет защиту после рестарта
+            log.warn("Idempotency record not persisted: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.tslnkk.skcapi.idempotency;
+
+/**
+ * Первый ответ на запрос с данным {@code Idempotency-Key}; повторы получают его же.
+ *
+ * @param requestHash SHA-256 тела исходного запроса
+ */
+record IdempotentResponse(int status, String contentType, String location, byte[] body, String requestHash) {
+}
@@ -6,7 +6,10 @@ import com.tslnkk.skcapi.domain.RequisitionStatus;
 import com.tslnkk.skcapi.repository.PurchaseRequisitionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,17 +19,29 @@ import java.time.LocalDate;
 /**
  * Инициализатор тестовых данных.
  * Создаёт 4 заявки в разных статусах с позициями при старте приложения.
+ * В профиле {@code synthetic} вместо него работает {@link SyntheticDataGenerator}.
+ * Отключается свойством {@code app.seed-data.enabled=false} (по умолчанию в профиле {@code prod}).
+ * Свойство проверяется при запуске, а не условием на бине: AOT-конфигурация фиксирует набор бинов при сборке.
  */
 @Component
+@Profile("!synthetic")
+@Order(0)
 @RequiredArgsConstructor
 @Slf4j
 public class DataInitializer implements CommandLineRunner {
 
     private final PurchaseRequisitionRepository requisitionRepository;
 
+    @Value("${app.seed-data.enabled:true}")
+    private boolean enabled;
+
     @Override
     @Transactional
     public void run(String... args) {
+        if (!enabled) {
+            log.info("Seed data disabled (app.seed-data.enabled=false)");
+            return;
+        }
         if (requisitionRepository.count() > 0) {
             log.info("Data already initialized, skipping");
             return;
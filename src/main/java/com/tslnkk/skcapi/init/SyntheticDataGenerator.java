@@ -0,0 +1,144 @@
+package com.tslnkk.skcapi.init;
+
+import com.tslnkk.skcapi.reference.ReferenceDataService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Генератор синтетических данных для профиля {@code synthetic} (заменяет {@link DataInitializer}).
+ * <p>
+ * Данные строит {@link SyntheticDataset}; вставка идёт пачками через JDBC batch в обход Hibernate,
+ * каждая пачка — в своей транзакции. Идентификаторы назначаются явно, после вставки счётчики
+ * IDENTITY переставляются за максимальный id, чтобы заявки и позиции, созданные через API, не конфликтовали.
+ */
+@Component
+@Profile("synthetic")
+@Order(0)
+@Slf4j
+public class SyntheticDataGenerator implements CommandLineRunner {
+
+    private static final String INSERT_REQUISITION = """
+            INSERT INTO purchase_requisitions
+                (id, number, status, created_from, updated_from, organizer_id, total_lot_sum_no_nds)
+            VALUES (?, ?, ?, ?, ?, ?, ?)""";
+
+    private static final String INSERT_ITEM = """
+            INSERT INTO requisition_items
+                (id, row_number, tru_code, tru_name, count, mkei, price, duration_month, version, requisition_id)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0, ?)""";
+
+    public record Result(long requisitions, long items, long elapsedMs) {
+    }
+
+    private record ItemRow(long id, long requisitionId, SyntheticDataset.Item item) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SyntheticDataset dataset;
+    private final long requisitions;
+    private final int batchSize;
+
+    public SyntheticDataGenerator(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            ReferenceDataService referenceDataService,
+            @Value("${app.synthetic.seed:42}") long seed,
+            @Value("${app.synthetic.requisitions:10000}") long requisitions,
+            @Value("${app.synthetic.organizers:200}") int organizers,
+            @Value("${app.synthetic.mean-items:6}") double meanItems,
+            @Value("${app.synthetic.outlier-rate:0.001}") double outlierRate,
+            @Value("${app.synthetic.outlier-items:10000}") int outlierItems,
+            @Value("${app.synthetic.batch-size:5000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.dataset = new SyntheticDataset(seed, organizers, meanItems, outlierRate, outlierItems,
+                referenceDataService.getAllNomenclatures());
+        this.requisitions = requisitions;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run(String... args) {
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM purchase_requisitions", Long.class);
+        if (existing != null && existing > 0) {
+            log.info("Data already initialized, skipping synthetic generation");
+            return;
+        }
+        Result result = generate();
+        log.info("Synthetic data generated: {} requisitions, {} items in {} ms ({} items/s)",
+                result.requisitions(), result.items(), result.elapsedMs(),
+                result.elapsedMs() == 0 ? result.items() : result.items() * 1000 / result.elapsedMs());
+    }
+
+    public Result generate() {
+        long startNs = System.nanoTime();
+        long nextItemId = 1;
+        List<SyntheticDataset.Requisition> requisitionBatch = new ArrayList<>();
+        List<ItemRow> itemBatch = new ArrayList<>(batchSize);
+
+        for (long index = 0; index < requisitions; index++) {
+            SyntheticDataset.Requisition requisition = dataset.requisition(index);
+            requisitionBatch.add(requisition);
+            for (SyntheticDataset.Item item : requisition.items()) {
+                itemBatch.add(new ItemRow(nextItemId++, index + 1, item));
+            }
+            // Заявки пишутся раньше своих позиций (внешний ключ)
+            if (itemBatch.size() >= batchSize || requisitionBatch.size() >= batchSize) {
+                flush(requisitionBatch, itemBatch);
+            }
+        }
+        flush(requisitionBatch, itemBatch);
+
+        restartIdentity("purchase_requisitions", requisitions + 1);
+        restartIdentity("requisition_items", nextItemId);
+        return new Result(requisitions, nextItemId - 1, (System.nanoTime() - startNs) / 1_000_000);
+    }
+
+    private void flush(List<SyntheticDataset.Requisition> requisitionBatch, List<ItemRow> itemBatch) {
+        if (requisitionBatch.isEmpty() && itemBatch.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_REQUISITION, requisitionBatch, batchSize, (ps, r) -> {
+                ps.setLong(1, r.index() + 1);
+                ps.setString(2, r.number());
+                ps.setString(3, r.status().name());
+                ps.setTimestamp(4, Timestamp.valueOf(r.createdFrom()));
+                ps.setTimestamp(5, Timestamp.valueOf(r.updatedFrom()));
+                ps.setString(6, r.organizerId());
+                ps.setBigDecimal(7, r.total());
+            });
+            jdbcTemplate.batchUpdate(INSERT_ITEM, itemBatch, batchSize, (ps, row) -> {
+                SyntheticDataset.Item item = row.item();
+                ps.setLong(1, row.id());
+                ps.setInt(2, item.rowNumber());
+                ps.setString(3, item.truCode());
+                ps.setString(4, item.truName());
+                ps.setBigDecimal(5, item.count());
+                ps.setString(6, item.mkei());
+                ps.setBigDecimal(7, item.price());
+                ps.setDate(8, Date.valueOf(item.durationMonth()));
+                ps.setLong(9, row.requisitionId());
+            });
+        });
+        requisitionBatch.clear();
+        itemBatch.clear();
+    }
+
+    private void restartIdentity(String table, long next) {
+        // DDL не принимает параметры; значение — число, собранное здесь же
+        jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + next);
+    }
+}
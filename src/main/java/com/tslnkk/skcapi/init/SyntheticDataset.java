@@ -0,0 +1,157 @@
+package com.tslnkk.skcapi.init;
+
+import com.tslnkk.skcapi.domain.RequisitionStatus;
+import com.tslnkk.skcapi.reference.ReferenceDataService.NomenclatureRef;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static com.tslnkk.skcapi.domain.RequisitionStatus.*;
+
+/**
+ * Детерминированная модель синтетических данных.
+ * <p>
+ * Заявка с номером {@code index} строится только из {@code seed} и {@code index}, поэтому один и тот же
+ * seed всегда даёт одни и те же данные независимо от размера пачек при вставке.
+ * <p>
+ * Распределения:
+ * <ul>
+ *   <li>организаторы — степенное распределение: небольшая часть организаторов создаёт большинство заявок;</li>
+ *   <li>статусы — по весам {@code STATUS_WEIGHTS}, больше всего черновиков;</li>
+ *   <li>позиции — геометрическое распределение со средним {@code meanItems}, с вероятностью
+ *       {@code outlierRate} заявка-выброс на {@code outlierItems} строк;</li>
+ *   <li>количество и цена — логарифмически равномерные, как в реальных закупках.</li>
+ * </ul>
+ * В справочнике всего несколько номенклатур, а код ТРУ уникален в пределах заявки, поэтому строки
+ * сверх размера справочника получают коды вариантов: {@code TRU-001.00001}.
+ */
+public final class SyntheticDataset {
+
+    private static final Map<RequisitionStatus, Integer> STATUS_WEIGHTS;
+    private static final int STATUS_WEIGHT_TOTAL;
+
+    static {
+        Map<RequisitionStatus, Integer> m = new EnumMap<>(RequisitionStatus.class);
+        m.put(DRAFT,          40);
+        m.put(SUBMITTED,      15);
+        m.put(APPROVED,       15);
+        m.put(IN_PROCUREMENT, 10);
+        m.put(CLOSED,         12);
+        m.put(REJECTED,        3);
+        m.put(CANCELLED,       5);
+        STATUS_WEIGHTS = Collections.unmodifiableMap(m);
+        STATUS_WEIGHT_TOTAL = m.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final int PERIOD_SECONDS = 365 * 24 * 3600;
+
+    public record Requisition(long index, String number, RequisitionStatus status, String organizerId,
+                              LocalDateTime createdFrom, LocalDateTime updatedFrom, BigDecimal total,
+                              List<Item> items) {
+    }
+
+    public record Item(int rowNumber, String truCode, String truName, BigDecimal count, String mkei,
+                       BigDecimal price, LocalDate durationMonth) {
+    }
+
+    private record CatalogEntry(String code, String name, List<String> units) {
+    }
+
+    private final long seed;
+    private final int organizers;
+    private final double meanItems;
+    private final double outlierRate;
+    private final int outlierItems;
+    private final List<CatalogEntry> catalog;
+
+    public SyntheticDataset(long seed, int organizers, double meanItems, double outlierRate, int outlierItems,
+                            Iterable<NomenclatureRef> nomenclatures) {
+        this.seed = seed;
+        this.organizers = organizers;
+        this.meanItems = meanItems;
+        this.outlierRate = outlierRate;
+        this.outlierItems = outlierItems;
+        // Справочник и наборы единиц сортируются: порядок обхода Set.of меняется от запуска к запуску
+        List<CatalogEntry> entries = new ArrayList<>();
+        for (NomenclatureRef ref : nomenclatures) {
+            entries.add(new CatalogEntry(ref.code(), ref.name(), ref.allowedUnits().stream().sorted().toList()));
+        }
+        entries.sort(Comparator.comparing(CatalogEntry::code));
+        if (entries.isEmpty()) {
+            throw new IllegalArgumentException("Справочник номенклатур пуст");
+        }
+        this.catalog = List.copyOf(entries);
+    }
+
+    /**
+     * @param index порядковый номер заявки, начиная с 0
+     */
+    public Requisition requisition(long index) {
+        SplittableRandom random = new SplittableRandom(seed * 0x9E3779B97F4A7C15L + index);
+
+        LocalDateTime createdFrom = EPOCH.plusSeconds(random.nextInt(PERIOD_SECONDS));
+        LocalDateTime updatedFrom = createdFrom.plusSeconds(random.nextInt(30 * 24 * 3600));
+        RequisitionStatus status = status(random);
+        // u^3 смещает выбор к первым организаторам
+        int organizer = (int) (organizers * Math.pow(random.nextDouble(), 3));
+
+        int itemCount = random.nextDouble() < outlierRate ? outlierItems : geometric(random, meanItems);
+        List<Item> items = new ArrayList<>(itemCount);
+        BigDecimal total = BigDecimal.ZERO;
+        int offset = random.nextInt(catalog.size());
+        for (int row = 1; row <= itemCount; row++) {
+            int line = row - 1;
+            CatalogEntry entry = catalog.get((offset + line) % catalog.size());
+            int variant = line / catalog.size();
+            String code = variant == 0 ? entry.code() : String.format("%s.%05d", entry.code(), variant);
+            BigDecimal count = BigDecimal.valueOf(Math.round(Math.exp(random.nextDouble() * Math.log(1000))));
+            BigDecimal price = BigDecimal.valueOf(Math.exp(Math.log(10) + random.nextDouble() * Math.log(50_000)))
+                    .setScale(2, RoundingMode.HALF_UP);
+            String unit = entry.units().get(random.nextInt(entry.units().size()));
+            LocalDate delivery = createdFrom.toLocalDate().plusDays(14 + random.nextInt(166));
+            items.add(new Item(row, code, entry.name(), count, unit, price, delivery));
+            total = total.add(price.multiply(count));
+        }
+
+        return new Requisition(index,
+                String.format("ЗК-%d-%05d", createdFrom.getYear(), index + 1),
+                status,
+                String.format("org-%04d", organizer + 1),
+                createdFrom,
+                updatedFrom,
+                total.setScale(2, RoundingMode.HALF_UP),
+                items);
+    }
+
+    private static RequisitionStatus status(SplittableRandom random) {
+        int slot = random.nextInt(STATUS_WEIGHT_TOTAL);
+        for (Map.Entry<RequisitionStatus, Integer> entry : STATUS_WEIGHTS.entrySet()) {
+            slot -= entry.getValue();
+            if (slot < 0) {
+                return entry.getKey();
+            }
+        }
+        return DRAFT;
+    }
+
+    /**
+     * Геометрическое распределение на {1, 2, ...} со средним {@code mean}.
+     */
+    private static int geometric(SplittableRandom random, double mean) {
+        if (mean <= 1) {
+            return 1;
+        }
+        double p = 1 / mean;
+        return 1 + (int) Math.floor(Math.log(1 - random.nextDouble()) / Math.log(1 - p));
+    }
+}
@@ -0,0 +1,258 @@
+package com.tslnkk.skcapi.init;
+
+import com.tslnkk.skcapi.domain.RequisitionStatus;
+import com.tslnkk.skcapi.dto.CreateItemRequest;
+import com.tslnkk.skcapi.dto.CreateRequisitionRequest;
+import com.tslnkk.skcapi.dto.ItemResponse;
+import com.tslnkk.skcapi.dto.PatchItemRequest;
+import com.tslnkk.skcapi.dto.RequisitionResponse;
+import com.tslnkk.skcapi.dto.TransitionRequest;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.math.BigDecimal;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Прогрев JIT перед тем, как экземпляр объявит себя готовым.
+ * <p>
+ * Запускается после {@link DataInitializer} / {@link SyntheticDataGenerator} и гоняет через HTTP на
+ * собственный порт тот же путь, что и реальные клиенты: security → контроллер → сервис → репозиторий → Jackson.
+ * Один цикл: создать черновую заявку, добавить и изменить позицию, прочитать сводку, заявку и список,
+ * справочники, провести заявку по DRAFT → SUBMITTED → REJECTED → DRAFT и удалить её.
+ * Заявки, оставшиеся после ошибки посреди цикла, возвращаются в DRAFT и удаляются тем же API: событие удаления
+ * доходит до SSE, статистики и поиска, а лента изменений, outbox и аудит, как и для всего прогрева, его пропускают.
+ * <p>
+ * Spring Boot переводит readiness в {@code ACCEPTING_TRAFFIC} по {@code ApplicationReadyEvent}, то есть
+ * после всех runner'ов, поэтому {@code /actuator/health/readiness} отвечает 503 до конца прогрева.
+ * Включается свойством {@code app.warmup.enabled}; проверяется при запуске, а не условием на бине (AOT).
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@Slf4j
+public class WarmupRunner implements ApplicationRunner {
+
+    /**
+     * Помечает запросы прогрева: их заведомо высокие задержки не должны попадать в сигналы перегрузки.
+     * Значение — {@link #WARMUP_TOKEN}; заголовок с любым другим значением ничего не значит.
+     */
+    public static final String WARMUP_HEADER = "X-Warmup";
+
+    /** Случайный токен, создаваемый при запуске: известен только этому процессу и наружу не уходит. */
+    private static final byte[] WARMUP_TOKEN = newToken();
+
+    private static final int MAX_CONSECUTIVE_ERRORS = 10;
+
+    /**
+     * Выполняется ли текущий поток в запросе прогрева. Изменения прогрева не уходят во внешние системы
+     * и в аудит: это служебные заявки, удаляемые после цикла.
+     */
+    public static boolean isWarmupRequest() {
+        return RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                && isWarmup(attributes.getRequest());
+    }
+
+    /**
+     * Запрос прогрева — только с loopback-адреса и с токеном этого процесса; клиент, приславший
+     * {@code X-Warmup} сам, обрабатывается как обычный запрос.
+     */
+    public static boolean isWarmup(HttpServletRequest request) {
+        String token = request.getHeader(WARMUP_HEADER);
+        return token != null
+                && MessageDigest.isEqual(WARMUP_TOKEN, token.getBytes(StandardCharsets.US_ASCII))
+                && isLoopback(request.getRemoteAddr());
+    }
+
+    private static boolean isLoopback(String address) {
+        try {
+            // remoteAddr — всегда IP-литерал, поэтому разбор без обращения к DNS
+            return address != null && InetAddress.getByName(address).isLoopbackAddress();
+        } catch (UnknownHostException e) {
+            return false;
+        }
+    }
+
+    private static byte[] newToken() {
+        byte[] random = new byte[32];
+        new SecureRandom().nextBytes(random);
+        return HexFormat.of().formatHex(random).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private final Environment environment;
+    private final boolean enabled;
+    private final Duration duration;
+    private final int concurrency;
+    private final String username;
+    private final String password;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final Set<Long> scratchIds = ConcurrentHashMap.newKeySet();
+
+    public WarmupRunner(Environment environment,
+                        @Value("${app.warmup.enabled:false}") boolean enabled,
+                        @Value("${app.warmup.duration-seconds:30}") long durationSeconds,
+                        @Value("${app.warmup.concurrency:2}") int concurrency,
+                        @Value("${app.security.admin.username:admin}") String username,
+                        @Value("${app.security.admin.password:admin}") String password) {
+        this.environment = environment;
+        this.enabled = enabled;
+        this.duration = Duration.ofSeconds(durationSeconds);
+        this.concurrency = concurrency;
+        this.username = username;
+        this.password = password;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (!enabled) {
+            return;
+        }
+        Integer port = environment.getProperty("local.server.port", Integer.class);
+        if (port == null) {
+            log.warn("Warm-up skipped: no local web server");
+            return;
+        }
+
+        RestClient client = RestClient.builder()
+                .baseUrl("http://localhost:" + port)
+                .defaultHeaders(headers -> {
+                    headers.setBasicAuth(username, password);
+                    headers.set(WARMUP_HEADER, new String(WARMUP_TOKEN, StandardCharsets.US_ASCII));
+                })
+                .build();
+        long deadline = System.nanoTime() + duration.toNanos();
+        long startedAt = System.nanoTime();
+        log.info("Warm-up started: {} s, concurrency {}", duration.toSeconds(), concurrency);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(concurrency)) {
+            List<Future<Long>> workers = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                workers.add(executor.submit(() -> drive(client, deadline)));
+            }
+            long cycles = 0;
+            for (Future<Long> worker : workers) {
+                cycles += worker.get();
+            }
+            log.info("Warm-up finished in {} ms: {} cycles, {} requests, {} errors",
+                    Duration.ofNanos(System.nanoTime() - startedAt).toMillis(), cycles, requests.get(), errors.get());
+        } finally {
+            if (!scratchIds.isEmpty()) {
+                removeLeftovers(client);
+            }
+        }
+    }
+
+    private long drive(RestClient client, long deadline) {
+        long cycles = 0;
+        int consecutiveErrors = 0;
+        while (System.nanoTime() < deadline) {
+            try {
+                cycle(client);
+                cycles++;
+                consecutiveErrors = 0;
+            } catch (RuntimeException e) {
+                errors.incrementAndGet();
+                if (++consecutiveErrors >= MAX_CONSECUTIVE_ERRORS) {
+                    log.warn("Warm-up worker stopped after {} consecutive errors: {}", consecutiveErrors, e.toString());
+                    break;
+                }
+            }
+        }
+        return cycles;
+    }
+
+    private void cycle(RestClient client) {
+        RequisitionResponse requisition = call(client.post().uri("/api/v1/requisitions")
+                .body(new CreateRequisitionRequest("warmup")), RequisitionResponse.class);
+        Long id = requisition.id();
+        scratchIds.add(id);
+
+        ItemResponse item = call(client.post().uri("/api/v1/requisitions/{id}/items", id)
+                .body(new CreateItemRequest("TRU-001", "Бумага офисная A4", BigDecimal.TEN, "PACK",
+                        new BigDecimal("350.00"), LocalDate.now().plusDays(10), null)), ItemResponse.class);
+        call(client.patch().uri("/api/v1/requisitions/{id}/items/{itemId}", id, item.id())
+                .body(new PatchItemRequest(new BigDecimal("20"), null, "warmup", item.version())), ItemResponse.class);
+
+        call(client.get().uri("/api/v1/requisitions/{id}/summary", id), String.class);
+        call(client.get().uri("/api/v1/requisitions/{id}", id), String.class);
+        call(client.get().uri("/api/v1/requisitions"), String.class);
+        call(client.get().uri("/api/v1/reference/nomenclatures"), String.class);
+        call(client.get().uri("/api/v1/reference/units"), String.class);
+
+        for (RequisitionStatus target : List.of(
+                RequisitionStatus.SUBMITTED, RequisitionStatus.REJECTED, RequisitionStatus.DRAFT)) {
+            call(client.post().uri("/api/v1/requisitions/{id}/transition", id)
+                    .body(new TransitionRequest(target)), RequisitionResponse.class);
+        }
+
+        requests.incrementAndGet();
+        client.delete().uri("/api/v1/requisitions/{id}", id).retrieve().toBodilessEntity();
+        scratchIds.remove(id);
+    }
+
+    private void removeLeftovers(RestClient client) {
+        int removed = 0;
+        for (Long id : List.copyOf(scratchIds)) {
+            try {
+                discard(client, id);
+                removed++;
+            } catch (RuntimeException e) {
+                log.warn("Warm-up could not remove scratch requisition {}: {}", id, e.toString());
+            }
+            scratchIds.remove(id);
+        }
+        log.info("Warm-up removed {} leftover scratch requisitions", removed);
+    }
+
+    /** Вернуть заявку в DRAFT (удалить можно только черновик) и удалить. */
+    private void discard(RestClient client, Long id) {
+        RequisitionResponse requisition;
+        try {
+            requisition = call(client.get().uri("/api/v1/requisitions/{id}", id), RequisitionResponse.class);
+        } catch (HttpClientErrorException.NotFound e) {
+            return;
+        }
+        List<RequisitionStatus> path = switch (RequisitionStatus.valueOf(requisition.status())) {
+            case DRAFT -> List.of();
+            case REJECTED, CANCELLED -> List.of(RequisitionStatus.DRAFT);
+            default -> List.of(RequisitionStatus.CANCELLED, RequisitionStatus.DRAFT);
+        };
+        for (RequisitionStatus target : path) {
+            call(client.post().uri("/api/v1/requisitions/{id}/transition", id)
+                    .body(new TransitionRequest(target)), RequisitionResponse.class);
+        }
+        client.delete().uri("/api/v1/requisitions/{id}", id).retrieve().toBodilessEntity();
+    }
+
+    private <T> T call(RestClient.RequestHeadersSpec<?> request, Class<T> type) {
+        requests.incrementAndGet();
+        return request.retrieve().body(type);
+    }
+}
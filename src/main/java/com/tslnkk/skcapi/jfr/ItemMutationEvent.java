@@ -0,0 +1,40 @@
+package com.tslnkk.skcapi.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.tslnkk.skcapi.ItemMutation")
+@Label("Item Mutation")
+@Category({"SKC API", "Requisition"})
+@Description("Создание, изменение или удаление позиции заявки")
+@Enabled(false)
+@StackTrace(false)
+public class ItemMutationEvent extends Event {
+
+    public enum Operation { CREATE, PATCH, DELETE }
+
+    @Label("Requisition ID")
+    long requisitionId;
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Item Count")
+    @Description("Число позиций в заявке после операции")
+    int itemCount;
+
+    public static void emit(long requisitionId, Operation operation, int itemCount) {
+        ItemMutationEvent event = new ItemMutationEvent();
+        if (event.shouldCommit()) {
+            event.requisitionId = requisitionId;
+            event.operation = operation.name();
+            event.itemCount = itemCount;
+            event.commit();
+        }
+    }
+}
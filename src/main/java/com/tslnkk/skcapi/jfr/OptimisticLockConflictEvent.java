@@ -0,0 +1,43 @@
+package com.tslnkk.skcapi.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Конфликт оптимистичной блокировки.
+ * Для конфликтов, обнаруженных Hibernate при flush, ID заявки неизвестен (0), а версии равны -1.
+ */
+@Name("com.tslnkk.skcapi.OptimisticLockConflict")
+@Label("Optimistic Lock Conflict")
+@Category({"SKC API", "Requisition"})
+@Description("Конфликт версий при изменении позиции")
+@Enabled(false)
+public class OptimisticLockConflictEvent extends Event {
+
+    @Label("Requisition ID")
+    long requisitionId;
+
+    @Label("Item ID")
+    long itemId;
+
+    @Label("Expected Version")
+    long expectedVersion;
+
+    @Label("Actual Version")
+    long actualVersion;
+
+    public static void emit(long requisitionId, long itemId, long expectedVersion, long actualVersion) {
+        OptimisticLockConflictEvent event = new OptimisticLockConflictEvent();
+        if (event.shouldCommit()) {
+            event.requisitionId = requisitionId;
+            event.itemId = itemId;
+            event.expectedVersion = expectedVersion;
+            event.actualVersion = actualVersion;
+            event.commit();
+        }
+    }
+}
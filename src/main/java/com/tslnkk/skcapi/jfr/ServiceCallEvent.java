@@ -0,0 +1,45 @@
+package com.tslnkk.skcapi.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Вызов публичного метода сервисного слоя.
+ * Длительность берётся из {@link #begin()}/{@link #end()}, поля заполняются только если событие будет записано.
+ */
+@Name("com.tslnkk.skcapi.ServiceCall")
+@Label("Service Call")
+@Category({"SKC API", "Service"})
+@Description("Вызов метода сервисного слоя")
+@Enabled(false)
+@StackTrace(false)
+public class ServiceCallEvent extends Event {
+
+    @Label("Class")
+    String className;
+
+    @Label("Method")
+    String methodName;
+
+    @Label("Requisition ID")
+    long requisitionId;
+
+    @Label("Failed")
+    boolean failed;
+
+    public void complete(String className, String methodName, long requisitionId, boolean failed) {
+        end();
+        if (shouldCommit()) {
+            this.className = className;
+            this.methodName = methodName;
+            this.requisitionId = requisitionId;
+            this.failed = failed;
+            commit();
+        }
+    }
+}
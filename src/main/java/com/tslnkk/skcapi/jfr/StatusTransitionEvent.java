@@ -0,0 +1,38 @@
+package com.tslnkk.skcapi.jfr;
+
+import com.tslnkk.skcapi.domain.RequisitionStatus;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.tslnkk.skcapi.StatusTransition")
+@Label("Status Transition")
+@Category({"SKC API", "Requisition"})
+@Description("Смена статуса заявки")
+@Enabled(false)
+@StackTrace(false)
+public class StatusTransitionEvent extends Event {
+
+    @Label("Requisition ID")
+    long requisitionId;
+
+    @Label("From")
+    String fromStatus;
+
+    @Label("To")
+    String toStatus;
+
+    public static void emit(long requisitionId, RequisitionStatus from, RequisitionStatus to) {
+        StatusTransitionEvent event = new StatusTransitionEvent();
+        if (event.shouldCommit()) {
+            event.requisitionId = requisitionId;
+            event.fromStatus = from.name();
+            event.toStatus = to.name();
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.tslnkk.skcapi.limit;
+
+import com.tslnkk.skcapi.dto.ErrorResponse;
+import com.tslnkk.skcapi.exception.ErrorCode;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Адаптивный лимит одновременных запросов перед всей обработкой (включая Spring Security).
+ * <p>
+ * Изменяющие запросы (POST, PUT, PATCH, DELETE) и чтение ограничиваются раздельно: запись держит соединение
+ * с БД дольше (создание позиции — два {@code saveAndFlush} в одной транзакции), и всплеск записей не должен
+ * съедать лимит чтения. Лимиты подстраиваются по задержке ({@link GradientConcurrencyLimit}).
+ * Запрос сверх лимита сразу получает 503 {@code SERVER_OVERLOADED} с {@code Retry-After} вместо ожидания в очереди.
+ * {@code /actuator/**} не ограничивается: health-проверки должны отвечать и под перегрузкой.
+ * <p>
+ * Стоит сразу за {@code RequestCorrelationFilter} и {@code RequestLoadFilter}: у отказа есть {@code X-Request-Id},
+ * а отказанные запросы видны в сигналах перегрузки. Отключается {@code app.concurrency-limit.enabled=false}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter implements MeterBinder {
+
+    private final boolean enabled;
+    private final GradientConcurrencyLimit writeLimit;
+    private final GradientConcurrencyLimit readLimit;
+    private final String retryAfterSeconds;
+    private final byte[] rejectionBody;
+    private final LongAdder writeRejected = new LongAdder();
+    private final LongAdder readRejected = new LongAdder();
+
+    public ConcurrencyLimitFilter(
+            JsonMapper jsonMapper,
+            @Value("${app.concurrency-limit.enabled:true}") boolean enabled,
+            @Value("${app.concurrency-limit.write.initial:10}") int writeInitial,
+            @Value("${app.concurrency-limit.write.min:4}") int writeMin,
+            @Value("${app.concurrency-limit.write.max:100}") int writeMax,
+            @Value("${app.concurrency-limit.read.initial:50}") int readInitial,
+            @Value("${app.concurrency-limit.read.min:10}") int readMin,
+            @Value("${app.concurrency-limit.read.max:500}") int readMax,
+            @Value("${app.concurrency-limit.smoothing:0.2}") double smoothing,
+            @Value("${app.concurrency-limit.tolerance:1.5}") double tolerance,
+            @Value("${app.concurrency-limit.retry-after-seconds:1}") int retryAfterSeconds) {
+        this.enabled = enabled;
+        this.writeLimit = new GradientConcurrencyLimit(writeInitial, writeMin, writeMax, smoothing, tolerance);
+        this.readLimit = new GradientConcurrencyLimit(readInitial, readMin, readMax, smoothing, tolerance);
+        this.retryAfterSeconds = String.valueOf(retryAfterSeconds);
+        this.rejectionBody = jsonMapper.writeValueAsBytes(new ErrorResponse(
+                ErrorCode.SERVER_OVERLOADED.name(), ErrorCode.SERVER_OVERLOADED.getDefaultMessage(), null, null));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || request.getRequestURI().startsWith("/actuator/");
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        boolean write = isWrite(request.getMethod());
+        GradientConcurrencyLimit limit = write ? writeLimit : readLimit;
+        if (!limit.tryAcquire()) {
+            (write ? writeRejected : readRejected).increment();
+            reject(response);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            limit.release(System.nanoTime() - start);
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setContentLength(rejectionBody.length);
+        response.getOutputStream().write(rejectionBody);
+    }
+
+    private static boolean isWrite(String method) {
+        return !(HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) || HttpMethod.OPTIONS.matches(method));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bind(registry, "write", writeLimit, writeRejected);
+        bind(registry, "read", readLimit, readRejected);
+    }
+
+    private static void bind(MeterRegistry registry, String kind, GradientConcurrencyLimit limit, LongAdder rejected) {
+        Gauge.builder("http.concurrency.limit", limit, GradientConcurrencyLimit::limit)
+                .tag("kind", kind)
+                .description("Current adaptive concurrency limit")
+                .register(registry);
+        Gauge.builder("http.concurrency.in-flight", limit, GradientConcurrencyLimit::inFlight)
+                .tag("kind", kind)
+                .description("Requests admitted by the concurrency limiter and still in progress")
+                .register(registry);
+        FunctionCounter.builder("http.concurrency.rejected", rejected, LongAdder::sum)
+                .tag("kind", kind)
+                .description("Requests rejected with 503 by the concurrency limiter")
+                .register(registry);
+    }
+}
@@ -0,0 +1,122 @@
+package com.tslnkk.skcapi.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Адаптивный лимит одновременных запросов по градиенту задержки (в духе Gradient2 из Netflix concurrency-limits).
+ * <p>
+ * Держит две экспоненциальные средние длительности запроса: длинную (≈ базовая задержка без очереди)
+ * и короткую (текущая). Пока текущая задержка не выше базовой с допуском {@code tolerance}, лимит растёт
+ * на {@code sqrt(limit)} за выборку; когда запросы начинают ждать друг друга и текущая задержка растёт,
+ * градиент {@code tolerance * long / short} падает ниже 1 и лимит сжимается пропорционально (не более чем вдвое).
+ * Лимит не растёт, если занято меньше половины: без нагрузки у градиента нет информации.
+ * При минимальном градиенте лимит сходится к 4 ({@code L = L / 2 + sqrt(L)}), поэтому {@code minLimit} меньше 4
+ * недостижим и отклоняется — кроме вырожденного фиксированного лимита {@code minLimit == maxLimit}.
+ * <p>
+ * Захват — CAS по счётчику запросов в обработке; пересчёт лимита — CAS неизменяемого {@link State}, без блокировок:
+ * проигравший гонку пересчитывает выборку поверх нового состояния.
+ */
+public class GradientConcurrencyLimit {
+
+    private static final double LONG_WINDOW_ALPHA = 2.0 / (600 + 1);
+    private static final double SHORT_WINDOW_ALPHA = 2.0 / (10 + 1);
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double tolerance;
+
+    /** Нижняя граница, к которой сходится лимит при минимальном градиенте. */
+    static final int CONVERGENCE_FLOOR = 4;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicReference<State> state;
+
+    public GradientConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double smoothing, double tolerance) {
+        if (minLimit < 1 || minLimit > maxLimit) {
+            throw new IllegalArgumentException("Expected 1 <= minLimit <= maxLimit, got " + minLimit + ".." + maxLimit);
+        }
+        if (minLimit < CONVERGENCE_FLOOR && minLimit != maxLimit) {
+            throw new IllegalArgumentException("minLimit below " + CONVERGENCE_FLOOR
+                    + " is unreachable for an adaptive limit, got " + minLimit);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.tolerance = tolerance;
+        this.state = new AtomicReference<>(new State(clamp(initialLimit), 0, 0));
+    }
+
+    /**
+     * @return {@code true}, если запрос допущен; тогда вызывающий обязан вызвать {@link #release}
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Освобождает место и учитывает длительность запроса в лимите.
+     */
+    public void release(long rttNanos) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        onSample(rttNanos, inFlightBefore);
+    }
+
+    public int limit() {
+        return (int) state.get().estimatedLimit();
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    private void onSample(long rttNanos, int inFlightBefore) {
+        State current;
+        State next;
+        do {
+            current = state.get();
+            next = next(current, rttNanos, inFlightBefore);
+        } while (!state.compareAndSet(current, next));
+    }
+
+    private State next(State current, long rttNanos, int inFlightBefore) {
+        double longRttNanos;
+        double shortRttNanos;
+        if (current.longRttNanos() == 0) {
+            longRttNanos = rttNanos;
+            shortRttNanos = rttNanos;
+        } else {
+            longRttNanos = current.longRttNanos() + (rttNanos - current.longRttNanos()) * LONG_WINDOW_ALPHA;
+            shortRttNanos = current.shortRttNanos() + (rttNanos - current.shortRttNanos()) * SHORT_WINDOW_ALPHA;
+        }
+        // Задержка заметно упала (например, после разгрузки БД): базовая линия догоняет, иначе лимит долго не растёт
+        if (longRttNanos > 2 * shortRttNanos) {
+            longRttNanos *= 0.95;
+        }
+        double estimatedLimit = current.estimatedLimit();
+        if (inFlightBefore < estimatedLimit / 2) {
+            return new State(estimatedLimit, longRttNanos, shortRttNanos);
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRttNanos / shortRttNanos));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        return new State(clamp(estimatedLimit * (1 - smoothing) + newLimit * smoothing), longRttNanos, shortRttNanos);
+    }
+
+    private double clamp(double value) {
+        return Math.max(minLimit, Math.min(maxLimit, value));
+    }
+
+    /** Оценка лимита и средние длительности запроса (длинная и короткая); {@code 0} — выборок ещё не было. */
+    private record State(double estimatedLimit, double longRttNanos, double shortRttNanos) {
+    }
+}
@@ -0,0 +1,19 @@
+package com.tslnkk.skcapi.limit;
+
+import com.tslnkk.skcapi.exception.BusinessException;
+import com.tslnkk.skcapi.exception.ErrorCode;
+import lombok.Getter;
+
+/**
+ * Превышен лимит частоты запросов; {@code GlobalExceptionHandler} отвечает 429 с {@code Retry-After}.
+ */
+@Getter
+public class RateLimitExceededException extends BusinessException {
+
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(String message, String field, String rejectedValue, long retryAfterSeconds) {
+        super(ErrorCode.RATE_LIMIT_EXCEEDED, message, field, rejectedValue);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,25 @@
+package com.tslnkk.skcapi.limit;
+
+/**
+ * Группа эндпоинтов с общим лимитом частоты запросов.
+ * Лимиты группы задаются свойствами {@code app.rate-limit.<key>.principal.*} и {@code app.rate-limit.<key>.organizer.*}.
+ */
+public enum RateLimitGroup {
+
+    /** Создание заявок и позиций. */
+    CREATE("create"),
+    /** Смена статуса и реактивация заявки. */
+    TRANSITION("transition"),
+    /** Изменение и удаление заявок и позиций. */
+    UPDATE("update");
+
+    private final String key;
+
+    RateLimitGroup(String key) {
+        this.key = key;
+    }
+
+    public String key() {
+        return key;
+    }
+}
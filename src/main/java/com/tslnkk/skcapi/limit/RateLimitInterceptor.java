@@ -0,0 +1,33 @@
+package com.tslnkk.skcapi.limit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.security.Principal;
+
+/**
+ * Лимит частоты по пользователю для методов с {@link RateLimited}.
+ * Исключение из {@code preHandle} обрабатывает {@code GlobalExceptionHandler}, как исключение контроллера.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final RateLimiter rateLimiter;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod method) {
+            RateLimited rateLimited = method.getMethodAnnotation(RateLimited.class);
+            Principal principal = request.getUserPrincipal();
+            if (rateLimited != null && principal != null) {
+                rateLimiter.check(rateLimited.value(), RateLimiter.Scope.PRINCIPAL, principal.getName());
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,19 @@
+package com.tslnkk.skcapi.limit;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Метод контроллера, запросы к которому ограничиваются по частоте для аутентифицированного пользователя
+ * ({@link RateLimitInterceptor}). Лимит по организатору заявки проверяет сервис: organizerId известен только ему.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RateLimited {
+
+    RateLimitGroup value();
+}
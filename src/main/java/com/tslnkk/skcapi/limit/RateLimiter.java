@@ -0,0 +1,163 @@
+package com.tslnkk.skcapi.limit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Лимиты частоты запросов по пользователю и по организатору заявки, отдельно для каждой {@link RateLimitGroup}.
+ * <p>
+ * Одна интеграция с одним organizerId или одним логином не должна занимать весь экземпляр созданиями
+ * и сменами статусов. Лимит задаётся свойствами {@code app.rate-limit.<группа>.<principal|organizer>.per-minute}
+ * и {@code .burst}; {@code per-minute <= 0} отключает лимит для этой пары.
+ * <p>
+ * Ведра ({@link TokenBucket}) хранятся в {@link ConcurrentHashMap} не больше {@code app.rate-limit.max-keys} штук.
+ * При заполнении удаляются полные (простаивающие) ведра — не чаще раза в секунду; если места так и не нашлось,
+ * новый ключ не ограничивается и учитывается в {@code http.rate-limit.untracked}.
+ * Лимиты действуют после {@code ApplicationReadyEvent}: прогрев ({@code WarmupRunner}) идёт без них.
+ */
+@Component
+public class RateLimiter implements MeterBinder {
+
+    public enum Scope {
+        PRINCIPAL("principal"),
+        ORGANIZER("organizer");
+
+        private final String key;
+
+        Scope(String key) {
+            this.key = key;
+        }
+    }
+
+    private record Key(RateLimitGroup group, Scope scope, String id) {
+    }
+
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final boolean enabled;
+    private final int maxKeys;
+    private final Map<RateLimitGroup, Map<Scope, TokenBucket.Rate>> rates = new EnumMap<>(RateLimitGroup.class);
+    private final Map<Key, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweep = new AtomicLong(System.nanoTime() - SWEEP_INTERVAL_NANOS);
+    private final Map<RateLimitGroup, Map<Scope, LongAdder>> rejected = new EnumMap<>(RateLimitGroup.class);
+    private final LongAdder untracked = new LongAdder();
+    private volatile boolean active;
+
+    public RateLimiter(Environment environment,
+                       @Value("${app.rate-limit.enabled:true}") boolean enabled,
+                       @Value("${app.rate-limit.max-keys:100000}") int maxKeys) {
+        this.enabled = enabled;
+        this.maxKeys = maxKeys;
+        for (RateLimitGroup group : RateLimitGroup.values()) {
+            Map<Scope, TokenBucket.Rate> groupRates = new EnumMap<>(Scope.class);
+            Map<Scope, LongAdder> groupRejected = new EnumMap<>(Scope.class);
+            for (Scope scope : Scope.values()) {
+                String prefix = "app.rate-limit." + group.key() + "." + scope.key;
+                int perMinute = environment.getProperty(prefix + ".per-minute", Integer.class, 0);
+                int burst = environment.getProperty(prefix + ".burst", Integer.class, 1);
+                if (perMinute > 0) {
+                    groupRates.put(scope, TokenBucket.Rate.perMinute(perMinute, burst));
+                }
+                groupRejected.put(scope, new LongAdder());
+            }
+            rates.put(group, groupRates);
+            rejected.put(group, groupRejected);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void activate() {
+        active = true;
+    }
+
+    /**
+     * Списывает запрос с ведра ключа {@code (group, scope, id)}.
+     *
+     * @throws RateLimitExceededException если лимит исчерпан
+     */
+    public void check(RateLimitGroup group, Scope scope, String id) {
+        if (!enabled || !active || id == null) {
+            return;
+        }
+        TokenBucket.Rate rate = rates.get(group).get(scope);
+        if (rate == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        TokenBucket bucket = bucket(new Key(group, scope, id), rate, now);
+        if (bucket == null) {
+            return;
+        }
+        long waitNanos = bucket.tryAcquire(now);
+        if (waitNanos > 0) {
+            rejected.get(group).get(scope).increment();
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+            String field = scope == Scope.ORGANIZER ? "organizerId" : "principal";
+            throw new RateLimitExceededException(
+                    String.format("Превышен лимит запросов группы %s для %s '%s', повторите через %d с",
+                            group.key(), field, id, retryAfterSeconds),
+                    field, id, retryAfterSeconds);
+        }
+    }
+
+    private TokenBucket bucket(Key key, TokenBucket.Rate rate, long now) {
+        TokenBucket bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxKeys) {
+            sweepIdle(now);
+            if (buckets.size() >= maxKeys) {
+                untracked.increment();
+                return null;
+            }
+        }
+        return buckets.computeIfAbsent(key, k -> new TokenBucket(rate, now));
+    }
+
+    /**
+     * Удаляет полные ведра. Запрос, успевший взять ведро до удаления, спишется с удалённого ведра —
+     * это один запрос сверх лимита в редком случае, блокировки ради него не нужны.
+     */
+    private void sweepIdle(long now) {
+        long last = lastSweep.get();
+        if (now - last < SWEEP_INTERVAL_NANOS || !lastSweep.compareAndSet(last, now)) {
+            return;
+        }
+        buckets.values().removeIf(bucket -> bucket.isIdle(now));
+    }
+
+    int trackedKeys() {
+        return buckets.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        rejected.forEach((group, byScope) -> byScope.forEach((scope, counter) ->
+                FunctionCounter.builder("http.rate-limit.rejected", counter, LongAdder::sum)
+                        .tag("group", group.key())
+                        .tag("scope", scope.key)
+                        .description("Requests rejected with 429 by the rate limiter")
+                        .register(registry)));
+        Gauge.builder("http.rate-limit.keys", buckets, Map::size)
+                .description("Rate limit buckets currently tracked")
+                .register(registry);
+        FunctionCounter.builder("http.rate-limit.untracked", untracked, LongAdder::sum)
+                .description("Requests not rate limited because the bucket map was full of active keys")
+                .register(registry);
+    }
+}
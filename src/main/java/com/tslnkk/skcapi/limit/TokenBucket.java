@@ -0,0 +1,56 @@
+package com.tslnkk.skcapi.limit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket в форме GCRA (generic cell rate algorithm): всё состояние — одно число,
+ * «теоретическое время прихода» следующего запроса, поэтому обновление — один CAS без блокировок.
+ * <p>
+ * Запрос допускается, если после него теоретическое время опережает текущее не больше чем на
+ * {@code burst} интервалов; иначе возвращается время ожидания до ближайшего допуска.
+ * Ведро, у которого теоретическое время уже в прошлом, полно и ничем не отличается от нового —
+ * такие ведра можно удалять без потери информации.
+ */
+final class TokenBucket {
+
+    /**
+     * @param intervalNanos интервал между запросами при равномерном потоке (1 / rate)
+     * @param burst         сколько запросов допускается подряд из полного ведра
+     */
+    record Rate(long intervalNanos, int burst) {
+
+        static Rate perMinute(int requestsPerMinute, int burst) {
+            return new Rate(60_000_000_000L / requestsPerMinute, Math.max(1, burst));
+        }
+    }
+
+    private final Rate rate;
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(Rate rate, long nowNanos) {
+        this.rate = rate;
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * @return 0, если запрос допущен, иначе сколько наносекунд ждать до следующего допуска
+     */
+    long tryAcquire(long nowNanos) {
+        long capacityNanos = rate.intervalNanos() * rate.burst();
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, nowNanos) + rate.intervalNanos();
+            long wait = next - nowNanos - capacityNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    boolean isIdle(long nowNanos) {
+        return theoreticalArrival.get() - nowNanos <= 0;
+    }
+}
@@ -0,0 +1,46 @@
+package com.tslnkk.skcapi.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Публикует состояние {@link RingBufferAsyncAppender} в Micrometer:
+ * {@code logging.async.dropped}, {@code logging.async.queued} и {@code logging.async.capacity}.
+ */
+@Component
+public class AsyncLoggingMetrics implements MeterBinder {
+
+    private static final String APPENDER_NAME = "ASYNC";
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        RingBufferAsyncAppender appender = findAppender();
+        if (appender == null) {
+            return;
+        }
+        FunctionCounter.builder("logging.async.dropped", appender, RingBufferAsyncAppender::getDroppedCount)
+                .description("Log events dropped because the async buffer was full")
+                .tag("policy", appender.getOverflowPolicy().name())
+                .register(registry);
+        Gauge.builder("logging.async.queued", appender, RingBufferAsyncAppender::getQueuedCount)
+                .description("Log events waiting in the async buffer")
+                .register(registry);
+        Gauge.builder("logging.async.capacity", appender, RingBufferAsyncAppender::getQueueCapacity)
+                .description("Size of the async log buffer; queued close to it means events are about to be dropped")
+                .register(registry);
+    }
+
+    private RingBufferAsyncAppender findAppender() {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return null;
+        }
+        Logger root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        return root.getAppender(APPENDER_NAME) instanceof RingBufferAsyncAppender appender ? appender : null;
+    }
+}
@@ -0,0 +1,17 @@
+package com.tslnkk.skcapi.logging;
+
+/**
+ * Поведение ограниченного буфера при заполнении: {@link RingBufferAsyncAppender},
+ * {@link com.tslnkk.skcapi.audit.AuditTrail}.
+ */
+public enum OverflowPolicy {
+
+    /** Отбросить новое событие; поток запроса не ждёт. */
+    DROP_NEWEST,
+
+    /** Вытеснить самое старое событие из буфера и положить новое. */
+    DROP_OLDEST,
+
+    /** Ждать освобождения места (прежнее синхронное поведение, возможны задержки запросов). */
+    BLOCK
+}
@@ -0,0 +1,141 @@
+package com.tslnkk.skcapi.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Счётчики конфликтов оптимистичной блокировки по заявкам с момента старта экземпляра.
+ * <p>
+ * Позволяет найти «горячие» заявки, на которых пользователи мешают друг другу.
+ * Число отслеживаемых заявок ограничено {@code app.metrics.lock-conflicts.max-tracked}: при заполнении
+ * вытесняется восьмая часть заявок, конфликтовавших давнее всех (LRU), поэтому новая горячая заявка
+ * попадает в разбивку и после того, как лимит однажды набран. Общий счётчик учитывает все конфликты.
+ * В Micrometer публикуются агрегаты без тега заявки (чтобы не раздувать кардинальность):
+ * {@code requisition.lock.conflicts}, {@code requisition.lock.conflicts.hottest},
+ * {@code requisition.lock.conflicts.requisitions}; разбивка по заявкам — {@code GET /debug/lock-conflicts}.
+ */
+@Component
+public class LockConflictMetrics implements MeterBinder {
+
+    /**
+     * Заявка не определена (конфликт обнаружен при flush без контекста запроса).
+     */
+    public static final long UNKNOWN_REQUISITION = 0;
+
+    public record RequisitionConflicts(long requisitionId, long conflicts) {
+    }
+
+    private final int maxTracked;
+    private final Map<Long, Tracked> byRequisition = new ConcurrentHashMap<>();
+    private final LongAdder total = new LongAdder();
+    /** Порядковый номер конфликта: по нему выбираются заявки для вытеснения. */
+    private final AtomicLong sequence = new AtomicLong();
+    private final LongAdder evicted = new LongAdder();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    public LockConflictMetrics(@Value("${app.metrics.lock-conflicts.max-tracked:10000}") int maxTracked) {
+        this.maxTracked = maxTracked;
+    }
+
+    public void record(long requisitionId) {
+        total.increment();
+        if (requisitionId == UNKNOWN_REQUISITION || maxTracked <= 0) {
+            return;
+        }
+        Tracked tracked = byRequisition.get(requisitionId);
+        if (tracked == null) {
+            if (byRequisition.size() >= maxTracked) {
+                evictStalest();
+            }
+            tracked = byRequisition.computeIfAbsent(requisitionId, id -> new Tracked());
+        }
+        tracked.conflicts.increment();
+        tracked.lastConflict = sequence.incrementAndGet();
+    }
+
+    /**
+     * Убрать восьмую часть заявок с самым давним конфликтом: один проход по карте на много новых заявок.
+     * Проход делает один поток, без монитора (не закрепляет виртуальный поток за носителем): остальные его
+     * не ждут, а сразу добавляют свою заявку — карта ненадолго может превысить лимит на число одновременных записей.
+     */
+    private void evictStalest() {
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            int excess = byRequisition.size() - maxTracked + Math.max(1, maxTracked / 8);
+            if (excess <= 0) {
+                return;
+            }
+            // Снимок номеров: сортировка по полю, которое меняют параллельные записи, нарушила бы контракт
+            byRequisition.entrySet().stream()
+                    .map(e -> new LastConflict(e.getKey(), e.getValue().lastConflict))
+                    .sorted(Comparator.comparingLong(LastConflict::sequence))
+                    .limit(excess)
+                    .forEach(last -> {
+                        if (byRequisition.remove(last.requisitionId()) != null) {
+                            evicted.increment();
+                        }
+                    });
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    public long total() {
+        return total.sum();
+    }
+
+    public long conflicts(long requisitionId) {
+        Tracked tracked = byRequisition.get(requisitionId);
+        return tracked != null ? tracked.conflicts.sum() : 0;
+    }
+
+    /**
+     * @return заявки с наибольшим числом конфликтов, по убыванию
+     */
+    public List<RequisitionConflicts> hottest(int limit) {
+        return byRequisition.entrySet().stream()
+                .map(e -> new RequisitionConflicts(e.getKey(), e.getValue().conflicts.sum()))
+                .sorted(Comparator.comparingLong(RequisitionConflicts::conflicts).reversed())
+                .limit(Math.max(0, limit))
+                .toList();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("requisition.lock.conflicts", total, LongAdder::sum)
+                .description("Optimistic lock conflicts on requisition items")
+                .register(registry);
+        Gauge.builder("requisition.lock.conflicts.hottest", this,
+                        m -> m.hottest(1).stream().mapToLong(RequisitionConflicts::conflicts).findFirst().orElse(0))
+                .description("Conflicts on the most contended requisition")
+                .register(registry);
+        Gauge.builder("requisition.lock.conflicts.requisitions", byRequisition, Map::size)
+                .description("Requisitions with conflicts currently tracked")
+                .register(registry);
+        FunctionCounter.builder("requisition.lock.conflicts.evicted", evicted, LongAdder::sum)
+                .description("Requisitions dropped from per-requisition tracking as least recently conflicted")
+                .register(registry);
+    }
+
+    private record LastConflict(long requisitionId, long sequence) {
+    }
+
+    private static final class Tracked {
+        final LongAdder conflicts = new LongAdder();
+        volatile long lastConflict;
+    }
+}
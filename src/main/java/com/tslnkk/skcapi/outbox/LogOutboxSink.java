@@ -0,0 +1,26 @@
+package com.tslnkk.skcapi.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Получатель по умолчанию: пишет события в лог. Для окружений без подключённых внешних систем.
+ */
+@Component
+@Slf4j
+public class LogOutboxSink implements OutboxSink {
+
+    @Override
+    public String name() {
+        return "log";
+    }
+
+    @Override
+    public void deliver(List<OutboxEnvelope> batch) {
+        for (OutboxEnvelope envelope : batch) {
+            log.info("Outbox event {} #{}: {}", envelope.type(), envelope.id(), envelope.payload());
+        }
+    }
+}
@@ -0,0 +1,341 @@
+package com.tslnkk.skcapi.outbox;
+
+import com.tslnkk.skcapi.domain.OutboxMessage;
+import com.tslnkk.skcapi.event.RequisitionChangedEvent;
+import com.tslnkk.skcapi.event.RequisitionChangedEvent.ChangeType;
+import com.tslnkk.skcapi.repository.OutboxMessageRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Фоновая доставка сообщений outbox в {@link OutboxSink}.
+ * <p>
+ * Отдельный поток забирает готовые сообщения пакетами до {@code batch-size}: в короткой транзакции
+ * {@code SELECT ... FOR UPDATE SKIP LOCKED} выбирает строки, не занятые другим диспетчером, и ставит им
+ * аренду {@code claimed_until}; доставка идёт уже вне транзакции. Успешно доставленные сообщения удаляются,
+ * при ошибке пакет разбирается до сообщений, которые не доставляются сами ({@link #deliver}): только они
+ * откладываются с экспоненциальной задержкой и случайным разбросом и после {@code max-attempts} попыток
+ * переходят в {@code DEAD}. Если экземпляр упал посреди доставки, аренда истекает и сообщения забирает
+ * следующий опрос.
+ * <p>
+ * Поток просыпается раз в {@code poll-interval-ms} и сразу после коммита перехода статуса,
+ * а при полном пакете забирает следующий без паузы.
+ */
+@Component
+@Slf4j
+public class OutboxDispatcher implements SmartLifecycle, MeterBinder {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+    /** Сколько сообщений разных заявок отправить по одному, прежде чем счесть приёмник недоступным. */
+    private static final int SINK_DOWN_PROBES = 2;
+
+    private final OutboxMessageRepository repository;
+    private final TransactionTemplate transactions;
+    private final OutboxSink sink;
+    private final Clock clock;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long pollIntervalNanos;
+    private final Duration lease;
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder dead = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder batchNanos = new LongAdder();
+    private final AtomicLong pending = new AtomicLong();
+
+    private volatile boolean running;
+    private volatile Thread worker;
+
+    public OutboxDispatcher(OutboxMessageRepository repository,
+                            PlatformTransactionManager transactionManager,
+                            List<OutboxSink> sinks,
+                            @Value("${app.outbox.enabled:true}") boolean enabled,
+                            @Value("${app.outbox.sink:log}") String sinkName,
+                            @Value("${app.outbox.batch-size:100}") int batchSize,
+                            @Value("${app.outbox.poll-interval-ms:1000}") long pollIntervalMillis,
+                            @Value("${app.outbox.lease-seconds:60}") long leaseSeconds,
+                            @Value("${app.outbox.retry.max-attempts:10}") int maxAttempts,
+                            @Value("${app.outbox.retry.initial-backoff-ms:1000}") long initialBackoffMillis,
+                            @Value("${app.outbox.retry.max-backoff-ms:300000}") long maxBackoffMillis) {
+        this.repository = repository;
+        this.transactions = new TransactionTemplate(transactionManager);
+        this.sink = sinks.stream()
+                .filter(candidate -> candidate.name().equals(sinkName))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Unknown app.outbox.sink: " + sinkName));
+        this.clock = Clock.systemUTC();
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.pollIntervalNanos = TimeUnit.MILLISECONDS.toNanos(pollIntervalMillis);
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+    }
+
+    /**
+     * Забрать и доставить один пакет.
+     *
+     * @return сколько сообщений было забрано
+     */
+    int dispatchOnce() {
+        Instant now = clock.instant();
+        List<Long> ids = transactions.execute(status -> {
+            List<Long> due = repository.lockDue(now, batchSize);
+            if (!due.isEmpty()) {
+                repository.claim(due, now.plus(lease));
+            }
+            return due;
+        });
+        if (ids == null || ids.isEmpty()) {
+            return 0;
+        }
+        List<OutboxMessage> messages = repository.findAllById(ids).stream()
+                .sorted(Comparator.comparing(OutboxMessage::getId))
+                .toList();
+
+        long start = System.nanoTime();
+        try {
+            deliver(messages);
+        } finally {
+            batches.increment();
+            batchNanos.add(System.nanoTime() - start);
+        }
+        return ids.size();
+    }
+
+    /**
+     * Доставить пакет; если он отклонён — найти сообщения, которые не доставляются сами.
+     * <p>
+     * Сначала по одному отправляются до {@code SINK_DOWN_PROBES} сообщений разных заявок, начиная с первого.
+     * Если не ушло ни одно, приёмник, скорее всего, недоступен: попытка засчитывается только пробным,
+     * остальные ждут их повтора (при недоступности приёмника — несколько вызовов вместо перебора). Как только
+     * пробное сообщение доставлено, остаток делится пополам до отдельных сообщений, и в DEAD в итоге уходит
+     * только то, что не доставляется само, — даже если отравленное сообщение стоит в пакете первым.
+     */
+    private void deliver(List<OutboxMessage> messages) {
+        Exception failure = send(messages);
+        if (failure == null) {
+            return;
+        }
+        Map<Long, Instant> failedAggregates = new HashMap<>();
+        List<OutboxMessage> remaining = new ArrayList<>(messages);
+        Instant firstRetryAt = null;
+        for (int probes = 0; probes < SINK_DOWN_PROBES; probes++) {
+            OutboxMessage probe = remaining.stream()
+                    .filter(message -> !failedAggregates.containsKey(message.getAggregateId()))
+                    .findFirst()
+                    .orElse(null);
+            if (probe == null) {
+                break;
+            }
+            remaining.remove(probe);
+            if (messages.size() > 1) {
+                failure = send(List.of(probe));
+            }
+            if (failure == null) {
+                bisect(remaining, failedAggregates);
+                return;
+            }
+            scheduleRetry(probe, failure);
+            failedAggregates.put(probe.getAggregateId(), probe.getNextAttemptAt());
+            if (firstRetryAt == null) {
+                firstRetryAt = probe.getNextAttemptAt();
+            }
+        }
+        Instant holdUntil = firstRetryAt;
+        hold(remaining, message -> failedAggregates.getOrDefault(message.getAggregateId(), holdUntil));
+    }
+
+    /**
+     * @param failedAggregates заявка → время повтора её отклонённого сообщения: более поздние сообщения
+     *                         той же заявки ждут его, чтобы не обогнать
+     */
+    private void bisect(List<OutboxMessage> messages, Map<Long, Instant> failedAggregates) {
+        List<OutboxMessage> deliverable = new ArrayList<>(messages.size());
+        List<OutboxMessage> held = new ArrayList<>();
+        for (OutboxMessage message : messages) {
+            (failedAggregates.containsKey(message.getAggregateId()) ? held : deliverable).add(message);
+        }
+        hold(held, message -> failedAggregates.get(message.getAggregateId()));
+        Exception failure = deliverable.isEmpty() ? null : send(deliverable);
+        if (failure == null) {
+            return;
+        }
+        if (deliverable.size() == 1) {
+            OutboxMessage message = deliverable.getFirst();
+            scheduleRetry(message, failure);
+            failedAggregates.put(message.getAggregateId(), message.getNextAttemptAt());
+            return;
+        }
+        int middle = deliverable.size() / 2;
+        bisect(deliverable.subList(0, middle), failedAggregates);
+        bisect(deliverable.subList(middle, deliverable.size()), failedAggregates);
+    }
+
+    /** @return ошибка доставки или {@code null}, если сообщения доставлены и удалены */
+    private Exception send(List<OutboxMessage> messages) {
+        try {
+            sink.deliver(messages.stream().map(OutboxEnvelope::from).toList());
+        } catch (Exception e) {
+            return e;
+        }
+        repository.deleteAllByIdInBatch(messages.stream().map(OutboxMessage::getId).toList());
+        delivered.add(messages.size());
+        return null;
+    }
+
+    private void scheduleRetry(OutboxMessage message, Exception cause) {
+        String error = abbreviate(cause.toString());
+        int attempts = message.getAttempts() + 1;
+        message.setAttempts(attempts);
+        message.setClaimedUntil(null);
+        message.setLastError(error);
+        if (attempts >= maxAttempts) {
+            message.setStatus(OutboxMessage.Status.DEAD);
+            dead.increment();
+        } else {
+            message.setNextAttemptAt(clock.instant().plusMillis(backoffMillis(attempts)));
+            retried.increment();
+        }
+        repository.save(message);
+        log.warn("Outbox delivery of message {} to '{}' failed (attempt {}): {}",
+                message.getId(), sink.name(), attempts, error);
+    }
+
+    /** Вернуть сообщения в очередь без засчитанной попытки, с заданным временем следующей. */
+    private void hold(List<OutboxMessage> messages, Function<OutboxMessage, Instant> nextAttemptAt) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        for (OutboxMessage message : messages) {
+            message.setClaimedUntil(null);
+            message.setNextAttemptAt(nextAttemptAt.apply(message));
+        }
+        repository.saveAll(messages);
+    }
+
+    /** Задержка перед попыткой {@code attempts + 1}: удвоение от начальной до максимальной, ±20%. */
+    long backoffMillis(int attempts) {
+        long exponential = initialBackoffMillis << Math.min(attempts - 1, 30);
+        long capped = Math.min(exponential < 0 ? maxBackoffMillis : exponential, maxBackoffMillis);
+        double jitter = 0.8 + ThreadLocalRandom.current().nextDouble() * 0.4;
+        return (long) (capped * jitter);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    void onRequisitionChanged(RequisitionChangedEvent event) {
+        Thread current = worker;
+        if (event.type() == ChangeType.STATUS_CHANGED && current != null) {
+            LockSupport.unpark(current);
+        }
+    }
+
+    private void run() {
+        while (running) {
+            int claimed = 0;
+            try {
+                claimed = dispatchOnce();
+                pending.set(repository.countByStatus(OutboxMessage.Status.PENDING));
+            } catch (RuntimeException e) {
+                log.warn("Outbox poll failed: {}", e.toString());
+            }
+            if (claimed < batchSize && running) {
+                LockSupport.parkNanos(this, pollIntervalNanos);
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        Thread thread = new Thread(this::run, "outbox-dispatcher");
+        thread.setDaemon(true);
+        worker = thread;
+        thread.start();
+        log.info("Outbox dispatcher started: sink '{}', batch {}", sink.name(), batchSize);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = worker;
+        worker = null;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(lease.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        String name = sink.name();
+        FunctionCounter.builder("outbox.delivered", delivered, LongAdder::sum)
+                .description("Outbox messages delivered")
+                .tag("sink", name)
+                .register(registry);
+        FunctionCounter.builder("outbox.retried", retried, LongAdder::sum)
+                .description("Outbox messages rescheduled after a failed delivery")
+                .tag("sink", name)
+                .register(registry);
+        FunctionCounter.builder("outbox.dead", dead, LongAdder::sum)
+                .description("Outbox messages given up after max attempts")
+                .tag("sink", name)
+                .register(registry);
+        FunctionTimer.builder("outbox.batch", this, d -> d.batches.sum(), d -> d.batchNanos.sum(),
+                        TimeUnit.NANOSECONDS)
+                .description("Outbox batch delivery time")
+                .tag("sink", name)
+                .register(registry);
+        Gauge.builder("outbox.pending", pending, AtomicLong::get)
+                .description("Outbox messages waiting for delivery, as of the last poll")
+                .register(registry);
+    }
+
+    private static String abbreviate(String text) {
+        return text.length() <= MAX_ERROR_LENGTH ? text : text.substring(0, MAX_ERROR_LENGTH);
+    }
+}
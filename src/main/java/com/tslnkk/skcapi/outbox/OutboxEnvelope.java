@@ -0,0 +1,27 @@
+package com.tslnkk.skcapi.outbox;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.tslnkk.skcapi.domain.OutboxMessage;
+
+import java.time.Instant;
+
+/**
+ * Сообщение outbox в том виде, в каком его получает внешняя система.
+ *
+ * @param id      ID сообщения; при повторной доставке тот же — получатель по нему отбрасывает дубликаты
+ * @param type    тип события
+ * @param payload тело события (JSON как есть)
+ */
+public record OutboxEnvelope(
+        long id,
+        String type,
+        Long aggregateId,
+        Instant createdAt,
+        @JsonRawValue String payload
+) {
+
+    public static OutboxEnvelope from(OutboxMessage message) {
+        return new OutboxEnvelope(message.getId(), message.getEventType(), message.getAggregateId(),
+                message.getCreatedAt(), message.getPayload());
+    }
+}
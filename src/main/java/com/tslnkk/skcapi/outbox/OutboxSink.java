@@ -0,0 +1,17 @@
+package com.tslnkk.skcapi.outbox;
+
+import java.util.List;
+
+/**
+ * Получатель сообщений outbox. Реализации — бины Spring; активный выбирается свойством {@code app.outbox.sink}.
+ * <p>
+ * Доставка пакетная и «всё или ничего»: исключение означает, что весь пакет будет доставлен повторно.
+ * Гарантия — at-least-once, получатель отбрасывает дубликаты по {@link OutboxEnvelope#id()}.
+ */
+public interface OutboxSink {
+
+    /** Имя для {@code app.outbox.sink} и тега метрик. */
+    String name();
+
+    void deliver(List<OutboxEnvelope> batch) throws Exception;
+}
@@ -0,0 +1,56 @@
+package com.tslnkk.skcapi.outbox;
+
+import com.tslnkk.skcapi.domain.OutboxMessage;
+import com.tslnkk.skcapi.event.RequisitionChangedEvent;
+import com.tslnkk.skcapi.event.RequisitionChangedEvent.ChangeType;
+import com.tslnkk.skcapi.init.WarmupRunner;
+import com.tslnkk.skcapi.repository.OutboxMessageRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Clock;
+import java.time.Instant;
+
+/**
+ * Записывает переходы статуса заявки в {@code outbox_messages} в транзакции перехода.
+ * <p>
+ * Синхронный {@code @EventListener}: переход и сообщение фиксируются или откатываются вместе,
+ * а путь запроса платит ровно за одну вставку — доставка идёт в {@link OutboxDispatcher}.
+ * Переходы прогрева ({@link WarmupRunner#isWarmupRequest()}) внешним системам не отправляются.
+ */
+@Component
+public class OutboxWriter {
+
+    public static final String STATUS_CHANGED = "requisition.status-changed";
+
+    private final OutboxMessageRepository repository;
+    private final JsonMapper jsonMapper;
+    private final Clock clock;
+    private final boolean enabled;
+
+    public OutboxWriter(OutboxMessageRepository repository,
+                        JsonMapper jsonMapper,
+                        @Value("${app.outbox.enabled:true}") boolean enabled) {
+        this.repository = repository;
+        this.jsonMapper = jsonMapper;
+        this.clock = Clock.systemUTC();
+        this.enabled = enabled;
+    }
+
+    @EventListener
+    void onRequisitionChanged(RequisitionChangedEvent event) {
+        if (!enabled || event.type() != ChangeType.STATUS_CHANGED || WarmupRunner.isWarmupRequest()) {
+            return;
+        }
+        Instant now = clock.instant();
+        repository.save(OutboxMessage.builder()
+                .eventType(STATUS_CHANGED)
+                .aggregateId(event.requisitionId())
+                .payload(jsonMapper.writeValueAsString(StatusChangedPayload.from(event, now)))
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build());
+    }
+}
@@ -0,0 +1,26 @@
+package com.tslnkk.skcapi.outbox;
+
+import com.tslnkk.skcapi.domain.RequisitionStatus;
+import com.tslnkk.skcapi.event.RequisitionChangedEvent;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Тело события {@value OutboxWriter#STATUS_CHANGED} для внешних систем.
+ */
+public record StatusChangedPayload(
+        Long requisitionId,
+        String number,
+        String organizerId,
+        RequisitionStatus fromStatus,
+        RequisitionStatus toStatus,
+        BigDecimal totalLotSumNoNds,
+        Instant occurredAt
+) {
+
+    static StatusChangedPayload from(RequisitionChangedEvent event, Instant occurredAt) {
+        return new StatusChangedPayload(event.requisitionId(), event.number(), event.organizerId(),
+                event.previousStatus(), event.status(), event.totalAmount(), occurredAt);
+    }
+}
@@ -0,0 +1,49 @@
+package com.tslnkk.skcapi.outbox;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Доставка пакета одним {@code POST} JSON-массива {@link OutboxEnvelope} на {@code app.outbox.webhook.url}.
+ * Любой ответ, кроме 2xx, и ошибка соединения — неудача всего пакета.
+ */
+@Component
+public class WebhookOutboxSink implements OutboxSink {
+
+    private final String url;
+    private final RestClient client;
+
+    public WebhookOutboxSink(@Value("${app.outbox.webhook.url:}") String url,
+                             @Value("${app.outbox.webhook.timeout-ms:5000}") long timeoutMillis) {
+        this.url = url;
+        Duration timeout = Duration.ofMillis(timeoutMillis);
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(
+                HttpClient.newBuilder().connectTimeout(timeout).build());
+        requestFactory.setReadTimeout(timeout);
+        this.client = RestClient.builder().requestFactory(requestFactory).build();
+    }
+
+    @Override
+    public String name() {
+        return "webhook";
+    }
+
+    @Override
+    public void deliver(List<OutboxEnvelope> batch) {
+        if (url.isBlank()) {
+            throw new IllegalStateException("app.outbox.webhook.url is not set");
+        }
+        client.post().uri(url)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(batch)
+                .retrieve()
+                .toBodilessEntity();
+    }
+}
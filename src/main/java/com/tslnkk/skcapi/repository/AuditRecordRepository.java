@@ -0,0 +1,13 @@
+package com.tslnkk.skcapi.repository;
+
+import com.tslnkk.skcapi.domain.AuditRecord;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AuditRecordRepository extends JpaRepository<AuditRecord, Long> {
+
+    Page<AuditRecord> findByRequisitionId(Long requisitionId, Pageable pageable);
+}
@@ -0,0 +1,37 @@
+package com.tslnkk.skcapi.repository;
+
+import com.tslnkk.skcapi.domain.ChangeLogEntry;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface ChangeLogEntryRepository extends JpaRepository<ChangeLogEntry, Long> {
+
+    /** Записи с курсором в (after, before) по возрастанию; {@code before} — граница видимости ленты. */
+    List<ChangeLogEntry> findByIdGreaterThanAndIdLessThanOrderByIdAsc(long after, long before, Limit limit);
+
+    @Query("select coalesce(max(e.id), 0) from ChangeLogEntry e")
+    long maxId();
+
+    /**
+     * Удалить записи старше {@code threshold}, у заявки которых есть более поздняя запись ниже {@code before}:
+     * по каждой заявке остаётся последнее изменение.
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            delete from ChangeLogEntry e
+            where e.changedAt < :threshold and e.id < :before
+              and exists (select 1 from ChangeLogEntry n
+                          where n.requisitionId = e.requisitionId and n.id > e.id and n.id < :before)
+            """)
+    int compact(@Param("threshold") Instant threshold, @Param("before") long before);
+}
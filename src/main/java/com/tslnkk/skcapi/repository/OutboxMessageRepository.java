@@ -0,0 +1,35 @@
+package com.tslnkk.skcapi.repository;
+
+import com.tslnkk.skcapi.domain.OutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+
+    /**
+     * ID готовых к доставке сообщений с блокировкой строк. {@code SKIP LOCKED}: строки, которые прямо сейчас
+     * захватывает другой диспетчер, пропускаются, а не ждут. Вызывать в транзакции вместе с {@link #claim}.
+     */
+    @Query(value = """
+            select id from outbox_messages
+            where status = 'PENDING' and next_attempt_at <= :now
+              and (claimed_until is null or claimed_until < :now)
+            order by id
+            fetch first :limit rows only
+            for update skip locked
+            """, nativeQuery = true)
+    List<Long> lockDue(@Param("now") Instant now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("update OutboxMessage m set m.claimedUntil = :until where m.id in :ids")
+    int claim(@Param("ids") List<Long> ids, @Param("until") Instant until);
+
+    long countByStatus(OutboxMessage.Status status);
+}
@@ -1,9 +1,43 @@
 package com.tslnkk.skcapi.repository;
 
 import com.tslnkk.skcapi.domain.PurchaseRequisition;
+import com.tslnkk.skcapi.domain.RequisitionStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
 public interface PurchaseRequisitionRepository extends JpaRepository<PurchaseRequisition, Long> {
+
+    /** Агрегат дашборда по паре «статус, организатор». */
+    interface StatsGroup {
+        RequisitionStatus getStatus();
+
+        String getOrganizerId();
+
+        long getCount();
+
+        BigDecimal getTotal();
+    }
+
+    /** Агрегаты дашборда одним {@code GROUP BY}; поток — вызывать внутри транзакции. */
+    @Query("select r.status as status, r.organizerId as organizerId, count(r) as count, "
+            + "coalesce(sum(r.totalLotSumNoNds), 0) as total from PurchaseRequisition r group by r.status, r.organizerId")
+    Stream<StatsGroup> streamStatsGroups();
+
+    /** Заявки с позициями одним запросом — для поискового индекса. */
+    @Query("select distinct r from PurchaseRequisition r left join fetch r.items where r.id between :from and :to")
+    List<PurchaseRequisition> findWithItemsByIdBetween(@Param("from") long from, @Param("to") long to);
+
+    @Query("select distinct r from PurchaseRequisition r left join fetch r.items where r.id in :ids")
+    List<PurchaseRequisition> findWithItemsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select coalesce(max(r.id), 0) from PurchaseRequisition r")
+    long maxId();
 }
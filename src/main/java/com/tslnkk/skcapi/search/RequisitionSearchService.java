@@ -0,0 +1,244 @@
+package com.tslnkk.skcapi.search;
+
+import com.tslnkk.skcapi.domain.PurchaseRequisition;
+import com.tslnkk.skcapi.dto.RequisitionSearchResponse;
+import com.tslnkk.skcapi.dto.SearchHitResponse;
+import com.tslnkk.skcapi.event.RequisitionChangedEvent;
+import com.tslnkk.skcapi.event.RequisitionChangedEvent.ChangeType;
+import com.tslnkk.skcapi.repository.PurchaseRequisitionRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Полнотекстовый поиск заявок ({@code GET /api/v1/requisitions/search}) по индексу в памяти ({@link SearchIndex}).
+ * <p>
+ * При старте индекс строится из БД параллельно: диапазон ID делится на отрезки по {@code rebuild-chunk-size},
+ * каждый читается с позициями одним запросом в своём потоке, а документы ложатся в индекс одним пакетом.
+ * После коммита изменения заявка помечается для переиндексации; отдельный поток перечитывает помеченные
+ * заявки пакетами — серия изменений одной заявки стоит одного чтения, а путь запроса не ждёт индекс.
+ * Удалённая заявка скрывается из выдачи сразу. Если перечитать не удалось, заявки возвращаются в очередь,
+ * а разбор повторяется с нарастающей паузой.
+ * Изменения, пришедшие во время построения, переиндексируются после него.
+ */
+@Service
+@Slf4j
+public class RequisitionSearchService implements MeterBinder, DisposableBean {
+
+    private static final int REINDEX_BATCH = 500;
+    private static final long RETRY_INITIAL_MILLIS = 1_000;
+    private static final long RETRY_MAX_MILLIS = 60_000;
+
+    private final SearchIndex index = new SearchIndex();
+    private final PurchaseRequisitionRepository repository;
+    private final TransactionTemplate transactions;
+    private final int maxPageSize;
+    private final int rebuildParallelism;
+    private final int rebuildChunkSize;
+    private final ScheduledExecutorService indexer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "search-indexer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    /** Пауза перед следующим повтором после сбоя; меняется только в потоке {@code search-indexer}. */
+    private long retryDelayMillis = RETRY_INITIAL_MILLIS;
+    private volatile boolean ready;
+
+    private final LongAdder queries = new LongAdder();
+    private final LongAdder queryNanos = new LongAdder();
+    private final LongAdder reindexFailures = new LongAdder();
+
+    public RequisitionSearchService(PurchaseRequisitionRepository repository,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${app.search.max-page-size:100}") int maxPageSize,
+                                    @Value("${app.search.rebuild-parallelism:4}") int rebuildParallelism,
+                                    @Value("${app.search.rebuild-chunk-size:2000}") int rebuildChunkSize) {
+        this.repository = repository;
+        this.transactions = new TransactionTemplate(transactionManager);
+        this.transactions.setReadOnly(true);
+        this.transactions.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.maxPageSize = maxPageSize;
+        this.rebuildParallelism = rebuildParallelism;
+        this.rebuildChunkSize = rebuildChunkSize;
+    }
+
+    /**
+     * Заявки, содержащие все слова запроса, по убыванию релевантности.
+     *
+     * @param query строка запроса; без слов — пустой результат
+     * @param page  номер страницы с 0 (отрицательный приводится к 0)
+     * @param size  размер страницы, приводится к 1..{@code app.search.max-page-size}
+     */
+    public RequisitionSearchResponse search(String query, int page, int size) {
+        long start = System.nanoTime();
+        int limit = Math.clamp(size, 1, maxPageSize);
+        int pageNumber = Math.max(page, 0);
+        int offset = (int) Math.min((long) pageNumber * limit, Integer.MAX_VALUE - limit);
+        SearchIndex.Result result = index.search(TextAnalyzer.terms(query), offset, limit);
+        List<SearchHitResponse> hits = result.hits().stream()
+                .map(hit -> new SearchHitResponse(hit.document().id(), hit.document().number(),
+                        hit.document().organizerId(), hit.document().status(), hit.score()))
+                .toList();
+        queries.increment();
+        queryNanos.add(System.nanoTime() - start);
+        return new RequisitionSearchResponse(query, hits, pageNumber, limit, result.total());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    void onRequisitionChanged(RequisitionChangedEvent event) {
+        if (event.type() == ChangeType.DELETED) {
+            index.hide(event.requisitionId());
+        }
+        dirty.add(event.requisitionId());
+        scheduleDrain();
+    }
+
+    /** Построить индекс по всем заявкам; запускается после загрузки данных, до готовности к трафику. */
+    @EventListener(ApplicationReadyEvent.class)
+    void rebuild() {
+        long start = System.nanoTime();
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(rebuildParallelism, runnable -> {
+            Thread thread = new Thread(runnable, "search-rebuild-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            long maxId = repository.maxId();
+            List<Future<List<SearchIndex.Document>>> chunks = new ArrayList<>();
+            for (long from = 1; from <= maxId; from += rebuildChunkSize) {
+                long lower = from;
+                long upper = Math.min(from + rebuildChunkSize - 1, maxId);
+                chunks.add(workers.submit(() -> transactions.execute(status ->
+                        repository.findWithItemsByIdBetween(lower, upper).stream()
+                                .map(SearchIndex.Document::of)
+                                .toList())));
+            }
+            List<SearchIndex.Document> documents = new ArrayList<>();
+            for (Future<List<SearchIndex.Document>> chunk : chunks) {
+                documents.addAll(chunk.get());
+            }
+            index.update(documents, List.of());
+            log.info("Search index built: {} requisitions, {} terms in {} ms",
+                    documents.size(), index.termCount(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Search index build interrupted", e);
+        } catch (ExecutionException | RuntimeException e) {
+            log.error("Search index build failed, search covers only later changes", e);
+        } finally {
+            workers.shutdownNow();
+            ready = true;
+            scheduleDrain();
+        }
+    }
+
+    private void scheduleDrain() {
+        if (ready && drainScheduled.compareAndSet(false, true)) {
+            indexer.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        drainScheduled.set(false);
+        while (!dirty.isEmpty()) {
+            List<Long> batch = new ArrayList<>(REINDEX_BATCH);
+            Iterator<Long> ids = dirty.iterator();
+            while (ids.hasNext() && batch.size() < REINDEX_BATCH) {
+                batch.add(ids.next());
+                ids.remove();
+            }
+            try {
+                reindex(batch);
+            } catch (RuntimeException e) {
+                dirty.addAll(batch);
+                reindexFailures.increment();
+                scheduleRetry(batch.size(), e);
+                return;
+            }
+        }
+        retryDelayMillis = RETRY_INITIAL_MILLIS;
+    }
+
+    /**
+     * Повторить разбор очереди через паузу, удваивая её до {@code RETRY_MAX_MILLIS}: индекс догоняет БД,
+     * даже если новых изменений нет. Пока повтор запланирован, новые изменения ждут его, а не бьют в БД сразу.
+     */
+    private void scheduleRetry(int batchSize, RuntimeException cause) {
+        long delay = retryDelayMillis;
+        retryDelayMillis = Math.min(delay * 2, RETRY_MAX_MILLIS);
+        log.warn("Search reindex of {} requisitions failed, retrying in {} ms: {}", batchSize, delay, cause.toString());
+        if (drainScheduled.compareAndSet(false, true)) {
+            indexer.schedule(this::drain, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void reindex(List<Long> ids) {
+        transactions.executeWithoutResult(status -> {
+            Set<Long> missing = new HashSet<>(ids);
+            List<SearchIndex.Document> documents = new ArrayList<>(ids.size());
+            for (PurchaseRequisition requisition : repository.findWithItemsByIdIn(ids)) {
+                documents.add(SearchIndex.Document.of(requisition));
+                missing.remove(requisition.getId());
+            }
+            index.update(documents, missing);
+        });
+    }
+
+    @Override
+    public void destroy() {
+        indexer.shutdownNow();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionTimer.builder("search.query", this, s -> s.queries.sum(), s -> s.queryNanos.sum(),
+                        TimeUnit.NANOSECONDS)
+                .description("Full-text search query time")
+                .register(registry);
+        Gauge.builder("search.documents", index, SearchIndex::documentCount)
+                .description("Requisitions in the search index")
+                .register(registry);
+        Gauge.builder("search.terms", index, SearchIndex::termCount)
+                .description("Distinct terms in the search index")
+                .register(registry);
+        Gauge.builder("search.pending", dirty, Set::size)
+                .description("Requisitions waiting to be reindexed")
+                .register(registry);
+        FunctionCounter.builder("search.reindex.failures", reindexFailures, LongAdder::sum)
+                .description("Failed reindex batches, each retried with backoff")
+                .register(registry);
+    }
+}
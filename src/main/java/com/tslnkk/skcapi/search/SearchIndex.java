@@ -0,0 +1,276 @@
+package com.tslnkk.skcapi.search;
+
+import com.tslnkk.skcapi.domain.PurchaseRequisition;
+import com.tslnkk.skcapi.domain.RequisitionItem;
+import com.tslnkk.skcapi.domain.RequisitionStatus;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Инвертированный индекс заявок в памяти: терм → заявки, где он встречается, с весом терма в заявке.
+ * <p>
+ * Документ — заявка целиком: номер, организатор, коды, наименования и комментарии позиций. Вес терма —
+ * сумма весов полей, где он встречается, сглаженная логарифмом, чтобы заявка с тысячей одинаковых позиций
+ * не вытесняла остальные. Запрос — пересечение термов (AND): перебирается самый короткий список, курсор
+ * в остальных догоняет его ({@link Cursor}). Ранг — сумма вес × IDF; лучшие {@code offset + limit} держатся
+ * в куче, поэтому полная сортировка совпадений не нужна.
+ * <p>
+ * Список терма — конкурентный skip-list ID → вес по возрастанию ID: запись меняет только списки термов
+ * заменённой заявки и не копирует их, поэтому частый терм не стоит записи больше редкого. Записи разных заявок
+ * идут без общей блокировки, поиск — без блокировок и во время записи может увидеть заявку частично обновлённой.
+ * Удаление скрывает заявку из выдачи сразу ({@link #hide}), а списки чистит следующий {@link #update}.
+ */
+final class SearchIndex {
+
+    /** Веса полей: совпадение в номере весомее, чем в комментарии. */
+    static final float NUMBER_WEIGHT = 4;
+    static final float ORGANIZER_WEIGHT = 3;
+    static final float CODE_WEIGHT = 3;
+    static final float NAME_WEIGHT = 2;
+    static final float COMMENT_WEIGHT = 1;
+
+    record Document(long id, String number, String organizerId, RequisitionStatus status, Map<String, Float> terms) {
+
+        static Document of(PurchaseRequisition requisition) {
+            Map<String, Float> weights = new HashMap<>();
+            addTerms(weights, requisition.getNumber(), NUMBER_WEIGHT);
+            addTerms(weights, requisition.getOrganizerId(), ORGANIZER_WEIGHT);
+            for (RequisitionItem item : requisition.getItems()) {
+                addTerms(weights, item.getTruCode(), CODE_WEIGHT);
+                addTerms(weights, item.getTruName(), NAME_WEIGHT);
+                addTerms(weights, item.getComment(), COMMENT_WEIGHT);
+            }
+            weights.replaceAll((term, weight) -> (float) Math.log1p(weight));
+            return new Document(requisition.getId(), requisition.getNumber(), requisition.getOrganizerId(),
+                    requisition.getStatus(), weights);
+        }
+
+        private static void addTerms(Map<String, Float> weights, String text, float weight) {
+            for (String term : TextAnalyzer.terms(text)) {
+                weights.merge(term, weight, Float::sum);
+            }
+        }
+    }
+
+    record Hit(Document document, double score) {
+    }
+
+    record Result(List<Hit> hits, long total) {
+    }
+
+    private record Candidate(long id, double score) {
+    }
+
+    private static final Comparator<Candidate> WORST_FIRST = Comparator.comparingDouble(Candidate::score)
+            .thenComparingLong(Candidate::id);
+
+    private final ConcurrentHashMap<Long, Document> documents = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Postings> postings = new ConcurrentHashMap<>();
+    private final Set<Long> hidden = ConcurrentHashMap.newKeySet();
+
+    void put(Document document) {
+        update(List.of(document), List.of());
+    }
+
+    void remove(long id) {
+        update(List.of(), List.of(id));
+    }
+
+    /** Убрать заявку из выдачи сразу; из списков её уберёт {@link #update} с этим ID в {@code removed}. */
+    void hide(long id) {
+        hidden.add(id);
+    }
+
+    /**
+     * Добавить или заменить документы и удалить заявки; удаление сильнее замены того же ID.
+     *
+     * @param changed новые версии документов
+     * @param removed ID удалённых заявок
+     */
+    void update(Collection<Document> changed, Collection<Long> removed) {
+        Set<Long> removedIds = new HashSet<>(removed);
+        for (Document document : changed) {
+            if (!removedIds.contains(document.id())) {
+                documents.compute(document.id(), (id, previous) -> {
+                    relink(id, previous, document);
+                    return document;
+                });
+            }
+        }
+        for (long id : removedIds) {
+            documents.computeIfPresent(id, (key, previous) -> {
+                relink(key, previous, null);
+                return null;
+            });
+            hidden.remove(id);
+        }
+    }
+
+    /**
+     * Перевесить заявку в списках термов; вызывается внутри {@code documents.compute} по её ID, поэтому
+     * изменения одной заявки не перемешиваются. Список терма меняется в {@code postings.compute} по терму:
+     * опустевший удаляется из карты, и добавление в него одновременно с удалением не потеряется.
+     */
+    private void relink(long id, Document previous, Document next) {
+        if (previous != null) {
+            for (String term : previous.terms().keySet()) {
+                if (next == null || !next.terms().containsKey(term)) {
+                    postings.computeIfPresent(term, (key, list) -> list.remove(id) ? null : list);
+                }
+            }
+        }
+        if (next != null) {
+            next.terms().forEach((term, weight) -> postings.compute(term, (key, list) -> {
+                Postings target = list != null ? list : new Postings();
+                target.put(id, weight);
+                return target;
+            }));
+        }
+    }
+
+    /**
+     * @param terms  термы запроса ({@link TextAnalyzer#terms}); заявка должна содержать все
+     * @param offset сколько лучших совпадений пропустить
+     * @param limit  сколько вернуть
+     */
+    Result search(List<String> terms, int offset, int limit) {
+        if (terms.isEmpty()) {
+            return new Result(List.of(), 0);
+        }
+        List<Postings> lists = new ArrayList<>();
+        for (String term : new LinkedHashSet<>(terms)) {
+            Postings list = postings.get(term);
+            if (list == null) {
+                return new Result(List.of(), 0);
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(Postings::size));
+        int documentCount = Math.max(documents.size(), 1);
+        double[] idf = new double[lists.size()];
+        for (int i = 0; i < idf.length; i++) {
+            idf[i] = Math.log(1 + (double) documentCount / Math.max(lists.get(i).size(), 1));
+        }
+
+        int keep = offset + limit;
+        PriorityQueue<Candidate> top = new PriorityQueue<>(Math.min(keep, 1024) + 1, WORST_FIRST);
+        long total = 0;
+        boolean anyHidden = !hidden.isEmpty();
+        Cursor[] cursors = new Cursor[lists.size()];
+        for (int j = 1; j < cursors.length; j++) {
+            cursors[j] = new Cursor(lists.get(j).weights);
+        }
+        candidates:
+        for (Map.Entry<Long, Float> entry : lists.getFirst().weights.entrySet()) {
+            long id = entry.getKey();
+            double score = entry.getValue() * idf[0];
+            for (int j = 1; j < cursors.length; j++) {
+                Map.Entry<Long, Float> match = cursors[j].seek(id);
+                if (match == null) {
+                    break candidates;
+                }
+                if (match.getKey() != id) {
+                    continue candidates;
+                }
+                score += match.getValue() * idf[j];
+            }
+            if (anyHidden && hidden.contains(id)) {
+                continue;
+            }
+            total++;
+            if (top.size() < keep) {
+                top.add(new Candidate(id, score));
+            } else if (score > top.peek().score() || score == top.peek().score() && id > top.peek().id()) {
+                top.poll();
+                top.add(new Candidate(id, score));
+            }
+        }
+
+        List<Candidate> ranked = new ArrayList<>(top);
+        ranked.sort(WORST_FIRST.reversed());
+        List<Hit> hits = new ArrayList<>(limit);
+        for (int i = offset; i < ranked.size(); i++) {
+            Document document = documents.get(ranked.get(i).id());
+            if (document != null) {
+                hits.add(new Hit(document, ranked.get(i).score()));
+            }
+        }
+        return new Result(hits, total);
+    }
+
+    int documentCount() {
+        return documents.size();
+    }
+
+    int termCount() {
+        return postings.size();
+    }
+
+    /**
+     * Заявки терма по возрастанию ID и вес терма в них. Меняется только внутри {@code postings.compute}
+     * по этому терму, поэтому счётчик размера ведётся без гонок: {@code size()} у skip-list линейный.
+     */
+    private static final class Postings {
+        final ConcurrentSkipListMap<Long, Float> weights = new ConcurrentSkipListMap<>();
+        private volatile int size;
+
+        void put(long id, float weight) {
+            if (weights.put(id, weight) == null) {
+                size++;
+            }
+        }
+
+        /** @return {@code true}, если список опустел */
+        boolean remove(long id) {
+            if (weights.remove(id) != null) {
+                size--;
+            }
+            return size == 0;
+        }
+
+        int size() {
+            return size;
+        }
+    }
+
+    /**
+     * Курсор по списку терма: к близкому ID идёт шагами итератора, к далёкому — поиском по skip-list,
+     * поэтому пересечение двух плотных списков линейно, а редкого с плотным — логарифмично.
+     */
+    private static final class Cursor {
+        private static final int MAX_STEPS = 4;
+
+        private final ConcurrentSkipListMap<Long, Float> weights;
+        private Iterator<Map.Entry<Long, Float>> iterator;
+        private Map.Entry<Long, Float> current;
+
+        Cursor(ConcurrentSkipListMap<Long, Float> weights) {
+            this.weights = weights;
+            this.iterator = weights.entrySet().iterator();
+            this.current = iterator.hasNext() ? iterator.next() : null;
+        }
+
+        /** Первая заявка с ID не меньше {@code target}; {@code null}, если список кончился. */
+        Map.Entry<Long, Float> seek(long target) {
+            for (int steps = 0; current != null && current.getKey() < target; steps++) {
+                if (steps == MAX_STEPS) {
+                    iterator = weights.tailMap(target, true).entrySet().iterator();
+                }
+                current = iterator.hasNext() ? iterator.next() : null;
+            }
+            return current;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.tslnkk.skcapi.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Разбор текста на термы поискового индекса.
+ * <p>
+ * Текст делится на слова по всему, что не буква и не цифра ({@code TRU-005} → {@code tru}, {@code 005}),
+ * слова приводятся к нижнему регистру, {@code ё} заменяется на {@code е}. У русских слов отбрасывается
+ * одно окончание из списка (лёгкий стеммер): «картриджи», «картриджей» и «картридж» дают один терм.
+ * Основа короче трёх букв не укорачивается; однобуквенные слова, кроме цифр, не индексируются.
+ */
+public final class TextAnalyzer {
+
+    private static final int MIN_STEM_LENGTH = 3;
+
+    /** Окончания прилагательных и существительных, от длинных к коротким. */
+    private static final String[] ENDINGS = {
+            "ыми", "ими", "ого", "его", "ому", "ему", "ами", "ями",
+            "ая", "яя", "ую", "юю", "ой", "ей", "ый", "ий", "ое", "ее", "ые", "ие",
+            "ых", "их", "ым", "им", "ом", "ем", "ов", "ев", "ам", "ям", "ах", "ях", "ью",
+            "а", "я", "о", "е", "ы", "и", "у", "ю", "ь", "й"
+    };
+
+    private TextAnalyzer() {
+    }
+
+    /** Термы текста в порядке появления, с повторами; {@code null} — пустой список. */
+    public static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                char lower = Character.toLowerCase(c);
+                word.append(lower == 'ё' ? 'е' : lower);
+            } else if (!word.isEmpty()) {
+                if (word.length() > 1 || Character.isDigit(word.charAt(0))) {
+                    terms.add(stem(word.toString()));
+                }
+                word.setLength(0);
+            }
+        }
+        return terms;
+    }
+
+    static String stem(String word) {
+        if (!isCyrillic(word.charAt(0))) {
+            return word;
+        }
+        for (String ending : ENDINGS) {
+            if (word.length() - ending.length() >= MIN_STEM_LENGTH && word.endsWith(ending)) {
+                return word.substring(0, word.length() - ending.length());
+            }
+        }
+        return word;
+    }
+
+    private static boolean isCyrillic(char c) {
+        return c >= 'а' && c <= 'я';
+    }
+}
@@ -0,0 +1,124 @@
+package com.tslnkk.skcapi.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Кэш успешных проверок пароля поверх медленного {@link PasswordEncoder} (BCrypt).
+ * <p>
+ * При stateless HTTP Basic каждый запрос заново проверяет пароль; BCrypt при этом
+ * — основная стоимость дешёвых эндпоинтов. Здесь успешная проверка запоминается на короткий TTL.
+ * Ключ кэша — HMAC-SHA256 от пары (хэш пароля, введённый пароль) на случайном ключе процесса:
+ * сам пароль не хранится, а смена пароля пользователя меняет хэш и тем самым ключ.
+ * Неуспешные проверки не кэшируются и всегда проходят через BCrypt.
+ */
+public class CachingPasswordEncoder implements PasswordEncoder {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final PasswordEncoder delegate;
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final Map<CacheKey, Long> verified = new ConcurrentHashMap<>();
+    private final SecretKeySpec key;
+    private final Mac prototype;
+
+    public CachingPasswordEncoder(PasswordEncoder delegate, Duration ttl, int maxEntries) {
+        this.delegate = delegate;
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.key = new SecretKeySpec(secret, HMAC_ALGORITHM);
+        this.prototype = newMac(key);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        if (rawPassword == null || encodedPassword == null) {
+            return delegate.matches(rawPassword, encodedPassword);
+        }
+        CacheKey key = keyFor(rawPassword, encodedPassword);
+        long now = System.nanoTime();
+        Long expiresAt = verified.get(key);
+        if (expiresAt != null) {
+            if (expiresAt - now > 0) {
+                return true;
+            }
+            verified.remove(key, expiresAt);
+        }
+        boolean matches = delegate.matches(rawPassword, encodedPassword);
+        if (matches) {
+            remember(key, now + ttlNanos, now);
+        }
+        return matches;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    int size() {
+        return verified.size();
+    }
+
+    private void remember(CacheKey key, long expiresAt, long now) {
+        if (verified.size() >= maxEntries) {
+            verified.values().removeIf(expiry -> expiry - now <= 0);
+            if (verified.size() >= maxEntries) {
+                return;
+            }
+        }
+        verified.put(key, expiresAt);
+    }
+
+    /**
+     * {@link Mac} не потокобезопасен. Клон прототипа вместо {@code ThreadLocal}: на виртуальных потоках
+     * каждый запрос — новый поток, и {@code ThreadLocal} пересоздавал бы {@code Mac} на каждый вызов.
+     */
+    private CacheKey keyFor(CharSequence rawPassword, String encodedPassword) {
+        Mac mac = cloneMac();
+        mac.update(encodedPassword.getBytes(StandardCharsets.UTF_8));
+        mac.update((byte) 0);
+        mac.update(StandardCharsets.UTF_8.encode(CharBuffer.wrap(rawPassword)));
+        ByteBuffer digest = ByteBuffer.wrap(mac.doFinal());
+        return new CacheKey(digest.getLong(), digest.getLong(), digest.getLong(), digest.getLong());
+    }
+
+    private Mac cloneMac() {
+        try {
+            return (Mac) prototype.clone();
+        } catch (CloneNotSupportedException e) {
+            return newMac(key);
+        }
+    }
+
+    private static Mac newMac(SecretKeySpec key) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+
+    private record CacheKey(long w0, long w1, long w2, long w3) {
+    }
+}
@@ -0,0 +1,369 @@
+package com.tslnkk.skcapi.service;
+
+import com.tslnkk.skcapi.config.BulkheadDataSource;
+import com.tslnkk.skcapi.dto.*;
+import com.tslnkk.skcapi.exception.BusinessException;
+import com.tslnkk.skcapi.exception.ErrorCode;
+import com.tslnkk.skcapi.limit.RateLimitGroup;
+import com.tslnkk.skcapi.limit.RateLimiter;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.node.ObjectNode;
+import tools.jackson.databind.node.StringNode;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Выполняет пакет операций ({@code POST /api/v1/batch}) через те же сервисы, что и отдельные эндпоинты:
+ * бизнес-правила, лимиты частоты и события изменений те же, экономится только HTTP-обвязка
+ * (TLS, Basic-аутентификация, цепочка фильтров) на каждый вызов.
+ * <p>
+ * Строка {@code "$ref.поле"} в {@code requisitionId}, {@code itemId} или в строковом поле {@code body}
+ * заменяется полем тела ответа операции с этим {@code ref}. Ссылка на операцию, завершившуюся ошибкой,
+ * даёт {@code 424 BATCH_OPERATION_SKIPPED} — операция не выполняется.
+ * <p>
+ * Нетранзакционный пакет: каждая операция — своя транзакция сервиса, результат отдаётся сразу после неё.
+ * Транзакционный: все операции в одной транзакции, первая ошибка откатывает пакет и останавливает его;
+ * результаты отдаются после фиксации, чтобы медленный клиент не держал соединение с БД и чтобы успех
+ * не сообщался до коммита. После отката успешные операции получают {@code 424 BATCH_ROLLED_BACK}.
+ */
+@Service
+@Slf4j
+public class BatchService {
+
+    private static final Pattern REFERENCE = Pattern.compile("^\\$([A-Za-z][A-Za-z0-9_-]{0,31})\\.([A-Za-z][A-Za-z0-9]*)$");
+
+    private final RequisitionService requisitionService;
+    private final RequisitionItemService itemService;
+    private final RateLimiter rateLimiter;
+    private final Validator validator;
+    private final JsonMapper jsonMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public BatchService(RequisitionService requisitionService,
+                        RequisitionItemService itemService,
+                        RateLimiter rateLimiter,
+                        Validator validator,
+                        JsonMapper jsonMapper,
+                        PlatformTransactionManager transactionManager) {
+        this.requisitionService = requisitionService;
+        this.itemService = itemService;
+        this.rateLimiter = rateLimiter;
+        this.validator = validator;
+        this.jsonMapper = jsonMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Ошибка одной операции с готовым ответом; не выходит за пределы пакета.
+     */
+    private static final class OperationFailure extends RuntimeException {
+
+        private final int status;
+        private final ErrorResponse error;
+
+        private OperationFailure(int status, ErrorResponse error) {
+            super(error.message(), null, false, false);
+            this.status = status;
+            this.error = error;
+        }
+
+        private static OperationFailure of(ErrorCode code, String message, String field, Object rejectedValue) {
+            return new OperationFailure(code.getHttpStatus(), new ErrorResponse(code.name(), message, field, rejectedValue));
+        }
+    }
+
+    /**
+     * Выполняет пакет, передавая в {@code sink} результат каждой операции по порядку, затем {@link BatchSummary}.
+     *
+     * @param principal пользователь — для лимитов частоты по пользователю на каждую операцию
+     */
+    public void execute(BatchRequest request, String principal, Consumer<Object> sink) {
+        if (Boolean.TRUE.equals(request.transactional())) {
+            executeInTransaction(request.operations(), principal, sink);
+        } else {
+            executeEach(request.operations(), principal, sink);
+        }
+    }
+
+    private void executeEach(List<BatchOperation> operations, String principal, Consumer<Object> sink) {
+        Map<String, JsonNode> results = new HashMap<>();
+        Set<String> failedRefs = new HashSet<>();
+        int succeeded = 0;
+        int failed = 0;
+        int skipped = 0;
+        for (int i = 0; i < operations.size(); i++) {
+            BatchOperation operation = operations.get(i);
+            BatchOperationResult result = run(i, operation, principal, results, failedRefs);
+            if (result.error() == null) {
+                succeeded++;
+            } else {
+                if (operation.ref() != null) {
+                    failedRefs.add(operation.ref());
+                }
+                if (result.status() == ErrorCode.BATCH_OPERATION_SKIPPED.getHttpStatus()) {
+                    skipped++;
+                } else {
+                    failed++;
+                }
+            }
+            sink.accept(result);
+        }
+        sink.accept(new BatchSummary(succeeded > 0, succeeded, failed, skipped, null));
+    }
+
+    private void executeInTransaction(List<BatchOperation> operations, String principal, Consumer<Object> sink) {
+        List<BatchOperationResult> executed = new ArrayList<>();
+        ErrorResponse commitError = null;
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Map<String, JsonNode> results = new HashMap<>();
+                for (int i = 0; i < operations.size(); i++) {
+                    BatchOperationResult result = run(i, operations.get(i), principal, results, Set.of());
+                    executed.add(result);
+                    if (result.error() != null) {
+                        status.setRollbackOnly();
+                        return;
+                    }
+                }
+            });
+        } catch (ObjectOptimisticLockingFailureException e) {
+            commitError = lockConflict();
+        } catch (CannotCreateTransactionException e) {
+            commitError = BulkheadDataSource.isPermitTimeout(e) ? databaseBusy() : commitFailed(e);
+        } catch (DataAccessException | TransactionException e) {
+            // Ответ уже начат (NDJSON): ошибка фиксации — откат всего пакета, а не оборванный поток
+            commitError = commitFailed(e);
+        }
+
+        boolean committed = commitError == null && executed.size() == operations.size()
+                && executed.getLast().error() == null;
+        int succeeded = 0;
+        int failed = 0;
+        for (BatchOperationResult result : executed) {
+            if (committed) {
+                succeeded++;
+                sink.accept(result);
+            } else if (result.error() != null) {
+                failed++;
+                sink.accept(result);
+            } else {
+                sink.accept(skip(result.index(), operations.get(result.index()), ErrorCode.BATCH_ROLLED_BACK));
+            }
+        }
+        for (int i = executed.size(); i < operations.size(); i++) {
+            sink.accept(skip(i, operations.get(i), ErrorCode.BATCH_OPERATION_SKIPPED));
+        }
+        sink.accept(new BatchSummary(committed, succeeded, failed, operations.size() - succeeded - failed, commitError));
+    }
+
+    private BatchOperationResult run(int index, BatchOperation operation, String principal,
+                                     Map<String, JsonNode> results, Set<String> failedRefs) {
+        try {
+            Long requisitionId = id(resolve(operation.requisitionId(), results, failedRefs), "requisitionId");
+            Long itemId = id(resolve(operation.itemId(), results, failedRefs), "itemId");
+            JsonNode body = resolve(operation.body(), results, failedRefs);
+            RateLimitGroup group = rateLimitGroup(operation.op());
+            if (group != null && principal != null) {
+                rateLimiter.check(group, RateLimiter.Scope.PRINCIPAL, principal);
+            }
+
+            Object response = switch (operation.op()) {
+                case CREATE_REQUISITION -> requisitionService.create(body(body, CreateRequisitionRequest.class));
+                case UPDATE_REQUISITION -> requisitionService.update(
+                        required(requisitionId, "requisitionId"), body(body, PatchRequisitionRequest.class));
+                case DELETE_REQUISITION -> {
+                    requisitionService.delete(required(requisitionId, "requisitionId"));
+                    yield null;
+                }
+                case TRANSITION -> requisitionService.transition(
+                        required(requisitionId, "requisitionId"), body(body, TransitionRequest.class).targetStatus());
+                case REACTIVATE -> {
+                    itemService.reactivateRequisition(required(requisitionId, "requisitionId"));
+                    yield null;
+                }
+                case GET_REQUISITION -> requisitionService.getById(required(requisitionId, "requisitionId"));
+                case GET_SUMMARY -> itemService.getSummary(required(requisitionId, "requisitionId"));
+                case CREATE_ITEM -> itemService.createItem(
+                        required(requisitionId, "requisitionId"), body(body, CreateItemRequest.class));
+                case PATCH_ITEM -> itemService.patchItem(required(requisitionId, "requisitionId"),
+                        required(itemId, "itemId"), body(body, PatchItemRequest.class));
+                case DELETE_ITEM -> {
+                    itemService.deleteItem(required(requisitionId, "requisitionId"), required(itemId, "itemId"));
+                    yield null;
+                }
+            };
+
+            JsonNode responseBody = response != null ? jsonMapper.valueToTree(response) : null;
+            if (operation.ref() != null && responseBody != null) {
+                results.put(operation.ref(), responseBody);
+            }
+            return new BatchOperationResult(index, operation.ref(), operation.op(), successStatus(operation.op()),
+                    responseBody, null);
+        } catch (OperationFailure e) {
+            return failure(index, operation, e.status, e.error);
+        } catch (BusinessException e) {
+            return failure(index, operation, e.getErrorCode().getHttpStatus(), new ErrorResponse(
+                    e.getErrorCode().name(), e.getMessage(), e.getField(), e.getRejectedValue()));
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return failure(index, operation, ErrorCode.OPTIMISTIC_LOCK_CONFLICT.getHttpStatus(), lockConflict());
+        } catch (CannotCreateTransactionException e) {
+            if (!BulkheadDataSource.isPermitTimeout(e)) {
+                return internalError(index, operation, e);
+            }
+            return failure(index, operation, ErrorCode.DATABASE_BUSY.getHttpStatus(), databaseBusy());
+        } catch (RuntimeException e) {
+            return internalError(index, operation, e);
+        }
+    }
+
+    private static BatchOperationResult internalError(int index, BatchOperation operation, RuntimeException e) {
+        log.error("Batch operation {} ({}) failed", index, operation.op(), e);
+        return failure(index, operation, 500,
+                new ErrorResponse("INTERNAL_ERROR", "Внутренняя ошибка при выполнении операции", null, null));
+    }
+
+    /**
+     * Подставляет результаты ранее выполненных операций вместо строк {@code "$ref.поле"}.
+     */
+    private JsonNode resolve(JsonNode node, Map<String, JsonNode> results, Set<String> failedRefs) {
+        if (node == null || node.isNull()) {
+            return null;
+        }
+        if (node.isString()) {
+            Matcher matcher = REFERENCE.matcher(node.asString());
+            if (!matcher.matches()) {
+                return node;
+            }
+            String ref = matcher.group(1);
+            if (failedRefs.contains(ref)) {
+                throw OperationFailure.of(ErrorCode.BATCH_OPERATION_SKIPPED,
+                        ErrorCode.BATCH_OPERATION_SKIPPED.getDefaultMessage() + ": " + ref, "ref", ref);
+            }
+            JsonNode result = results.get(ref);
+            JsonNode value = result != null ? result.get(matcher.group(2)) : null;
+            if (value == null || value.isNull()) {
+                throw OperationFailure.of(ErrorCode.BATCH_INVALID_REFERENCE,
+                        ErrorCode.BATCH_INVALID_REFERENCE.getDefaultMessage() + ": " + node.asString(),
+                        "ref", node.asString());
+            }
+            return value;
+        }
+        if (node.isObject()) {
+            ObjectNode copy = jsonMapper.createObjectNode();
+            for (Map.Entry<String, JsonNode> field : node.properties()) {
+                copy.set(field.getKey(), resolve(field.getValue(), results, failedRefs));
+            }
+            return copy;
+        }
+        return node;
+    }
+
+    private static Long id(JsonNode node, String field) {
+        if (node == null) {
+            return null;
+        }
+        if (node.canConvertToLong() && node.isIntegralNumber()) {
+            return node.asLong();
+        }
+        if (node instanceof StringNode text) {
+            try {
+                return Long.parseLong(text.asString());
+            } catch (NumberFormatException ignored) {
+                // не число — ошибка ниже
+            }
+        }
+        throw validationFailure(field, "Идентификатор должен быть числом", node.toString());
+    }
+
+    private static Long required(Long id, String field) {
+        if (id == null) {
+            throw validationFailure(field, "Поле " + field + " обязательно для этой операции", null);
+        }
+        return id;
+    }
+
+    private <T> T body(JsonNode body, Class<T> type) {
+        if (body == null) {
+            throw validationFailure("body", "Тело операции обязательно", null);
+        }
+        T value;
+        try {
+            value = jsonMapper.treeToValue(body, type);
+        } catch (JacksonException e) {
+            throw new OperationFailure(400, new ErrorResponse(
+                    "INVALID_REQUEST_BODY", "Невалидный формат тела операции", null, null));
+        }
+        Set<ConstraintViolation<T>> violations = validator.validate(value);
+        if (!violations.isEmpty()) {
+            ConstraintViolation<T> violation = violations.iterator().next();
+            throw validationFailure(violation.getPropertyPath().toString(), violation.getMessage(),
+                    violation.getInvalidValue());
+        }
+        return value;
+    }
+
+    private static OperationFailure validationFailure(String field, String message, Object rejectedValue) {
+        return new OperationFailure(400, new ErrorResponse("VALIDATION_ERROR", message, field, rejectedValue));
+    }
+
+    private static BatchOperationResult failure(int index, BatchOperation operation, int status, ErrorResponse error) {
+        return new BatchOperationResult(index, operation.ref(), operation.op(), status, null, error);
+    }
+
+    private static BatchOperationResult skip(int index, BatchOperation operation, ErrorCode code) {
+        return failure(index, operation, code.getHttpStatus(),
+                new ErrorResponse(code.name(), code.getDefaultMessage(), null, null));
+    }
+
+    private static ErrorResponse lockConflict() {
+        return new ErrorResponse(ErrorCode.OPTIMISTIC_LOCK_CONFLICT.name(),
+                ErrorCode.OPTIMISTIC_LOCK_CONFLICT.getDefaultMessage(), null, null);
+    }
+
+    private static ErrorResponse commitFailed(RuntimeException e) {
+        log.error("Batch transaction failed to commit", e);
+        return new ErrorResponse(ErrorCode.BATCH_COMMIT_FAILED.name(), ErrorCode.BATCH_COMMIT_FAILED.getDefaultMessage(),
+                null, null);
+    }
+
+    private static ErrorResponse databaseBusy() {
+        return new ErrorResponse(ErrorCode.DATABASE_BUSY.name(), ErrorCode.DATABASE_BUSY.getDefaultMessage(), null, null);
+    }
+
+    private static RateLimitGroup rateLimitGroup(BatchOperation.Type op) {
+        return switch (op) {
+            case CREATE_REQUISITION, CREATE_ITEM -> RateLimitGroup.CREATE;
+            case TRANSITION, REACTIVATE -> RateLimitGroup.TRANSITION;
+            case UPDATE_REQUISITION, DELETE_REQUISITION, PATCH_ITEM, DELETE_ITEM -> RateLimitGroup.UPDATE;
+            case GET_REQUISITION, GET_SUMMARY -> null;
+        };
+    }
+
+    private static int successStatus(BatchOperation.Type op) {
+        return switch (op) {
+            case CREATE_REQUISITION, CREATE_ITEM -> 201;
+            case DELETE_REQUISITION, REACTIVATE, DELETE_ITEM -> 204;
+            default -> 200;
+        };
+    }
+}
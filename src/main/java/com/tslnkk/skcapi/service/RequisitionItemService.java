@@ -1,21 +1,34 @@
 package com.tslnkk.skcapi.service;
 
+import com.tslnkk.skcapi.audit.AuditDiff;
+import com.tslnkk.skcapi.audit.AuditTrail;
 import com.tslnkk.skcapi.domain.PurchaseRequisition;
 import com.tslnkk.skcapi.domain.RequisitionItem;
 import com.tslnkk.skcapi.domain.RequisitionStatus;
 import com.tslnkk.skcapi.dto.*;
 import com.tslnkk.skcapi.exception.BusinessException;
+import com.tslnkk.skcapi.event.RequisitionChangedEvent;
+import com.tslnkk.skcapi.event.RequisitionChangedEvent.ChangeType;
 import com.tslnkk.skcapi.exception.ErrorCode;
+import com.tslnkk.skcapi.jfr.ItemMutationEvent;
+import com.tslnkk.skcapi.jfr.OptimisticLockConflictEvent;
+import com.tslnkk.skcapi.jfr.StatusTransitionEvent;
+import com.tslnkk.skcapi.limit.RateLimitGroup;
+import com.tslnkk.skcapi.limit.RateLimiter;
+import com.tslnkk.skcapi.metrics.LockConflictMetrics;
 import com.tslnkk.skcapi.reference.ReferenceDataService;
 import com.tslnkk.skcapi.repository.PurchaseRequisitionRepository;
 import com.tslnkk.skcapi.repository.RequisitionItemRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Основная бизнес-логика управления позициями заявки.
@@ -32,6 +45,10 @@ public class RequisitionItemService {
     private final PurchaseRequisitionRepository requisitionRepository;
     private final RequisitionItemRepository itemRepository;
     private final ReferenceDataService referenceDataService;
+    private final LockConflictMetrics lockConflictMetrics;
+    private final RateLimiter rateLimiter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AuditTrail auditTrail;
 
     /**
      * Создаёт новую позицию в заявке со статусом DRAFT.
@@ -45,7 +62,9 @@ public class RequisitionItemService {
     @Transactional
     public ItemResponse createItem(Long requisitionId, CreateItemRequest request) {
         PurchaseRequisition requisition = findRequisitionOrThrow(requisitionId);
+        rateLimiter.check(RateLimitGroup.CREATE, RateLimiter.Scope.ORGANIZER, requisition.getOrganizerId());
         ensureDraft(requisition);
+        RequisitionChangedEvent.State previous = RequisitionChangedEvent.State.of(requisition);
 
         var nomenclature = referenceDataService.findNomenclature(request.nomenclatureCode())
                 .orElseThrow(() -> new BusinessException(
@@ -100,6 +119,11 @@ public class RequisitionItemService {
 
         requisition.recalculateTotal();
         requisitionRepository.saveAndFlush(requisition);
+        ItemMutationEvent.emit(requisitionId, ItemMutationEvent.Operation.CREATE, requisition.getItems().size());
+        eventPublisher.publishEvent(
+                RequisitionChangedEvent.ofItem(requisition, ChangeType.ITEM_ADDED, item.getId(), previous));
+        auditTrail.record(ChangeType.ITEM_ADDED, requisitionId, item.getId(),
+                AuditDiff.between(Map.of(), auditFields(item)));
 
         return toResponse(item);
     }
@@ -117,7 +141,9 @@ public class RequisitionItemService {
     @Transactional
     public ItemResponse patchItem(Long requisitionId, Long itemId, PatchItemRequest request) {
         PurchaseRequisition requisition = findRequisitionOrThrow(requisitionId);
+        rateLimiter.check(RateLimitGroup.UPDATE, RateLimiter.Scope.ORGANIZER, requisition.getOrganizerId());
         ensureDraft(requisition);
+        RequisitionChangedEvent.State previous = RequisitionChangedEvent.State.of(requisition);
 
         RequisitionItem item = requisition.getItems().stream()
                 .filter(i -> i.getId().equals(itemId))
@@ -125,8 +151,11 @@ public class RequisitionItemService {
                 .orElseThrow(() -> new BusinessException(ErrorCode.ITEM_NOT_FOUND));
 
         if (!item.getVersion().equals(request.version())) {
+            OptimisticLockConflictEvent.emit(requisitionId, itemId, request.version(), item.getVersion());
+            lockConflictMetrics.record(requisitionId);
             throw new BusinessException(ErrorCode.OPTIMISTIC_LOCK_CONFLICT);
         }
+        Map<String, Object> before = auditFields(item);
 
         if (request.quantity() != null) {
             if (request.quantity().compareTo(BigDecimal.ONE) < 0) {
@@ -150,6 +179,10 @@ public class RequisitionItemService {
 
         requisition.recalculateTotal();
         requisitionRepository.saveAndFlush(requisition);
+        ItemMutationEvent.emit(requisitionId, ItemMutationEvent.Operation.PATCH, requisition.getItems().size());
+        eventPublisher.publishEvent(
+                RequisitionChangedEvent.ofItem(requisition, ChangeType.ITEM_UPDATED, itemId, previous));
+        auditTrail.record(ChangeType.ITEM_UPDATED, requisitionId, itemId, AuditDiff.between(before, auditFields(item)));
 
         return toResponse(item);
     }
@@ -165,19 +198,27 @@ public class RequisitionItemService {
     @Transactional
     public void deleteItem(Long requisitionId, Long itemId) {
         PurchaseRequisition requisition = findRequisitionOrThrow(requisitionId);
+        rateLimiter.check(RateLimitGroup.UPDATE, RateLimiter.Scope.ORGANIZER, requisition.getOrganizerId());
         ensureDraft(requisition);
+        RequisitionChangedEvent.State previous = RequisitionChangedEvent.State.of(requisition);
 
         if (requisition.getItems().size() <= 1) {
             throw new BusinessException(ErrorCode.LAST_ITEM_DELETE_FORBIDDEN);
         }
 
-        boolean removed = requisition.getItems().removeIf(i -> i.getId().equals(itemId));
-        if (!removed) {
-            throw new BusinessException(ErrorCode.ITEM_NOT_FOUND);
-        }
+        RequisitionItem item = requisition.getItems().stream()
+                .filter(i -> i.getId().equals(itemId))
+                .findFirst()
+                .orElseThrow(() -> new BusinessException(ErrorCode.ITEM_NOT_FOUND));
+        requisition.getItems().remove(item);
 
         requisition.recalculateTotal();
         requisitionRepository.saveAndFlush(requisition);
+        ItemMutationEvent.emit(requisitionId, ItemMutationEvent.Operation.DELETE, requisition.getItems().size());
+        eventPublisher.publishEvent(
+                RequisitionChangedEvent.ofItem(requisition, ChangeType.ITEM_DELETED, itemId, previous));
+        auditTrail.record(ChangeType.ITEM_DELETED, requisitionId, itemId,
+                AuditDiff.between(auditFields(item), Map.of()));
     }
 
     /**
@@ -225,6 +266,7 @@ public class RequisitionItemService {
     @Transactional
     public void reactivateRequisition(Long requisitionId) {
         PurchaseRequisition requisition = findRequisitionOrThrow(requisitionId);
+        rateLimiter.check(RateLimitGroup.TRANSITION, RateLimiter.Scope.ORGANIZER, requisition.getOrganizerId());
 
         if (requisition.getStatus() != RequisitionStatus.CANCELLED) {
             throw new BusinessException(
@@ -236,6 +278,10 @@ public class RequisitionItemService {
 
         requisition.setStatus(RequisitionStatus.DRAFT);
         requisitionRepository.saveAndFlush(requisition);
+        StatusTransitionEvent.emit(requisitionId, RequisitionStatus.CANCELLED, RequisitionStatus.DRAFT);
+        eventPublisher.publishEvent(RequisitionChangedEvent.ofTransition(requisition, RequisitionStatus.CANCELLED));
+        auditTrail.record(ChangeType.STATUS_CHANGED, requisitionId, null,
+                AuditDiff.between(Map.of("status", RequisitionStatus.CANCELLED), Map.of("status", RequisitionStatus.DRAFT)));
     }
 
     private PurchaseRequisition findRequisitionOrThrow(Long requisitionId) {
@@ -262,6 +308,20 @@ public class RequisitionItemService {
         }
     }
 
+    /** Поля позиции для аудита — в терминах API. */
+    private static Map<String, Object> auditFields(RequisitionItem item) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("rowNumber", item.getRowNumber());
+        fields.put("nomenclatureCode", item.getTruCode());
+        fields.put("nomenclatureName", item.getTruName());
+        fields.put("quantity", item.getCount());
+        fields.put("unitCode", item.getMkei());
+        fields.put("priceWithoutVat", item.getPrice());
+        fields.put("desiredDeliveryDate", item.getDurationMonth());
+        fields.put("comment", item.getComment());
+        return fields;
+    }
+
     private ItemResponse toResponse(RequisitionItem item) {
         return new ItemResponse(
                 item.getId(),
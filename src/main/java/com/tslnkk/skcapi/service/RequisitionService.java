@@ -1,13 +1,21 @@
 package com.tslnkk.skcapi.service;
 
+import com.tslnkk.skcapi.audit.AuditDiff;
+import com.tslnkk.skcapi.audit.AuditTrail;
 import com.tslnkk.skcapi.domain.PurchaseRequisition;
 import com.tslnkk.skcapi.domain.RequisitionItem;
 import com.tslnkk.skcapi.domain.RequisitionStatus;
 import com.tslnkk.skcapi.dto.*;
+import com.tslnkk.skcapi.event.RequisitionChangedEvent;
+import com.tslnkk.skcapi.event.RequisitionChangedEvent.ChangeType;
 import com.tslnkk.skcapi.exception.BusinessException;
 import com.tslnkk.skcapi.exception.ErrorCode;
+import com.tslnkk.skcapi.jfr.StatusTransitionEvent;
+import com.tslnkk.skcapi.limit.RateLimitGroup;
+import com.tslnkk.skcapi.limit.RateLimiter;
 import com.tslnkk.skcapi.repository.PurchaseRequisitionRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -36,6 +44,9 @@ public class RequisitionService {
     }
 
     private final PurchaseRequisitionRepository repository;
+    private final RateLimiter rateLimiter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AuditTrail auditTrail;
 
     @Transactional(readOnly = true)
     public List<RequisitionResponse> listAll() {
@@ -52,6 +63,7 @@ public class RequisitionService {
 
     @Transactional
     public RequisitionResponse create(CreateRequisitionRequest request) {
+        rateLimiter.check(RateLimitGroup.CREATE, RateLimiter.Scope.ORGANIZER, request.organizerId());
         String number = generateNumber();
 
         PurchaseRequisition req = PurchaseRequisition.builder()
@@ -61,25 +73,32 @@ public class RequisitionService {
                 .build();
 
         req = repository.saveAndFlush(req);
+        eventPublisher.publishEvent(RequisitionChangedEvent.created(req));
         return toResponse(req);
     }
 
     @Transactional
     public RequisitionResponse update(Long id, PatchRequisitionRequest request) {
         PurchaseRequisition req = findOrThrow(id);
+        rateLimiter.check(RateLimitGroup.UPDATE, RateLimiter.Scope.ORGANIZER, req.getOrganizerId());
         ensureDraft(req);
+        RequisitionChangedEvent.State previous = RequisitionChangedEvent.State.of(req);
 
         if (request.organizerId() != null && !request.organizerId().isBlank()) {
             req.setOrganizerId(request.organizerId());
         }
 
         req = repository.saveAndFlush(req);
+        eventPublisher.publishEvent(RequisitionChangedEvent.of(req, ChangeType.UPDATED, previous));
+        auditTrail.record(ChangeType.UPDATED, id, null,
+                AuditDiff.between(Map.of("organizerId", previous.organizerId()), Map.of("organizerId", req.getOrganizerId())));
         return toResponse(req);
     }
 
     @Transactional
     public void delete(Long id) {
         PurchaseRequisition req = findOrThrow(id);
+        rateLimiter.check(RateLimitGroup.UPDATE, RateLimiter.Scope.ORGANIZER, req.getOrganizerId());
 
         if (req.getStatus() != DRAFT) {
             throw new BusinessException(
@@ -90,11 +109,13 @@ public class RequisitionService {
         }
 
         repository.delete(req);
+        eventPublisher.publishEvent(RequisitionChangedEvent.deleted(req));
     }
 
     @Transactional
     public RequisitionResponse transition(Long id, RequisitionStatus targetStatus) {
         PurchaseRequisition req = findOrThrow(id);
+        rateLimiter.check(RateLimitGroup.TRANSITION, RateLimiter.Scope.ORGANIZER, req.getOrganizerId());
         RequisitionStatus current = req.getStatus();
 
         Set<RequisitionStatus> allowed = ALLOWED_TRANSITIONS.getOrDefault(current, EnumSet.noneOf(RequisitionStatus.class));
@@ -120,6 +141,10 @@ public class RequisitionService {
 
         req.setStatus(targetStatus);
         req = repository.saveAndFlush(req);
+        StatusTransitionEvent.emit(id, current, targetStatus);
+        eventPublisher.publishEvent(RequisitionChangedEvent.ofTransition(req, current));
+        auditTrail.record(ChangeType.STATUS_CHANGED, id, null,
+                AuditDiff.between(Map.of("status", current), Map.of("status", targetStatus)));
         return toResponse(req);
     }
 
@@ -0,0 +1,250 @@
+package com.tslnkk.skcapi.stats;
+
+import com.tslnkk.skcapi.domain.RequisitionStatus;
+import com.tslnkk.skcapi.dto.RequisitionStatsResponse;
+import com.tslnkk.skcapi.dto.StatsBucket;
+import com.tslnkk.skcapi.event.RequisitionChangedEvent;
+import com.tslnkk.skcapi.event.RequisitionChangedEvent.ChangeType;
+import com.tslnkk.skcapi.repository.PurchaseRequisitionRepository;
+import com.tslnkk.skcapi.repository.PurchaseRequisitionRepository.StatsGroup;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Агрегаты дашборда ({@code GET /api/v1/requisitions/stats}): число заявок и сумма {@code totalLotSumNoNds}
+ * по статусам и по организаторам, которые поддерживаются в памяти приращениями.
+ * <p>
+ * После коммита каждого изменения заявки вычитается вклад её состояния до изменения (оно приходит в
+ * {@link RequisitionChangedEvent#previous()}) и прибавляется вклад нового. Приращения складываются, поэтому
+ * порядок обработчиков двух коммитов одной заявки не важен, а состояние отдельных заявок хранить не нужно:
+ * память зависит от числа статусов и организаторов, но не заявок. Счётчики — {@link LongAdder}, суммы — в тиынах.
+ * <p>
+ * При старте и раз в {@code reconcile-interval-seconds} агрегаты пересчитываются по БД одним {@code GROUP BY}:
+ * так исправляются изменения в обход сервисов. Приращения, пришедшие во время запроса, переносятся на результат;
+ * изменение, зафиксированное на границе запроса, может учесться дважды — следующая сверка это исправит.
+ */
+@Component
+@Slf4j
+public class RequisitionStatsStore implements MeterBinder {
+
+    private static final class Cell {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder amountMinor = new LongAdder();
+
+        private void add(long count, long amount) {
+            this.count.add(count);
+            amountMinor.add(amount);
+        }
+
+        private StatsBucket toBucket() {
+            return new StatsBucket(count.sum(), BigDecimal.valueOf(amountMinor.sum(), 2));
+        }
+    }
+
+    private static final class Aggregates {
+        private final Map<RequisitionStatus, Cell> byStatus = new EnumMap<>(RequisitionStatus.class);
+        private final ConcurrentHashMap<String, Cell> byOrganizer = new ConcurrentHashMap<>();
+        private final Instant reconciledAt;
+
+        private Aggregates(Instant reconciledAt) {
+            for (RequisitionStatus status : RequisitionStatus.values()) {
+                byStatus.put(status, new Cell());
+            }
+            this.reconciledAt = reconciledAt;
+        }
+
+        private void add(RequisitionStatus status, String organizerId, long count, long amountMinor) {
+            byStatus.get(status).add(count, amountMinor);
+            byOrganizer.computeIfAbsent(organizerId, organizer -> new Cell()).add(count, amountMinor);
+        }
+
+        /** Прибавить всё накопленное в {@code other}; вызывается, когда приращения не идут. */
+        private void addAll(Aggregates other) {
+            other.byStatus.forEach((status, cell) -> byStatus.get(status).add(cell.count.sum(), cell.amountMinor.sum()));
+            other.byOrganizer.forEach((organizerId, cell) -> byOrganizer.computeIfAbsent(organizerId, o -> new Cell())
+                    .add(cell.count.sum(), cell.amountMinor.sum()));
+        }
+
+        private long totalCount() {
+            return byStatus.values().stream().mapToLong(cell -> cell.count.sum()).sum();
+        }
+    }
+
+    private final PurchaseRequisitionRepository repository;
+    private final TransactionTemplate readOnly;
+    private final Clock clock;
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private final AtomicBoolean reconciling = new AtomicBoolean();
+    private final LongAdder corrected = new LongAdder();
+
+    private volatile Aggregates current;
+    /** Приращения, пришедшие во время сверки; {@code null}, пока сверка не идёт. */
+    private volatile Aggregates duringReconcile;
+
+    public RequisitionStatsStore(PurchaseRequisitionRepository repository,
+                                 PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.clock = Clock.systemUTC();
+        this.current = new Aggregates(null);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    void onRequisitionChanged(RequisitionChangedEvent event) {
+        swapLock.readLock().lock();
+        try {
+            apply(current, event);
+            Aggregates recording = duringReconcile;
+            if (recording != null) {
+                apply(recording, event);
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    private static void apply(Aggregates aggregates, RequisitionChangedEvent event) {
+        RequisitionChangedEvent.State previous = event.previous();
+        if (previous != null) {
+            aggregates.add(previous.status(), previous.organizerId(), -1, -toMinor(previous.totalAmount()));
+        }
+        if (event.type() != ChangeType.DELETED) {
+            aggregates.add(event.status(), event.organizerId(), 1, toMinor(event.totalAmount()));
+        }
+    }
+
+    /** Текущие агрегаты; стоимость зависит от числа статусов и организаторов, но не заявок. */
+    public RequisitionStatsResponse stats() {
+        Aggregates aggregates = current;
+        Map<RequisitionStatus, StatsBucket> byStatus = new LinkedHashMap<>();
+        long totalCount = 0;
+        BigDecimal totalAmount = BigDecimal.ZERO.setScale(2);
+        for (Map.Entry<RequisitionStatus, Cell> entry : aggregates.byStatus.entrySet()) {
+            StatsBucket bucket = entry.getValue().toBucket();
+            byStatus.put(entry.getKey(), bucket);
+            totalCount += bucket.count();
+            totalAmount = totalAmount.add(bucket.totalLotSumNoNds());
+        }
+        Map<String, StatsBucket> byOrganizer = new TreeMap<>();
+        aggregates.byOrganizer.forEach((organizerId, cell) -> {
+            StatsBucket bucket = cell.toBucket();
+            if (bucket.count() > 0) {
+                byOrganizer.put(organizerId, bucket);
+            }
+        });
+        return new RequisitionStatsResponse(totalCount, totalAmount, byStatus, byOrganizer, aggregates.reconciledAt);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void reconcileOnStartup() {
+        reconcile();
+    }
+
+    /**
+     * Пересчитать агрегаты по БД и заменить ими текущие. Запрос идёт без блокировок; блокировка на запись
+     * берётся только на перенос приращений и замену ссылки. Параллельный вызов, пока идёт сверка, ничего не делает.
+     *
+     * @return сколько корзин (статусов и организаторов) расходились с БД
+     */
+    @Scheduled(initialDelayString = "${app.stats.reconcile-interval-seconds:300}",
+            fixedDelayString = "${app.stats.reconcile-interval-seconds:300}", timeUnit = TimeUnit.SECONDS)
+    public int reconcile() {
+        if (!reconciling.compareAndSet(false, true)) {
+            return 0;
+        }
+        try {
+            duringReconcile = new Aggregates(null);
+            Aggregates rebuilt = new Aggregates(clock.instant());
+            readOnly.executeWithoutResult(status -> {
+                try (Stream<StatsGroup> groups = repository.streamStatsGroups()) {
+                    groups.forEach(group -> rebuilt.add(group.getStatus(), group.getOrganizerId(),
+                            group.getCount(), toMinor(group.getTotal())));
+                }
+            });
+            swapLock.writeLock().lock();
+            try {
+                rebuilt.addAll(duringReconcile);
+                duringReconcile = null;
+                Aggregates previous = current;
+                int drift = previous.reconciledAt == null ? 0 : countDrift(previous, rebuilt);
+                current = rebuilt;
+                corrected.add(drift);
+                if (drift > 0) {
+                    log.warn("Requisition stats reconciled: {} buckets corrected", drift);
+                }
+                return drift;
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+        } finally {
+            duringReconcile = null;
+            reconciling.set(false);
+        }
+    }
+
+    private static int countDrift(Aggregates previous, Aggregates rebuilt) {
+        int drift = 0;
+        for (RequisitionStatus status : RequisitionStatus.values()) {
+            if (!previous.byStatus.get(status).toBucket().equals(rebuilt.byStatus.get(status).toBucket())) {
+                drift++;
+            }
+        }
+        Set<String> organizers = new HashSet<>(previous.byOrganizer.keySet());
+        organizers.addAll(rebuilt.byOrganizer.keySet());
+        for (String organizerId : organizers) {
+            if (!bucket(previous, organizerId).equals(bucket(rebuilt, organizerId))) {
+                drift++;
+            }
+        }
+        return drift;
+    }
+
+    private static StatsBucket bucket(Aggregates aggregates, String organizerId) {
+        Cell cell = aggregates.byOrganizer.get(organizerId);
+        return cell != null ? cell.toBucket() : new Cell().toBucket();
+    }
+
+    private static long toMinor(BigDecimal amount) {
+        return amount == null ? 0 : amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("stats.reconcile.corrected", corrected, LongAdder::sum)
+                .description("Dashboard buckets (status or organizer) fixed by reconciliation")
+                .register(registry);
+        Gauge.builder("stats.requisitions", this, store -> store.current.totalCount())
+                .description("Requisitions counted by the dashboard aggregates")
+                .register(registry);
+    }
+}
@@ -0,0 +1,38 @@
+package com.tslnkk.skcapi.trace;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Завершённая трасса одного HTTP-запроса.
+ *
+ * @param traceId      идентификатор из {@code RequestCorrelationFilter}
+ * @param method       HTTP-метод
+ * @param uri          URI запроса
+ * @param status       HTTP-статус ответа
+ * @param startedAt    момент начала обработки
+ * @param durationUs   полное время обработки в фильтре, мкс
+ * @param spans        участки в порядке завершения
+ * @param droppedSpans число участков, не вошедших в трассу из-за лимита
+ */
+public record RequestTrace(
+        String traceId,
+        String method,
+        String uri,
+        int status,
+        Instant startedAt,
+        long durationUs,
+        List<Span> spans,
+        int droppedSpans
+) {
+
+    /**
+     * Участок трассы.
+     *
+     * @param name       имя участка, например {@code service:RequisitionService.getById}
+     * @param offsetUs   смещение начала относительно начала запроса, мкс
+     * @param durationUs длительность участка, мкс
+     */
+    public record Span(String name, long offsetUs, long durationUs) {
+    }
+}
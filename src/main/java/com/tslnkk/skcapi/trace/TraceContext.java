@@ -0,0 +1,108 @@
+package com.tslnkk.skcapi.trace;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Трасса текущего запроса, привязанная к потоку (по аналогии с MDC).
+ * <p>
+ * Статический доступ нужен, чтобы участки могли записывать компоненты,
+ * которые создаются вне Spring-контекста (например, {@link TracingSessionEventListener}).
+ * Если трасса для потока не начата, все методы записи — no-op.
+ */
+public final class TraceContext {
+
+    static final int MAX_SPANS = 256;
+
+    private static final ThreadLocal<ActiveTrace> CURRENT = new ThreadLocal<>();
+
+    private TraceContext() {
+    }
+
+    public static void start(String traceId, String method, String uri) {
+        CURRENT.set(new ActiveTrace(traceId, method, uri, Instant.now(), System.nanoTime()));
+    }
+
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Записывает завершённый участок по отметкам {@link System#nanoTime()}.
+     */
+    public static void record(String name, long startNs, long endNs) {
+        ActiveTrace trace = CURRENT.get();
+        if (trace != null) {
+            trace.add(name, startNs, endNs);
+        }
+    }
+
+    /**
+     * Запоминает момент начала сериализации тела ответа.
+     * Участок {@code serialization} закрывается в {@link #finish(int)}.
+     */
+    public static void markSerializationStart() {
+        ActiveTrace trace = CURRENT.get();
+        if (trace != null && trace.serializationStartNs == 0) {
+            trace.serializationStartNs = System.nanoTime();
+        }
+    }
+
+    /**
+     * Завершает трассу текущего потока и отвязывает её.
+     *
+     * @return готовая трасса или {@code null}, если трасса не была начата
+     */
+    public static RequestTrace finish(int status) {
+        ActiveTrace trace = CURRENT.get();
+        if (trace == null) {
+            return null;
+        }
+        CURRENT.remove();
+        long endNs = System.nanoTime();
+        if (trace.serializationStartNs != 0) {
+            trace.add("serialization", trace.serializationStartNs, endNs);
+        }
+        return new RequestTrace(
+                trace.traceId,
+                trace.method,
+                trace.uri,
+                status,
+                trace.startedAt,
+                (endNs - trace.startNs) / 1_000,
+                List.copyOf(trace.spans),
+                trace.droppedSpans);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    private static final class ActiveTrace {
+        private final String traceId;
+        private final String method;
+        private final String uri;
+        private final Instant startedAt;
+        private final long startNs;
+        private final List<RequestTrace.Span> spans = new ArrayList<>();
+        private int droppedSpans;
+        private long serializationStartNs;
+
+        private ActiveTrace(String traceId, String method, String uri, Instant startedAt, long startNs) {
+            this.traceId = traceId;
+            this.method = method;
+            this.uri = uri;
+            this.startedAt = startedAt;
+            this.startNs = startNs;
+        }
+
+        private void add(String name, long spanStartNs, long spanEndNs) {
+            if (spans.size() >= MAX_SPANS) {
+                droppedSpans++;
+                return;
+            }
+            spans.add(new RequestTrace.Span(name, (spanStartNs - startNs) / 1_000, (spanEndNs - spanStartNs) / 1_000));
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.tslnkk.skcapi.trace;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Генерация и разбор идентификаторов трасс в формате W3C Trace Context.
+ * <p>
+ * Используется {@link ThreadLocalRandom}: идентификатору трассы не нужна криптостойкость,
+ * а общий {@code SecureRandom} из {@code UUID.randomUUID()} становится точкой конкуренции под нагрузкой.
+ * Hex-кодирование выполняется в один буфер без промежуточных строк.
+ */
+public final class TraceIds {
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final int TRACEPARENT_LENGTH = 55;
+
+    private TraceIds() {
+    }
+
+    /**
+     * @return новый 128-битный trace-id, 32 символа в нижнем регистре
+     */
+    public static String newTraceId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long high = random.nextLong();
+        long low = random.nextLong();
+        if (high == 0 && low == 0) {
+            low = 1;
+        }
+        byte[] buf = new byte[32];
+        writeHex(buf, 0, high);
+        writeHex(buf, 16, low);
+        return new String(buf, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * @return новый 64-битный parent-id (span-id), 16 символов в нижнем регистре
+     */
+    public static String newSpanId() {
+        long value = ThreadLocalRandom.current().nextLong();
+        byte[] buf = new byte[16];
+        writeHex(buf, 0, value == 0 ? 1 : value);
+        return new String(buf, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Собирает заголовок {@code traceparent} версии 00.
+     */
+    public static String traceparent(String traceId, String spanId, boolean sampled) {
+        return "00-" + traceId + "-" + spanId + (sampled ? "-01" : "-00");
+    }
+
+    /**
+     * Извлекает trace-id из заголовка {@code traceparent}.
+     *
+     * @return trace-id или {@code null}, если заголовок отсутствует или некорректен
+     */
+    public static String traceIdFromTraceparent(String header) {
+        if (header == null || header.length() < TRACEPARENT_LENGTH) {
+            return null;
+        }
+        String value = header.strip();
+        if (value.length() < TRACEPARENT_LENGTH
+                || value.startsWith("ff")
+                || value.charAt(2) != '-' || value.charAt(35) != '-' || value.charAt(52) != '-'
+                || (value.length() > TRACEPARENT_LENGTH && value.charAt(TRACEPARENT_LENGTH) != '-')
+                || !isLowerHex(value, 0, 2)
+                || !isLowerHex(value, 36, 52)
+                || !isLowerHex(value, 53, 55)
+                || isZeros(value, 36, 52)) {
+            return null;
+        }
+        String traceId = value.substring(3, 35);
+        return isValidTraceId(traceId) ? traceId : null;
+    }
+
+    /**
+     * @return {@code true}, если значение — корректный W3C trace-id (32 hex-символа, не все нули)
+     */
+    public static boolean isValidTraceId(String value) {
+        return value != null && value.length() == 32 && isLowerHex(value, 0, 32) && !isZeros(value, 0, 32);
+    }
+
+    /**
+     * @return {@code true}, если в заголовке {@code traceparent} установлен флаг sampled
+     */
+    public static boolean isSampled(String traceparent) {
+        if (traceparent == null) {
+            return false;
+        }
+        String value = traceparent.strip();
+        return value.length() >= TRACEPARENT_LENGTH && (Character.digit(value.charAt(54), 16) & 1) == 1;
+    }
+
+    private static void writeHex(byte[] buf, int offset, long value) {
+        for (int i = 15; i >= 0; i--) {
+            buf[offset + i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+
+    private static boolean isLowerHex(String s, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (!((c >= '0' && c <= '9') || (c >= 'a' && c <= 'f'))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isZeros(String s, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (s.charAt(i) != '0') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,56 @@
+package com.tslnkk.skcapi.trace;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Кольцевой буфер фиксированного размера без блокировок.
+ * Запись — один {@code getAndIncrement} и одна volatile-запись в слот;
+ * при переполнении самые старые элементы перезаписываются.
+ *
+ * @param <T> тип хранимых элементов
+ */
+public class TraceRingBuffer<T> {
+
+    private final AtomicReferenceArray<T> slots;
+    private final AtomicLong cursor = new AtomicLong();
+    private final int mask;
+
+    public TraceRingBuffer(int requestedCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(1, requestedCapacity - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    public void add(T value) {
+        long seq = cursor.getAndIncrement();
+        slots.set((int) (seq & mask), value);
+    }
+
+    /**
+     * Возвращает до {@code limit} последних элементов, от новых к старым.
+     * Снимок не атомарен относительно параллельных записей — для отладочного эндпоинта этого достаточно.
+     */
+    public List<T> snapshot(int limit) {
+        long end = cursor.get();
+        int count = (int) Math.min(Math.min(end, slots.length()), Math.max(0, limit));
+        List<T> result = new ArrayList<>(count);
+        for (long seq = end - 1; seq >= end - count; seq--) {
+            T value = slots.get((int) (seq & mask));
+            if (value != null) {
+                result.add(value);
+            }
+        }
+        return result;
+    }
+
+    public int capacity() {
+        return slots.length();
+    }
+
+    public long totalAdded() {
+        return cursor.get();
+    }
+}
@@ -0,0 +1,50 @@
+package com.tslnkk.skcapi.trace;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Хранилище последних трасс в памяти.
+ * Все трассы попадают в буфер {@code recent}; трассы дольше порога
+ * дополнительно копируются в отдельный буфер {@code slow}, чтобы не вытесняться быстрыми запросами.
+ */
+@Component
+public class TraceStore {
+
+    private final boolean enabled;
+    private final long slowThresholdUs;
+    private final TraceRingBuffer<RequestTrace> recent;
+    private final TraceRingBuffer<RequestTrace> slow;
+
+    public TraceStore(
+            @Value("${app.tracing.enabled:true}") boolean enabled,
+            @Value("${app.tracing.capacity:256}") int capacity,
+            @Value("${app.tracing.slow-capacity:128}") int slowCapacity,
+            @Value("${app.tracing.slow-threshold-ms:500}") long slowThresholdMs) {
+        this.enabled = enabled;
+        this.slowThresholdUs = slowThresholdMs * 1_000;
+        this.recent = new TraceRingBuffer<>(capacity);
+        this.slow = new TraceRingBuffer<>(slowCapacity);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void publish(RequestTrace trace) {
+        recent.add(trace);
+        if (trace.durationUs() >= slowThresholdUs) {
+            slow.add(trace);
+        }
+    }
+
+    public List<RequestTrace> recent(int limit) {
+        return recent.snapshot(limit);
+    }
+
+    public List<RequestTrace> slow(int limit) {
+        return slow.snapshot(limit);
+    }
+}
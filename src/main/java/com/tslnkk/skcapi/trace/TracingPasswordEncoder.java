@@ -0,0 +1,34 @@
+package com.tslnkk.skcapi.trace;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Декоратор {@link PasswordEncoder}, записывающий проверку пароля как участок {@code security.password}.
+ * Позволяет видеть в трассе стоимость BCrypt отдельно от остальной обработки.
+ */
+@RequiredArgsConstructor
+public class TracingPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        long startNs = System.nanoTime();
+        try {
+            return delegate.matches(rawPassword, encodedPassword);
+        } finally {
+            TraceContext.record("security.password", startNs, System.nanoTime());
+        }
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
@@ -0,0 +1,44 @@
+package com.tslnkk.skcapi.trace;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Записывает в {@link TraceContext} время выполнения JDBC-выражений и flush-ей Hibernate.
+ * Создаётся Hibernate на каждую сессию через {@code hibernate.session.events.auto}.
+ */
+public class TracingSessionEventListener implements SessionEventListener {
+
+    private long executeStartNs;
+    private long batchStartNs;
+    private long flushStartNs;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executeStartNs = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        TraceContext.record("jdbc.execute", executeStartNs, System.nanoTime());
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStartNs = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        TraceContext.record("jdbc.batch", batchStartNs, System.nanoTime());
+    }
+
+    @Override
+    public void flushStart() {
+        flushStartNs = System.nanoTime();
+    }
+
+    @Override
+    public void flushEnd(int numberOfEntities, int numberOfCollections) {
+        TraceContext.record("hibernate.flush", flushStartNs, System.nanoTime());
+    }
+}
@@ -0,0 +1,86 @@
+-- Схема для профиля prod (spring.jpa.hibernate.ddl-auto=none).
+-- Совпадает с DDL, который Hibernate генерирует по сущностям PurchaseRequisition, RequisitionItem, IdempotencyRecord, ChangeLogEntry, OutboxMessage и AuditRecord.
+create table purchase_requisitions (
+    id                   bigint generated by default as identity,
+    number               varchar(255) not null unique,
+    status               enum ('APPROVED','CANCELLED','CLOSED','DRAFT','IN_PROCUREMENT','REJECTED','SUBMITTED') not null,
+    created_from         timestamp(6) not null,
+    updated_from         timestamp(6),
+    organizer_id         varchar(255) not null,
+    total_lot_sum_no_nds numeric(19,2),
+    primary key (id)
+);
+
+create table requisition_items (
+    id             bigint generated by default as identity,
+    row_number     integer not null,
+    tru_code       varchar(255) not null,
+    tru_name       varchar(255) not null,
+    count          numeric(19,4) not null,
+    mkei           varchar(20) not null,
+    price          numeric(19,2) not null,
+    duration_month date,
+    comment        varchar(255),
+    version        bigint,
+    requisition_id bigint not null,
+    primary key (id),
+    constraint uk_requisition_tru_code unique (requisition_id, tru_code),
+    constraint fk_requisition_items_requisition foreign key (requisition_id) references purchase_requisitions
+);
+
+create table idempotency_keys (
+    key_hash     varchar(64) not null,
+    request_hash varchar(64) not null,
+    status       integer not null,
+    content_type varchar(255),
+    location     varchar(255),
+    body         blob,
+    expires_at   timestamp(6) with time zone not null,
+    primary key (key_hash)
+);
+
+create table requisition_changes (
+    id                   bigint generated by default as identity,
+    requisition_id       bigint not null,
+    number               varchar(255),
+    organizer_id         varchar(255),
+    change_type          enum ('CREATED','DELETED','ITEM_ADDED','ITEM_DELETED','ITEM_UPDATED','STATUS_CHANGED','UPDATED') not null,
+    status               enum ('APPROVED','CANCELLED','CLOSED','DRAFT','IN_PROCUREMENT','REJECTED','SUBMITTED'),
+    previous_status      enum ('APPROVED','CANCELLED','CLOSED','DRAFT','IN_PROCUREMENT','REJECTED','SUBMITTED'),
+    total_lot_sum_no_nds numeric(19,2),
+    item_id              bigint,
+    changed_at           timestamp(6) with time zone not null,
+    primary key (id)
+);
+
+create index ix_requisition_changes_requisition on requisition_changes (requisition_id, id);
+
+create table outbox_messages (
+    id              bigint generated by default as identity,
+    event_type      varchar(64) not null,
+    aggregate_id    bigint not null,
+    payload         varchar(4000) not null,
+    status          enum ('DEAD','PENDING') not null,
+    attempts        integer not null,
+    next_attempt_at timestamp(6) with time zone not null,
+    claimed_until   timestamp(6) with time zone,
+    last_error      varchar(500),
+    created_at      timestamp(6) with time zone not null,
+    primary key (id)
+);
+
+create index ix_outbox_messages_due on outbox_messages (status, next_attempt_at);
+
+create table audit_log (
+    id             bigint generated by default as identity,
+    requisition_id bigint not null,
+    item_id        bigint,
+    action         enum ('CREATED','DELETED','ITEM_ADDED','ITEM_DELETED','ITEM_UPDATED','STATUS_CHANGED','UPDATED') not null,
+    changes        varchar(4000) not null,
+    principal      varchar(255) not null,
+    trace_id       varchar(64),
+    occurred_at    timestamp(6) with time zone not null,
+    primary key (id)
+);
+
+create index ix_audit_log_requisition on audit_log (requisition_id, id);
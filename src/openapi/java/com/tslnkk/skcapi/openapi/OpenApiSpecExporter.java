@@ -0,0 +1,68 @@
+package com.tslnkk.skcapi.openapi;
+
+import com.tslnkk.skcapi.SkcApiApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.SerializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Выгрузка OpenAPI-спецификации при сборке (задача {@code generateOpenApiDocs}).
+ * <p>
+ * Поднимает приложение с профилем по умолчанию на случайном порту, забирает {@code /v3/api-docs}
+ * и пишет {@code openapi/openapi.json} и сжатую копию {@code openapi/openapi.json.gz}
+ * в каталог из первого аргумента. Оттуда файлы попадают в boot-jar и отдаются
+ * {@code OpenApiDocsController} без сканирования контроллеров в рантайме.
+ */
+public final class OpenApiSpecExporter {
+
+    private OpenApiSpecExporter() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path outputDir = Path.of(args[0]).resolve("openapi");
+        JsonNode spec;
+        try (ConfigurableApplicationContext context = SpringApplication.run(SkcApiApplication.class,
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:openapi-export",
+                "--spring.main.banner-mode=off",
+                "--app.seed-data.enabled=false",
+                "--logging.level.com.tslnkk.skcapi=WARN",
+                "--logging.level.com.tslnkk.skcapi.aspect=WARN")) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            spec = fetch(URI.create("http://localhost:" + port + "/v3/api-docs"));
+        }
+
+        // Отступы — ради читаемых диффов спецификации между версиями; по сети уходит gzip-копия
+        byte[] json = JsonMapper.builder().enable(SerializationFeature.INDENT_OUTPUT).build()
+                .writeValueAsBytes(spec);
+        Files.createDirectories(outputDir);
+        Files.write(outputDir.resolve("openapi.json"), json);
+        try (OutputStream gzip = new GZIPOutputStream(Files.newOutputStream(outputDir.resolve("openapi.json.gz")))) {
+            gzip.write(json);
+        }
+        System.out.printf("OpenAPI spec: %s (%d bytes)%n", outputDir.resolve("openapi.json"), json.length);
+    }
+
+    private static JsonNode fetch(URI uri) throws Exception {
+        try (HttpClient http = HttpClient.newHttpClient()) {
+            HttpResponse<byte[]> response = http.send(HttpRequest.newBuilder(uri).GET().build(),
+                    HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("GET " + uri + " returned " + response.statusCode());
+            }
+            return JsonMapper.builder().build().readTree(response.body());
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.tslnkk.skcapi.audit;
+
+import com.tslnkk.skcapi.config.RequestCorrelationFilter;
+import com.tslnkk.skcapi.dto.AuditChange;
+import com.tslnkk.skcapi.event.RequisitionChangedEvent.ChangeType;
+import com.tslnkk.skcapi.logging.OverflowPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.MDC;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuditTrailTest {
+
+    private static final List<AuditChange> CHANGES = List.of(new AuditChange("quantity", "10", "25"));
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        MDC.clear();
+    }
+
+    @Test
+    @DisplayName("DROP_OLDEST: при заполненном буфере вытесняется самая старая запись")
+    void record_shouldEvictOldestWhenQueueIsFull() {
+        AuditTrail trail = trail(AuditMode.ASYNC, OverflowPolicy.DROP_OLDEST);
+
+        trail.record(ChangeType.ITEM_UPDATED, 1L, 1L, CHANGES);
+        trail.record(ChangeType.ITEM_UPDATED, 2L, 1L, CHANGES);
+        trail.record(ChangeType.ITEM_UPDATED, 3L, 1L, CHANGES);
+
+        assertEquals(2, trail.flush());
+        assertEquals(List.of(2L, 3L), writtenRequisitionIds());
+    }
+
+    @Test
+    @DisplayName("BLOCK: при заполненном буфере запись ждёт не дольше таймаута и считается потерянной")
+    void record_shouldDropAfterBlockTimeout() {
+        AuditTrail trail = trail(AuditMode.ASYNC, OverflowPolicy.BLOCK);
+
+        trail.record(ChangeType.ITEM_UPDATED, 1L, 1L, CHANGES);
+        trail.record(ChangeType.ITEM_UPDATED, 2L, 1L, CHANGES);
+        trail.record(ChangeType.ITEM_UPDATED, 3L, 1L, CHANGES);
+
+        assertEquals(2, trail.flush());
+        assertEquals(List.of(1L, 2L), writtenRequisitionIds());
+    }
+
+    @Test
+    @DisplayName("После остановки потока запись пишется сразу, а не остаётся в буфере")
+    void record_shouldWriteDirectlyAfterStop() {
+        AuditTrail trail = trail(AuditMode.ASYNC, OverflowPolicy.BLOCK);
+        trail.start();
+        trail.stop();
+
+        trail.record(ChangeType.ITEM_UPDATED, 1L, 1L, CHANGES);
+
+        assertEquals(List.of(1L), writtenRequisitionIds());
+        assertEquals(0, trail.flush());
+    }
+
+    @Test
+    @DisplayName("Останавливается после ожидания текущих запросов веб-сервером")
+    void getPhase_shouldStopAfterWebServerGracefulShutdown() {
+        AuditTrail trail = trail(AuditMode.ASYNC, OverflowPolicy.BLOCK);
+
+        assertTrue(trail.getPhase() < WebServerApplicationContext.GRACEFUL_SHUTDOWN_PHASE);
+    }
+
+    @Test
+    @DisplayName("ASYNC: запись попадает в буфер только после коммита; пустой diff не пишется")
+    void record_shouldEnqueueAfterCommitOnly() {
+        AuditTrail trail = trail(AuditMode.ASYNC, OverflowPolicy.BLOCK);
+        TransactionSynchronizationManager.initSynchronization();
+
+        trail.record(ChangeType.ITEM_UPDATED, 1L, 1L, CHANGES);
+        trail.record(ChangeType.ITEM_UPDATED, 1L, 1L, List.of());
+
+        assertEquals(0, trail.flush());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(1, trail.flush());
+    }
+
+    @Test
+    @DisplayName("SYNC: запись сразу, с traceId из MDC и пользователем system вне запроса")
+    void record_shouldWriteImmediatelyInSyncMode() {
+        AuditTrail trail = trail(AuditMode.SYNC, OverflowPolicy.BLOCK);
+        MDC.put(RequestCorrelationFilter.TRACE_ID_KEY, "trace-1");
+
+        trail.record(ChangeType.STATUS_CHANGED, 7L, null, List.of(new AuditChange("status", "DRAFT", "SUBMITTED")));
+
+        Object[] row = writtenRows().getFirst();
+        assertEquals(7L, row[0]);
+        assertNull(row[1]);
+        assertEquals("STATUS_CHANGED", row[2]);
+        assertEquals("[{\"field\":\"status\",\"from\":\"DRAFT\",\"to\":\"SUBMITTED\"}]", row[3]);
+        assertEquals("system", row[4]);
+        assertEquals("trace-1", row[5]);
+        assertEquals(0, trail.flush());
+    }
+
+    @Test
+    @DisplayName("Ошибка пакета: записи пишутся по одной, теряется только та, что не записывается")
+    void flush_shouldFallBackToSingleRowsWhenBatchFails() {
+        AuditTrail trail = trail(AuditMode.ASYNC, OverflowPolicy.BLOCK);
+        when(jdbcTemplate.batchUpdate(eq(AuditTrail.INSERT), anyList())).thenAnswer(invocation -> {
+            List<Object[]> rows = invocation.getArgument(1);
+            if (rows.stream().anyMatch(row -> row[0].equals(2L))) {
+                throw new DataIntegrityViolationException("bad row");
+            }
+            return new int[rows.size()];
+        });
+
+        trail.record(ChangeType.ITEM_UPDATED, 1L, 1L, CHANGES);
+        trail.record(ChangeType.ITEM_UPDATED, 2L, 1L, CHANGES);
+
+        assertEquals(2, trail.flush());
+        verify(jdbcTemplate, times(3)).batchUpdate(eq(AuditTrail.INSERT), anyList());
+        verify(jdbcTemplate).batchUpdate(eq(AuditTrail.INSERT),
+                argThat((List<Object[]> rows) -> rows.size() == 1 && rows.getFirst()[0].equals(1L)));
+    }
+
+    private AuditTrail trail(AuditMode mode, OverflowPolicy policy) {
+        return new AuditTrail(jdbcTemplate, JsonMapper.builder().build(), true, mode, 2, policy, 50, 10);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object[]> writtenRows() {
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq(AuditTrail.INSERT), rows.capture());
+        return rows.getValue();
+    }
+
+    private List<Long> writtenRequisitionIds() {
+        return writtenRows().stream().map(row -> (Long) row[0]).toList();
+    }
+}
@@ -0,0 +1,75 @@
+package com.tslnkk.skcapi.changefeed;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CommitWatermarkTest {
+
+    @Test
+    @DisplayName("Граница — минимальный незафиксированный ID, без них — следующий за последним")
+    void visibleBefore_shouldStopAtLowestPendingId() {
+        CommitWatermark watermark = new CommitWatermark(4);
+        assertEquals(5, watermark.visibleBefore());
+
+        watermark.register(() -> 5);
+        watermark.register(() -> 6);
+        watermark.complete(6);
+        assertEquals(5, watermark.visibleBefore());
+
+        watermark.complete(5);
+        assertEquals(7, watermark.visibleBefore());
+    }
+
+    @Test
+    @DisplayName("Вставка, ID которой ещё не зарегистрирован, не блокирует чтение и не даёт границе её обогнать")
+    void visibleBefore_shouldHoldBackInsertInProgressWithoutWaiting() throws Exception {
+        CommitWatermark watermark = new CommitWatermark(0);
+        watermark.register(() -> 1);
+        watermark.complete(1);
+        CountDownLatch inserting = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Long> writer = CompletableFuture.supplyAsync(() -> watermark.register(() -> {
+            inserting.countDown();
+            await(release);
+            return 2;
+        }));
+        assertTrue(inserting.await(5, TimeUnit.SECONDS));
+
+        assertEquals(2, CompletableFuture.supplyAsync(watermark::visibleBefore).get(1, TimeUnit.SECONDS));
+
+        release.countDown();
+        assertEquals(2, writer.get(5, TimeUnit.SECONDS));
+        assertEquals(2, watermark.visibleBefore());
+        watermark.complete(2);
+        assertEquals(3, watermark.visibleBefore());
+        assertEquals(0, watermark.pendingCount());
+    }
+
+    @Test
+    @DisplayName("Неудачная вставка снимает заявку и не держит границу")
+    void register_shouldDropReservationWhenInsertFails() {
+        CommitWatermark watermark = new CommitWatermark(7);
+
+        assertThrows(IllegalStateException.class, () -> watermark.register(() -> {
+            throw new IllegalStateException("insert failed");
+        }));
+
+        assertEquals(8, watermark.visibleBefore());
+        assertEquals(0, watermark.pendingCount());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.tslnkk.skcapi.coalesce;
+
+import com.tslnkk.skcapi.domain.RequisitionStatus;
+import com.tslnkk.skcapi.dto.RequisitionDetailResponse;
+import com.tslnkk.skcapi.dto.RequisitionSummaryResponse;
+import com.tslnkk.skcapi.event.RequisitionChangedEvent;
+import com.tslnkk.skcapi.event.RequisitionChangedEvent.ChangeType;
+import com.tslnkk.skcapi.service.RequisitionItemService;
+import com.tslnkk.skcapi.service.RequisitionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.tslnkk.skcapi.coalesce.SingleFlightTest.awaitQuietly;
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RequisitionReadCoalescerTest {
+
+    @Mock
+    private RequisitionService requisitionService;
+
+    @Mock
+    private RequisitionItemService itemService;
+
+    private static RequisitionDetailResponse detail(String status) {
+        return new RequisitionDetailResponse(1L, "ЗК-2026-00001", status, "user-123",
+                BigDecimal.ZERO, null, null, List.of());
+    }
+
+    @Test
+    @DisplayName("Чтение, начатое после коммита записи, не присоединяется к вычислению, начатому до неё")
+    void readAfterCommittedWrite_shouldNotJoinOlderFlight() throws Exception {
+        RequisitionReadCoalescer coalescer = new RequisitionReadCoalescer(requisitionService, itemService, true);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(requisitionService.getById(1L))
+                .thenAnswer(invocation -> {
+                    entered.countDown();
+                    awaitQuietly(release);
+                    return detail("DRAFT");
+                })
+                .thenReturn(detail("SUBMITTED"));
+
+        CompletableFuture<RequisitionDetailResponse> before = CompletableFuture.supplyAsync(() -> coalescer.getById(1L));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        coalescer.onRequisitionChanged(new RequisitionChangedEvent(1L, "ЗК-2026-00001", "user-123",
+                ChangeType.STATUS_CHANGED, RequisitionStatus.SUBMITTED,
+                new RequisitionChangedEvent.State(RequisitionStatus.DRAFT, "user-123", BigDecimal.ZERO),
+                BigDecimal.ZERO, null));
+        RequisitionDetailResponse after = coalescer.getById(1L);
+        release.countDown();
+
+        assertEquals("SUBMITTED", after.status());
+        assertEquals("DRAFT", before.get(5, TimeUnit.SECONDS).status());
+        verify(requisitionService, times(2)).getById(1L);
+    }
+
+    @Test
+    @DisplayName("Одновременные чтения сводки одной заявки дают один вызов сервиса и видны в метрике")
+    void concurrentSummaryReads_shouldBeCoalesced() throws Exception {
+        RequisitionReadCoalescer coalescer = new RequisitionReadCoalescer(requisitionService, itemService, true);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        coalescer.bindTo(registry);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        RequisitionSummaryResponse summary = new RequisitionSummaryResponse(
+                BigDecimal.TEN, BigDecimal.ONE, null, null, 1, "KZT");
+        when(itemService.getSummary(1L)).thenAnswer(invocation -> {
+            entered.countDown();
+            awaitQuietly(release);
+            return summary;
+        });
+
+        CompletableFuture<RequisitionSummaryResponse> first = CompletableFuture.supplyAsync(() -> coalescer.getSummary(1L));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        CompletableFuture<RequisitionSummaryResponse> second = CompletableFuture.supplyAsync(() -> coalescer.getSummary(1L));
+        await().until(() -> calls(registry, "shared") == 1);
+        release.countDown();
+
+        assertSame(summary, first.get(5, TimeUnit.SECONDS));
+        assertSame(summary, second.get(5, TimeUnit.SECONDS));
+        verify(itemService, times(1)).getSummary(1L);
+        assertEquals(1, calls(registry, "executed"));
+    }
+
+    private static double calls(SimpleMeterRegistry registry, String result) {
+        return registry.get("read.coalescing.calls")
+                .tag("endpoint", "summary")
+                .tag("result", result)
+                .functionCounter().count();
+    }
+
+    @Test
+    @DisplayName("Выключенное объединение вызывает сервис напрямую")
+    void disabled_shouldCallServiceDirectly() {
+        RequisitionReadCoalescer coalescer = new RequisitionReadCoalescer(requisitionService, itemService, false);
+        when(requisitionService.getById(1L)).thenReturn(detail("DRAFT"));
+
+        coalescer.getById(1L);
+        coalescer.getById(1L);
+
+        verify(requisitionService, times(2)).getById(1L);
+    }
+}
@@ -0,0 +1,101 @@
+package com.tslnkk.skcapi.coalesce;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    @Test
+    @DisplayName("Одновременные вызовы с одним ключом выполняют вычисление один раз и получают один результат")
+    void concurrentCalls_shouldShareOneExecution() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> flight.execute("key", () -> {
+                executions.incrementAndGet();
+                entered.countDown();
+                awaitQuietly(release);
+                return "value";
+            }), executor);
+            assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+            List<CompletableFuture<String>> followers = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                followers.add(CompletableFuture.supplyAsync(() -> flight.execute("key", () -> {
+                    executions.incrementAndGet();
+                    return "other";
+                }), executor));
+            }
+            await().until(() -> flight.shared() == 5);
+            release.countDown();
+
+            assertEquals("value", leader.get(5, TimeUnit.SECONDS));
+            for (CompletableFuture<String> follower : followers) {
+                assertEquals("value", follower.get(5, TimeUnit.SECONDS));
+            }
+        }
+        assertEquals(1, executions.get());
+        assertEquals(1, flight.executed());
+        assertEquals(0, flight.inFlight());
+    }
+
+    @Test
+    @DisplayName("Исключение ведущего вызова получают и ожидающие")
+    void exception_shouldPropagateToFollowers() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalStateException failure = new IllegalStateException("boom");
+
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> flight.execute("key", () -> {
+            entered.countDown();
+            awaitQuietly(release);
+            throw failure;
+        }));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Throwable> follower = CompletableFuture.supplyAsync(() -> assertThrows(
+                IllegalStateException.class, () -> flight.execute("key", () -> "unused")));
+        await().until(() -> flight.shared() == 1);
+        release.countDown();
+
+        assertSame(failure, follower.get(5, TimeUnit.SECONDS));
+        assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Результат не кэшируется: последовательные вызовы и разные ключи вычисляются отдельно")
+    void sequentialCalls_shouldExecuteEachTime() {
+        SingleFlight<String, Integer> flight = new SingleFlight<>();
+        AtomicInteger counter = new AtomicInteger();
+
+        assertEquals(1, flight.execute("a", counter::incrementAndGet));
+        assertEquals(2, flight.execute("a", counter::incrementAndGet));
+        assertEquals(3, flight.execute("b", counter::incrementAndGet));
+        assertEquals(3, flight.executed());
+        assertEquals(0, flight.shared());
+    }
+
+    static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
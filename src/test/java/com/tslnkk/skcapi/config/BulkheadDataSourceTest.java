@@ -0,0 +1,94 @@
+package com.tslnkk.skcapi.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkheadDataSourceTest {
+
+    @Mock
+    private DataSource target;
+
+    @Mock
+    private Connection connection;
+
+    @Test
+    @DisplayName("Разрешение возвращается при закрытии соединения, повторный close не выдаёт лишнего")
+    void close_shouldReleasePermitExactlyOnce() throws SQLException {
+        when(target.getConnection()).thenReturn(connection);
+        BulkheadDataSource dataSource = new BulkheadDataSource(target, 2, 50);
+
+        Connection first = dataSource.getConnection();
+        assertEquals(1, dataSource.availablePermits());
+
+        first.close();
+        first.close();
+
+        assertEquals(2, dataSource.availablePermits());
+        verify(connection, times(2)).close();
+    }
+
+    @Test
+    @DisplayName("Прочие вызовы передаются настоящему соединению без освобождения разрешения")
+    void proxy_shouldDelegateOtherCalls() throws SQLException {
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.getAutoCommit()).thenReturn(false);
+        BulkheadDataSource dataSource = new BulkheadDataSource(target, 1, 50);
+
+        Connection proxy = dataSource.getConnection();
+
+        assertFalse(proxy.getAutoCommit());
+        assertEquals(0, dataSource.availablePermits());
+    }
+
+    @Test
+    @DisplayName("Без свободного разрешения за acquire-timeout — PermitTimeoutException с собственным SQLState")
+    void getConnection_shouldTimeOutWhenNoPermit() throws SQLException {
+        when(target.getConnection()).thenReturn(connection);
+        BulkheadDataSource dataSource = new BulkheadDataSource(target, 1, 50);
+        dataSource.getConnection();
+
+        BulkheadDataSource.PermitTimeoutException ex = assertThrows(
+                BulkheadDataSource.PermitTimeoutException.class, dataSource::getConnection);
+
+        assertEquals(BulkheadDataSource.PERMIT_TIMEOUT_SQL_STATE, ex.getSQLState());
+        verify(target, times(1)).getConnection();
+    }
+
+    @Test
+    @DisplayName("Ошибка пула возвращает разрешение и не считается таймаутом bulkhead-а")
+    void getConnection_shouldReleasePermitWhenDelegateFails() throws SQLException {
+        when(target.getConnection()).thenThrow(new SQLException("Connection refused", "08001"));
+        BulkheadDataSource dataSource = new BulkheadDataSource(target, 1, 50);
+
+        SQLException ex = assertThrows(SQLException.class, dataSource::getConnection);
+
+        assertFalse(BulkheadDataSource.isPermitTimeout(ex));
+        assertEquals(1, dataSource.availablePermits());
+    }
+
+    @Test
+    @DisplayName("Таймаут bulkhead-а распознаётся в цепочке причин, прочие ошибки соединения — нет")
+    void isPermitTimeout_shouldWalkCauseChain() {
+        CannotCreateTransactionException busy = new CannotCreateTransactionException("Could not open JPA EntityManager",
+                new RuntimeException(new BulkheadDataSource.PermitTimeoutException(10)));
+        CannotCreateTransactionException down = new CannotCreateTransactionException("Could not open JPA EntityManager",
+                new SQLTransientConnectionException("HikariPool-1 - Connection is not available"));
+
+        assertTrue(BulkheadDataSource.isPermitTimeout(busy));
+        assertFalse(BulkheadDataSource.isPermitTimeout(down));
+        assertFalse(BulkheadDataSource.isPermitTimeout(null));
+    }
+}
@@ -0,0 +1,131 @@
+package com.tslnkk.skcapi.event;
+
+import com.tslnkk.skcapi.domain.RequisitionStatus;
+import com.tslnkk.skcapi.event.RequisitionChangedEvent.ChangeType;
+import com.tslnkk.skcapi.exception.BusinessException;
+import com.tslnkk.skcapi.exception.ErrorCode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequisitionEventBroadcasterTest {
+
+    private final RequisitionEventBroadcaster broadcaster = new RequisitionEventBroadcaster(
+            JsonMapper.builder().build(), Clock.fixed(Instant.parse("2026-10-19T10:00:00Z"), ZoneOffset.UTC),
+            2, 3, Duration.ofMinutes(1));
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.destroy();
+    }
+
+    @Test
+    @DisplayName("Подписчик получает только события своей заявки или организатора, по порядку")
+    void onRequisitionChanged_shouldDeliverMatchingEventsInOrder() {
+        RecordingEmitter all = new RecordingEmitter();
+        RecordingEmitter organizer = new RecordingEmitter();
+        RecordingEmitter requisition = new RecordingEmitter();
+        broadcaster.register(all, null, null);
+        broadcaster.register(organizer, "user-456", null);
+        broadcaster.register(requisition, null, 1L);
+
+        broadcaster.onRequisitionChanged(event(1L, "user-123", ChangeType.ITEM_ADDED));
+        broadcaster.onRequisitionChanged(event(2L, "user-456", ChangeType.STATUS_CHANGED));
+
+        await().until(() -> all.frames.size() == 3 && organizer.frames.size() == 2 && requisition.frames.size() == 2);
+        assertTrue(all.frames.get(1).contains("event:ITEM_ADDED"));
+        assertTrue(all.frames.get(2).contains("event:STATUS_CHANGED"));
+        assertTrue(organizer.frames.get(1).contains("\"organizerId\":\"user-456\""));
+        assertTrue(requisition.frames.get(1).contains("\"requisitionId\":1"));
+        assertTrue(requisition.frames.get(1).contains("\"totalLotSumNoNds\":1500.00"));
+    }
+
+    @Test
+    @DisplayName("Медленный подписчик отключается при заполнении буфера, запись не ждёт, остальные получают всё")
+    void onRequisitionChanged_shouldDropSlowSubscriberWithoutBlocking() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(release);
+        RecordingEmitter fast = new RecordingEmitter();
+        broadcaster.register(slow, null, null);
+        broadcaster.register(fast, null, null);
+
+        for (int i = 0; i < 5; i++) {
+            broadcaster.onRequisitionChanged(event(1L, "user-123", ChangeType.ITEM_UPDATED));
+            int delivered = i + 2;
+            await().until(() -> fast.frames.size() == delivered);
+        }
+
+        assertEquals(1, broadcaster.overflowedCount());
+        assertEquals(1, broadcaster.subscriberCount());
+        release.countDown();
+        assertTrue(slow.completed.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Сверх лимита подписчиков — SERVER_OVERLOADED")
+    void subscribe_shouldRejectBeyondMaxSubscribers() {
+        for (int i = 0; i < 3; i++) {
+            broadcaster.subscribe(null, null);
+        }
+
+        BusinessException ex = assertThrows(BusinessException.class, () -> broadcaster.subscribe(null, null));
+        assertEquals(ErrorCode.SERVER_OVERLOADED, ex.getErrorCode());
+    }
+
+    private static RequisitionChangedEvent event(Long id, String organizerId, ChangeType type) {
+        return new RequisitionChangedEvent(id, "ЗК-2026-0000" + id, organizerId, type, RequisitionStatus.DRAFT,
+                null, new BigDecimal("1500.00"), null);
+    }
+
+
+    /** Записывает отправленные кадры; с {@code release} блокирует первую отправку, как клиент, не читающий сокет. */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        final List<String> frames = new CopyOnWriteArrayList<>();
+        final CountDownLatch completed = new CountDownLatch(1);
+        private final CountDownLatch release;
+
+        RecordingEmitter() {
+            this(new CountDownLatch(0));
+        }
+
+        RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+            frames.add(builder.build().stream()
+                    .map(part -> String.valueOf(part.getData()))
+                    .collect(Collectors.joining()));
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+    }
+}
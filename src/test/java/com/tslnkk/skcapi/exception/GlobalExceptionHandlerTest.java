@@ -0,0 +1,43 @@
+package com.tslnkk.skcapi.exception;
+
+import com.tslnkk.skcapi.config.BulkheadDataSource;
+import com.tslnkk.skcapi.dto.ErrorResponse;
+import com.tslnkk.skcapi.metrics.LockConflictMetrics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class GlobalExceptionHandlerTest {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler(mock(LockConflictMetrics.class));
+
+    @Test
+    @DisplayName("Таймаут bulkhead-а — 503 DATABASE_BUSY с Retry-After")
+    void cannotCreateTransaction_shouldMapBulkheadTimeoutTo503() {
+        CannotCreateTransactionException ex = new CannotCreateTransactionException("Could not open JPA EntityManager",
+                new BulkheadDataSource.PermitTimeoutException(10_000));
+
+        ResponseEntity<ErrorResponse> response = handler.handleCannotCreateTransaction(ex);
+
+        assertEquals(503, response.getStatusCode().value());
+        assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(ErrorCode.DATABASE_BUSY.name(), response.getBody().errorCode());
+    }
+
+    @Test
+    @DisplayName("Недоступная БД не маскируется под 503 — исключение уходит в стандартную обработку 500")
+    void cannotCreateTransaction_shouldRethrowOtherCauses() {
+        CannotCreateTransactionException ex = new CannotCreateTransactionException("Could not open JPA EntityManager",
+                new SQLException("Wrong user name or password", "28000"));
+
+        assertSame(ex, assertThrows(CannotCreateTransactionException.class,
+                () -> handler.handleCannotCreateTransaction(ex)));
+    }
+}
@@ -0,0 +1,59 @@
+package com.tslnkk.skcapi.health;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyWindowTest {
+
+    @Test
+    @DisplayName("Пустое окно: ноль запросов, p99 = 0")
+    void emptyWindow_shouldReportNoSamples() {
+        LatencyWindow window = new LatencyWindow(16);
+
+        assertEquals(new LatencyWindow.Snapshot(0, 0), window.snapshot(0));
+    }
+
+    @Test
+    @DisplayName("p99 из 100 запросов — 99-й по возрастанию")
+    void snapshot_shouldReturnNearestRankP99() {
+        LatencyWindow window = new LatencyWindow(128);
+        for (int i = 100; i >= 1; i--) {
+            window.record(i, 1_000);
+        }
+
+        LatencyWindow.Snapshot snapshot = window.snapshot(0);
+
+        assertEquals(100, snapshot.samples());
+        assertEquals(99, snapshot.p99Nanos());
+    }
+
+    @Test
+    @DisplayName("Запросы, завершившиеся до начала окна, не учитываются")
+    void snapshot_shouldIgnoreRequestsOutsideWindow() {
+        LatencyWindow window = new LatencyWindow(16);
+        window.record(5_000, 100);
+        window.record(10, 200);
+        window.record(20, 300);
+
+        LatencyWindow.Snapshot snapshot = window.snapshot(200);
+
+        assertEquals(2, snapshot.samples());
+        assertEquals(20, snapshot.p99Nanos());
+    }
+
+    @Test
+    @DisplayName("Ёмкость округляется до степени двойки, старые значения перезаписываются")
+    void record_shouldOverwriteOldestWhenFull() {
+        LatencyWindow window = new LatencyWindow(3);
+        assertEquals(4, window.capacity());
+
+        window.record(1_000, 1);
+        for (int i = 0; i < 4; i++) {
+            window.record(7, 2);
+        }
+
+        assertEquals(new LatencyWindow.Snapshot(4, 7), window.snapshot(0));
+    }
+}
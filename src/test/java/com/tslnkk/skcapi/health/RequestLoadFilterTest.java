@@ -0,0 +1,23 @@
+package com.tslnkk.skcapi.health;
+
+import com.tslnkk.skcapi.init.WarmupRunner;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestLoadFilterTest {
+
+    private final RequestLoadFilter filter = new RequestLoadFilter(16);
+
+    @Test
+    @DisplayName("Actuator не учитывается, клиентский X-Warmup без токена процесса — учитывается")
+    void shouldNotFilter_shouldIgnoreSpoofedWarmupHeader() {
+        assertTrue(filter.shouldNotFilter(new MockHttpServletRequest("GET", "/actuator/health")));
+
+        MockHttpServletRequest spoofed = new MockHttpServletRequest("GET", "/api/v1/requisitions");
+        spoofed.addHeader(WarmupRunner.WARMUP_HEADER, "true");
+        assertFalse(filter.shouldNotFilter(spoofed));
+    }
+}
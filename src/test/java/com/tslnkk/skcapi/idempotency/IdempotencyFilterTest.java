@@ -0,0 +1,126 @@
+package com.tslnkk.skcapi.idempotency;
+
+import com.tslnkk.skcapi.repository.IdempotencyRecordRepository;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class IdempotencyFilterTest {
+
+    private static final String BODY = "{\"organizerId\": \"user-123\"}";
+
+    private final IdempotencyFilter filter = new IdempotencyFilter(
+            new IdempotencyStore(mock(IdempotencyRecordRepository.class), false, Duration.ofHours(1), 100,
+                    Clock.systemUTC()),
+            JsonMapper.builder().build(), true, 50, 1024);
+
+    @Test
+    @DisplayName("Неблокирующее чтение сохранённого тела: onDataAvailable, затем onAllDataRead")
+    void cachedBody_shouldSupportReadListener() throws Exception {
+        List<String> calls = new ArrayList<>();
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+
+        filter.doFilter(request(BODY), new MockHttpServletResponse(), (request, response) -> {
+            ServletInputStream input = request.getInputStream();
+            input.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    calls.add("data");
+                    while (input.isReady() && !input.isFinished()) {
+                        read.write(input.read());
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    calls.add("done");
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    calls.add("error");
+                }
+            });
+        });
+
+        assertEquals(List.of("data", "done"), calls);
+        assertEquals(BODY, read.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Тело больше лимита — 413 до вызова контроллера")
+    void oversizedBody_shouldBeRejectedBeforeChain() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request("x".repeat(1025)), response, (request, ignored) -> fail("chain must not run"));
+
+        assertEquals(413, response.getStatus());
+        assertTrue(response.getContentAsString().contains("PAYLOAD_TOO_LARGE"));
+    }
+
+    @Test
+    @DisplayName("Повтор ждёт выполняющийся первый запрос не дольше таймаута, затем — 409 с Retry-After")
+    void duplicate_shouldGetConflictWhenWaitTimesOut() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> {
+            try {
+                filter.doFilter(request(BODY), new MockHttpServletResponse(), (request, response) -> {
+                    entered.countDown();
+                    awaitQuietly(release);
+                });
+            } catch (IOException | ServletException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(entered.await(10, TimeUnit.SECONDS));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        try {
+            filter.doFilter(request(BODY), response, (request, ignored) -> fail("chain must not run"));
+        } finally {
+            release.countDown();
+        }
+
+        assertEquals(409, response.getStatus());
+        assertEquals("1", response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertTrue(response.getContentAsString().contains("IDEMPOTENCY_REQUEST_IN_PROGRESS"));
+        first.get(10, TimeUnit.SECONDS);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static MockHttpServletRequest request(String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/requisitions");
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "key-1");
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
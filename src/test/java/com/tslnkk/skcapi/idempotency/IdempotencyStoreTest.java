@@ -0,0 +1,119 @@
+package com.tslnkk.skcapi.idempotency;
+
+import com.tslnkk.skcapi.domain.IdempotencyRecord;
+import com.tslnkk.skcapi.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyStoreTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-15T10:00:00Z");
+    private static final IdempotentResponse CREATED = new IdempotentResponse(
+            201, "application/json", "/api/v1/requisitions/7", "{\"id\":7}".getBytes(StandardCharsets.UTF_8), "body-1");
+
+    @Mock
+    private IdempotencyRecordRepository repository;
+
+    private IdempotencyStore store(boolean persistent, int maxEntries) {
+        return new IdempotencyStore(repository, persistent, Duration.ofHours(1), maxEntries,
+                Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    @DisplayName("Первый запрос выполняет владелец, повтор ждёт его ответ")
+    void begin_shouldMakeDuplicateWaitForOwner() {
+        IdempotencyStore store = store(false, 10);
+
+        IdempotencyStore.Claim first = store.begin("key", "body-1");
+        IdempotencyStore.Claim duplicate = store.begin("key", "body-1");
+
+        assertTrue(first.owner());
+        assertFalse(duplicate.owner());
+        assertSame(first.entry(), duplicate.entry());
+        assertFalse(duplicate.entry().response().isDone());
+
+        store.complete("key", first.entry(), CREATED);
+
+        assertSame(CREATED, duplicate.entry().response().join());
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("Отказ от ключа будит ожидающих пустым ответом, следующий запрос снова владелец")
+    void abandon_shouldReleaseKey() {
+        IdempotencyStore store = store(false, 10);
+        IdempotencyStore.Claim first = store.begin("key", "body-1");
+        IdempotencyStore.Claim duplicate = store.begin("key", "body-1");
+
+        store.abandon("key", first.entry());
+
+        assertNull(duplicate.entry().response().join());
+        assertTrue(store.begin("key", "body-1").owner());
+    }
+
+    @Test
+    @DisplayName("Заполненная выполняющимися запросами карта не растёт: новый ключ не отслеживается")
+    void begin_shouldNotTrackKeysBeyondMaxEntries() {
+        IdempotencyStore store = store(false, 1);
+        store.begin("key-1", "body-1");
+
+        IdempotencyStore.Claim claim = store.begin("key-2", "body-2");
+
+        assertNull(claim.entry());
+        assertTrue(claim.owner());
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    @DisplayName("С таблицей: ответ сохраняется и находится после рестарта")
+    void persistent_shouldSaveAndReplayFromTable() {
+        IdempotencyStore store = store(true, 10);
+        when(repository.findById("key")).thenReturn(Optional.empty());
+        IdempotencyStore.Claim first = store.begin("key", "body-1");
+        store.complete("key", first.entry(), CREATED);
+
+        ArgumentCaptor<IdempotencyRecord> saved = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        verify(repository).save(saved.capture());
+        assertEquals(201, saved.getValue().getStatus());
+        assertEquals("/api/v1/requisitions/7", saved.getValue().getLocation());
+        assertEquals(NOW.plus(Duration.ofHours(1)), saved.getValue().getExpiresAt());
+
+        IdempotencyStore restarted = store(true, 10);
+        when(repository.findById("key")).thenReturn(Optional.of(saved.getValue()));
+
+        IdempotencyStore.Claim replay = restarted.begin("key", "body-1");
+
+        assertFalse(replay.owner());
+        IdempotentResponse response = replay.entry().response().join();
+        assertEquals(201, response.status());
+        assertArrayEquals(CREATED.body(), response.body());
+        assertEquals("body-1", response.requestHash());
+    }
+
+    @Test
+    @DisplayName("С таблицей: истёкшая строка игнорируется")
+    void persistent_shouldIgnoreExpiredRecord() {
+        IdempotencyStore store = store(true, 10);
+        when(repository.findById("key")).thenReturn(Optional.of(IdempotencyRecord.builder()
+                .keyHash("key").requestHash("body-1").status(201)
+                .expiresAt(NOW.minusSeconds(1))
+                .build()));
+
+        assertTrue(store.begin("key", "body-1").owner());
+    }
+}
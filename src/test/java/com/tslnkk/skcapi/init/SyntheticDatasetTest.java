@@ -0,0 +1,101 @@
+package com.tslnkk.skcapi.init;
+
+import com.tslnkk.skcapi.domain.RequisitionStatus;
+import com.tslnkk.skcapi.reference.ReferenceDataService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SyntheticDatasetTest {
+
+    private ReferenceDataService referenceDataService;
+
+    @BeforeEach
+    void setUp() {
+        referenceDataService = new ReferenceDataService();
+        referenceDataService.init();
+    }
+
+    private SyntheticDataset dataset(long seed, double outlierRate) {
+        return new SyntheticDataset(seed, 50, 6, outlierRate, 500, referenceDataService.getAllNomenclatures());
+    }
+
+    @Test
+    @DisplayName("Один и тот же seed даёт одни и те же заявки")
+    void sameSeed_shouldProduceSameData() {
+        SyntheticDataset first = dataset(7, 0.01);
+        SyntheticDataset second = dataset(7, 0.01);
+
+        LongStream.range(0, 200).forEach(i -> assertEquals(first.requisition(i), second.requisition(i)));
+    }
+
+    @Test
+    @DisplayName("Разные seed дают разные данные")
+    void differentSeed_shouldProduceDifferentData() {
+        SyntheticDataset first = dataset(7, 0.01);
+        SyntheticDataset second = dataset(8, 0.01);
+
+        long differing = LongStream.range(0, 50)
+                .filter(i -> !first.requisition(i).equals(second.requisition(i)))
+                .count();
+        assertTrue(differing > 40);
+    }
+
+    @Test
+    @DisplayName("Заявка-выброс: коды ТРУ уникальны в пределах заявки, итог равен сумме позиций")
+    void outlier_shouldKeepCodesUniqueAndTotalConsistent() {
+        SyntheticDataset dataset = dataset(7, 1.0);
+
+        SyntheticDataset.Requisition requisition = dataset.requisition(0);
+
+        assertEquals(500, requisition.items().size());
+        Set<String> codes = new HashSet<>();
+        requisition.items().forEach(item -> assertTrue(codes.add(item.truCode()), item.truCode()));
+        BigDecimal sum = requisition.items().stream()
+                .map(item -> item.price().multiply(item.count()))
+                .reduce(BigDecimal.ZERO, BigDecimal::add)
+                .setScale(2, RoundingMode.HALF_UP);
+        assertEquals(sum, requisition.total());
+        requisition.items().forEach(item -> {
+            String baseCode = item.truCode().substring(0, 7);
+            var nomenclature = referenceDataService.findNomenclature(baseCode).orElseThrow();
+            assertEquals(nomenclature.name(), item.truName());
+            assertTrue(nomenclature.allowedUnits().contains(item.mkei()));
+        });
+    }
+
+    @Test
+    @DisplayName("Распределения: черновиков больше всего, организаторы неравномерны, в среднем ~6 позиций")
+    void distributions_shouldBeSkewed() {
+        SyntheticDataset dataset = dataset(42, 0);
+        Map<RequisitionStatus, Integer> statuses = new EnumMap<>(RequisitionStatus.class);
+        Map<String, Integer> organizers = new HashMap<>();
+        long items = 0;
+        int n = 5_000;
+
+        for (long i = 0; i < n; i++) {
+            SyntheticDataset.Requisition requisition = dataset.requisition(i);
+            statuses.merge(requisition.status(), 1, Integer::sum);
+            organizers.merge(requisition.organizerId(), 1, Integer::sum);
+            items += requisition.items().size();
+        }
+
+        assertEquals(RequisitionStatus.DRAFT,
+                statuses.entrySet().stream().max(Map.Entry.comparingByValue()).orElseThrow().getKey());
+        int top = organizers.values().stream().max(Integer::compare).orElseThrow();
+        assertTrue(top > 5 * n / 50, "Самый активный организатор должен создавать заметно больше среднего");
+        double mean = (double) items / n;
+        assertTrue(mean > 5 && mean < 7, "Среднее число позиций: " + mean);
+    }
+}
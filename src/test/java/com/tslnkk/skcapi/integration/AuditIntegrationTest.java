@@ -0,0 +1,149 @@
+package com.tslnkk.skcapi.integration;
+
+import com.tslnkk.skcapi.dto.AuditChange;
+import com.tslnkk.skcapi.dto.AuditEntryResponse;
+import com.tslnkk.skcapi.dto.AuditPageResponse;
+import com.tslnkk.skcapi.dto.ItemResponse;
+import com.tslnkk.skcapi.event.RequisitionChangedEvent.ChangeType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.client.RestTestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Журнал аудита: пополевые изменения с пользователем и traceId, постраничное чтение,
+ * отклонённые изменения в журнал не попадают. Запись асинхронная — тесты ждут её появления.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class AuditIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    private RestTestClient admin;
+
+    @BeforeEach
+    void setUp() {
+        admin = RestTestClient.bindToServer()
+                .baseUrl("http://localhost:" + port)
+                .defaultHeaders(headers -> headers.setBasicAuth("admin", "admin"))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Добавление, PATCH и переход пишутся пополевыми изменениями, новые первыми")
+    void audit_shouldRecordFieldDiffsWithPrincipalAndTraceId() {
+        ItemResponse item = admin.post().uri("/api/v1/requisitions/1/items")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("""
+                        {"nomenclatureCode": "TRU-005", "nomenclatureName": "Скрепки канцелярские",
+                         "quantity": 10, "unitCode": "PACK", "priceWithoutVat": 100.00,
+                         "desiredDeliveryDate": "2030-01-01"}
+                        """)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(ItemResponse.class)
+                .returnResult()
+                .getResponseBody();
+
+        admin.patch().uri("/api/v1/requisitions/1/items/{itemId}", item.id())
+                .header("X-Request-Id", "audit-trace-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("""
+                        {"quantity": 25, "comment": null, "version": %d}
+                        """.formatted(item.version()))
+                .exchange()
+                .expectStatus().isOk();
+
+        transition("SUBMITTED").expectStatus().isOk();
+
+        AuditPageResponse page = awaitEntries(3, 2);
+        assertThat(page.totalPages()).isEqualTo(2);
+        assertThat(page.entries()).extracting(AuditEntryResponse::action)
+                .containsExactly(ChangeType.STATUS_CHANGED, ChangeType.ITEM_UPDATED);
+        assertThat(page.entries().getFirst().changes())
+                .containsExactly(new AuditChange("status", "DRAFT", "SUBMITTED"));
+
+        AuditEntryResponse patch = page.entries().get(1);
+        assertThat(patch.itemId()).isEqualTo(item.id());
+        assertThat(patch.principal()).isEqualTo("admin");
+        assertThat(patch.traceId()).isEqualTo("audit-trace-1");
+        assertThat(patch.changes()).containsExactly(new AuditChange("quantity", "10", "25"));
+
+        AuditPageResponse last = audit(1, 2);
+        assertThat(last.entries()).singleElement().satisfies(created -> {
+            assertThat(created.action()).isEqualTo(ChangeType.ITEM_ADDED);
+            assertThat(created.changes()).contains(
+                    new AuditChange("nomenclatureCode", null, "TRU-005"),
+                    new AuditChange("priceWithoutVat", null, "100"));
+        });
+    }
+
+    @Test
+    @DisplayName("Отклонённый переход в журнал не попадает")
+    void audit_shouldSkipRejectedChanges() {
+        transition("CLOSED").expectStatus().isBadRequest();
+        admin.patch().uri("/api/v1/requisitions/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("""
+                        {"organizerId": "user-456"}
+                        """)
+                .exchange()
+                .expectStatus().isOk();
+
+        AuditPageResponse page = awaitEntries(1, 50);
+        assertThat(page.entries()).singleElement().satisfies(entry -> {
+            assertThat(entry.action()).isEqualTo(ChangeType.UPDATED);
+            assertThat(entry.changes()).containsExactly(new AuditChange("organizerId", "user-123", "user-456"));
+        });
+    }
+
+    @Test
+    @DisplayName("Клиентский заголовок X-Warmup не отключает аудит")
+    void audit_shouldRecordChangesWithSpoofedWarmupHeader() {
+        admin.patch().uri("/api/v1/requisitions/1")
+                .header("X-Warmup", "true")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("""
+                        {"organizerId": "user-456"}
+                        """)
+                .exchange()
+                .expectStatus().isOk();
+
+        AuditPageResponse page = awaitEntries(1, 50);
+        assertThat(page.entries()).singleElement()
+                .extracting(AuditEntryResponse::action).isEqualTo(ChangeType.UPDATED);
+    }
+
+    private RestTestClient.ResponseSpec transition(String targetStatus) {
+        return admin.post().uri("/api/v1/requisitions/1/transition")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("""
+                        {"targetStatus": "%s"}
+                        """.formatted(targetStatus))
+                .exchange();
+    }
+
+    private AuditPageResponse audit(int page, int size) {
+        return admin.get().uri("/api/v1/requisitions/1/audit?page={page}&size={size}", page, size)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(AuditPageResponse.class)
+                .returnResult()
+                .getResponseBody();
+    }
+
+    private AuditPageResponse awaitEntries(long expected, int size) {
+        AuditPageResponse page = await().until(() -> audit(0, size), result -> result.totalElements() >= expected);
+        assertThat(page.totalElements()).isEqualTo(expected);
+        return page;
+    }
+}
@@ -0,0 +1,172 @@
+package com.tslnkk.skcapi.integration;
+
+import com.tslnkk.skcapi.repository.PurchaseRequisitionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.client.RestTestClient;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@code POST /api/v1/batch}: операции по порядку, ссылки на результаты, транзакционный режим, NDJSON-ответ.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class BatchIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Autowired
+    private PurchaseRequisitionRepository requisitionRepository;
+
+    private RestTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = RestTestClient.bindToServer()
+                .baseUrl("http://localhost:" + port)
+                .defaultHeaders(headers -> headers.setBasicAuth("admin", "admin"))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Создать заявку, две позиции, изменить позицию по ссылке на версию и получить сводку — один запрос")
+    void batch_shouldExecuteOperationsWithReferences() {
+        List<JsonNode> lines = batch("""
+                {
+                    "operations": [
+                        {"ref": "req", "op": "CREATE_REQUISITION", "body": {"organizerId": "user-batch"}},
+                        {"ref": "paper", "op": "CREATE_ITEM", "requisitionId": "$req.id", "body": %s},
+                        {"op": "CREATE_ITEM", "requisitionId": "$req.id", "body": %s},
+                        {"op": "PATCH_ITEM", "requisitionId": "$req.id", "itemId": "$paper.id",
+                         "body": {"quantity": 20, "version": "$paper.version"}},
+                        {"op": "GET_SUMMARY", "requisitionId": "$req.id"}
+                    ]
+                }
+                """.formatted(item("TRU-005", "Скрепки канцелярские", "PACK"),
+                item("TRU-002", "Картридж для принтера", "PIECE")));
+
+        assertThat(lines).hasSize(6);
+        assertThat(lines.stream().limit(5).map(line -> line.get("status").asInt()))
+                .containsExactly(201, 201, 201, 200, 200);
+        long requisitionId = lines.get(0).get("body").get("id").asLong();
+        assertThat(requisitionRepository.findById(requisitionId)).isPresent();
+        assertThat(lines.get(3).get("body").get("quantity").asInt()).isEqualTo(20);
+        assertThat(lines.get(4).get("body").get("itemCount").asInt()).isEqualTo(2);
+        JsonNode summary = lines.get(5);
+        assertThat(summary.get("committed").asBoolean()).isTrue();
+        assertThat(summary.get("succeeded").asInt()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Транзакционный пакет: ошибка откатывает уже выполненные операции, остальные не выполняются")
+    void transactionalBatch_shouldRollBackOnFailure() {
+        long before = requisitionRepository.count();
+
+        List<JsonNode> lines = batch("""
+                {
+                    "transactional": true,
+                    "operations": [
+                        {"ref": "req", "op": "CREATE_REQUISITION", "body": {"organizerId": "user-batch"}},
+                        {"op": "CREATE_ITEM", "requisitionId": "$req.id", "body": %1$s},
+                        {"op": "CREATE_ITEM", "requisitionId": "$req.id", "body": %1$s},
+                        {"op": "GET_SUMMARY", "requisitionId": "$req.id"}
+                    ]
+                }
+                """.formatted(item("TRU-005", "Скрепки канцелярские", "PACK")));
+
+        assertThat(lines).hasSize(5);
+        assertThat(lines.get(0).get("error").get("errorCode").asString()).isEqualTo("BATCH_ROLLED_BACK");
+        assertThat(lines.get(1).get("error").get("errorCode").asString()).isEqualTo("BATCH_ROLLED_BACK");
+        assertThat(lines.get(2).get("status").asInt()).isEqualTo(400);
+        assertThat(lines.get(2).get("error").get("errorCode").asString())
+                .isEqualTo("DUPLICATE_NOMENCLATURE_IN_REQUISITION");
+        assertThat(lines.get(3).get("error").get("errorCode").asString()).isEqualTo("BATCH_OPERATION_SKIPPED");
+        assertThat(lines.get(4).get("committed").asBoolean()).isFalse();
+        assertThat(requisitionRepository.count()).isEqualTo(before);
+    }
+
+    @Test
+    @DisplayName("Без транзакции: операция, зависящая от упавшей, пропускается, независимые выполняются")
+    void nonTransactionalBatch_shouldSkipOnlyDependents() {
+        List<JsonNode> lines = batch("""
+                {
+                    "operations": [
+                        {"ref": "bad", "op": "CREATE_ITEM", "requisitionId": 999999, "body": %s},
+                        {"op": "PATCH_ITEM", "requisitionId": 999999, "itemId": "$bad.id",
+                         "body": {"quantity": 2, "version": 0}},
+                        {"op": "GET_REQUISITION", "requisitionId": 1},
+                        {"op": "GET_SUMMARY", "requisitionId": "$missing.id"}
+                    ]
+                }
+                """.formatted(item("TRU-005", "Скрепки канцелярские", "PACK")));
+
+        assertThat(lines).hasSize(5);
+        assertThat(lines.get(0).get("error").get("errorCode").asString()).isEqualTo("REQUISITION_NOT_FOUND");
+        assertThat(lines.get(1).get("status").asInt()).isEqualTo(424);
+        assertThat(lines.get(1).get("error").get("errorCode").asString()).isEqualTo("BATCH_OPERATION_SKIPPED");
+        assertThat(lines.get(2).get("status").asInt()).isEqualTo(200);
+        assertThat(lines.get(2).get("body").get("id").asLong()).isEqualTo(1);
+        assertThat(lines.get(3).get("error").get("errorCode").asString()).isEqualTo("BATCH_INVALID_REFERENCE");
+        JsonNode summary = lines.get(4);
+        assertThat(summary.get("succeeded").asInt()).isEqualTo(1);
+        assertThat(summary.get("failed").asInt()).isEqualTo(2);
+        assertThat(summary.get("skipped").asInt()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Невалидное тело операции — VALIDATION_ERROR в строке операции; пустой пакет — 400")
+    void invalidInput_shouldBeReported() {
+        List<JsonNode> lines = batch("""
+                {"operations": [{"op": "CREATE_REQUISITION", "body": {"organizerId": ""}}]}
+                """);
+        assertThat(lines.get(0).get("status").asInt()).isEqualTo(400);
+        assertThat(lines.get(0).get("error").get("errorCode").asString()).isEqualTo("VALIDATION_ERROR");
+        assertThat(lines.get(0).get("error").get("field").asString()).isEqualTo("organizerId");
+
+        client.post().uri("/api/v1/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("{\"operations\": []}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errorCode").isEqualTo("VALIDATION_ERROR");
+    }
+
+    private List<JsonNode> batch(String body) {
+        String response = client.post().uri("/api/v1/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class)
+                .returnResult().getResponseBody();
+        return Arrays.stream(response.split("\n"))
+                .map(jsonMapper::readTree)
+                .toList();
+    }
+
+    private static String item(String nomenclatureCode, String name, String unitCode) {
+        return """
+                {"nomenclatureCode": "%s", "nomenclatureName": "%s", "quantity": 5, "unitCode": "%s",
+                 "priceWithoutVat": 100.00, "desiredDeliveryDate": "%s"}
+                """.formatted(nomenclatureCode, name, unitCode, LocalDate.now().plusDays(10));
+    }
+}
@@ -0,0 +1,127 @@
+package com.tslnkk.skcapi.integration;
+
+import com.tslnkk.skcapi.changefeed.ChangeFeedService;
+import com.tslnkk.skcapi.dto.ChangeFeedResponse;
+import com.tslnkk.skcapi.dto.ChangeResponse;
+import com.tslnkk.skcapi.event.RequisitionChangedEvent.ChangeType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.client.RestTestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@code GET /api/v1/changes}: изменения по курсору, только зафиксированные, со сжатием.
+ * Срок хранения 0 — сжатие, вызванное в тесте, затрагивает все записи.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "app.changes.retention-hours=0")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class ChangeFeedIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    private RestTestClient admin;
+
+    @BeforeEach
+    void setUp() {
+        admin = RestTestClient.bindToServer()
+                .baseUrl("http://localhost:" + port)
+                .defaultHeaders(headers -> headers.setBasicAuth("admin", "admin"))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Изменения читаются страницами по курсору; отклонённый переход в ленту не попадает")
+    void changes_shouldPageByCursorAndSkipFailedWrites() {
+        createRequisition("org-feed");
+        addItem();
+        transition("APPROVED").expectStatus().isBadRequest();
+        transition("SUBMITTED").expectStatus().isOk();
+
+        ChangeFeedResponse first = changes(0, 2);
+        assertThat(first.changes()).extracting(ChangeResponse::type)
+                .containsExactly(ChangeType.CREATED, ChangeType.ITEM_ADDED);
+        assertThat(first.changes().getFirst().organizerId()).isEqualTo("org-feed");
+        assertThat(first.hasMore()).isTrue();
+
+        ChangeFeedResponse second = changes(first.nextCursor(), 2);
+        assertThat(second.changes()).hasSize(1);
+        ChangeResponse transition = second.changes().getFirst();
+        assertThat(transition.type()).isEqualTo(ChangeType.STATUS_CHANGED);
+        assertThat(transition.requisitionId()).isEqualTo(1L);
+        assertThat(transition.previousStatus().name()).isEqualTo("DRAFT");
+        assertThat(transition.status().name()).isEqualTo("SUBMITTED");
+        assertThat(transition.cursor()).isGreaterThan(first.nextCursor());
+        assertThat(second.hasMore()).isFalse();
+
+        ChangeFeedResponse caughtUp = changes(second.nextCursor(), 2);
+        assertThat(caughtUp.changes()).isEmpty();
+        assertThat(caughtUp.nextCursor()).isEqualTo(second.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Сжатие оставляет по заявке только последнее изменение")
+    void compact_shouldKeepLatestChangePerRequisition() {
+        createRequisition("org-compact");
+        addItem();
+        transition("SUBMITTED").expectStatus().isOk();
+
+        changeFeedService.compact();
+
+        ChangeFeedResponse feed = changes(0, 100);
+        assertThat(feed.changes()).extracting(ChangeResponse::type)
+                .containsExactly(ChangeType.CREATED, ChangeType.STATUS_CHANGED);
+        assertThat(feed.changes()).extracting(ChangeResponse::requisitionId).doesNotHaveDuplicates();
+    }
+
+    private void createRequisition(String organizerId) {
+        admin.post().uri("/api/v1/requisitions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("""
+                        {"organizerId": "%s"}
+                        """.formatted(organizerId))
+                .exchange()
+                .expectStatus().isCreated();
+    }
+
+    private void addItem() {
+        admin.post().uri("/api/v1/requisitions/1/items")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("""
+                        {"nomenclatureCode": "TRU-005", "nomenclatureName": "Скрепки канцелярские",
+                         "quantity": 10, "unitCode": "PACK", "priceWithoutVat": 100.00,
+                         "desiredDeliveryDate": "2030-01-01"}
+                        """)
+                .exchange()
+                .expectStatus().isCreated();
+    }
+
+    private RestTestClient.ResponseSpec transition(String targetStatus) {
+        return admin.post().uri("/api/v1/requisitions/1/transition")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("""
+                        {"targetStatus": "%s"}
+                        """.formatted(targetStatus))
+                .exchange();
+    }
+
+    private ChangeFeedResponse changes(long after, int limit) {
+        return admin.get().uri("/api/v1/changes?after={after}&limit={limit}", after, limit)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(ChangeFeedResponse.class)
+                .returnResult()
+                .getResponseBody();
+    }
+}
@@ -0,0 +1,108 @@
+package com.tslnkk.skcapi.integration;
+
+import com.tslnkk.skcapi.service.RequisitionItemService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.client.RestTestClient;
+
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Адаптивный лимит одновременных запросов с лимитом записи, зафиксированным на 1:
+ * пока одна запись висит в сервисе, следующая получает 503, а чтение идёт по своему лимиту.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "app.concurrency-limit.write.initial=1",
+        "app.concurrency-limit.write.min=1",
+        "app.concurrency-limit.write.max=1"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class ConcurrencyLimitIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @MockitoSpyBean
+    private RequisitionItemService itemService;
+
+    private final CountDownLatch entered = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private RestTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = RestTestClient.bindToServer()
+                .baseUrl("http://localhost:" + port)
+                .defaultHeaders(headers -> headers.setBasicAuth("admin", "admin"))
+                .build();
+        doAnswer(invocation -> {
+            entered.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return invocation.callRealMethod();
+        }).when(itemService).createItem(anyLong(), any());
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Запись сверх лимита — сразу 503 SERVER_OVERLOADED с Retry-After, чтение не затронуто")
+    void writeAboveLimit_shouldBeRejectedFast() throws Exception {
+        CompletableFuture<HttpStatusCode> blocked = CompletableFuture.supplyAsync(() -> createItem("TRU-005", "Скрепки канцелярские", "PACK")
+                .returnResult().getStatus());
+        assertThat(entered.await(10, TimeUnit.SECONDS)).isTrue();
+
+        createItem("TRU-002", "Картридж для принтера", "PIECE")
+                .expectStatus().isEqualTo(503)
+                .expectHeader().valueEquals(HttpHeaders.RETRY_AFTER, "1")
+                .expectBody()
+                .jsonPath("$.errorCode").isEqualTo("SERVER_OVERLOADED");
+
+        client.get().uri("/api/v1/requisitions/1")
+                .exchange()
+                .expectStatus().isOk();
+
+        release.countDown();
+        assertThat(blocked.get(10, TimeUnit.SECONDS).value()).isEqualTo(201);
+
+        // Место освободилось — следующая запись проходит
+        createItem("TRU-002", "Картридж для принтера", "PIECE")
+                .expectStatus().isCreated();
+    }
+
+    private RestTestClient.ResponseSpec createItem(String nomenclatureCode, String name, String unitCode) {
+        return client.post().uri("/api/v1/requisitions/1/items")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("""
+                        {
+                            "nomenclatureCode": "%s",
+                            "nomenclatureName": "%s",
+                            "quantity": 5,
+                            "unitCode": "%s",
+                            "priceWithoutVat": 100.00,
+                            "desiredDeliveryDate": "%s"
+                        }
+                        """.formatted(nomenclatureCode, name, unitCode, LocalDate.now().plusDays(10)))
+                .exchange();
+    }
+}
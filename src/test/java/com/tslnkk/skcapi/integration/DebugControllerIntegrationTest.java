@@ -0,0 +1,93 @@
+package com.tslnkk.skcapi.integration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.client.RestTestClient;
+
+/**
+ * Интеграционные тесты для {@link com.tslnkk.skcapi.controller.DebugController}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class DebugControllerIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    private RestTestClient adminClient;
+    private RestTestClient userClient;
+
+    @BeforeEach
+    void setUp() {
+        String baseUrl = "http://localhost:" + port;
+        adminClient = RestTestClient.bindToServer()
+                .baseUrl(baseUrl)
+                .defaultHeaders(headers -> headers.setBasicAuth("admin", "admin"))
+                .build();
+        userClient = RestTestClient.bindToServer()
+                .baseUrl(baseUrl)
+                .defaultHeaders(headers -> headers.setBasicAuth("user", "user"))
+                .build();
+    }
+
+    @Test
+    @DisplayName("GET /debug/traces: трасса запроса содержит участки security, service и JDBC")
+    void traces_shouldContainSpansOfPreviousRequest() {
+        adminClient.get().uri("/api/v1/requisitions/1")
+                .header("X-Request-Id", "trace-it-1")
+                .exchange()
+                .expectStatus().isOk();
+
+        adminClient.get().uri("/debug/traces")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].traceId").isEqualTo("trace-it-1")
+                .jsonPath("$[0].status").isEqualTo(200)
+                .jsonPath("$[0].spans[?(@.name == 'security.password')]").exists()
+                .jsonPath("$[0].spans[?(@.name == 'service:RequisitionService.getById')]").exists()
+                .jsonPath("$[0].spans[?(@.name == 'jdbc.execute')]").exists()
+                .jsonPath("$[0].spans[?(@.name == 'serialization')]").exists();
+    }
+
+    @Test
+    @DisplayName("traceparent: trace-id из W3C-заголовка становится traceId запроса")
+    void traceparent_shouldBeUsedAsTraceId() {
+        adminClient.get().uri("/api/v1/requisitions/1")
+                .header("traceparent", "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("X-Request-Id", "4bf92f3577b34da6a3ce929d0e0e4736")
+                .expectHeader().valueMatches("traceparent", "00-4bf92f3577b34da6a3ce929d0e0e4736-[0-9a-f]{16}-01");
+    }
+
+    @Test
+    @DisplayName("traceparent и X-Request-Id вместе: трасса продолжается по traceparent, X-Request-Id возвращается как есть")
+    void traceparent_shouldTakePrecedenceOverRequestId() {
+        adminClient.get().uri("/api/v1/requisitions/1")
+                .header("X-Request-Id", "order-17-retry-2")
+                .header("traceparent", "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("X-Request-Id", "order-17-retry-2")
+                .expectHeader().valueMatches("traceparent", "00-4bf92f3577b34da6a3ce929d0e0e4736-[0-9a-f]{16}-01");
+
+        adminClient.get().uri("/debug/traces")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].traceId").isEqualTo("4bf92f3577b34da6a3ce929d0e0e4736");
+    }
+
+    @Test
+    @DisplayName("GET /debug/traces: пользователь без роли ADMIN — 403")
+    void traces_nonAdmin_shouldReturn403() {
+        userClient.get().uri("/debug/traces")
+                .exchange()
+                .expectStatus().isForbidden();
+    }
+}
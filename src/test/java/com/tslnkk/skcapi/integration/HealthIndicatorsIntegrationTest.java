@@ -0,0 +1,85 @@
+package com.tslnkk.skcapi.integration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.client.RestTestClient;
+
+/**
+ * Сигналы перегрузки в readiness: пул соединений и нагрузка на экземпляр.
+ * Порог p99 занижен до -1 мс при минимуме в один запрос, чтобы любой запрос к API переводил экземпляр в DEGRADED.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "app.health.requests.max-p99-ms=-1",
+        "app.health.requests.min-samples=1"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class HealthIndicatorsIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    private RestTestClient anonymous;
+    private RestTestClient admin;
+
+    @BeforeEach
+    void setUp() {
+        anonymous = RestTestClient.bindToServer()
+                .baseUrl("http://localhost:" + port)
+                .build();
+        admin = RestTestClient.bindToServer()
+                .baseUrl("http://localhost:" + port)
+                .defaultHeaders(headers -> headers.setBasicAuth("admin", "admin"))
+                .build();
+    }
+
+    @Test
+    @DisplayName("readiness: UP, анонимно — только статус, ADMIN видит пул и нагрузку")
+    void readiness_shouldExposePoolAndLoadDetailsToAdmin() {
+        anonymous.get().uri("/actuator/health/readiness")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo("UP")
+                .jsonPath("$.components").doesNotExist();
+
+        admin.get().uri("/actuator/health/readiness")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.components.readinessState.status").isEqualTo("UP")
+                .jsonPath("$.components.dbPool.status").isEqualTo("UP")
+                .jsonPath("$.components.dbPool.details.active").isNumber()
+                .jsonPath("$.components.dbPool.details.idle").isNumber()
+                .jsonPath("$.components.dbPool.details.pending").isEqualTo(0)
+                .jsonPath("$.components.requestLoad.status").isEqualTo("UP")
+                .jsonPath("$.components.requestLoad.details.inFlight").isEqualTo(0)
+                .jsonPath("$.components.requestLoad.details.recentRequests").isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("readiness: p99 выше порога — DEGRADED и 503, liveness остаётся UP")
+    void readiness_shouldReportDegradedAboveLatencyThreshold() {
+        admin.get().uri("/api/v1/reference/units")
+                .exchange()
+                .expectStatus().isOk();
+
+        admin.get().uri("/actuator/health/readiness")
+                .exchange()
+                .expectStatus().isEqualTo(503)
+                .expectBody()
+                .jsonPath("$.status").isEqualTo("DEGRADED")
+                .jsonPath("$.components.requestLoad.status").isEqualTo("DEGRADED")
+                .jsonPath("$.components.requestLoad.details.recentRequests").isEqualTo(1)
+                .jsonPath("$.components.dbPool.status").isEqualTo("UP");
+
+        anonymous.get().uri("/actuator/health/liveness")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo("UP");
+    }
+}
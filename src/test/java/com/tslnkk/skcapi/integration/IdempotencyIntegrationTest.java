@@ -0,0 +1,225 @@
+package com.tslnkk.skcapi.integration;
+
+import com.tslnkk.skcapi.repository.PurchaseRequisitionRepository;
+import com.tslnkk.skcapi.service.RequisitionItemService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.client.EntityExchangeResult;
+import org.springframework.test.web.servlet.client.RestTestClient;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Повторы POST с одним {@code Idempotency-Key}: тот же ответ без повторного выполнения.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class IdempotencyIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private PurchaseRequisitionRepository requisitionRepository;
+
+    @MockitoSpyBean
+    private RequisitionItemService itemService;
+
+    private final CountDownLatch entered = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private RestTestClient admin;
+
+    @BeforeEach
+    void setUp() {
+        admin = client("admin", "admin");
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Повтор создания заявки с тем же ключом — тот же ответ, вторая заявка не создаётся")
+    void repeatedCreate_shouldReplayFirstResponse() {
+        long before = requisitionRepository.count();
+
+        EntityExchangeResult<String> first = createRequisition(admin, "req-key-1", "org-a")
+                .expectStatus().isCreated()
+                .expectBody(String.class).returnResult();
+        EntityExchangeResult<String> retry = createRequisition(admin, "req-key-1", "org-a")
+                .expectStatus().isCreated()
+                .expectHeader().valueEquals("Idempotent-Replayed", "true")
+                .expectBody(String.class).returnResult();
+
+        assertThat(retry.getResponseBody()).isEqualTo(first.getResponseBody());
+        assertThat(retry.getResponseHeaders().getLocation())
+                .isEqualTo(first.getResponseHeaders().getLocation());
+        assertThat(requisitionRepository.count()).isEqualTo(before + 1);
+    }
+
+    @Test
+    @DisplayName("Повтор добавления позиции не даёт DUPLICATE_NOMENCLATURE_IN_REQUISITION")
+    void repeatedCreateItem_shouldNotFailAsDuplicate() {
+        createItem("item-key-1").expectStatus().isCreated();
+
+        createItem("item-key-1")
+                .expectStatus().isCreated()
+                .expectHeader().valueEquals("Idempotent-Replayed", "true")
+                .expectBody()
+                .jsonPath("$.nomenclatureCode").isEqualTo("TRU-005");
+
+        // Без ключа повтор — обычная бизнес-ошибка
+        createItem(null)
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errorCode").isEqualTo("DUPLICATE_NOMENCLATURE_IN_REQUISITION");
+    }
+
+    @Test
+    @DisplayName("Тот же ключ с другим телом — 422 IDEMPOTENCY_KEY_REUSED; у другого пользователя ключ свой")
+    void sameKeyDifferentBody_shouldBeRejected() {
+        createRequisition(admin, "req-key-2", "org-a").expectStatus().isCreated();
+
+        createRequisition(admin, "req-key-2", "org-b")
+                .expectStatus().isEqualTo(422)
+                .expectBody()
+                .jsonPath("$.errorCode").isEqualTo("IDEMPOTENCY_KEY_REUSED");
+
+        createRequisition(client("user", "user"), "req-key-2", "org-b")
+                .expectStatus().isCreated()
+                .expectHeader().doesNotExist("Idempotent-Replayed");
+    }
+
+    @Test
+    @DisplayName("Ошибка клиента тоже сохраняется: повтор получает ту же ошибку без выполнения")
+    void businessError_shouldBeReplayed() {
+        String body = itemBody("TRU-001", "Бумага офисная A4", "PACK");
+
+        postItem("item-key-2", body)
+                .expectStatus().isBadRequest()
+                .expectHeader().doesNotExist("Idempotent-Replayed");
+        postItem("item-key-2", body)
+                .expectStatus().isBadRequest()
+                .expectHeader().valueEquals("Idempotent-Replayed", "true")
+                .expectBody()
+                .jsonPath("$.errorCode").isEqualTo("DUPLICATE_NOMENCLATURE_IN_REQUISITION");
+
+        verify(itemService, times(1)).createItem(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Одновременный повтор ждёт выполнения первого запроса и получает его ответ")
+    void concurrentDuplicate_shouldWaitForInFlightRequest() throws Exception {
+        doAnswer(invocation -> {
+            entered.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return invocation.callRealMethod();
+        }).when(itemService).createItem(anyLong(), any());
+
+        CompletableFuture<EntityExchangeResult<String>> first = CompletableFuture.supplyAsync(() ->
+                createItem("item-key-3").expectBody(String.class).returnResult());
+        assertThat(entered.await(10, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<EntityExchangeResult<String>> duplicate = CompletableFuture.supplyAsync(() ->
+                createItem("item-key-3").expectBody(String.class).returnResult());
+
+        // Первый запрос держится на release: пока он не отпущен, повтору нечего вернуть
+        await().during(Duration.ofMillis(300)).atMost(Duration.ofSeconds(2)).until(() -> !duplicate.isDone());
+        release.countDown();
+
+        EntityExchangeResult<String> firstResult = first.get(10, TimeUnit.SECONDS);
+        EntityExchangeResult<String> duplicateResult = duplicate.get(10, TimeUnit.SECONDS);
+        assertThat(firstResult.getStatus().value()).isEqualTo(201);
+        assertThat(duplicateResult.getStatus().value()).isEqualTo(201);
+        assertThat(duplicateResult.getResponseBody()).isEqualTo(firstResult.getResponseBody());
+        assertThat(duplicateResult.getResponseHeaders().getFirst("Idempotent-Replayed")).isEqualTo("true");
+        verify(itemService, times(1)).createItem(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Тело больше app.idempotency.max-body-bytes — 413 PAYLOAD_TOO_LARGE, заявка не создаётся")
+    void oversizedBody_shouldBeRejected() {
+        long before = requisitionRepository.count();
+        String padding = "x".repeat(1024 * 1024);
+
+        admin.post().uri("/api/v1/requisitions")
+                .header("Idempotency-Key", "req-key-large")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("""
+                        {"organizerId": "user-123", "comment": "%s"}
+                        """.formatted(padding))
+                .exchange()
+                .expectStatus().isEqualTo(413)
+                .expectBody()
+                .jsonPath("$.errorCode").isEqualTo("PAYLOAD_TOO_LARGE");
+
+        assertThat(requisitionRepository.count()).isEqualTo(before);
+    }
+
+    private RestTestClient client(String username, String password) {
+        return RestTestClient.bindToServer()
+                .baseUrl("http://localhost:" + port)
+                .defaultHeaders(headers -> headers.setBasicAuth(username, password))
+                .build();
+    }
+
+    private RestTestClient.ResponseSpec createRequisition(RestTestClient client, String key, String organizerId) {
+        return client.post().uri("/api/v1/requisitions")
+                .header("Idempotency-Key", key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("""
+                        {"organizerId": "%s"}
+                        """.formatted(organizerId))
+                .exchange();
+    }
+
+    private RestTestClient.ResponseSpec createItem(String key) {
+        return postItem(key, itemBody("TRU-005", "Скрепки канцелярские", "PACK"));
+    }
+
+    private RestTestClient.ResponseSpec postItem(String key, String body) {
+        return admin.post().uri("/api/v1/requisitions/1/items")
+                .headers(headers -> {
+                    if (key != null) {
+                        headers.set("Idempotency-Key", key);
+                    }
+                })
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body)
+                .exchange();
+    }
+
+    private static String itemBody(String nomenclatureCode, String name, String unitCode) {
+        return """
+                {
+                    "nomenclatureCode": "%s",
+                    "nomenclatureName": "%s",
+                    "quantity": 5,
+                    "unitCode": "%s",
+                    "priceWithoutVat": 100.00,
+                    "desiredDeliveryDate": "%s"
+                }
+                """.formatted(nomenclatureCode, name, unitCode, LocalDate.now().plusDays(10));
+    }
+}
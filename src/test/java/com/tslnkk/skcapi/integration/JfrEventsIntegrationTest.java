@@ -0,0 +1,118 @@
+package com.tslnkk.skcapi.integration;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.client.RestTestClient;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Собственные события JFR ({@code com.tslnkk.skcapi.*}): выключены по умолчанию, при включении в записи
+ * появляются с заполненными полями.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class JfrEventsIntegrationTest {
+
+    private static final List<String> EVENTS = List.of(
+            "com.tslnkk.skcapi.ServiceCall",
+            "com.tslnkk.skcapi.StatusTransition",
+            "com.tslnkk.skcapi.ItemMutation",
+            "com.tslnkk.skcapi.OptimisticLockConflict");
+
+    @LocalServerPort
+    private int port;
+
+    private RestTestClient admin;
+    private RecordingStream stream;
+    private final Queue<RecordedEvent> recorded = new ConcurrentLinkedQueue<>();
+
+    @BeforeEach
+    void setUp() {
+        admin = RestTestClient.bindToServer()
+                .baseUrl("http://localhost:" + port)
+                .defaultHeaders(headers -> headers.setBasicAuth("admin", "admin"))
+                .build();
+        stream = new RecordingStream();
+        EVENTS.forEach(name -> {
+            stream.enable(name).withThreshold(Duration.ZERO);
+            stream.onEvent(name, recorded::add);
+        });
+        stream.startAsync();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stream.close();
+    }
+
+    @Test
+    @DisplayName("Изменение позиции и смена статуса записывают события сервиса, перехода, мутации и конфликта версий")
+    void serviceCalls_shouldEmitEventsWithFields() {
+        admin.patch().uri("/api/v1/requisitions/1/items/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("""
+                        {"quantity": 200, "version": 0}
+                        """)
+                .exchange()
+                .expectStatus().isOk();
+        admin.patch().uri("/api/v1/requisitions/1/items/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("""
+                        {"quantity": 300, "version": 0}
+                        """)
+                .exchange()
+                .expectStatus().isEqualTo(409);
+        admin.post().uri("/api/v1/requisitions/1/transition")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("""
+                        {"targetStatus": "SUBMITTED"}
+                        """)
+                .exchange()
+                .expectStatus().isOk();
+
+        // stop() дожидается доставки всех событий, записанных до вызова
+        stream.stop();
+
+        RecordedEvent transition = single("com.tslnkk.skcapi.StatusTransition", "toStatus", "SUBMITTED");
+        assertEquals(1L, transition.getLong("requisitionId"));
+        assertEquals("DRAFT", transition.getString("fromStatus"));
+
+        RecordedEvent serviceCall = single("com.tslnkk.skcapi.ServiceCall", "methodName", "transition");
+        assertEquals("RequisitionService", serviceCall.getString("className"));
+        assertEquals(1L, serviceCall.getLong("requisitionId"));
+        assertFalse(serviceCall.getBoolean("failed"));
+        assertFalse(serviceCall.getDuration().isNegative());
+
+        RecordedEvent mutation = single("com.tslnkk.skcapi.ItemMutation", "operation", "PATCH");
+        assertEquals(1L, mutation.getLong("requisitionId"));
+        assertEquals(2, mutation.getInt("itemCount"));
+
+        RecordedEvent conflict = single("com.tslnkk.skcapi.OptimisticLockConflict", "itemId", 1L);
+        assertEquals(1L, conflict.getLong("requisitionId"));
+        assertEquals(0L, conflict.getLong("expectedVersion"));
+        assertEquals(1L, conflict.getLong("actualVersion"));
+    }
+
+    private RecordedEvent single(String eventName, String field, Object value) {
+        List<RecordedEvent> matching = recorded.stream()
+                .filter(event -> event.getEventType().getName().equals(eventName))
+                .filter(event -> value.equals(event.getValue(field)))
+                .toList();
+        assertEquals(1, matching.size(), () -> eventName + " with " + field + "=" + value + ": " + matching);
+        return matching.get(0);
+    }
+}
@@ -0,0 +1,119 @@
+package com.tslnkk.skcapi.integration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.client.RestTestClient;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Профиль {@code prod}: OpenAPI-спецификация, выгруженная при сборке ({@code generateOpenApiDocs}).
+ * <p>
+ * Нужна спецификация на classpath, поэтому класс идёт отдельной задачей {@code openApiTest}
+ * (входит в {@code check}), а не в {@code test}: обычный прогон тестов не поднимает приложение лишний раз.
+ */
+@Tag("openapi")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.datasource.url=jdbc:h2:mem:openapi-spec-test")
+@ActiveProfiles("prod")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class OpenApiSpecIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    private RestTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = RestTestClient.bindToServer()
+                .baseUrl("http://localhost:" + port)
+                .defaultHeaders(headers -> headers.setBasicAuth("admin", "admin"))
+                .build();
+    }
+
+    @Test
+    @DisplayName("prod: спецификация из сборки отдаётся с ETag, повтор с If-None-Match — 304")
+    void staticSpec_shouldBeServedWithEtag() {
+        String etag = client.get().uri("/openapi.json")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+                .expectHeader().valueEquals(HttpHeaders.CACHE_CONTROL, "no-cache")
+                .expectBody()
+                .jsonPath("$.info.title").isEqualTo("SKC Purchase Requisition API")
+                .jsonPath("$.servers[0].url").isEqualTo("/")
+                .jsonPath("$.paths['/api/v1/requisitions/{requisitionId}/items']").exists()
+                .returnResult()
+                .getResponseHeaders().getETag();
+        assertThat(etag).isNotBlank();
+
+        client.get().uri("/openapi.json")
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    @DisplayName("prod: при Accept-Encoding: gzip отдаётся заранее сжатая копия спецификации")
+    void staticSpec_shouldBeServedPrecompressed() throws Exception {
+        // JDK HttpClient напрямую: RestTestClient сам распаковывает gzip и убирает Content-Encoding
+        HttpResponse<byte[]> response;
+        try (HttpClient http = HttpClient.newHttpClient()) {
+            response = http.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/openapi.json"))
+                            .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate")
+                            .build(),
+                    HttpResponse.BodyHandlers.ofByteArray());
+        }
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).contains("gzip");
+        assertThat(String.join(",", response.headers().allValues(HttpHeaders.VARY))).contains(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(response.headers().firstValue(HttpHeaders.ETAG)).hasValueSatisfying(
+                etag -> assertThat(etag).endsWith("-gzip\""));
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(response.body()))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8))
+                    .contains("\"SKC Purchase Requisition API\"");
+        }
+    }
+
+    @Test
+    @DisplayName("prod: Swagger UI открывается без авторизации и читает статическую спецификацию")
+    void swaggerUi_shouldUseStaticSpec() {
+        RestTestClient anonymous = RestTestClient.bindToServer()
+                .baseUrl("http://localhost:" + port)
+                .build();
+
+        anonymous.get().uri("/swagger-ui.html")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .value(html -> assertThat(html).contains("url: \"/openapi.json\""));
+
+        anonymous.get().uri("/webjars/swagger-ui/swagger-ui-bundle.js")
+                .exchange()
+                .expectStatus().isOk();
+
+        anonymous.get().uri("/openapi.json")
+                .exchange()
+                .expectStatus().isOk();
+    }
+}
@@ -1,14 +1,25 @@
 package com.tslnkk.skcapi.integration;
 
+import com.tslnkk.skcapi.metrics.LockConflictMetrics;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.web.servlet.client.RestTestClient;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
 /**
  * Тест оптимистичной блокировки.
  * <p>
@@ -23,6 +34,9 @@ class OptimisticLockingTest {
     @LocalServerPort
     private int port;
 
+    @Autowired
+    private LockConflictMetrics lockConflictMetrics;
+
     private RestTestClient client;
 
     private static final String ITEM_URL = "/api/v1/requisitions/1/items/1";
@@ -83,4 +97,48 @@ class OptimisticLockingTest {
                 .expectBody()
                 .jsonPath("$.version").isEqualTo(2);
     }
+
+    @Test
+    @DisplayName("Optimistic Locking: из параллельных PATCH с одной версией проходит ровно один, конфликты учтены по заявке")
+    void concurrentPatchesWithSameVersion_onlyOneWins() throws Exception {
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> statuses = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (int i = 0; i < threads; i++) {
+                String body = "{\"quantity\": " + (101 + i) + ", \"version\": 0}";
+                statuses.add(executor.submit(() -> {
+                    start.await();
+                    return client.patch().uri(ITEM_URL)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .body(body)
+                            .exchange()
+                            .returnResult(String.class)
+                            .getStatus()
+                            .value();
+                }));
+            }
+            start.countDown();
+        }
+
+        int ok = 0;
+        int conflicts = 0;
+        for (Future<Integer> status : statuses) {
+            switch (status.get()) {
+                case 200 -> ok++;
+                case 409 -> conflicts++;
+                default -> throw new AssertionError("Неожиданный статус " + status.get());
+            }
+        }
+        assertEquals(1, ok);
+        assertEquals(threads - 1, conflicts);
+        assertEquals(threads - 1, lockConflictMetrics.conflicts(1L));
+
+        client.get().uri("/debug/lock-conflicts")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].requisitionId").isEqualTo(1)
+                .jsonPath("$[0].conflicts").isEqualTo(threads - 1);
+    }
 }
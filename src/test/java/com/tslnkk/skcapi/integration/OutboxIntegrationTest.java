@@ -0,0 +1,135 @@
+package com.tslnkk.skcapi.integration;
+
+import com.sun.net.httpserver.HttpServer;
+import com.tslnkk.skcapi.repository.OutboxMessageRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.client.RestTestClient;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Outbox: переход статуса доставляется webhook-получателю (локальная заглушка), при ошибках — повторно.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "app.outbox.sink=webhook",
+        "app.outbox.poll-interval-ms=100",
+        "app.outbox.retry.initial-backoff-ms=50",
+        "app.outbox.retry.max-backoff-ms=200"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class OutboxIntegrationTest {
+
+    private static HttpServer webhook;
+    private static final List<String> received = new CopyOnWriteArrayList<>();
+    private static final AtomicInteger failuresLeft = new AtomicInteger();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private OutboxMessageRepository outboxRepository;
+
+    private RestTestClient admin;
+
+    @BeforeAll
+    static void startWebhook() throws IOException {
+        webhook = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        webhook.createContext("/events", exchange -> {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            received.add(body);
+            int status = failuresLeft.getAndDecrement() > 0 ? 503 : 204;
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+        });
+        webhook.start();
+    }
+
+    @AfterAll
+    static void stopWebhook() {
+        webhook.stop(0);
+    }
+
+    @DynamicPropertySource
+    static void webhookUrl(DynamicPropertyRegistry registry) {
+        registry.add("app.outbox.webhook.url",
+                () -> "http://localhost:" + webhook.getAddress().getPort() + "/events");
+    }
+
+    @BeforeEach
+    void setUp() {
+        received.clear();
+        failuresLeft.set(0);
+        admin = RestTestClient.bindToServer()
+                .baseUrl("http://localhost:" + port)
+                .defaultHeaders(headers -> headers.setBasicAuth("admin", "admin"))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Переход статуса доставляется на webhook и удаляется из outbox")
+    void transition_shouldBeDeliveredToWebhook() {
+        transition("SUBMITTED");
+
+        await().until(() -> !received.isEmpty() && outboxRepository.count() == 0);
+        assertThat(received).hasSize(1);
+        assertThat(received.getFirst()).contains(
+                "\"type\":\"requisition.status-changed\"", "\"aggregateId\":1",
+                "\"fromStatus\":\"DRAFT\"", "\"toStatus\":\"SUBMITTED\"", "\"number\":");
+    }
+
+    @Test
+    @DisplayName("Ошибки webhook — повтор того же сообщения с задержкой до успешной доставки")
+    void transition_shouldBeRetriedUntilWebhookAccepts() {
+        failuresLeft.set(2);
+
+        transition("SUBMITTED");
+
+        await().until(() -> received.size() == 3 && outboxRepository.count() == 0);
+        String firstId = received.getFirst().replaceAll("(?s).*?\"id\":(\\d+).*", "$1");
+        assertThat(received).allSatisfy(body -> assertThat(body).contains("\"id\":" + firstId + ","));
+    }
+
+    @Test
+    @DisplayName("Отклонённый переход в outbox не попадает")
+    void rejectedTransition_shouldNotWriteOutbox() {
+        admin.post().uri("/api/v1/requisitions/1/transition")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("""
+                        {"targetStatus": "CLOSED"}
+                        """)
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        assertThat(outboxRepository.count()).isZero();
+    }
+
+    private void transition(String targetStatus) {
+        admin.post().uri("/api/v1/requisitions/1/transition")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("""
+                        {"targetStatus": "%s"}
+                        """.formatted(targetStatus))
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+}
@@ -0,0 +1,102 @@
+package com.tslnkk.skcapi.integration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.client.RestTestClient;
+
+import java.time.LocalDate;
+
+/**
+ * Профиль {@code prod}: схема из {@code db/schema-h2.sql} вместо Hibernate DDL,
+ * без тестовых данных и dev-эндпоинтов. Выгруженную при сборке спецификацию проверяет
+ * {@link OpenApiSpecIntegrationTest}.
+ * <p>
+ * Своя in-memory база без {@code DB_CLOSE_DELAY}: схема не удаляется при закрытии контекста,
+ * поэтому база должна исчезать вместе с пулом соединений.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.datasource.url=jdbc:h2:mem:prod-profile-test")
+@ActiveProfiles("prod")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class ProdProfileIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    private RestTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = RestTestClient.bindToServer()
+                .baseUrl("http://localhost:" + port)
+                .defaultHeaders(headers -> headers.setBasicAuth("admin", "admin"))
+                .build();
+    }
+
+    @Test
+    @DisplayName("prod: тестовые данные не загружаются, заявка с позицией создаётся по SQL-схеме")
+    void schemaFromSql_shouldSupportFullItemLifecycle() {
+        client.get().uri("/api/v1/requisitions")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(0);
+
+        client.post().uri("/api/v1/requisitions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("{\"organizerId\": \"user-123\"}")
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(1);
+
+        client.post().uri("/api/v1/requisitions/1/items")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("""
+                        {
+                            "nomenclatureCode": "TRU-001",
+                            "nomenclatureName": "Бумага офисная A4",
+                            "quantity": 10,
+                            "unitCode": "PACK",
+                            "priceWithoutVat": 350.00,
+                            "desiredDeliveryDate": "%s"
+                        }
+                        """.formatted(LocalDate.now().plusDays(10)))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.version").isEqualTo(0);
+
+        client.patch().uri("/api/v1/requisitions/1/items/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("{\"quantity\": 20, \"version\": 0}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.version").isEqualTo(1);
+
+        client.get().uri("/api/v1/requisitions/1/summary")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.totalAmountWithoutVat").isEqualTo(7000.0);
+    }
+
+    @Test
+    @DisplayName("prod: H2 console и OpenAPI-сканирование отключены")
+    void devEndpoints_shouldBeDisabled() {
+        client.get().uri("/h2-console")
+                .exchange()
+                .expectStatus().isNotFound();
+
+        client.get().uri("/v3/api-docs")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+}
@@ -0,0 +1,90 @@
+package com.tslnkk.skcapi.integration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.client.RestTestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Лимиты частоты создания заявок: organizerId — 2 подряд, пользователь — 4 подряд, пополнение раз в минуту.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "app.rate-limit.create.organizer.per-minute=1",
+        "app.rate-limit.create.organizer.burst=2",
+        "app.rate-limit.create.principal.per-minute=1",
+        "app.rate-limit.create.principal.burst=4"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class RateLimitIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    private RestTestClient admin;
+    private RestTestClient user;
+
+    @BeforeEach
+    void setUp() {
+        admin = client("admin", "admin");
+        user = client("user", "user");
+    }
+
+    @Test
+    @DisplayName("Третья заявка одного организатора — 429 RATE_LIMIT_EXCEEDED, другой организатор не затронут")
+    void organizerAboveLimit_shouldBeRejected() {
+        create(admin, "org-a").expectStatus().isCreated();
+        create(admin, "org-a").expectStatus().isCreated();
+
+        String retryAfter = create(admin, "org-a")
+                .expectStatus().isEqualTo(429)
+                .expectBody()
+                .jsonPath("$.errorCode").isEqualTo("RATE_LIMIT_EXCEEDED")
+                .jsonPath("$.field").isEqualTo("organizerId")
+                .jsonPath("$.rejectedValue").isEqualTo("org-a")
+                .returnResult().getResponseHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+        assertThat(Integer.parseInt(retryAfter)).isBetween(1, 60);
+
+        create(admin, "org-b").expectStatus().isCreated();
+    }
+
+    @Test
+    @DisplayName("Пользователь сверх своего лимита получает 429 по любому организатору, другой пользователь — нет")
+    void principalAboveLimit_shouldBeRejected() {
+        for (int i = 0; i < 4; i++) {
+            create(admin, "org-" + i).expectStatus().isCreated();
+        }
+
+        create(admin, "org-x")
+                .expectStatus().isEqualTo(429)
+                .expectHeader().exists(HttpHeaders.RETRY_AFTER)
+                .expectBody()
+                .jsonPath("$.errorCode").isEqualTo("RATE_LIMIT_EXCEEDED")
+                .jsonPath("$.field").isEqualTo("principal")
+                .jsonPath("$.rejectedValue").isEqualTo("admin");
+
+        create(user, "org-x").expectStatus().isCreated();
+    }
+
+    private RestTestClient client(String username, String password) {
+        return RestTestClient.bindToServer()
+                .baseUrl("http://localhost:" + port)
+                .defaultHeaders(headers -> headers.setBasicAuth(username, password))
+                .build();
+    }
+
+    private RestTestClient.ResponseSpec create(RestTestClient client, String organizerId) {
+        return client.post().uri("/api/v1/requisitions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("""
+                        {"organizerId": "%s"}
+                        """.formatted(organizerId))
+                .exchange();
+    }
+}
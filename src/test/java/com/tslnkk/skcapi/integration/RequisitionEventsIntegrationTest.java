@@ -0,0 +1,155 @@
+package com.tslnkk.skcapi.integration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.client.RestTestClient;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@code GET /api/v1/requisitions/events}: изменения приходят по SSE после коммита, с фильтрами.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class RequisitionEventsIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+    private final List<InputStream> streams = new ArrayList<>();
+
+    private RestTestClient admin;
+
+    @BeforeEach
+    void setUp() {
+        admin = RestTestClient.bindToServer()
+                .baseUrl("http://localhost:" + port)
+                .defaultHeaders(headers -> headers.setBasicAuth("admin", "admin"))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (InputStream stream : streams) {
+            stream.close();
+        }
+        http.close();
+    }
+
+    @Test
+    @DisplayName("Переход статуса и добавление позиции приходят событиями с новой суммой")
+    void events_shouldStreamTransitionsAndItemChanges() throws Exception {
+        BufferedReader stream = subscribe("requisitionId=1");
+
+        admin.post().uri("/api/v1/requisitions/1/items")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("""
+                        {"nomenclatureCode": "TRU-005", "nomenclatureName": "Скрепки канцелярские",
+                         "quantity": 10, "unitCode": "PACK", "priceWithoutVat": 100.00,
+                         "desiredDeliveryDate": "2030-01-01"}
+                        """)
+                .exchange()
+                .expectStatus().isCreated();
+        admin.post().uri("/api/v1/requisitions/1/transition")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("""
+                        {"targetStatus": "SUBMITTED"}
+                        """)
+                .exchange()
+                .expectStatus().isOk();
+
+        String itemAdded = nextEvent(stream);
+        assertThat(itemAdded).contains("event:ITEM_ADDED", "\"requisitionId\":1", "\"itemId\":", "\"totalLotSumNoNds\":");
+        String transition = nextEvent(stream);
+        assertThat(transition).contains("event:STATUS_CHANGED", "\"status\":\"SUBMITTED\"", "\"previousStatus\":\"DRAFT\"");
+    }
+
+    @Test
+    @DisplayName("Фильтр по организатору пропускает чужие заявки; ошибка валидации событий не порождает")
+    void events_shouldFilterByOrganizer() throws Exception {
+        BufferedReader stream = subscribe("organizerId=org-sse");
+
+        admin.post().uri("/api/v1/requisitions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("""
+                        {"organizerId": "org-other"}
+                        """)
+                .exchange()
+                .expectStatus().isCreated();
+        admin.post().uri("/api/v1/requisitions/1/transition")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("""
+                        {"targetStatus": "APPROVED"}
+                        """)
+                .exchange()
+                .expectStatus().isBadRequest();
+        admin.post().uri("/api/v1/requisitions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("""
+                        {"organizerId": "org-sse"}
+                        """)
+                .exchange()
+                .expectStatus().isCreated();
+
+        String created = nextEvent(stream);
+        assertThat(created).contains("event:CREATED", "\"organizerId\":\"org-sse\"", "\"status\":\"DRAFT\"");
+    }
+
+    private BufferedReader subscribe(String query) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(
+                        "http://localhost:" + port + "/api/v1/requisitions/events?" + query))
+                .header("Accept", MediaType.TEXT_EVENT_STREAM_VALUE)
+                .header("Authorization", "Basic " + Base64.getEncoder()
+                        .encodeToString("admin:admin".getBytes(StandardCharsets.UTF_8)))
+                .build();
+        HttpResponse<InputStream> response = http.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Type")).hasValueSatisfying(
+                value -> assertThat(value).startsWith(MediaType.TEXT_EVENT_STREAM_VALUE));
+        streams.add(response.body());
+        return new BufferedReader(new InputStreamReader(response.body(), StandardCharsets.UTF_8));
+    }
+
+    /** Следующее событие с именем (комментарии приветствия и heartbeat пропускаются). */
+    private static String nextEvent(BufferedReader stream) throws Exception {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                StringBuilder event = new StringBuilder();
+                String line;
+                while ((line = stream.readLine()) != null) {
+                    if (!line.isEmpty()) {
+                        event.append(line).append('\n');
+                    } else if (event.indexOf("event:") >= 0) {
+                        return event.toString();
+                    } else {
+                        event.setLength(0);
+                    }
+                }
+                throw new IllegalStateException("stream closed");
+            } catch (java.io.IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }).get(10, TimeUnit.SECONDS);
+    }
+}
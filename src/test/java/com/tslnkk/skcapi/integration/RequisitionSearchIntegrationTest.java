@@ -0,0 +1,95 @@
+package com.tslnkk.skcapi.integration;
+
+import com.tslnkk.skcapi.dto.RequisitionSearchResponse;
+import com.tslnkk.skcapi.dto.SearchHitResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.client.RestTestClient;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * {@code GET /api/v1/requisitions/search}: индекс строится при старте из тестовых данных
+ * и догоняет изменения, сделанные через API.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class RequisitionSearchIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    private RestTestClient admin;
+
+    @BeforeEach
+    void setUp() {
+        admin = RestTestClient.bindToServer()
+                .baseUrl("http://localhost:" + port)
+                .defaultHeaders(headers -> headers.setBasicAuth("admin", "admin"))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Поиск по наименованию с другой формой слова, по организатору и по номеру")
+    void search_shouldFindStartupDataByNameOrganizerAndNumber() {
+        await().until(() -> !ids("бумаги").isEmpty());
+        assertThat(ids("бумаги")).containsExactly(1L);
+        assertThat(ids("картриджей принтер")).containsExactly(2L);
+        assertThat(ids("бумага картридж")).isEmpty();
+        assertThat(ids("USER-456")).containsExactlyInAnyOrder(3L, 4L);
+
+        RequisitionSearchResponse page = search("user 123", 1, 1);
+        assertThat(page.total()).isEqualTo(2);
+        assertThat(page.hits()).hasSize(1);
+
+        SearchHitResponse first = search("tru-001", 0, 20).hits().getFirst();
+        assertThat(search(first.number(), 0, 20).hits()).extracting(SearchHitResponse::id).contains(first.id());
+        assertThat(search("", 0, 20).total()).isZero();
+    }
+
+    @Test
+    @DisplayName("Новая позиция находится по комментарию, удалённая заявка пропадает из выдачи")
+    void search_shouldFollowChangesThroughApi() {
+        await().until(() -> !ids("бумага").isEmpty());
+        assertThat(ids("тонер")).isEmpty();
+
+        admin.post().uri("/api/v1/requisitions/1/items")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("""
+                        {"nomenclatureCode": "TRU-005", "nomenclatureName": "Скрепки канцелярские",
+                         "quantity": 10, "unitCode": "PACK", "priceWithoutVat": 100.00,
+                         "desiredDeliveryDate": "2030-01-01", "comment": "Вместе с тонером"}
+                        """)
+                .exchange()
+                .expectStatus().isCreated();
+        await().until(() -> ids("тонер").equals(List.of(1L)));
+        assertThat(ids("скрепка")).containsExactly(1L);
+
+        admin.delete().uri("/api/v1/requisitions/1")
+                .exchange()
+                .expectStatus().isNoContent();
+        assertThat(ids("тонер")).isEmpty();
+    }
+
+    private List<Long> ids(String query) {
+        return search(query, 0, 20).hits().stream().map(SearchHitResponse::id).toList();
+    }
+
+    private RequisitionSearchResponse search(String query, int page, int size) {
+        return admin.get().uri("/api/v1/requisitions/search?q={q}&page={page}&size={size}", query, page, size)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(RequisitionSearchResponse.class)
+                .returnResult()
+                .getResponseBody();
+    }
+
+}
@@ -0,0 +1,142 @@
+package com.tslnkk.skcapi.integration;
+
+import com.tslnkk.skcapi.domain.RequisitionStatus;
+import com.tslnkk.skcapi.dto.RequisitionResponse;
+import com.tslnkk.skcapi.dto.RequisitionStatsResponse;
+import com.tslnkk.skcapi.dto.StatsBucket;
+import com.tslnkk.skcapi.stats.RequisitionStatsStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.client.RestTestClient;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@code GET /api/v1/requisitions/stats}: агрегаты совпадают с пересчётом по списку заявок
+ * после изменений через API, а сверка исправляет изменения в обход сервисов.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class RequisitionStatsIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private RequisitionStatsStore statsStore;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private RestTestClient admin;
+
+    @BeforeEach
+    void setUp() {
+        admin = RestTestClient.bindToServer()
+                .baseUrl("http://localhost:" + port)
+                .defaultHeaders(headers -> headers.setBasicAuth("admin", "admin"))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Агрегаты после старта и после изменений через API совпадают с пересчётом по заявкам")
+    void stats_shouldFollowChangesThroughApi() {
+        assertMatchesRequisitions(stats());
+
+        admin.post().uri("/api/v1/requisitions/1/items")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("""
+                        {"nomenclatureCode": "TRU-005", "nomenclatureName": "Скрепки канцелярские",
+                         "quantity": 10, "unitCode": "PACK", "priceWithoutVat": 100.00,
+                         "desiredDeliveryDate": "2030-01-01"}
+                        """)
+                .exchange()
+                .expectStatus().isCreated();
+        admin.post().uri("/api/v1/requisitions/1/transition")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("""
+                        {"targetStatus": "SUBMITTED"}
+                        """)
+                .exchange()
+                .expectStatus().isOk();
+        admin.post().uri("/api/v1/requisitions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("""
+                        {"organizerId": "org-stats"}
+                        """)
+                .exchange()
+                .expectStatus().isCreated();
+
+        RequisitionStatsResponse stats = stats();
+        assertMatchesRequisitions(stats);
+        assertThat(stats.byStatus().get(RequisitionStatus.SUBMITTED).count()).isEqualTo(1);
+        assertThat(stats.byOrganizer().get("org-stats")).isEqualTo(new StatsBucket(1, new BigDecimal("0.00")));
+    }
+
+    @Test
+    @DisplayName("Сверка исправляет изменение, сделанное в обход сервисов")
+    void reconcile_shouldFixChangesMadeBehindTheService() {
+        jdbcTemplate.update("UPDATE purchase_requisitions SET status = 'REJECTED' WHERE id = 2");
+
+        // Исправлены две корзины: APPROVED и REJECTED; у организатора число и сумма не изменились
+        assertThat(statsStore.reconcile()).isEqualTo(2);
+
+        RequisitionStatsResponse stats = stats();
+        assertMatchesRequisitions(stats);
+        assertThat(stats.byStatus().get(RequisitionStatus.REJECTED).count()).isEqualTo(1);
+    }
+
+    private RequisitionStatsResponse stats() {
+        return admin.get().uri("/api/v1/requisitions/stats")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(RequisitionStatsResponse.class)
+                .returnResult()
+                .getResponseBody();
+    }
+
+    private void assertMatchesRequisitions(RequisitionStatsResponse stats) {
+        List<RequisitionResponse> requisitions = admin.get().uri("/api/v1/requisitions")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(new ParameterizedTypeReference<List<RequisitionResponse>>() {
+                })
+                .returnResult()
+                .getResponseBody();
+
+        assertThat(stats.totalCount()).isEqualTo(requisitions.size());
+        assertThat(nonEmpty(stats.byStatus())).isEqualTo(
+                group(requisitions, r -> RequisitionStatus.valueOf(r.status())));
+        assertThat(stats.byOrganizer()).isEqualTo(group(requisitions, RequisitionResponse::organizerId));
+    }
+
+    private static <K> Map<K, StatsBucket> nonEmpty(Map<K, StatsBucket> buckets) {
+        return buckets.entrySet().stream()
+                .filter(entry -> entry.getValue().count() > 0)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+
+    private static <K> Map<K, StatsBucket> group(List<RequisitionResponse> requisitions,
+                                                 Function<RequisitionResponse, K> key) {
+        return requisitions.stream().collect(Collectors.groupingBy(key, Collectors.collectingAndThen(
+                Collectors.toList(),
+                group -> new StatsBucket(group.size(), group.stream()
+                        .map(RequisitionResponse::totalLotSumNoNds)
+                        .reduce(new BigDecimal("0.00"), BigDecimal::add)
+                        .setScale(2)))));
+    }
+}
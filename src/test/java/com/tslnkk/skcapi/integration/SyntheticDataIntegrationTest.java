@@ -0,0 +1,100 @@
+package com.tslnkk.skcapi.integration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.client.RestTestClient;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Профиль {@code synthetic}: данные генерируются вместо {@code DataInitializer},
+ * после генерации API продолжает создавать заявки и позиции без конфликтов id.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "app.synthetic.requisitions=300",
+        "app.synthetic.outlier-rate=0.01",
+        "app.synthetic.outlier-items=1000",
+        "app.synthetic.batch-size=500"
+})
+@ActiveProfiles("synthetic")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class SyntheticDataIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private RestTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = RestTestClient.bindToServer()
+                .baseUrl("http://localhost:" + port)
+                .defaultHeaders(headers -> headers.setBasicAuth("admin", "admin"))
+                .build();
+    }
+
+    @Test
+    @DisplayName("synthetic: сгенерированы заявки с выбросами, итоги совпадают с суммой позиций")
+    void generatedData_shouldBeConsistent() {
+        assertEquals(300L, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM purchase_requisitions", Long.class));
+        Long maxItems = jdbcTemplate.queryForObject(
+                "SELECT MAX(c) FROM (SELECT COUNT(*) c FROM requisition_items GROUP BY requisition_id)", Long.class);
+        assertEquals(1000L, maxItems);
+        Long mismatched = jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM purchase_requisitions r
+                WHERE r.total_lot_sum_no_nds <> (SELECT ROUND(SUM(i.price * i.count), 2)
+                                                 FROM requisition_items i WHERE i.requisition_id = r.id)""",
+                Long.class);
+        assertEquals(0L, mismatched);
+
+        client.get().uri("/api/v1/requisitions/1/summary")
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    @DisplayName("synthetic: после генерации через API создаются новые заявка и позиция")
+    void api_shouldCreateAfterGeneration() {
+        String location = client.post().uri("/api/v1/requisitions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("{\"organizerId\": \"user-123\"}")
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(301)
+                .returnResult()
+                .getResponseHeaders()
+                .getLocation()
+                .getPath();
+        assertTrue(location.endsWith("/301"));
+
+        client.post().uri("/api/v1/requisitions/301/items")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("""
+                        {
+                            "nomenclatureCode": "TRU-001",
+                            "nomenclatureName": "Бумага офисная A4",
+                            "quantity": 10,
+                            "unitCode": "PACK",
+                            "priceWithoutVat": 350.00,
+                            "desiredDeliveryDate": "%s"
+                        }
+                        """.formatted(LocalDate.now().plusDays(10)))
+                .exchange()
+                .expectStatus().isCreated();
+    }
+}
@@ -0,0 +1,162 @@
+package com.tslnkk.skcapi.integration;
+
+import com.tslnkk.skcapi.init.WarmupRunner;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.client.RestTestClient;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Прогрев JIT ({@code app.warmup.enabled=true}): трафик идёт через HTTP-стек до перехода readiness
+ * в {@code ACCEPTING_TRAFFIC}, временные заявки после прогрева удалены — в том числе брошенная после сбоя.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "app.warmup.enabled=true",
+        "app.warmup.duration-seconds=2",
+        "app.warmup.concurrency=1"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class WarmupIntegrationTest {
+
+    private static final String SUMMARY_URI = "/api/v1/requisitions/{requisitionId}/summary";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ReadinessRecorder readinessRecorder;
+
+    @Autowired
+    private FailingTransition failingTransition;
+
+    private RestTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = RestTestClient.bindToServer()
+                .baseUrl("http://localhost:" + port)
+                .defaultHeaders(headers -> headers.setBasicAuth("admin", "admin"))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Прогрев: запросы прошли до готовности, readiness UP, временные заявки удалены")
+    void warmup_shouldRunBeforeReadinessAndCleanUp() {
+        assertThat(readinessRecorder.summaryRequestsWhenReady.get())
+                .as("summary requests served before readiness")
+                .isPositive();
+
+        // Запросы прогрева не попадают в сигналы перегрузки
+        client.get().uri("/actuator/health/readiness")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo("UP")
+                .jsonPath("$.components.requestLoad.details.recentRequests").isEqualTo(0);
+
+        // Остались только 4 заявки из DataInitializer
+        client.get().uri("/api/v1/requisitions")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(4)
+                .jsonPath("$[?(@.organizerId == 'warmup')]").doesNotExist();
+
+        // Временные заявки прогрева не попадают в ленту изменений
+        client.get().uri("/api/v1/changes?after=0")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.changes.length()").isEqualTo(0);
+
+        // Заявка, брошенная в SUBMITTED после сбоя, удалена через API: статистика о ней тоже не помнит
+        assertThat(failingTransition.failed.get()).isTrue();
+        client.get().uri("/api/v1/requisitions/stats")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.totalCount").isEqualTo(4)
+                .jsonPath("$.byOrganizer.warmup").doesNotExist();
+    }
+
+    @TestConfiguration
+    static class ReadinessConfig {
+
+        @Bean
+        ReadinessRecorder readinessRecorder(MeterRegistry meterRegistry) {
+            return new ReadinessRecorder(meterRegistry);
+        }
+
+        @Bean
+        FailingTransition failingTransition() {
+            return new FailingTransition();
+        }
+    }
+
+    /**
+     * Отвечает 503 на второй переход прогрева (SUBMITTED → REJECTED): цикл обрывается, заявка остаётся в SUBMITTED.
+     */
+    static class FailingTransition implements Filter {
+
+        private final AtomicInteger warmupTransitions = new AtomicInteger();
+        private final AtomicBoolean failed = new AtomicBoolean();
+
+        @Override
+        public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+                throws IOException, ServletException {
+            HttpServletRequest http = (HttpServletRequest) request;
+            if (http.getHeader(WarmupRunner.WARMUP_HEADER) != null && http.getRequestURI().endsWith("/transition")
+                    && warmupTransitions.incrementAndGet() == 2 && failed.compareAndSet(false, true)) {
+                ((HttpServletResponse) response).sendError(503);
+                return;
+            }
+            chain.doFilter(request, response);
+        }
+    }
+
+    /**
+     * Запоминает, сколько запросов сводки обработал MVC к моменту перехода в {@code ACCEPTING_TRAFFIC}.
+     */
+    static class ReadinessRecorder implements ApplicationListener<AvailabilityChangeEvent<ReadinessState>> {
+
+        private final MeterRegistry meterRegistry;
+        private final AtomicLong summaryRequestsWhenReady = new AtomicLong(-1);
+
+        ReadinessRecorder(MeterRegistry meterRegistry) {
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        public void onApplicationEvent(AvailabilityChangeEvent<ReadinessState> event) {
+            if (event.getState() == ReadinessState.ACCEPTING_TRAFFIC) {
+                Timer timer = meterRegistry.find("http.server.requests").tag("uri", SUMMARY_URI).timer();
+                summaryRequestsWhenReady.set(timer != null ? timer.count() : 0);
+            }
+        }
+    }
+}
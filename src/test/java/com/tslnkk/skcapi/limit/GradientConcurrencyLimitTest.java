@@ -0,0 +1,128 @@
+package com.tslnkk.skcapi.limit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GradientConcurrencyLimitTest {
+
+    private static final long RTT = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Test
+    @DisplayName("Сверх лимита запрос не допускается, release освобождает место")
+    void tryAcquire_shouldRejectAboveLimit() {
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(2, 2, 2, 0.2, 1.5);
+
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+        assertEquals(2, limit.inFlight());
+
+        limit.release(RTT);
+        assertTrue(limit.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("Стабильная задержка при полной загрузке: лимит растёт до максимума")
+    void stableLatency_shouldGrowLimitUpToMax() {
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(10, 4, 40, 0.2, 1.5);
+
+        saturate(limit, RTT, 200);
+
+        assertEquals(40, limit.limit());
+    }
+
+    @Test
+    @DisplayName("Рост задержки под нагрузкой: лимит сжимается")
+    void risingLatency_shouldShrinkLimit() {
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(10, 4, 100, 0.2, 1.5);
+        saturate(limit, RTT, 50);
+        int grown = limit.limit();
+
+        saturate(limit, RTT * 20, 2);
+
+        assertTrue(limit.limit() < grown / 2, "limit should shrink from " + grown + ", was " + limit.limit());
+    }
+
+    @Test
+    @DisplayName("Задержка продолжает расти: лимит упирается в минимум")
+    void keepRisingLatency_shouldStopAtMinLimit() {
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(50, 6, 100, 0.2, 1.5);
+
+        long rtt = RTT;
+        for (int round = 0; round < 30; round++) {
+            saturate(limit, rtt, 1);
+            rtt *= 2;
+        }
+
+        assertEquals(6, limit.limit());
+    }
+
+    @Test
+    @DisplayName("Занято меньше половины лимита: лимит не растёт")
+    void lowUtilization_shouldNotGrowLimit() {
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(10, 4, 100, 0.2, 1.5);
+
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(limit.tryAcquire());
+            limit.release(RTT);
+        }
+
+        assertEquals(10, limit.limit());
+        assertEquals(0, limit.inFlight());
+    }
+
+    @Test
+    @DisplayName("Некорректные границы лимита отклоняются")
+    void constructor_shouldRejectInvalidBounds() {
+        assertThrows(IllegalArgumentException.class, () -> new GradientConcurrencyLimit(5, 0, 10, 0.2, 1.5));
+        assertThrows(IllegalArgumentException.class, () -> new GradientConcurrencyLimit(5, 10, 5, 0.2, 1.5));
+    }
+
+    @Test
+    @DisplayName("Минимум ниже 4 у адаптивного лимита недостижим и отклоняется; фиксированный лимит допустим")
+    void constructor_shouldRejectUnreachableMinLimit() {
+        assertThrows(IllegalArgumentException.class, () -> new GradientConcurrencyLimit(10, 2, 100, 0.2, 1.5));
+        assertEquals(1, new GradientConcurrencyLimit(1, 1, 1, 0.2, 1.5).limit());
+    }
+
+    @Test
+    @DisplayName("Параллельные release без монитора: счётчик сходится к нулю, лимит остаётся в границах")
+    void concurrentRelease_shouldKeepStateConsistent() throws InterruptedException {
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(50, 4, 200, 0.2, 1.5);
+        Thread[] workers = new Thread[8];
+        for (int t = 0; t < workers.length; t++) {
+            workers[t] = Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    if (limit.tryAcquire()) {
+                        limit.release(RTT);
+                    }
+                }
+            });
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertEquals(0, limit.inFlight());
+        assertTrue(limit.limit() >= 4 && limit.limit() <= 200, "limit out of bounds: " + limit.limit());
+    }
+
+    /**
+     * Занимает весь текущий лимит и освобождает его с заданной задержкой, {@code rounds} раз.
+     */
+    private static void saturate(GradientConcurrencyLimit limit, long rttNanos, int rounds) {
+        for (int round = 0; round < rounds; round++) {
+            int acquired = 0;
+            while (limit.tryAcquire()) {
+                acquired++;
+            }
+            for (int i = 0; i < acquired; i++) {
+                limit.release(rttNanos);
+            }
+        }
+    }
+}
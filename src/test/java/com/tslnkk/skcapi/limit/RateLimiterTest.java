@@ -0,0 +1,78 @@
+package com.tslnkk.skcapi.limit;
+
+import com.tslnkk.skcapi.exception.ErrorCode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    private static RateLimiter limiter(int maxKeys) {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("app.rate-limit.create.organizer.per-minute", "1")
+                .withProperty("app.rate-limit.create.organizer.burst", "2");
+        RateLimiter limiter = new RateLimiter(environment, true, maxKeys);
+        limiter.activate();
+        return limiter;
+    }
+
+    @Test
+    @DisplayName("Сверх burst — RATE_LIMIT_EXCEEDED с полем organizerId и Retry-After")
+    void check_shouldThrowAboveBurst() {
+        RateLimiter limiter = limiter(100);
+        limiter.check(RateLimitGroup.CREATE, RateLimiter.Scope.ORGANIZER, "org-a");
+        limiter.check(RateLimitGroup.CREATE, RateLimiter.Scope.ORGANIZER, "org-a");
+
+        RateLimitExceededException ex = assertThrows(RateLimitExceededException.class,
+                () -> limiter.check(RateLimitGroup.CREATE, RateLimiter.Scope.ORGANIZER, "org-a"));
+
+        assertEquals(ErrorCode.RATE_LIMIT_EXCEEDED, ex.getErrorCode());
+        assertEquals("organizerId", ex.getField());
+        assertEquals("org-a", ex.getRejectedValue());
+        assertTrue(ex.getRetryAfterSeconds() >= 1 && ex.getRetryAfterSeconds() <= 60);
+    }
+
+    @Test
+    @DisplayName("Ведра независимы по ключу, группе и области; группа без лимита не ограничивается")
+    void check_shouldKeepBucketsIndependent() {
+        RateLimiter limiter = limiter(100);
+        limiter.check(RateLimitGroup.CREATE, RateLimiter.Scope.ORGANIZER, "org-a");
+        limiter.check(RateLimitGroup.CREATE, RateLimiter.Scope.ORGANIZER, "org-a");
+
+        assertDoesNotThrow(() -> limiter.check(RateLimitGroup.CREATE, RateLimiter.Scope.ORGANIZER, "org-b"));
+        for (int i = 0; i < 10; i++) {
+            assertDoesNotThrow(() -> limiter.check(RateLimitGroup.TRANSITION, RateLimiter.Scope.ORGANIZER, "org-a"));
+            assertDoesNotThrow(() -> limiter.check(RateLimitGroup.CREATE, RateLimiter.Scope.PRINCIPAL, "org-a"));
+        }
+        assertEquals(2, limiter.trackedKeys());
+    }
+
+    @Test
+    @DisplayName("До ApplicationReadyEvent лимиты не действуют")
+    void check_shouldBeInactiveBeforeReady() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("app.rate-limit.create.organizer.per-minute", "1")
+                .withProperty("app.rate-limit.create.organizer.burst", "1");
+        RateLimiter limiter = new RateLimiter(environment, true, 100);
+
+        for (int i = 0; i < 5; i++) {
+            assertDoesNotThrow(() -> limiter.check(RateLimitGroup.CREATE, RateLimiter.Scope.ORGANIZER, "org-a"));
+        }
+        assertEquals(0, limiter.trackedKeys());
+    }
+
+    @Test
+    @DisplayName("Заполненная активными ключами карта не растёт: новые ключи не ограничиваются")
+    void check_shouldNotGrowBeyondMaxKeys() {
+        RateLimiter limiter = limiter(2);
+        limiter.check(RateLimitGroup.CREATE, RateLimiter.Scope.ORGANIZER, "org-a");
+        limiter.check(RateLimitGroup.CREATE, RateLimiter.Scope.ORGANIZER, "org-b");
+
+        for (int i = 0; i < 5; i++) {
+            assertDoesNotThrow(() -> limiter.check(RateLimitGroup.CREATE, RateLimiter.Scope.ORGANIZER, "org-c"));
+        }
+        assertEquals(2, limiter.trackedKeys());
+    }
+}
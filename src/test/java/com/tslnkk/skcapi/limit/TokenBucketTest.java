@@ -0,0 +1,65 @@
+package com.tslnkk.skcapi.limit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    @DisplayName("Полное ведро пропускает burst запросов подряд, следующий получает время ожидания")
+    void fullBucket_shouldAdmitBurstThenReturnWait() {
+        TokenBucket bucket = new TokenBucket(TokenBucket.Rate.perMinute(60, 3), 0);
+
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(SECOND, bucket.tryAcquire(0));
+    }
+
+    @Test
+    @DisplayName("Ведро пополняется со скоростью rate и не копит больше burst")
+    void bucket_shouldRefillAtRateUpToBurst() {
+        TokenBucket bucket = new TokenBucket(TokenBucket.Rate.perMinute(60, 2), 0);
+        bucket.tryAcquire(0);
+        bucket.tryAcquire(0);
+
+        assertEquals(0, bucket.tryAcquire(SECOND));
+        assertTrue(bucket.tryAcquire(SECOND) > 0);
+
+        // Долгий простой возвращает ровно burst запросов, а не «накопленные» 100
+        long later = 100 * SECOND;
+        assertEquals(0, bucket.tryAcquire(later));
+        assertEquals(0, bucket.tryAcquire(later));
+        assertTrue(bucket.tryAcquire(later) > 0);
+    }
+
+    @Test
+    @DisplayName("Отклонённый запрос не списывается с ведра")
+    void rejectedRequest_shouldNotConsumeCapacity() {
+        TokenBucket bucket = new TokenBucket(TokenBucket.Rate.perMinute(60, 1), 0);
+        bucket.tryAcquire(0);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(bucket.tryAcquire(SECOND / 2) > 0);
+        }
+
+        assertEquals(0, bucket.tryAcquire(SECOND));
+    }
+
+    @Test
+    @DisplayName("Ведро простаивает, когда снова полно")
+    void isIdle_shouldBeTrueOnceBucketIsFull() {
+        TokenBucket bucket = new TokenBucket(TokenBucket.Rate.perMinute(60, 5), 0);
+        assertTrue(bucket.isIdle(0));
+
+        bucket.tryAcquire(0);
+        bucket.tryAcquire(0);
+        assertFalse(bucket.isIdle(SECOND));
+        assertTrue(bucket.isIdle(2 * SECOND));
+    }
+}
@@ -0,0 +1,100 @@
+package com.tslnkk.skcapi.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.AppenderBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RingBufferAsyncAppenderTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch firstReceived = new CountDownLatch(1);
+    private final List<String> written = new CopyOnWriteArrayList<>();
+
+    private RingBufferAsyncAppender appender;
+
+    @BeforeEach
+    void setUp() {
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        AppenderBase<ILoggingEvent> stalledSink = new AppenderBase<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                firstReceived.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                written.add(event.getFormattedMessage());
+            }
+        };
+        stalledSink.setContext(context);
+        stalledSink.start();
+
+        appender = new RingBufferAsyncAppender();
+        appender.setContext(context);
+        appender.setName("ASYNC");
+        appender.setQueueSize(2);
+        appender.addAppender(stalledSink);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        appender.stop();
+    }
+
+    @Test
+    @DisplayName("DROP_NEWEST: при заполненном буфере новые события отбрасываются и считаются")
+    void dropNewest_shouldCountDroppedEvents() throws InterruptedException {
+        appender.setOverflowPolicy("DROP_NEWEST");
+        appender.start();
+
+        appender.doAppend(event("m0"));
+        assertTrue(firstReceived.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i <= 5; i++) {
+            appender.doAppend(event("m" + i));
+        }
+
+        assertEquals(3, appender.getDroppedCount());
+        release.countDown();
+        appender.stop();
+        assertEquals(List.of("m0", "m1", "m2"), written);
+    }
+
+    @Test
+    @DisplayName("DROP_OLDEST: при заполненном буфере вытесняются самые старые события")
+    void dropOldest_shouldKeepLatestEvents() throws InterruptedException {
+        appender.setOverflowPolicy("drop_oldest");
+        appender.start();
+
+        appender.doAppend(event("m0"));
+        assertTrue(firstReceived.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i <= 5; i++) {
+            appender.doAppend(event("m" + i));
+        }
+
+        assertEquals(3, appender.getDroppedCount());
+        release.countDown();
+        appender.stop();
+        assertEquals(List.of("m0", "m4", "m5"), written);
+    }
+
+    private ILoggingEvent event(String message) {
+        return new LoggingEvent(getClass().getName(), context.getLogger("test"), Level.INFO, message, null, null);
+    }
+}
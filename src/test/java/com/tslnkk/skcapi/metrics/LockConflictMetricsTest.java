@@ -0,0 +1,65 @@
+package com.tslnkk.skcapi.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LockConflictMetricsTest {
+
+    @Test
+    @DisplayName("При заполнении вытесняются заявки с самым давним конфликтом, новая заявка отслеживается")
+    void record_shouldEvictLeastRecentlyConflictedWhenFull() {
+        LockConflictMetrics metrics = new LockConflictMetrics(8);
+        LongStream.rangeClosed(1, 8).forEach(metrics::record);
+        metrics.record(1);
+
+        metrics.record(100);
+
+        assertEquals(1, metrics.conflicts(100));
+        assertEquals(0, metrics.conflicts(2), "least recently conflicted is evicted");
+        assertEquals(2, metrics.conflicts(1), "recent conflict keeps the requisition tracked");
+        assertEquals(8, metrics.hottest(100).size());
+        assertEquals(10, metrics.total());
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        metrics.bindTo(registry);
+        assertEquals(1, registry.get("requisition.lock.conflicts.evicted").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Поток новых заявок не останавливает учёт: размер держится в пределах лимита")
+    void record_shouldStayWithinLimit() {
+        LockConflictMetrics metrics = new LockConflictMetrics(100);
+
+        LongStream.rangeClosed(1, 10_000).forEach(metrics::record);
+
+        assertEquals(1, metrics.conflicts(10_000));
+        assertTrue(metrics.hottest(Integer.MAX_VALUE).size() <= 100);
+        assertEquals(10_000, metrics.total());
+    }
+
+    @Test
+    @DisplayName("Параллельные записи: каждая заявка либо отслеживается, либо посчитана вытесненной один раз")
+    void record_shouldCountEachEvictionOnceUnderConcurrency() throws InterruptedException {
+        LockConflictMetrics metrics = new LockConflictMetrics(64);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        metrics.bindTo(registry);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            long first = t * 1_000L + 1;
+            threads.add(Thread.ofVirtual().start(() -> LongStream.range(first, first + 1_000).forEach(metrics::record)));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        double evicted = registry.get("requisition.lock.conflicts.evicted").functionCounter().count();
+        assertEquals(8_000, evicted + metrics.hottest(Integer.MAX_VALUE).size());
+    }
+}
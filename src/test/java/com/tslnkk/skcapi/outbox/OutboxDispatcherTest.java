@@ -0,0 +1,167 @@
+package com.tslnkk.skcapi.outbox;
+
+import com.tslnkk.skcapi.domain.OutboxMessage;
+import com.tslnkk.skcapi.repository.OutboxMessageRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxDispatcherTest {
+
+    @Mock
+    private OutboxMessageRepository repository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final List<List<OutboxEnvelope>> deliveries = new ArrayList<>();
+    private Predicate<OutboxEnvelope> poison = envelope -> false;
+    private OutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        OutboxSink sink = new OutboxSink() {
+            @Override
+            public String name() {
+                return "test";
+            }
+
+            @Override
+            public void deliver(List<OutboxEnvelope> batch) {
+                deliveries.add(batch);
+                if (batch.stream().anyMatch(poison)) {
+                    throw new IllegalStateException("503 from webhook");
+                }
+            }
+        };
+        dispatcher = new OutboxDispatcher(repository, transactionManager, List.of(new LogOutboxSink(), sink),
+                true, "test", 10, 1000, 60, 3, 1000, 10_000);
+    }
+
+    @Test
+    @DisplayName("Доставленный пакет удаляется, сообщения уходят по порядку ID")
+    void dispatchOnce_shouldDeliverClaimedBatchAndDeleteIt() {
+        when(repository.lockDue(any(), anyInt())).thenReturn(List.of(2L, 1L));
+        when(repository.findAllById(List.of(2L, 1L))).thenReturn(List.of(message(2L, 1L, 0), message(1L, 1L, 0)));
+
+        assertEquals(2, dispatcher.dispatchOnce());
+
+        assertEquals(List.of(1L, 2L), deliveries.getFirst().stream().map(OutboxEnvelope::id).toList());
+        verify(repository).claim(eq(List.of(2L, 1L)), any());
+        verify(repository).deleteAllByIdInBatch(List.of(1L, 2L));
+    }
+
+    @Test
+    @DisplayName("Получатель недоступен: попытка засчитывается двум пробным сообщениям, остальные ждут повтора первого")
+    void dispatchOnce_shouldRetryProbesAndHoldRestWhenSinkIsDown() {
+        poison = envelope -> true;
+        OutboxMessage head = message(1L, 1L, 0);
+        OutboxMessage probe = message(2L, 2L, 0);
+        OutboxMessage other = message(3L, 3L, 0);
+        List<Long> ids = List.of(1L, 2L, 3L);
+        when(repository.lockDue(any(), anyInt())).thenReturn(ids);
+        when(repository.findAllById(ids)).thenReturn(List.of(head, probe, other));
+
+        dispatcher.dispatchOnce();
+
+        assertEquals(3, deliveries.size());
+        assertEquals(OutboxMessage.Status.PENDING, head.getStatus());
+        assertEquals(1, head.getAttempts());
+        assertTrue(head.getNextAttemptAt().isAfter(Instant.now()));
+        assertNull(head.getClaimedUntil());
+        assertTrue(head.getLastError().contains("503 from webhook"));
+        assertEquals(1, probe.getAttempts());
+        assertEquals(0, other.getAttempts());
+        assertEquals(head.getNextAttemptAt(), other.getNextAttemptAt());
+        assertNull(other.getClaimedUntil());
+        verify(repository, never()).deleteAllByIdInBatch(any());
+    }
+
+    @Test
+    @DisplayName("Отравленное сообщение уходит в DEAD одно; исправные доставляются, поздние той же заявки ждут")
+    void dispatchOnce_shouldIsolatePoisonMessage() {
+        poison = envelope -> envelope.id() == 3L;
+        List<OutboxMessage> messages = List.of(message(1L, 1L, 0), message(2L, 2L, 0), message(3L, 3L, 2),
+                message(4L, 4L, 0), message(5L, 3L, 0));
+        List<Long> ids = List.of(1L, 2L, 3L, 4L, 5L);
+        when(repository.lockDue(any(), anyInt())).thenReturn(ids);
+        when(repository.findAllById(ids)).thenReturn(messages);
+
+        dispatcher.dispatchOnce();
+
+        ArgumentCaptor<List<Long>> deleted = ArgumentCaptor.captor();
+        verify(repository, atLeastOnce()).deleteAllByIdInBatch(deleted.capture());
+        assertThat(deleted.getAllValues()).flatMap(batch -> batch).containsExactlyInAnyOrder(1L, 2L, 4L);
+        OutboxMessage poisoned = messages.get(2);
+        assertEquals(OutboxMessage.Status.DEAD, poisoned.getStatus());
+        assertEquals(3, poisoned.getAttempts());
+        OutboxMessage sameRequisition = messages.get(4);
+        assertEquals(OutboxMessage.Status.PENDING, sameRequisition.getStatus());
+        assertEquals(0, sameRequisition.getAttempts());
+        assertNull(sameRequisition.getClaimedUntil());
+    }
+
+    @Test
+    @DisplayName("Отравленное сообщение первым в пакете не задерживает исправные сообщения других заявок")
+    void dispatchOnce_shouldIsolatePoisonMessageAtHead() {
+        poison = envelope -> envelope.id() == 1L;
+        List<OutboxMessage> messages = List.of(message(1L, 1L, 2), message(2L, 2L, 0), message(3L, 3L, 0),
+                message(4L, 1L, 0));
+        List<Long> ids = List.of(1L, 2L, 3L, 4L);
+        when(repository.lockDue(any(), anyInt())).thenReturn(ids);
+        when(repository.findAllById(ids)).thenReturn(messages);
+
+        dispatcher.dispatchOnce();
+
+        ArgumentCaptor<List<Long>> deleted = ArgumentCaptor.captor();
+        verify(repository, atLeastOnce()).deleteAllByIdInBatch(deleted.capture());
+        assertThat(deleted.getAllValues()).flatMap(batch -> batch).containsExactlyInAnyOrder(2L, 3L);
+        OutboxMessage poisoned = messages.getFirst();
+        assertEquals(OutboxMessage.Status.DEAD, poisoned.getStatus());
+        assertEquals(3, poisoned.getAttempts());
+        OutboxMessage sameRequisition = messages.get(3);
+        assertEquals(OutboxMessage.Status.PENDING, sameRequisition.getStatus());
+        assertEquals(0, sameRequisition.getAttempts());
+        assertNull(sameRequisition.getClaimedUntil());
+    }
+
+    @Test
+    @DisplayName("Задержка удваивается до максимума с разбросом ±20%")
+    void backoffMillis_shouldGrowExponentiallyUpToMax() {
+        for (int i = 0; i < 100; i++) {
+            assertTrue(dispatcher.backoffMillis(1) >= 800 && dispatcher.backoffMillis(1) <= 1200);
+            assertTrue(dispatcher.backoffMillis(3) >= 3200 && dispatcher.backoffMillis(3) <= 4800);
+            assertTrue(dispatcher.backoffMillis(40) >= 8000 && dispatcher.backoffMillis(40) <= 12_000);
+        }
+    }
+
+    private static OutboxMessage message(Long id, Long requisitionId, int attempts) {
+        return OutboxMessage.builder()
+                .id(id)
+                .eventType(OutboxWriter.STATUS_CHANGED)
+                .aggregateId(requisitionId)
+                .payload("{\"requisitionId\":1}")
+                .attempts(attempts)
+                .nextAttemptAt(Instant.now())
+                .claimedUntil(Instant.now().plusSeconds(60))
+                .createdAt(Instant.now())
+                .build();
+    }
+}
@@ -0,0 +1,66 @@
+package com.tslnkk.skcapi.search;
+
+import com.tslnkk.skcapi.domain.PurchaseRequisition;
+import com.tslnkk.skcapi.domain.RequisitionItem;
+import com.tslnkk.skcapi.domain.RequisitionStatus;
+import com.tslnkk.skcapi.event.RequisitionChangedEvent;
+import com.tslnkk.skcapi.repository.PurchaseRequisitionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class RequisitionSearchServiceTest {
+
+    private final PurchaseRequisitionRepository repository = mock(PurchaseRequisitionRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final RequisitionSearchService service =
+            new RequisitionSearchService(repository, transactionManager, 100, 1, 2000);
+
+    @AfterEach
+    void tearDown() {
+        service.destroy();
+    }
+
+    @Test
+    @DisplayName("Сбой переиндексации повторяется с паузой без новых изменений, и заявка попадает в выдачу")
+    void reindexFailure_shouldBeRetriedWithoutFurtherChanges() {
+        PurchaseRequisition requisition = requisition();
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(repository.maxId()).thenReturn(0L);
+        when(repository.findWithItemsByIdIn(any()))
+                .thenThrow(new QueryTimeoutException("database unavailable"))
+                .thenReturn(List.of(requisition));
+
+        service.rebuild();
+        service.onRequisitionChanged(RequisitionChangedEvent.created(requisition));
+
+        await().until(() -> service.search("тонер", 0, 20).total() == 1);
+        verify(repository, times(2)).findWithItemsByIdIn(any());
+    }
+
+    private static PurchaseRequisition requisition() {
+        PurchaseRequisition requisition = PurchaseRequisition.builder()
+                .id(7L)
+                .number("ЗК-2026-00007")
+                .status(RequisitionStatus.DRAFT)
+                .organizerId("user-123")
+                .items(new ArrayList<>())
+                .build();
+        requisition.getItems().add(RequisitionItem.builder()
+                .rowNumber(1)
+                .truCode("TRU-001")
+                .truName("Тонер для принтера")
+                .build());
+        return requisition;
+    }
+}
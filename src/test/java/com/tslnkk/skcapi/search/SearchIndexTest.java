@@ -0,0 +1,88 @@
+package com.tslnkk.skcapi.search;
+
+import com.tslnkk.skcapi.domain.RequisitionStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchIndexTest {
+
+    private final SearchIndex index = new SearchIndex();
+
+    @Test
+    @DisplayName("Находятся только заявки со всеми словами запроса, более весомое совпадение выше")
+    void search_shouldMatchAllTermsAndRankByWeight() {
+        index.put(document(1, "бумага", 1, "принтер", 1));
+        index.put(document(2, "бумага", 4));
+        index.put(document(3, "бумага", 2, "принтер", 2));
+
+        SearchIndex.Result both = index.search(List.of("бумага", "принтер"), 0, 10);
+        assertEquals(2, both.total());
+        assertEquals(List.of(3L, 1L), ids(both));
+
+        SearchIndex.Result paper = index.search(List.of("бумага"), 0, 10);
+        assertEquals(List.of(2L, 3L, 1L), ids(paper));
+        assertEquals(0, index.search(List.of("бумага", "тонер"), 0, 10).total());
+        assertEquals(0, index.search(List.of(), 0, 10).total());
+    }
+
+    @Test
+    @DisplayName("Страницы идут по рангу, при равном ранге новые заявки раньше")
+    void search_shouldPaginateInRankOrder() {
+        for (long id = 1; id <= 5; id++) {
+            index.put(document(id, "скрепки", 1));
+        }
+
+        SearchIndex.Result second = index.search(List.of("скрепки"), 2, 2);
+        assertEquals(5, second.total());
+        assertEquals(List.of(3L, 2L), ids(second));
+        assertEquals(List.of(1L), ids(index.search(List.of("скрепки"), 4, 2)));
+    }
+
+    @Test
+    @DisplayName("Замена документа убирает старые термы, удаление — заявку целиком")
+    void put_shouldReplaceTermsAndRemoveShouldDropDocument() {
+        index.put(document(1, "бумага", 1));
+        index.put(document(1, "скрепки", 1));
+
+        assertEquals(0, index.search(List.of("бумага"), 0, 10).total());
+        assertEquals(List.of(1L), ids(index.search(List.of("скрепки"), 0, 10)));
+        assertEquals(1, index.termCount());
+
+        index.remove(1);
+        assertEquals(0, index.documentCount());
+        assertEquals(0, index.termCount());
+    }
+
+    @Test
+    @DisplayName("Скрытая заявка сразу пропадает из выдачи, пакет удаления чистит списки")
+    void hide_shouldDropFromResultsUntilRemoved() {
+        index.update(List.of(document(1, "бумага", 1), document(2, "бумага", 1)), List.of());
+
+        index.hide(2);
+        SearchIndex.Result hidden = index.search(List.of("бумага"), 0, 10);
+        assertEquals(1, hidden.total());
+        assertEquals(List.of(1L), ids(hidden));
+
+        index.update(List.of(document(3, "бумага", 1)), List.of(2L));
+        assertEquals(List.of(3L, 1L), ids(index.search(List.of("бумага"), 0, 10)));
+        assertEquals(2, index.documentCount());
+    }
+
+    private static SearchIndex.Document document(long id, Object... termsAndWeights) {
+        Map<String, Float> terms = new HashMap<>();
+        for (int i = 0; i < termsAndWeights.length; i += 2) {
+            terms.put((String) termsAndWeights[i], ((Integer) termsAndWeights[i + 1]).floatValue());
+        }
+        return new SearchIndex.Document(id, "ЗК-" + id, "user-" + id, RequisitionStatus.DRAFT, terms);
+    }
+
+    private static List<Long> ids(SearchIndex.Result result) {
+        return result.hits().stream().map(hit -> hit.document().id()).toList();
+    }
+}
@@ -0,0 +1,29 @@
+package com.tslnkk.skcapi.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TextAnalyzerTest {
+
+    @Test
+    @DisplayName("Формы одного русского слова дают один терм, регистр и ё не различаются")
+    void terms_shouldStemRussianWordForms() {
+        assertEquals(List.of("картридж", "картридж", "картридж"),
+                TextAnalyzer.terms("Картридж, картриджи; КАРТРИДЖЕЙ"));
+        assertEquals(TextAnalyzer.terms("жёлтая бумага"), TextAnalyzer.terms("Желтой бумаги"));
+    }
+
+    @Test
+    @DisplayName("Коды и номера делятся по разделителям, короткие основы не укорачиваются")
+    void terms_shouldSplitCodesAndKeepShortStems() {
+        assertEquals(List.of("tru", "005"), TextAnalyzer.terms("TRU-005"));
+        assertEquals(List.of("зк", "2026", "00001"), TextAnalyzer.terms("ЗК-2026-00001"));
+        assertEquals(List.of("user", "123", "7"), TextAnalyzer.terms("user-123 / 7 в"));
+        assertEquals("шея", TextAnalyzer.stem("шея"));
+        assertTrue(TextAnalyzer.terms(null).isEmpty());
+    }
+}
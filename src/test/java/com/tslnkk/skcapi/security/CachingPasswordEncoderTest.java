@@ -0,0 +1,87 @@
+package com.tslnkk.skcapi.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingPasswordEncoderTest {
+
+    private static final String HASH = "$2a$10$hash";
+
+    @Mock
+    private PasswordEncoder delegate;
+
+    private CachingPasswordEncoder encoder;
+
+    @BeforeEach
+    void setUp() {
+        encoder = new CachingPasswordEncoder(delegate, Duration.ofMinutes(5), 2);
+    }
+
+    @Test
+    @DisplayName("успешная проверка кэшируется: BCrypt вызывается один раз")
+    void successfulMatch_shouldBeCached() {
+        when(delegate.matches("secret", HASH)).thenReturn(true);
+
+        assertTrue(encoder.matches("secret", HASH));
+        assertTrue(encoder.matches("secret", HASH));
+
+        verify(delegate, times(1)).matches("secret", HASH);
+    }
+
+    @Test
+    @DisplayName("неуспешная проверка не кэшируется")
+    void failedMatch_shouldNotBeCached() {
+        when(delegate.matches("wrong", HASH)).thenReturn(false);
+
+        assertFalse(encoder.matches("wrong", HASH));
+        assertFalse(encoder.matches("wrong", HASH));
+
+        verify(delegate, times(2)).matches("wrong", HASH);
+        assertEquals(0, encoder.size());
+    }
+
+    @Test
+    @DisplayName("смена хэша пароля не использует старую запись кэша")
+    void changedHash_shouldMissCache() {
+        when(delegate.matches("secret", HASH)).thenReturn(true);
+        when(delegate.matches("secret", "$2a$10$other")).thenReturn(false);
+
+        assertTrue(encoder.matches("secret", HASH));
+        assertFalse(encoder.matches("secret", "$2a$10$other"));
+    }
+
+    @Test
+    @DisplayName("при нулевом TTL запись сразу устаревает")
+    void expiredEntry_shouldBeVerifiedAgain() {
+        encoder = new CachingPasswordEncoder(delegate, Duration.ZERO, 2);
+        when(delegate.matches("secret", HASH)).thenReturn(true);
+
+        encoder.matches("secret", HASH);
+        encoder.matches("secret", HASH);
+
+        verify(delegate, times(2)).matches("secret", HASH);
+    }
+
+    @Test
+    @DisplayName("размер кэша ограничен max-entries")
+    void cache_shouldBeBounded() {
+        when(delegate.matches(anyString(), eq(HASH))).thenReturn(true);
+
+        encoder.matches("a", HASH);
+        encoder.matches("b", HASH);
+        encoder.matches("c", HASH);
+
+        assertEquals(2, encoder.size());
+    }
+}
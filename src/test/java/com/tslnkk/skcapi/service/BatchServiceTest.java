@@ -0,0 +1,100 @@
+package com.tslnkk.skcapi.service;
+
+import com.tslnkk.skcapi.dto.*;
+import com.tslnkk.skcapi.exception.ErrorCode;
+import com.tslnkk.skcapi.limit.RateLimiter;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BatchServiceTest {
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    @Mock
+    private RequisitionService requisitionService;
+
+    @Mock
+    private RequisitionItemService itemService;
+
+    @Mock
+    private RateLimiter rateLimiter;
+
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BatchService batchService;
+
+    @BeforeEach
+    void setUp() {
+        batchService = new BatchService(requisitionService, itemService, rateLimiter, validator, jsonMapper,
+                transactionManager);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    @Test
+    @DisplayName("Нарушение ограничения при фиксации: весь пакет откатан, причина — в итоге, исключение не выходит наружу")
+    void transactionalBatch_shouldReportDataAccessFailureOnCommit() {
+        doThrow(new DataIntegrityViolationException("unique constraint violated on flush"))
+                .when(transactionManager).commit(any());
+
+        List<Object> lines = execute();
+
+        assertRolledBack(lines);
+    }
+
+    @Test
+    @DisplayName("Ошибка транзакции при фиксации (TransactionSystemException) — тоже откат пакета")
+    void transactionalBatch_shouldReportTransactionFailureOnCommit() {
+        doThrow(new TransactionSystemException("Could not commit JPA transaction"))
+                .when(transactionManager).commit(any());
+
+        List<Object> lines = execute();
+
+        assertRolledBack(lines);
+    }
+
+    private List<Object> execute() {
+        BatchRequest request = new BatchRequest(true, List.of(
+                new BatchOperation(null, BatchOperation.Type.CREATE_REQUISITION, null, null,
+                        jsonMapper.readTree("{\"organizerId\": \"user-batch\"}")),
+                new BatchOperation(null, BatchOperation.Type.CREATE_REQUISITION, null, null,
+                        jsonMapper.readTree("{\"organizerId\": \"user-batch\"}"))));
+        List<Object> lines = new ArrayList<>();
+        assertDoesNotThrow(() -> batchService.execute(request, null, lines::add));
+        return lines;
+    }
+
+    private static void assertRolledBack(List<Object> lines) {
+        assertEquals(3, lines.size());
+        for (Object line : lines.subList(0, 2)) {
+            BatchOperationResult result = assertInstanceOf(BatchOperationResult.class, line);
+            assertEquals(ErrorCode.BATCH_ROLLED_BACK.name(), result.error().errorCode());
+        }
+        BatchSummary summary = assertInstanceOf(BatchSummary.class, lines.get(2));
+        assertFalse(summary.committed());
+        assertEquals(0, summary.succeeded());
+        assertEquals(2, summary.skipped());
+        assertEquals(ErrorCode.BATCH_COMMIT_FAILED.name(), summary.error().errorCode());
+    }
+}
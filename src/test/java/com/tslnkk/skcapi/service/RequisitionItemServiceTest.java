@@ -1,13 +1,19 @@
 package com.tslnkk.skcapi.service;
 
+import com.tslnkk.skcapi.audit.AuditTrail;
 import com.tslnkk.skcapi.domain.PurchaseRequisition;
 import com.tslnkk.skcapi.domain.RequisitionItem;
 import com.tslnkk.skcapi.domain.RequisitionStatus;
+import com.tslnkk.skcapi.dto.AuditChange;
 import com.tslnkk.skcapi.dto.CreateItemRequest;
 import com.tslnkk.skcapi.dto.ItemResponse;
 import com.tslnkk.skcapi.dto.PatchItemRequest;
+import com.tslnkk.skcapi.event.RequisitionChangedEvent;
+import com.tslnkk.skcapi.event.RequisitionChangedEvent.ChangeType;
 import com.tslnkk.skcapi.exception.BusinessException;
 import com.tslnkk.skcapi.exception.ErrorCode;
+import com.tslnkk.skcapi.limit.RateLimiter;
+import com.tslnkk.skcapi.metrics.LockConflictMetrics;
 import com.tslnkk.skcapi.reference.ReferenceDataService;
 import com.tslnkk.skcapi.reference.ReferenceDataService.NomenclatureRef;
 import com.tslnkk.skcapi.repository.PurchaseRequisitionRepository;
@@ -19,10 +25,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -42,6 +50,18 @@ class RequisitionItemServiceTest {
     @Mock
     private ReferenceDataService referenceDataService;
 
+    @Mock
+    private LockConflictMetrics lockConflictMetrics;
+
+    @Mock
+    private RateLimiter rateLimiter;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private AuditTrail auditTrail;
+
     @InjectMocks
     private RequisitionItemService service;
 
@@ -111,6 +131,8 @@ class RequisitionItemServiceTest {
         assertEquals(1L, response.id());
         verify(itemRepository).saveAndFlush(any(RequisitionItem.class));
         verify(requisitionRepository).saveAndFlush(any(PurchaseRequisition.class));
+        verify(eventPublisher).publishEvent(RequisitionChangedEvent.ofItem(draftRequisition, ChangeType.ITEM_ADDED, 1L,
+                new RequisitionChangedEvent.State(RequisitionStatus.DRAFT, "user-123", BigDecimal.ZERO)));
     }
 
     // ─── Test 2: Заявка не в статусе DRAFT ─────────────────────────
@@ -244,6 +266,7 @@ class RequisitionItemServiceTest {
 
         assertEquals(ErrorCode.LAST_ITEM_DELETE_FORBIDDEN, ex.getErrorCode());
         verify(requisitionRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(eventPublisher);
     }
 
     // ─── Test 9: Успешная реактивация CANCELLED → DRAFT ─────────────
@@ -268,6 +291,10 @@ class RequisitionItemServiceTest {
 
         assertEquals(RequisitionStatus.DRAFT, cancelledRequisition.getStatus());
         verify(requisitionRepository).saveAndFlush(cancelledRequisition);
+        verify(eventPublisher).publishEvent(new RequisitionChangedEvent(3L, "ЗК-2025-00003", "user-456",
+                ChangeType.STATUS_CHANGED, RequisitionStatus.DRAFT,
+                new RequisitionChangedEvent.State(RequisitionStatus.CANCELLED, "user-456", BigDecimal.ZERO),
+                BigDecimal.ZERO, null));
     }
 
     // ─── Test 10: Реактивация не-CANCELLED заявки → ошибка ──────────
@@ -298,4 +325,47 @@ class RequisitionItemServiceTest {
         assertEquals(ErrorCode.INVALID_STATUS_TRANSITION, ex.getErrorCode());
         verify(requisitionRepository, never()).saveAndFlush(any());
     }
+
+    // ─── Test 12: Устаревшая версия → конфликт учитывается по заявке ─
+
+    @Test
+    @DisplayName("patchItem: устаревшая версия → OPTIMISTIC_LOCK_CONFLICT и учёт конфликта по заявке")
+    void patchItem_shouldRecordConflictForStaleVersion() {
+        RequisitionItem item = RequisitionItem.builder()
+                .id(1L).rowNumber(1).truCode("TRU-001").truName("Бумага офисная A4")
+                .count(BigDecimal.TEN).mkei("PACK").price(new BigDecimal("350.00"))
+                .version(3L).requisition(draftRequisition).build();
+        draftRequisition.getItems().add(item);
+
+        when(requisitionRepository.findById(1L)).thenReturn(Optional.of(draftRequisition));
+
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> service.patchItem(1L, 1L, new PatchItemRequest(BigDecimal.ONE, null, null, 2L)));
+
+        assertEquals(ErrorCode.OPTIMISTIC_LOCK_CONFLICT, ex.getErrorCode());
+        verify(lockConflictMetrics).record(1L);
+        verify(requisitionRepository, never()).saveAndFlush(any());
+    }
+
+    // ─── Test 13: В аудит попадают только изменённые поля ───────────
+
+    @Test
+    @DisplayName("patchItem: в аудит передаются только фактически изменённые поля")
+    void patchItem_shouldAuditChangedFieldsOnly() {
+        RequisitionItem item = RequisitionItem.builder()
+                .id(1L).rowNumber(1).truCode("TRU-001").truName("Бумага офисная A4")
+                .count(BigDecimal.TEN).mkei("PACK").price(new BigDecimal("350.00"))
+                .durationMonth(LocalDate.now().plusDays(10)).comment("старый")
+                .version(3L).requisition(draftRequisition).build();
+        draftRequisition.getItems().add(item);
+
+        when(requisitionRepository.findById(1L)).thenReturn(Optional.of(draftRequisition));
+        when(requisitionRepository.saveAndFlush(any(PurchaseRequisition.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        service.patchItem(1L, 1L, new PatchItemRequest(new BigDecimal("25.00"), null, "старый", 3L));
+
+        verify(auditTrail).record(ChangeType.ITEM_UPDATED, 1L, 1L,
+                List.of(new AuditChange("quantity", "10", "25")));
+    }
 }
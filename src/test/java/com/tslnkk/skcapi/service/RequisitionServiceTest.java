@@ -1,11 +1,15 @@
 package com.tslnkk.skcapi.service;
 
+import com.tslnkk.skcapi.audit.AuditTrail;
 import com.tslnkk.skcapi.domain.PurchaseRequisition;
 import com.tslnkk.skcapi.domain.RequisitionItem;
 import com.tslnkk.skcapi.domain.RequisitionStatus;
 import com.tslnkk.skcapi.dto.*;
+import com.tslnkk.skcapi.event.RequisitionChangedEvent;
+import com.tslnkk.skcapi.event.RequisitionChangedEvent.ChangeType;
 import com.tslnkk.skcapi.exception.BusinessException;
 import com.tslnkk.skcapi.exception.ErrorCode;
+import com.tslnkk.skcapi.limit.RateLimiter;
 import com.tslnkk.skcapi.repository.PurchaseRequisitionRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -17,6 +21,7 @@ import org.junit.jupiter.params.provider.EnumSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
@@ -33,6 +38,15 @@ class RequisitionServiceTest {
     @Mock
     private PurchaseRequisitionRepository repository;
 
+    @Mock
+    private RateLimiter rateLimiter;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private AuditTrail auditTrail;
+
     @InjectMocks
     private RequisitionService service;
 
@@ -135,6 +149,8 @@ class RequisitionServiceTest {
             assertEquals("user-new", result.organizerId());
             assertTrue(result.number().startsWith("ЗК-"));
             verify(repository).saveAndFlush(any(PurchaseRequisition.class));
+            verify(eventPublisher).publishEvent(new RequisitionChangedEvent(5L, result.number(), "user-new",
+                    ChangeType.CREATED, RequisitionStatus.DRAFT, null, BigDecimal.ZERO, null));
         }
     }
 
@@ -168,6 +184,19 @@ class RequisitionServiceTest {
 
             assertEquals("user-123", result.organizerId());
         }
+
+        @Test
+        @DisplayName("передаёт в аудит старого и нового организатора")
+        void shouldAuditOrganizerChange() {
+            when(repository.findById(1L)).thenReturn(Optional.of(draftRequisition));
+            when(repository.saveAndFlush(any(PurchaseRequisition.class)))
+                    .thenAnswer(invocation -> invocation.getArgument(0));
+
+            service.update(1L, new PatchRequisitionRequest("user-456"));
+
+            verify(auditTrail).record(ChangeType.UPDATED, 1L, null,
+                    List.of(new AuditChange("organizerId", "user-123", "user-456")));
+        }
     }
 
     // ═══════════════════════════════════════════════════════════════
@@ -0,0 +1,133 @@
+package com.tslnkk.skcapi.stats;
+
+import com.tslnkk.skcapi.domain.RequisitionStatus;
+import com.tslnkk.skcapi.dto.RequisitionStatsResponse;
+import com.tslnkk.skcapi.dto.StatsBucket;
+import com.tslnkk.skcapi.event.RequisitionChangedEvent;
+import com.tslnkk.skcapi.event.RequisitionChangedEvent.ChangeType;
+import com.tslnkk.skcapi.repository.PurchaseRequisitionRepository;
+import com.tslnkk.skcapi.event.RequisitionChangedEvent.State;
+import com.tslnkk.skcapi.repository.PurchaseRequisitionRepository.StatsGroup;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.stream.Stream;
+
+import static com.tslnkk.skcapi.domain.RequisitionStatus.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RequisitionStatsStoreTest {
+
+    private record Group(RequisitionStatus getStatus, String getOrganizerId, long getCount,
+                         BigDecimal getTotal) implements StatsGroup {
+    }
+
+    @Mock
+    private PurchaseRequisitionRepository repository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private RequisitionStatsStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new RequisitionStatsStore(repository, transactionManager);
+    }
+
+    @Test
+    @DisplayName("Вклад заявки переносится между статусами и организаторами, удаление его вычитает")
+    void onRequisitionChanged_shouldMoveContributionByDelta() {
+        store.onRequisitionChanged(event(10L, ChangeType.CREATED, null, DRAFT, "org-a", "0"));
+        store.onRequisitionChanged(event(10L, ChangeType.ITEM_ADDED, state(DRAFT, "org-a", "0"), DRAFT, "org-a", "100.50"));
+        store.onRequisitionChanged(event(11L, ChangeType.CREATED, null, DRAFT, "org-a", "0"));
+
+        RequisitionStatsResponse stats = store.stats();
+        assertEquals(2, stats.totalCount());
+        assertEquals(bucket(2, "100.50"), stats.byStatus().get(DRAFT));
+        assertEquals(bucket(2, "100.50"), stats.byOrganizer().get("org-a"));
+
+        store.onRequisitionChanged(event(10L, ChangeType.STATUS_CHANGED, state(DRAFT, "org-a", "100.50"),
+                SUBMITTED, "org-a", "100.50"));
+        store.onRequisitionChanged(event(11L, ChangeType.UPDATED, state(DRAFT, "org-a", "0"), DRAFT, "org-b", "0"));
+
+        stats = store.stats();
+        assertEquals(bucket(1, "0.00"), stats.byStatus().get(DRAFT));
+        assertEquals(bucket(1, "100.50"), stats.byStatus().get(SUBMITTED));
+        assertEquals(bucket(1, "100.50"), stats.byOrganizer().get("org-a"));
+        assertEquals(bucket(1, "0.00"), stats.byOrganizer().get("org-b"));
+
+        store.onRequisitionChanged(event(10L, ChangeType.DELETED, state(SUBMITTED, "org-a", "100.50"),
+                SUBMITTED, "org-a", "100.50"));
+
+        stats = store.stats();
+        assertEquals(1, stats.totalCount());
+        assertEquals(new BigDecimal("0.00"), stats.totalLotSumNoNds());
+        assertEquals(bucket(0, "0.00"), stats.byStatus().get(SUBMITTED));
+        assertFalse(stats.byOrganizer().containsKey("org-a"));
+    }
+
+    @Test
+    @DisplayName("Обработчики двух коммитов одной заявки в обратном порядке дают тот же итог")
+    void onRequisitionChanged_shouldNotDependOnHandlerOrder() {
+        store.onRequisitionChanged(event(1L, ChangeType.STATUS_CHANGED, state(SUBMITTED, "org-a", "10.00"),
+                APPROVED, "org-a", "10.00"));
+        store.onRequisitionChanged(event(1L, ChangeType.STATUS_CHANGED, state(DRAFT, "org-a", "10.00"),
+                SUBMITTED, "org-a", "10.00"));
+        store.onRequisitionChanged(event(1L, ChangeType.CREATED, null, DRAFT, "org-a", "10.00"));
+
+        RequisitionStatsResponse stats = store.stats();
+        assertEquals(bucket(0, "0.00"), stats.byStatus().get(DRAFT));
+        assertEquals(bucket(0, "0.00"), stats.byStatus().get(SUBMITTED));
+        assertEquals(bucket(1, "10.00"), stats.byStatus().get(APPROVED));
+    }
+
+    @Test
+    @DisplayName("Сверка исправляет расхождение с БД и не затирает изменение, пришедшее во время чтения")
+    void reconcile_shouldFixDriftAndKeepConcurrentChanges() {
+        store.onRequisitionChanged(event(1L, ChangeType.CREATED, null, DRAFT, "org-a", "10.00"));
+        when(repository.streamStatsGroups()).thenAnswer(invocation ->
+                Stream.of(new Group(DRAFT, "org-a", 1, new BigDecimal("10.00"))));
+        assertEquals(0, store.reconcile());
+
+        when(repository.streamStatsGroups()).thenAnswer(invocation -> {
+            store.onRequisitionChanged(event(1L, ChangeType.STATUS_CHANGED, state(DRAFT, "org-a", "10.00"),
+                    SUBMITTED, "org-a", "10.00"));
+            return Stream.of(
+                    new Group(DRAFT, "org-a", 1, new BigDecimal("10.00")),
+                    new Group(APPROVED, "org-b", 1, new BigDecimal("5.00")));
+        });
+
+        assertEquals(2, store.reconcile());
+
+        RequisitionStatsResponse stats = store.stats();
+        assertEquals(bucket(0, "0.00"), stats.byStatus().get(DRAFT));
+        assertEquals(bucket(1, "10.00"), stats.byStatus().get(SUBMITTED));
+        assertEquals(bucket(1, "5.00"), stats.byStatus().get(APPROVED));
+        assertEquals(bucket(1, "5.00"), stats.byOrganizer().get("org-b"));
+        assertEquals(new BigDecimal("15.00"), stats.totalLotSumNoNds());
+        assertNotNull(stats.reconciledAt());
+    }
+
+    private static RequisitionChangedEvent event(Long id, ChangeType type, State previous,
+                                                 RequisitionStatus status, String organizerId, String total) {
+        return new RequisitionChangedEvent(id, "ЗК-" + id, organizerId, type, status, previous, new BigDecimal(total),
+                null);
+    }
+
+    private static State state(RequisitionStatus status, String organizerId, String total) {
+        return new State(status, organizerId, new BigDecimal(total));
+    }
+
+    private static StatsBucket bucket(long count, String amount) {
+        return new StatsBucket(count, new BigDecimal(amount));
+    }
+}
@@ -0,0 +1,51 @@
+package com.tslnkk.skcapi.trace;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TraceIdsTest {
+
+    @Test
+    @DisplayName("newTraceId: 32 hex-символа в нижнем регистре, валиден по W3C")
+    void newTraceId_shouldBeValidW3cTraceId() {
+        String traceId = TraceIds.newTraceId();
+
+        assertEquals(32, traceId.length());
+        assertTrue(TraceIds.isValidTraceId(traceId));
+        assertNotEquals(traceId, TraceIds.newTraceId());
+    }
+
+    @Test
+    @DisplayName("traceparent: корректный заголовок разбирается и собирается обратно")
+    void traceparent_roundTrip() {
+        String header = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+
+        assertEquals("4bf92f3577b34da6a3ce929d0e0e4736", TraceIds.traceIdFromTraceparent(header));
+        assertTrue(TraceIds.isSampled(header));
+
+        String spanId = TraceIds.newSpanId();
+        String built = TraceIds.traceparent("4bf92f3577b34da6a3ce929d0e0e4736", spanId, false);
+        assertEquals("00-4bf92f3577b34da6a3ce929d0e0e4736-" + spanId + "-00", built);
+        assertEquals("4bf92f3577b34da6a3ce929d0e0e4736", TraceIds.traceIdFromTraceparent(built));
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {
+            "00-00000000000000000000000000000000-00f067aa0ba902b7-01",
+            "00-4bf92f3577b34da6a3ce929d0e0e4736-0000000000000000-01",
+            "00-4BF92F3577B34DA6A3CE929D0E0E4736-00f067aa0ba902b7-01",
+            "ff-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01",
+            "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7",
+            "not-a-traceparent"
+    })
+    @DisplayName("traceparent: некорректные заголовки игнорируются")
+    void traceparent_invalid_shouldReturnNull(String header) {
+        assertNull(TraceIds.traceIdFromTraceparent(header));
+    }
+}